@@ -30,32 +30,44 @@ public class Day1 {
 	 * Determines which two numbers sum up to 2020 and multiplies them for a fixed input
 	 * 
 	 * @param input Array of integers as input
+	 * @return The product of the last pair found, 0 if there is none
 	 */
-	private static void part1( final int[] input ) {
+	protected static int part1( final int[] input ) {
+		int result = 0;
 		for( int i = 0; i < input.length - 1; i++ ) {
 			for( int j = i + 1; j < input.length; j++ ) {
 				final int x = input[i];
 				final int y = input[j];
-				if( x + y == 2020 ) System.out.println( x + " + " + y + " = 2020\n" + x + " x " + y + " = " + (x * y) );
+				if( x + y == 2020 ) {
+					System.out.println( x + " + " + y + " = 2020\n" + x + " x " + y + " = " + (x * y) );
+					result = x * y;
+				}
 			}
 		}
+		return result;
 	}
 	
 	/**
 	 * Determines which two numbers sum up to 2020 and multiplies them for a fixed input
 	 * 
 	 * @param input Array of integers as input
+	 * @return The product of the last triple found, 0 if there is none
 	 */
-	private static void part2( final int[] input ) {
+	protected static int part2( final int[] input ) {
+		int result = 0;
 		for( int i = 0; i < input.length - 2; i++ ) {
 			for( int j = i + 1; j < input.length - 1; j++ ) {
 					for( int k = j + 1; k < input.length; k++ ) {
 						final int x = input[i];
 						final int y = input[j];
 						final int z = input[k];
-						if( x + y + z == 2020 ) System.out.println( x + " + " + y + " + " + z + " = 2020\n" + x + " x " + y + " x " + z + " = " + (x * y * z) );
+						if( x + y + z == 2020 ) {
+							System.out.println( x + " + " + y + " + " + z + " = 2020\n" + x + " x " + y + " x " + z + " = " + (x * y * z) );
+							result = x * y * z;
+						}
 					}
 			}
 		}
+		return result;
 	}
 }
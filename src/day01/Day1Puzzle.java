@@ -0,0 +1,41 @@
+package day01;
+
+import util.io.FileReader;
+import util.puzzle.Puzzle;
+
+/**
+ * Solver of day 1 for the puzzle runner
+ *
+ * @author Joris
+ */
+public class Day1Puzzle implements Puzzle<int[], int[]> {
+	@Override
+	public int getDay( ) { return 1; }
+
+	@Override
+	public double getComplexity( final int phase ) {
+		// brute force over all pairs and triples of entries
+		return phase == 2 ? 2 : phase == 3 ? 3 : 1;
+	}
+
+	@Override
+	public int[] read( final String file ) throws Exception {
+		return new FileReader( file ).readIntArray( );
+	}
+
+	@Override
+	public int[] build( final int[] input ) {
+		// the model is created while reading
+		return input;
+	}
+
+	@Override
+	public String part1( final int[] model ) throws Exception {
+		return String.valueOf( Day1.part1( model ) );
+	}
+
+	@Override
+	public String part2( final int[] model ) throws Exception {
+		return String.valueOf( Day1.part2( model ) );
+	}
+}
@@ -0,0 +1,39 @@
+package day02;
+
+import java.util.List;
+
+import day02.passwordvalidator.PasswordValidator1;
+import day02.passwordvalidator.PasswordValidator2;
+import util.io.FileReader;
+import util.puzzle.Puzzle;
+
+/**
+ * Solver of day 2 for the puzzle runner
+ *
+ * @author Joris
+ */
+public class Day2Puzzle implements Puzzle<List<String>, List<String>> {
+	@Override
+	public int getDay( ) { return 2; }
+
+	@Override
+	public List<String> read( final String file ) throws Exception {
+		return new FileReader( file ).readLines( );
+	}
+
+	@Override
+	public List<String> build( final List<String> input ) {
+		// the model is created while reading
+		return input;
+	}
+
+	@Override
+	public String part1( final List<String> model ) throws Exception {
+		return String.valueOf( Day2.countValid( model, new PasswordValidator1( ) ) );
+	}
+
+	@Override
+	public String part2( final List<String> model ) throws Exception {
+		return String.valueOf( Day2.countValid( model, new PasswordValidator2( ) ) );
+	}
+}
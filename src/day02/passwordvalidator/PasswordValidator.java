@@ -1,9 +1,36 @@
 package day02.passwordvalidator;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import util.io.ByteScanner;
 
 public abstract class PasswordValidator {
+	/** The scanner used to parse patterns, reused for every pattern */
+	protected final ByteScanner scanner = new ByteScanner( );
+	
+	/**
+	 * The parsed pattern of a password rule
+	 */
+	protected static class Rule {
+		/** The first and second number in the pattern */
+		protected final int first;
+		protected final int second;
+		
+		/** The search text of the pattern */
+		protected final String text;
+		
+		/**
+		 * Creates a new parsed rule
+		 * 
+		 * @param first The first number
+		 * @param second The second number
+		 * @param text The search text
+		 */
+		protected Rule( final int first, final int second, final String text ) {
+			this.first = first;
+			this.second = second;
+			this.text = text;
+		}
+	}
+	
 	/**
 	 * Constructs a new password valid1ator from the pattern
 	 * 
@@ -21,18 +48,22 @@ public abstract class PasswordValidator {
 	public abstract boolean isValid( final String password );
 	
 	/**
-	 * Reads password validator pattern from input
+	 * Reads password validator pattern from input. The search text is
+	 * interned by the scanner.
 	 * 
 	 * @param pattern The password pattern (min-max searchtext)
-	 * @return The RegEx matcher with the matched groups
+	 * @return The parsed rule
 	 * @throws Exception
 	 */
-	protected Matcher parsePattern( final String pattern ) throws Exception {
+	protected Rule parsePattern( final String pattern ) throws Exception {
 		// extract pattern from string
-		final Pattern input = Pattern.compile( "(\\d+)\\-(\\d+) (\\w+)" );
-		final Matcher m = input.matcher( pattern );
-		
-		if( !m.find( ) ) throw new Exception( "Invalid password format: "+ pattern );
-		return m;
+		try {
+			scanner.reset( pattern );
+			final int first = scanner.readInt( );
+			final int second = scanner.expect( "-" ).readInt( );
+			return new Rule( first, second, scanner.expect( " " ).getWord( scanner.readWordId( ) ) );
+		} catch( IllegalArgumentException e ) {
+			throw new Exception( "Invalid password format: "+ pattern, e );
+		}
 	}
 }
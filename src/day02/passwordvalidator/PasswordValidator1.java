@@ -1,11 +1,8 @@
 package day02.passwordvalidator;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 public class PasswordValidator1 extends PasswordValidator {
-	/** The pattern used in matching */
-	protected Pattern pwpattern;
+	/** The text to count in the password */
+	protected String pwtext;
 	
 	/** The required min and max counts */
 	protected int mincount;
@@ -18,11 +15,11 @@ public class PasswordValidator1 extends PasswordValidator {
 	 * @throws Exception
 	 */
 	public void fromPattern( final String pattern ) throws Exception {
-		final Matcher m = parsePattern( pattern );
+		final Rule rule = parsePattern( pattern );
 		
-		pwpattern = Pattern.compile( "(" + m.group( 3 ) + ")" );
-		mincount = Integer.parseInt( m.group( 1 ) );
-		maxcount = Integer.parseInt( m.group( 2 ) );
+		pwtext = rule.text;
+		mincount = rule.first;
+		maxcount = rule.second;
 	}
 	
 	/**
@@ -31,9 +28,9 @@ public class PasswordValidator1 extends PasswordValidator {
 	 * @return
 	 */
 	public boolean isValid( final String password ) {
-		final Matcher m = pwpattern.matcher( password );
+		// count non-overlapping occurrences of the text
 		int count = 0;
-		while( m.find( ) ) count++;
+		for( int i = password.indexOf( pwtext ); i >= 0; i = password.indexOf( pwtext, i + pwtext.length( ) ) ) count++;
 		
 		return count >= mincount && count <= maxcount;
 	}
@@ -2,7 +2,6 @@ package day02.passwordvalidator;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
 
 public class PasswordValidator2 extends PasswordValidator {
 	/** The char that needs to match */
@@ -19,12 +18,12 @@ public class PasswordValidator2 extends PasswordValidator {
 	 */
 	public void fromPattern( final String pattern ) throws Exception {
 		// extract pattern from string
-		final Matcher m = parsePattern( pattern );
+		final Rule rule = parsePattern( pattern );
 		
-		matchchar = m.group( 3 ).charAt( 0 );
+		matchchar = rule.text.charAt( 0 );
 		indexes = new ArrayList<>( 2 );
-		indexes.add( Integer.parseInt( m.group( 1 ) ) );
-		indexes.add( Integer.parseInt( m.group( 2 ) ) );
+		indexes.add( rule.first );
+		indexes.add( rule.second );
 	}
 	
 	/**
@@ -1,6 +1,9 @@
 package day03;
 
+import java.util.concurrent.Future;
+
 import util.geometry.Coord2D;
+import util.io.ResourcePrefetcher;
 
 public class Day3 {
 	
@@ -12,8 +15,11 @@ public class Day3 {
 	 */
 	public static void main( String[] args ) throws Exception {
 		final Tileset tileset = new Tileset( '.', '#' );
-		final Grid ex_grid = Grid.fromFile( Day3.class.getResource( "day3_example.txt" ).getFile( ), tileset );
-		final Grid grid = Grid.fromFile( Day3.class.getResource( "day3_input.txt" ).getFile( ), tileset );
+		final ResourcePrefetcher res = new ResourcePrefetcher( Day3.class );
+		final Future<Grid> ex_input = res.loadFile( "day3_example.txt", f -> Grid.fromFile( f, tileset ) );
+		final Future<Grid> input = res.loadFile( "day3_input.txt", f -> Grid.fromFile( f, tileset ) );
+		final Grid ex_grid = ex_input.get( );
+		final Grid grid = input.get( );
 				
 		System.out.println( "---[ Part 1 ]---" );
 		System.out.println( "Example: " + part1( ex_grid ) );
@@ -0,0 +1,34 @@
+package day03;
+
+import util.puzzle.Puzzle;
+
+/**
+ * Solver of day 3 for the puzzle runner
+ *
+ * @author Joris
+ */
+public class Day3Puzzle implements Puzzle<Grid, Grid> {
+	@Override
+	public int getDay( ) { return 3; }
+
+	@Override
+	public Grid read( final String file ) throws Exception {
+		return Grid.fromFile( file, new Tileset( '.', '#' ) );
+	}
+
+	@Override
+	public Grid build( final Grid input ) {
+		// the model is created while reading
+		return input;
+	}
+
+	@Override
+	public String part1( final Grid model ) throws Exception {
+		return String.valueOf( Day3.part1( model ) );
+	}
+
+	@Override
+	public String part2( final Grid model ) throws Exception {
+		return String.valueOf( Day3.part2( model ) );
+	}
+}
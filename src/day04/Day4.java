@@ -1,6 +1,9 @@
 package day04;
 
 import java.util.List;
+import java.util.concurrent.Future;
+
+import util.io.ResourcePrefetcher;
 
 public class Day4 {
 	/**
@@ -10,16 +13,21 @@ public class Day4 {
 	 * @throws Exception 
 	 */
 	public static void main( String[] args ) throws Exception {
-		final List<Passport> ex_passports = Passport.fromBatchFile( Day4.class.getResource( "day4_example.txt" ).getFile( ) ); 		
-		final List<Passport> passports = Passport.fromBatchFile( Day4.class.getResource( "day4_input.txt" ).getFile( ) ); 		
+		final ResourcePrefetcher res = new ResourcePrefetcher( Day4.class );
+		final Future<List<Passport>> ex_input = res.loadFile( "day4_example.txt", Passport::fromBatchFile );
+		final Future<List<Passport>> input = res.loadFile( "day4_input.txt", Passport::fromBatchFile );
+		final Future<List<Passport>> invalid_input = res.loadFile( "day4_invalid.txt", Passport::fromBatchFile );
+		final Future<List<Passport>> valid_input = res.loadFile( "day4_valid.txt", Passport::fromBatchFile );
+		final List<Passport> ex_passports = ex_input.get( );
+		final List<Passport> passports = input.get( );
 
 		System.out.println( "---[ Part 1 ]---" );
 		System.out.println( "Example: "+ countValid( ex_passports, false ) );
 		System.out.println( "Part 1 : "+ countValid( passports, false ) );
 
 		// examples specific to part2
-		final List<Passport> passports_invalid = Passport.fromBatchFile( Day4.class.getResource( "day4_invalid.txt" ).getFile( ) ); 		
-		final List<Passport> passports_valid = Passport.fromBatchFile( Day4.class.getResource( "day4_valid.txt" ).getFile( ) ); 		
+		final List<Passport> passports_invalid = invalid_input.get( );
+		final List<Passport> passports_valid = valid_input.get( );
 
 		System.out.println( "\n---[ Part 2 ]---" );
 		System.out.println( "Examples (invalid): "+ countValid( passports_invalid, true ) );
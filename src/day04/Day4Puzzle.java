@@ -0,0 +1,36 @@
+package day04;
+
+import java.util.List;
+
+import util.puzzle.Puzzle;
+
+/**
+ * Solver of day 4 for the puzzle runner
+ *
+ * @author Joris
+ */
+public class Day4Puzzle implements Puzzle<List<Passport>, List<Passport>> {
+	@Override
+	public int getDay( ) { return 4; }
+
+	@Override
+	public List<Passport> read( final String file ) throws Exception {
+		return Passport.fromBatchFile( file );
+	}
+
+	@Override
+	public List<Passport> build( final List<Passport> input ) {
+		// the model is created while reading
+		return input;
+	}
+
+	@Override
+	public String part1( final List<Passport> model ) throws Exception {
+		return String.valueOf( Day4.countValid( model, false ) );
+	}
+
+	@Override
+	public String part2( final List<Passport> model ) throws Exception {
+		return String.valueOf( Day4.countValid( model, true ) );
+	}
+}
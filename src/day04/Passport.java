@@ -1,14 +1,15 @@
 package day04;
 
+import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import util.io.FileReader;
+import util.io.ParallelParser;
+import util.io.ParallelParser.RecordType;
 
 public class Passport {
 	/** The passport key/value set */
@@ -29,11 +30,11 @@ public class Passport {
 	/**
 	 * Creates a passport from a string representation
 	 * 
-	 * @param entries The passport entries as space-separated string
+	 * @param entries The passport entries as white space separated string
 	 * @return The passport
 	 */
 	public static Passport fromString( final String entries ) {
-		final String[] keyvals = entries.split( " " );
+		final String[] keyvals = entries.trim( ).split( "\\s+" );
 		final Map<String, String> E = new HashMap<>( keyvals.length );
 		
 		for( String pair : keyvals ) {
@@ -52,24 +53,9 @@ public class Passport {
 	 * @throws IOException
 	 */
 	public static List<Passport> fromBatchFile( final String infile ) throws IOException {
-		final FileReader f = new FileReader( infile ); 
-		final List<String> input = f.readLines( );
-		final List<Passport> passports = new ArrayList<Passport>( );
-		
-		// read passports, one per block ending with a new line
-		// append a new line to guarantee completing the last passport
-		input.add( "" );
-		String curr = "";
-		for( String s : input ) {
-			if( s.equals( "" ) ) {
-				passports.add( Passport.fromString( curr ) );
-				curr = "";
-				continue;
-			}
-			curr += s.trim() + " ";
-		}
-				
-		return passports;
+		// read passports, one per block ending with a new line, in parallel
+		final ParallelParser<Passport> parser = new ParallelParser<>( RecordType.Group, r -> Passport.fromString( r.toString( ) ) ); 
+		return parser.parse( new File( infile ) );
 	}
 	
 	/**
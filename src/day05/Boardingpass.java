@@ -1,5 +1,12 @@
 package day05;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import util.io.ParallelParser;
+import util.io.ParallelParser.RecordType;
+
 public class Boardingpass {
 	/** The row number */
 	final protected int row;
@@ -35,14 +42,15 @@ public class Boardingpass {
 	 * Computes row or column from a binary string
 	 * 
 	 * @param code The binary string
+	 * @param start The index of the first bit in the string
+	 * @param end The index after the last bit in the string
 	 * @return The integer value
 	 */	
-	protected static int fromBinary( final String code ) {
+	protected static int fromBinary( final CharSequence code, final int start, final int end ) {
 		int value = 0;
-		final int bits = code.length( );
-		for( int bit = 1; bit <= bits; bit++ ) {
-			final char c = code.charAt( bits - bit );
-			if( c == 'B' || c == 'R' ) value += Math.pow( 2, bit - 1);
+		for( int i = start; i < end; i++ ) {
+			final char c = code.charAt( i );
+			value = (value << 1) | (c == 'B' || c == 'R' ? 1 : 0);
 		}
 		return value;
 	}
@@ -53,12 +61,21 @@ public class Boardingpass {
 	 * @param code The binary encoded seat string
 	 * @return The boarding pass for the specified position
 	 */
-	public static Boardingpass fromCode( final String code ) {
-		// extract components
-		final String rowcode = code.substring( 0, 7 );
-		final String colcode = code.substring( 7 );
-
-		return new Boardingpass( fromBinary( rowcode ), fromBinary( colcode ) );
+	public static Boardingpass fromCode( final CharSequence code ) {
+		// extract components: 7 row bits followed by the column bits
+		return new Boardingpass( fromBinary( code, 0, 7 ), fromBinary( code, 7, code.length( ) ) );
+	}
+	
+	/**
+	 * Reads all boarding passes from a file, one code per line
+	 * 
+	 * @param infile The file to read
+	 * @return The list of boarding passes
+	 * @throws IOException if reading failed
+	 */
+	public static List<Boardingpass> fromFile( final String infile ) throws IOException {
+		final ParallelParser<Boardingpass> parser = new ParallelParser<>( RecordType.Line, Boardingpass::fromCode );
+		return parser.parse( new File( infile ) );
 	}
 	
 	/**
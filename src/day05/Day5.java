@@ -2,8 +2,6 @@ package day05;
 
 import java.util.List;
 
-import util.io.FileReader;
-
 public class Day5 {
 	
 	/**
@@ -13,8 +11,7 @@ public class Day5 {
 	 * @throws Exception 
 	 */
 	public static void main( String[] args ) throws Exception {
-		final FileReader f = new FileReader( Day5.class.getResource( "day5_input.txt" ).getFile( ) ); 
-		final List<String> input = f.readLines( );		
+		final List<Boardingpass> input = Boardingpass.fromFile( Day5.class.getResource( "day5_input.txt" ).getFile( ) );
 		
 		System.out.println( "---[ Part 1 ]---" );
 		System.out.println( "Max SeatID: " + part1( input ) );
@@ -24,14 +21,13 @@ public class Day5 {
 	}
 	
 	/**
-	 * Computes highest seat ID for a list of string encoded boarding passes
+	 * Computes highest seat ID for a list of boarding passes
 	 * @param input The list containing passes
 	 * @return Highest seat ID
 	 */
-	protected static int part1( final List<String> input ) {
+	protected static int part1( final List<Boardingpass> input ) {
 		int highest = -1;
-		for( String s : input ) {
-			final Boardingpass b = Boardingpass.fromCode( s );
+		for( Boardingpass b : input ) {
 			final int seatID = b.getSeatID( );
 			if( seatID > highest ) highest = seatID;
 		}
@@ -41,16 +37,15 @@ public class Day5 {
 	/**
 	 * Determine the "missing" seatID in the list of boarding passes
 	 * 
-	 * @param input The string encoded list of boarding passes
+	 * @param input The list of boarding passes
 	 * @return The seat ID of the missing seat
 	 */
-	protected static int part2( final List<String> input ) {
+	protected static int part2( final List<Boardingpass> input ) {
 		final int SEATS = 128 * 8;
 		
 		// create seat plan and flag taken seats
 		final boolean[] seats = new boolean[SEATS];
-		for( String s : input ) {
-			final Boardingpass b = Boardingpass.fromCode( s );
+		for( Boardingpass b : input ) {
 			seats[ b.getSeatID( ) ] = true;
 		}
 		
@@ -0,0 +1,36 @@
+package day05;
+
+import java.util.List;
+
+import util.puzzle.Puzzle;
+
+/**
+ * Solver of day 5 for the puzzle runner
+ *
+ * @author Joris
+ */
+public class Day5Puzzle implements Puzzle<List<Boardingpass>, List<Boardingpass>> {
+	@Override
+	public int getDay( ) { return 5; }
+
+	@Override
+	public List<Boardingpass> read( final String file ) throws Exception {
+		return Boardingpass.fromFile( file );
+	}
+
+	@Override
+	public List<Boardingpass> build( final List<Boardingpass> input ) {
+		// the model is created while reading
+		return input;
+	}
+
+	@Override
+	public String part1( final List<Boardingpass> model ) throws Exception {
+		return String.valueOf( Day5.part1( model ) );
+	}
+
+	@Override
+	public String part2( final List<Boardingpass> model ) throws Exception {
+		return String.valueOf( Day5.part2( model ) );
+	}
+}
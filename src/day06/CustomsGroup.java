@@ -1,10 +1,11 @@
 package day06;
 
+import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
-import util.io.FileReader;
+import util.io.ParallelParser;
+import util.io.ParallelParser.RecordType;
 
 public class CustomsGroup {
 	/** Max questions on the customs form */
@@ -25,20 +26,26 @@ public class CustomsGroup {
 	}
 	
 	/**
-	 * Creates a new customs group from a comma-separated string response set
+	 * Creates a new customs group from the responses of its members
 	 * 
-	 * @param responses The responses as comma separated string
+	 * @param responses The responses, one line per member
+	 * @return The customs group
 	 */
-	public CustomsGroup( final String responses ) {
-		this( );
-
-		// go over responses individually and add answers to counts
-		for( String s : responses.split( "," ) ) {
-			this.members++;
-			for( char c : s.toCharArray( ) )
-				// convert character "yes" responses into array indices
-				this.responses[ c - 'a' ]++;		
+	public static CustomsGroup fromLines( final CharSequence responses ) {
+		final CustomsGroup group = new CustomsGroup( );
+		
+		// every line with at least one response holds the "yes" responses of
+		// one member, white space and other characters are ignored
+		boolean newmember = true;
+		for( int i = 0; i < responses.length( ); i++ ) {
+			final char c = responses.charAt( i );
+			if( c == '\n' ) { newmember = true; continue; }
+			if( c < 'a' || c > 'z' ) continue;
+			if( newmember ) { group.members++; newmember = false; }
+			group.responses[ c - 'a' ]++;
 		}
+		
+		return group;
 	}
 	
 	/**
@@ -73,16 +80,9 @@ public class CustomsGroup {
 	 * @throws IOException
 	 */
 	public static List<CustomsGroup> fromFile( String infile ) throws IOException {
-		final FileReader f = new FileReader( infile ); 
-		final List<String> input = f.readLineGroups( "," );
-
-		// build result array of custom groups per input group
-		final List<CustomsGroup> groups = new ArrayList<CustomsGroup>( input.size( ) );
-		for( String s : input ) {
-			groups.add( new CustomsGroup( s ) );
-		}
-		
-		return groups;
+		// build result array of custom groups per input group, parsed in parallel
+		final ParallelParser<CustomsGroup> parser = new ParallelParser<>( RecordType.Group, CustomsGroup::fromLines );
+		return parser.parse( new File( infile ) );
 	}
 	
 	/**
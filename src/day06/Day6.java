@@ -1,6 +1,9 @@
 package day06;
 
 import java.util.List;
+import java.util.concurrent.Future;
+
+import util.io.ResourcePrefetcher;
 
 public class Day6 {
 	
@@ -11,8 +14,11 @@ public class Day6 {
 	 * @throws Exception 
 	 */
 	public static void main( String[] args ) throws Exception {
-		final List<CustomsGroup> ex_groups = CustomsGroup.fromFile( Day6.class.getResource( "day6_example.txt" ).getFile( ) ); 
-		final List<CustomsGroup> groups = CustomsGroup.fromFile( Day6.class.getResource( "day6_input.txt" ).getFile( ) ); 
+		final ResourcePrefetcher res = new ResourcePrefetcher( Day6.class );
+		final Future<List<CustomsGroup>> ex_input = res.loadFile( "day6_example.txt", CustomsGroup::fromFile );
+		final Future<List<CustomsGroup>> input = res.loadFile( "day6_input.txt", CustomsGroup::fromFile );
+		final List<CustomsGroup> ex_groups = ex_input.get( );
+		final List<CustomsGroup> groups = input.get( );
 		
 		System.out.println( "---[ Part 1 ]---" );
 		System.out.println( "Example: " + part1( ex_groups ) );
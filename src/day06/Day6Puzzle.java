@@ -0,0 +1,36 @@
+package day06;
+
+import java.util.List;
+
+import util.puzzle.Puzzle;
+
+/**
+ * Solver of day 6 for the puzzle runner
+ *
+ * @author Joris
+ */
+public class Day6Puzzle implements Puzzle<List<CustomsGroup>, List<CustomsGroup>> {
+	@Override
+	public int getDay( ) { return 6; }
+
+	@Override
+	public List<CustomsGroup> read( final String file ) throws Exception {
+		return CustomsGroup.fromFile( file );
+	}
+
+	@Override
+	public List<CustomsGroup> build( final List<CustomsGroup> input ) {
+		// the model is created while reading
+		return input;
+	}
+
+	@Override
+	public String part1( final List<CustomsGroup> model ) throws Exception {
+		return String.valueOf( Day6.part1( model ) );
+	}
+
+	@Override
+	public String part2( final List<CustomsGroup> model ) throws Exception {
+		return String.valueOf( Day6.part2( model ) );
+	}
+}
@@ -2,16 +2,17 @@ package day07;
 
 import java.io.IOException;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 import java.util.Stack;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.Future;
 
 import util.dag.Arc;
 import util.dag.DAG;
 import util.dag.Node;
+import util.io.ByteScanner;
 import util.io.FileReader;
+import util.io.LineCursor;
+import util.io.ResourcePrefetcher;
 
 public class Day7 {
 	/**
@@ -22,9 +23,13 @@ public class Day7 {
 	 */
 	public static void main( final String[] args ) throws Exception {
 		
-		final DAG example1 = createDAG( Day7.class.getResource( "day7_example.txt" ).getFile( ) );
-		final DAG example2 = createDAG( Day7.class.getResource( "day7_example2.txt" ).getFile( ) );
-		final DAG input = createDAG( Day7.class.getResource( "day7_input.txt" ).getFile( ) );
+		final ResourcePrefetcher res = new ResourcePrefetcher( Day7.class );
+		final Future<DAG> ex_input = res.loadFile( "day7_example.txt", Day7::createDAG );
+		final Future<DAG> ex2_input = res.loadFile( "day7_example2.txt", Day7::createDAG );
+		final Future<DAG> in_input = res.loadFile( "day7_input.txt", Day7::createDAG );
+		final DAG example1 = ex_input.get( );
+		final DAG example2 = ex2_input.get( );
+		final DAG input = in_input.get( );
 		
 		final String MY_BAG = "shiny gold";
 		
@@ -47,20 +52,40 @@ public class Day7 {
 	 */
 	protected static DAG createDAG( String infile ) throws IOException {
 		final FileReader f = new FileReader( infile ); 
-		final List<String> input = f.readLines( );
+		try( final LineCursor lines = f.cursor( ) ) {
+			return createDAG( lines );
+		}
+	}
+	
+	/**
+	 * Creates a DAG of nodes from the rules of a line cursor
+	 * 
+	 * @param lines The line cursor over the rules, one per line
+	 * @return The DAG
+	 * @throws IOException if reading failed
+	 */
+	protected static DAG createDAG( final LineCursor lines ) throws IOException {
 		final DAG dag = new DAG( );
 		
-		// go over rules and parse into nodes and arcs
-		for( String s : input ) {
-			final String[] rule = s.split( " bags contain " );
-			final Node bag = dag.addNode( rule[0].toLowerCase( ) );
+		// go over rules and parse into nodes and arcs, the scanner reads the
+		// lines in place and interns the bag names so every name is only
+		// created once
+		final ByteScanner sc = new ByteScanner( );
+		while( lines.next( ) ) {
+			if( lines.line( ).isEmpty( ) ) continue;
+			sc.reset( lines.line( ) );
+			final Node bag = dag.addNode( sc.getWord( sc.readIdUntil( " bags contain " ) ) );
+			sc.expect( " bags contain " );
+			if( sc.accept( "no other bags" ) ) continue;
 			
 			// get all sub-bags
-			final Matcher m = Pattern.compile( "(\\d+) ([\\w ]+) bags?" ).matcher( rule[1] );
-			while( m.find( ) ) {
-				final Node b2 = dag.addNode( m.group( 2 ) );
-				dag.addArc( new Arc( bag, b2, Integer.parseInt( m.group( 1 ) ) ));
-			}
+			do {
+				final int count = sc.readInt( );
+				sc.expect( " " );
+				final Node b2 = dag.addNode( sc.getWord( sc.readIdUntil( " bag" ) ) );
+				dag.addArc( new Arc( bag, b2, count ) );
+				sc.expect( " bag" ).accept( "s" );
+			} while( sc.accept( ", " ) );
 		}
 		
 		return dag;
@@ -0,0 +1,35 @@
+package day07;
+
+import util.dag.DAG;
+import util.puzzle.Puzzle;
+
+/**
+ * Solver of day 7 for the puzzle runner
+ *
+ * @author Joris
+ */
+public class Day7Puzzle implements Puzzle<DAG, DAG> {
+	@Override
+	public int getDay( ) { return 7; }
+
+	@Override
+	public DAG read( final String file ) throws Exception {
+		return Day7.createDAG( file );
+	}
+
+	@Override
+	public DAG build( final DAG input ) {
+		// the model is created while reading
+		return input;
+	}
+
+	@Override
+	public String part1( final DAG model ) throws Exception {
+		return String.valueOf( Day7.countContaining( model, "shiny gold" ) );
+	}
+
+	@Override
+	public String part2( final DAG model ) throws Exception {
+		return String.valueOf( Day7.countContained( model, "shiny gold" ) );
+	}
+}
@@ -1,7 +1,9 @@
 package day08;
 
 import java.util.List;
+import java.util.concurrent.Future;
 
+import util.io.ResourcePrefetcher;
 import util.program.Instruction;
 import util.program.Program;
 import util.program.Instruction.Op;
@@ -17,8 +19,11 @@ public class Day8 {
 	 * @throws Exception 
 	 */
 	public static void main( String[] args ) throws Exception {
-		final Program ex_program = Program.fromFile( Day8.class.getResource( "day8_example.txt" ).getFile( ) );
-		final Program program = Program.fromFile( Day8.class.getResource( "day8_input.txt" ).getFile( ) ); 
+		final ResourcePrefetcher res = new ResourcePrefetcher( Day8.class );
+		final Future<Program> ex_input = res.loadFile( "day8_example.txt", Program::fromFile );
+		final Future<Program> input = res.loadFile( "day8_input.txt", Program::fromFile );
+		final Program ex_program = ex_input.get( );
+		final Program program = input.get( );
 		
 		System.out.println( "---[ Part 1 ]---" );
 		System.out.println( "Example: " + part1( ex_program ) );
@@ -80,7 +85,9 @@ public class Day8 {
 			instructions.set( i, newinstr );				
 			try {
 				// if it terminated successfully, return the value of the global register
+				// and restore the program so that it can be repaired again
 				program.run( );
+				instructions.set( i, curr );
 				return program.getRegisterValue( );
 			} catch( InfiniteLoopException ie ) { /* still contains an infinite loop */ }
 			
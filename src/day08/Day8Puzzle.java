@@ -0,0 +1,41 @@
+package day08;
+
+import util.program.Program;
+import util.puzzle.Puzzle;
+
+/**
+ * Solver of day 8 for the puzzle runner
+ *
+ * @author Joris
+ */
+public class Day8Puzzle implements Puzzle<Program, Program> {
+	@Override
+	public int getDay( ) { return 8; }
+
+	@Override
+	public double getComplexity( final int phase ) {
+		// part 2 repairs every jump or nop and runs the full program again
+		return phase == 3 ? 2 : 1;
+	}
+
+	@Override
+	public Program read( final String file ) throws Exception {
+		return Program.fromFile( file );
+	}
+
+	@Override
+	public Program build( final Program input ) {
+		// the model is created while reading
+		return input;
+	}
+
+	@Override
+	public String part1( final Program model ) throws Exception {
+		return String.valueOf( Day8.part1( model ) );
+	}
+
+	@Override
+	public String part2( final Program model ) throws Exception {
+		return String.valueOf( Day8.part2( model ) );
+	}
+}
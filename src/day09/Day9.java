@@ -1,6 +1,9 @@
 package day09;
 
+import java.util.concurrent.Future;
+
 import util.io.FileReader;
+import util.io.ResourcePrefetcher;
 
 public class Day9 {
 	
@@ -11,16 +14,17 @@ public class Day9 {
 	 * @throws Exception
 	 */
 	public static void main( String[] args ) throws Exception {
-		final long[] ex_input = new FileReader( Day9.class.getResource( "day9_example.txt" ) ).readLongArray( );
-		final long[] input = new FileReader( Day9.class.getResource( "day9_input.txt" ) ).readLongArray( );
+		final ResourcePrefetcher res = new ResourcePrefetcher( Day9.class );
+		final Future<long[]> ex_input = res.load( "day9_example.txt", FileReader::readLongArray );
+		final Future<long[]> input = res.load( "day9_input.txt", FileReader::readLongArray );
 		
 		System.out.println( "---[ Part 1 ]---" );
-		System.out.println( "Example: " + part1( new XMASCypher( 5 ), ex_input ) );
-		System.out.println( "Part 1 : " + part1( new XMASCypher( 25 ), input ) );
+		System.out.println( "Example: " + part1( new XMASCypher( 5 ), ex_input.get( ) ) );
+		System.out.println( "Part 1 : " + part1( new XMASCypher( 25 ), input.get( ) ) );
 
 		System.out.println( "\n---[ Part 2 ]---" );
-		System.out.println( "Example: " + part2( new XMASCypher( 5 ), ex_input ) );
-		System.out.println( "Part 2 : " + part2( new XMASCypher( 25 ), input ) );
+		System.out.println( "Example: " + part2( new XMASCypher( 5 ), ex_input.get( ) ) );
+		System.out.println( "Part 2 : " + part2( new XMASCypher( 25 ), input.get( ) ) );
 }
 	
 	/**
@@ -0,0 +1,35 @@
+package day09;
+
+import util.io.FileReader;
+import util.puzzle.Puzzle;
+
+/**
+ * Solver of day 9 for the puzzle runner
+ *
+ * @author Joris
+ */
+public class Day9Puzzle implements Puzzle<long[], long[]> {
+	@Override
+	public int getDay( ) { return 9; }
+
+	@Override
+	public long[] read( final String file ) throws Exception {
+		return new FileReader( file ).readLongArray( );
+	}
+
+	@Override
+	public long[] build( final long[] input ) {
+		// the model is created while reading
+		return input;
+	}
+
+	@Override
+	public String part1( final long[] model ) throws Exception {
+		return String.valueOf( Day9.part1( new XMASCypher( 25 ), model ) );
+	}
+
+	@Override
+	public String part2( final long[] model ) throws Exception {
+		return String.valueOf( Day9.part2( new XMASCypher( 25 ), model ) );
+	}
+}
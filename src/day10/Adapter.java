@@ -1,10 +1,12 @@
 package day10;
 
+import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
-import util.io.FileReader;
+import util.Util;
+import util.io.ParallelParser;
+import util.io.ParallelParser.RecordType;
 
 /**
  * Container for an adapter that provides a specific joltage
@@ -61,13 +63,8 @@ public class Adapter implements Comparable<Adapter> {
 	 * @throws IOException
 	 */
 	public static List<Adapter> fromFile( final String infile ) throws IOException {
-		final List<String> input = new FileReader( infile ).readLines( );
-		final List<Adapter> adapters = new ArrayList<>( input.size( ) );
-		
-		for( String s : input )
-			adapters.add( new Adapter( Integer.parseInt( s ) ) );
-		
-		return adapters;
+		final ParallelParser<Adapter> parser = new ParallelParser<>( RecordType.Line, r -> new Adapter( Util.parseInt( r ) ) );
+		return parser.parse( new File( infile ) );
 	}
 	
 	/** @return The adapter as string */
@@ -4,6 +4,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
+
+import util.io.ResourcePrefetcher;
 
 public class Day10 {
 
@@ -14,9 +17,13 @@ public class Day10 {
 	 * @throws Exception
 	 */
 	public static void main( final String[] args ) throws Exception {
-		final List<Adapter> ex_adapters = Adapter.fromFile( Day10.class.getResource( "day10_example.txt" ).getFile( ) );
-		final List<Adapter> ex_adapters2 = Adapter.fromFile( Day10.class.getResource( "day10_example2.txt" ).getFile( ) );
-		final List<Adapter> adapters = Adapter.fromFile( Day10.class.getResource( "day10_input.txt" ).getFile( ) );
+		final ResourcePrefetcher res = new ResourcePrefetcher( Day10.class );
+		final Future<List<Adapter>> ex_input = res.loadFile( "day10_example.txt", Adapter::fromFile );
+		final Future<List<Adapter>> ex2_input = res.loadFile( "day10_example2.txt", Adapter::fromFile );
+		final Future<List<Adapter>> input = res.loadFile( "day10_input.txt", Adapter::fromFile );
+		final List<Adapter> ex_adapters = ex_input.get( );
+		final List<Adapter> ex_adapters2 = ex2_input.get( );
+		final List<Adapter> adapters = input.get( );
 		
 		System.out.println( "---[ Part 1 ]---" );
 		System.out.println( "Example 1: " + part1( ex_adapters ) );
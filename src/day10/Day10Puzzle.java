@@ -0,0 +1,36 @@
+package day10;
+
+import java.util.List;
+
+import util.puzzle.Puzzle;
+
+/**
+ * Solver of day 10 for the puzzle runner
+ *
+ * @author Joris
+ */
+public class Day10Puzzle implements Puzzle<List<Adapter>, List<Adapter>> {
+	@Override
+	public int getDay( ) { return 10; }
+
+	@Override
+	public List<Adapter> read( final String file ) throws Exception {
+		return Adapter.fromFile( file );
+	}
+
+	@Override
+	public List<Adapter> build( final List<Adapter> input ) {
+		// the model is created while reading
+		return input;
+	}
+
+	@Override
+	public String part1( final List<Adapter> model ) throws Exception {
+		return String.valueOf( Day10.part1( model ) );
+	}
+
+	@Override
+	public String part2( final List<Adapter> model ) throws Exception {
+		return String.valueOf( Day10.part2( model ) );
+	}
+}
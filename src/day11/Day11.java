@@ -1,6 +1,9 @@
 package day11;
 
+import java.util.concurrent.Future;
+
 import util.grid.CharGrid;
+import util.io.ResourcePrefetcher;
 
 public class Day11 {
 
@@ -11,8 +14,11 @@ public class Day11 {
 	 * @throws Exception
 	 */
 	public static void main( final String[] args ) throws Exception {
-		final CharGrid ex_grid = CharGrid.fromFile( Day11.class.getResource( "day11_example.txt" ).getFile( ) );
-		final CharGrid grid = CharGrid.fromFile( Day11.class.getResource( "day11_input.txt" ).getFile( ) );
+		final ResourcePrefetcher res = new ResourcePrefetcher( Day11.class );
+		final Future<CharGrid> ex_input = res.loadFile( "day11_example.txt", CharGrid::fromFile );
+		final Future<CharGrid> input = res.loadFile( "day11_input.txt", CharGrid::fromFile );
+		final CharGrid ex_grid = ex_input.get( );
+		final CharGrid grid = input.get( );
 		
 		System.out.println( "---[ Part 1 ]---" );
 		System.out.println( "Example: " + countSeats( ex_grid, false ) );
@@ -32,7 +38,8 @@ public class Day11 {
 	 * @return The number of occupied seats
 	 */
 	protected static int countSeats( final CharGrid grid, final boolean visibleseats ) {
-		final FloorPlanSim sim = new FloorPlanSim( grid );
+		// the bit engine only supports adjacent seats
+		final FloorPlanSim sim = new FloorPlanSim( grid, visibleseats ? FloorPlanSim.Engine.CHAR : FloorPlanSim.Engine.BITS );
 
 		// simulate (max 1000000 rounds to prevent infinite loops)
 		int rounds = 1000000;
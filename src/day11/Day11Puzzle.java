@@ -0,0 +1,47 @@
+package day11;
+
+import util.grid.CharGrid;
+import util.puzzle.Puzzle;
+
+/**
+ * Solver of day 11 for the puzzle runner
+ *
+ * @author Joris
+ */
+public class Day11Puzzle implements Puzzle<CharGrid, CharGrid> {
+	@Override
+	public int getDay( ) { return 11; }
+
+	@Override
+	public double getComplexity( final int phase ) {
+		// the size is the side of the floor plan, every round visits all seats
+		// and the number of rounds grows with the side. In part 2 every seat
+		// scans its lines of sight, which are as long as the side.
+		switch( phase ) {
+			case 0: case 1: return 2;
+			case 2: return 3;
+			default: return 4;
+		}
+	}
+
+	@Override
+	public CharGrid read( final String file ) throws Exception {
+		return CharGrid.fromFile( file );
+	}
+
+	@Override
+	public CharGrid build( final CharGrid input ) {
+		// the model is created while reading
+		return input;
+	}
+
+	@Override
+	public String part1( final CharGrid model ) throws Exception {
+		return String.valueOf( Day11.countSeats( model, false ) );
+	}
+
+	@Override
+	public String part2( final CharGrid model ) throws Exception {
+		return String.valueOf( Day11.countSeats( model, true ) );
+	}
+}
@@ -0,0 +1,40 @@
+package day11;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import util.metrics.SimMetrics;
+
+/**
+ * Metrics of all floor plan simulations
+ *
+ * @author Joris
+ */
+public class FloorPlanMetrics extends SimMetrics implements FloorPlanMetricsMBean {
+	/** The number of seats that changed */
+	protected final LongAdder changed = new LongAdder( );
+
+	/**
+	 * Counts a simulated round
+	 *
+	 * @param cells The number of seats that changed in the round
+	 */
+	public void round( final int cells ) {
+		addSteps( 1 );
+		changed.add( cells );
+	}
+
+	@Override
+	public long getRounds( ) { return getSteps( ); }
+
+	@Override
+	public double getRoundsPerSecond( ) { return getStepRate( ); }
+
+	@Override
+	public long getCellsChanged( ) { return changed.sum( ); }
+
+	@Override
+	public synchronized void reset( ) {
+		super.reset( );
+		changed.reset( );
+	}
+}
@@ -0,0 +1,20 @@
+package day11;
+
+/**
+ * JMX view of the floor plan simulation metrics
+ *
+ * @author Joris
+ */
+public interface FloorPlanMetricsMBean {
+	/** @return The number of simulated rounds */
+	long getRounds( );
+
+	/** @return The rounds per second over the last sample interval */
+	double getRoundsPerSecond( );
+
+	/** @return The total number of seats that changed */
+	long getCellsChanged( );
+
+	/** Resets all counters */
+	void reset( );
+}
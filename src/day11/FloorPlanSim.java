@@ -1,81 +1,185 @@
 package day11;
 
+import util.exec.ExecutionControl;
+import util.grid.BitGrid;
 import util.grid.CharGrid;
+import util.metrics.SimMetrics;
 
 /**
- * Class to simulate the occupation of seats on a floor plan
+ * Class to simulate the occupation of seats on a floor plan. The simulation
+ * runs on its own copy of the floor plan, which is stepped in place.
+ * 
+ * The simulation runs on one of two engines. The char engine steps the tiles
+ * of the floor plan one by one and supports both seating rules. The bit
+ * engine keeps the seats and the occupied seats as bit grids and applies the
+ * adjacent seating rule to 64 seats at a time, it does not support the
+ * visible seating rule.
  * 
  * @author Joris
  */
 
 public class FloorPlanSim {
-	/** The grid that represents the floor plan */
-	protected CharGrid grid;
+	/** The metrics of all floor plan simulations */
+	protected static final FloorPlanMetrics METRICS = SimMetrics.register( new FloorPlanMetrics( ), "FloorPlanSim" );
+	
+	/** The simulation engines */
+	public enum Engine {
+		/** Steps the tiles of the floor plan, supports all seating rules */
+		CHAR,
+		
+		/** Steps 64 seats at a time on bit grids, adjacent seats only */
+		BITS
+	}
+	
+	/** The engine of the simulation */
+	protected final Engine engine;
+	
+	/** The grid that represents the floor plan, null for the bit engine */
+	protected final CharGrid grid;
+	
+	/** The seats of the floor plan, null for the char engine */
+	protected final BitGrid seats;
+	
+	/** The occupied seats of the floor plan, null for the char engine */
+	protected final BitGrid occupied;
 	
 	/** The current simulation round */
 	protected int round;
 	
+	/** The execution control, null if the simulation is not controlled */
+	protected ExecutionControl control;
+	
 	/** Used tile types (for convenience) */
 	protected final char TILE_EMPTY = '.';
 	protected final char TILE_AVAILABLE = 'L';
 	protected final char TILE_OCCUPIED = '#'; 
+	
+	/** The seating rule that counts adjacent occupied seats */
+	protected final CharGrid.CellRule adjacentRule = ( g, x, y, tile ) -> tile == TILE_EMPTY ? tile : seat( tile, g.countNeighbours( x, y, TILE_OCCUPIED, true ), 4 );
+	
+	/** The seating rule that counts visibly occupied seats */
+	protected final CharGrid.CellRule visibleRule = ( g, x, y, tile ) -> tile == TILE_EMPTY ? tile : seat( tile, countVisiblyOccupied( x, y ), 5 );
+	
+	/** The seating rule of the bit engine that counts adjacent occupied seats */
+	protected final BitGrid.WordRule adjacentBits = this::seatWord;
 
 	/**
-	 * Creates a floor plan simulation from the grid
+	 * Creates a floor plan simulation from the grid that runs on the char
+	 * engine
 	 * 
-	 * @param plan The floor plan grid
+	 * @param plan The floor plan grid, it is not modified by the simulation
 	 */
 	public FloorPlanSim( final CharGrid plan ) {
-		this.grid = plan;
+		this( plan, Engine.CHAR );
+	}
+	
+	/**
+	 * Creates a floor plan simulation from the grid
+	 * 
+	 * @param plan The floor plan grid, it is not modified by the simulation
+	 * @param engine The simulation engine
+	 */
+	public FloorPlanSim( final CharGrid plan, final Engine engine ) {
+		this.engine = engine;
+		if( engine == Engine.BITS ) {
+			this.grid = null;
+			this.seats = BitGrid.fromCharGrid( plan, TILE_AVAILABLE, TILE_OCCUPIED );
+			this.occupied = BitGrid.fromCharGrid( plan, TILE_OCCUPIED );
+		} else {
+			this.grid = plan.copy( );
+			this.seats = null;
+			this.occupied = null;
+		}
 		this.round = 0;
+		this.control = ExecutionControl.current( );
+	}
+	
+	/**
+	 * Sets the execution control, by default the control of the thread that
+	 * created the simulation is used
+	 * 
+	 * @param control The control, null to run uncontrolled
+	 */
+	public void setControl( final ExecutionControl control ) {
+		this.control = control;
 	}
 	
 	/** @return The number of simulated rounds so far */
 	public int getRounds( ) { return round; }
 	
+	/** @return The engine of the simulation */
+	public Engine getEngine( ) { return engine; }
+	
 	/**
 	 * Simulate one round of seating rules
 	 * 
+	 * @param visibleSeats True to count visible instead of adjacent seats
 	 * @return The number of changes in seats
+	 * @throws IllegalArgumentException if visible seats are requested from
+	 *   the bit engine, which only counts adjacent seats
 	 */
 	public int nextRound( final boolean visibleSeats ) {
-		final CharGrid newround = grid.copy( );
-		int changed = 0;
-		
-		// go over all positions and apply rules
-		for( int y = 0; y < grid.getHeight( ); y++ ) {
-			for( int x = 0; x < grid.getWidth( ); x++ ) {
-				// get tile
-				final char tile = grid.getTile( x, y );
-				if( tile == TILE_EMPTY ) continue;
-				
-				// get occupied neighbours
-				final int occupied = visibleSeats ? countVisiblyOccupied( x, y ) : grid.countNeighbours( x, y, TILE_OCCUPIED, true );
-				if( tile == TILE_AVAILABLE && occupied == 0 ) {
-					newround.setTile( x, y, TILE_OCCUPIED );
-					changed++;
-				}
-				if( tile == TILE_OCCUPIED && occupied >= (visibleSeats ? 5 : 4) ) {
-					newround.setTile( x, y, TILE_AVAILABLE );
-					changed++;
-				}
-			}
-		}
+		// apply the rules to all positions
+		final int changed;
+		if( engine == Engine.BITS ) {
+			if( visibleSeats ) throw new IllegalArgumentException( "The bit engine only counts adjacent seats" );
+			changed = occupied.step( adjacentBits );
+		} else
+			changed = grid.step( visibleSeats ? visibleRule : adjacentRule );
 
-		// update grid and round number and return number of changes in this round
+		// update round number and return number of changes in this round
 		round++;
-		this.grid = newround;
+		METRICS.round( changed );
+		if( control != null ) control.step( 1 );
 		return changed;
 	}
 
 	/**
-	 * Counts the number of seats that are visually occupied
+	 * Applies the seating rules to a single tile
+	 * 
+	 * @param tile The current tile
+	 * @param occupied The number of occupied seats around it
+	 * @param tolerance The number of occupied seats at which an occupied seat
+	 *   is left
+	 * @return The next tile
+	 */
+	protected char seat( final char tile, final int occupied, final int tolerance ) {
+		if( tile == TILE_AVAILABLE && occupied == 0 ) return TILE_OCCUPIED;
+		if( tile == TILE_OCCUPIED && occupied >= tolerance ) return TILE_AVAILABLE;
+		return tile;
+	}
+
+	/**
+	 * Applies the adjacent seating rule to a word of 64 seats: an available
+	 * seat becomes occupied without occupied neighbours, an occupied seat is
+	 * left with 4 or more occupied neighbours, i.e. if the count bits of
+	 * weight 4 or 8 are set
+	 * 
+	 * @param y The row of the word
+	 * @param w The index of the word within the row
+	 * @param cells The occupied seats
+	 * @param c0 The bits of weight 1 of the occupied neighbour counts
+	 * @param c1 The bits of weight 2 of the occupied neighbour counts
+	 * @param c2 The bits of weight 4 of the occupied neighbour counts
+	 * @param c3 The bits of weight 8 of the occupied neighbour counts
+	 * @return The occupied seats in the next round
+	 */
+	protected long seatWord( final int y, final int w, final long cells, final long c0, final long c1, final long c2, final long c3 ) {
+		return seats.getWord( y, w ) & ((~cells & ~(c0 | c1 | c2 | c3)) | (cells & ~(c2 | c3)));
+	}
+
+	/**
+	 * Counts the number of seats that are visually occupied, only supported
+	 * by the char engine
 	 * 
 	 * @param x The horizontal position
 	 * @param y The vertical position
 	 * @return The count of visibly occupied seats
+	 * @throws IllegalArgumentException if called on the bit engine, which only
+	 *   counts adjacent seats
 	 */
 	public int countVisiblyOccupied( final int x, final int y ) {
+		if( engine == Engine.BITS ) throw new IllegalArgumentException( "The bit engine only counts adjacent seats" );
 		// count occupied seats in all directions
 		return countVORec( x, y, -1, -1 ) + countVORec( x, y, 1, -1 ) +	countVORec( x, y, -1, 1 ) + countVORec( x, y, 1, 1 ) +
 				countVORec( x, y, -1, 0 ) + countVORec( x, y, 1, 0 ) + countVORec( x, y, 0, -1 ) + countVORec( x, y, 0, 1 );
@@ -93,10 +197,8 @@ public class FloorPlanSim {
 	 */	
 	protected int countVORec( final int x, final int y, final int dx, final int dy ) {
 		// get current tile and check if it is occupied or free, if no chair continue recursion
-		final char t;
-		try {
-			t = grid.getTile( x + dx, y + dy );
-		} catch( IndexOutOfBoundsException ioe ) { return 0; }
+		if( !grid.validPosition( x + dx, y + dy ) ) return 0;
+		final char t = grid.getTile( x + dx, y + dy );
 		if( t == TILE_OCCUPIED ) return 1;
 		if( t == TILE_AVAILABLE ) return 0;
 		return countVORec( x + dx, y + dy, dx, dy );
@@ -108,12 +210,20 @@ public class FloorPlanSim {
 	 * @return The count
 	 */
 	public int countOccupied( ) {
-		return grid.countTile( TILE_OCCUPIED );
+		return engine == Engine.BITS ? occupied.count( ) : grid.countTile( TILE_OCCUPIED );
 	}
 	
 	/** @return The string version of the floor plan */
 	@Override
 	public String toString( ) {
-		return grid.toString( );
+		if( engine != Engine.BITS ) return grid.toString( );
+		
+		final StringBuilder sb = new StringBuilder( );
+		for( int y = 0; y < seats.getHeight( ); y++ ) {
+			for( int x = 0; x < seats.getWidth( ); x++ )
+				sb.append( !seats.get( x, y ) ? TILE_EMPTY : occupied.get( x, y ) ? TILE_OCCUPIED : TILE_AVAILABLE );
+			if( y < seats.getHeight( ) - 1 ) sb.append( '\n' );
+		}
+		return sb.toString( );
 	}
 }
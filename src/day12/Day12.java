@@ -1,11 +1,12 @@
 package day12;
 
 import java.util.List;
+import java.util.concurrent.Future;
 
 import day12.ship.GuidedShip;
 import day12.ship.Ship;
 import util.geometry.Coord2D;
-import util.io.FileReader;
+import util.io.ResourcePrefetcher;
 
 public class Day12 {
 	/**
@@ -15,17 +16,18 @@ public class Day12 {
 	 * @throws Exception
 	 */
 	public static void main( final String[] args ) throws Exception {
-		final List<String> ex_input = new FileReader( Day12.class.getResource( "day12_example.txt" ) ).readLines( );
-		final List<String> input = new FileReader( Day12.class.getResource( "day12_input.txt" ) ).readLines( );
+		final ResourcePrefetcher res = new ResourcePrefetcher( Day12.class );
+		final Future<List<String>> ex_input = res.readLines( "day12_example.txt" );
+		final Future<List<String>> input = res.readLines( "day12_input.txt" );
 		
 		System.out.println( "---[ Part 1 ]---" );
-		System.out.println( "Example: " + getDistance( ex_input, null ) );
-		System.out.println( "Part 1 : " + getDistance( input, null ) );
+		System.out.println( "Example: " + getDistance( ex_input.get( ), null ) );
+		System.out.println( "Part 1 : " + getDistance( input.get( ), null ) );
 
 		System.out.println( "\n---[ Part 2 ]---" );
 		final Coord2D wpoint = new Coord2D( 10, -1 );
-		System.out.println( "Example: " + getDistance( ex_input, wpoint ) );
-		System.out.println( "Part 2 : " + getDistance( input, wpoint ) );
+		System.out.println( "Example: " + getDistance( ex_input.get( ), wpoint ) );
+		System.out.println( "Part 2 : " + getDistance( input.get( ), wpoint ) );
 	}
 
 	/**
@@ -0,0 +1,38 @@
+package day12;
+
+import java.util.List;
+
+import util.geometry.Coord2D;
+import util.io.FileReader;
+import util.puzzle.Puzzle;
+
+/**
+ * Solver of day 12 for the puzzle runner
+ *
+ * @author Joris
+ */
+public class Day12Puzzle implements Puzzle<List<String>, List<String>> {
+	@Override
+	public int getDay( ) { return 12; }
+
+	@Override
+	public List<String> read( final String file ) throws Exception {
+		return new FileReader( file ).readLines( );
+	}
+
+	@Override
+	public List<String> build( final List<String> input ) {
+		// the model is created while reading
+		return input;
+	}
+
+	@Override
+	public String part1( final List<String> model ) throws Exception {
+		return String.valueOf( Day12.getDistance( model, null ) );
+	}
+
+	@Override
+	public String part2( final List<String> model ) throws Exception {
+		return String.valueOf( Day12.getDistance( model, new Coord2D( 10, -1 ) ) );
+	}
+}
@@ -3,8 +3,9 @@ package day13;
 import java.util.Collections;
 import java.util.List;
 import java.util.Stack;
+import java.util.concurrent.Future;
 
-import util.io.FileReader;
+import util.io.ResourcePrefetcher;
 
 public class Day13 {
 
@@ -15,16 +16,17 @@ public class Day13 {
 	 * @throws Exception
 	 */
 	public static void main( final String[] args ) throws Exception {
-		final List<String> ex_input = new FileReader( Day13.class.getResource( "day13_example.txt" ) ).readLines( );
-		final List<String> input = new FileReader( Day13.class.getResource( "day13_input.txt" ) ).readLines( );
+		final ResourcePrefetcher res = new ResourcePrefetcher( Day13.class );
+		final Future<List<String>> ex_input = res.readLines( "day13_example.txt" );
+		final Future<List<String>> input = res.readLines( "day13_input.txt" );
 		
 		System.out.println( "---[ Part 1 ]---" );
-		System.out.println( "Example: " + part1( ex_input ) );
-		System.out.println( "Part 1 : " + part1( input ) );
+		System.out.println( "Example: " + part1( ex_input.get( ) ) );
+		System.out.println( "Part 1 : " + part1( input.get( ) ) );
 
 		System.out.println( "\n---[ Part 2 ]---" );
-		System.out.println( "Example: " + part2( ex_input ) );
-		System.out.println( "Part 2 : " + part2( input ) );
+		System.out.println( "Example: " + part2( ex_input.get( ) ) );
+		System.out.println( "Part 2 : " + part2( input.get( ) ) );
 	}
 	
 	/**
@@ -0,0 +1,37 @@
+package day13;
+
+import java.util.List;
+
+import util.io.FileReader;
+import util.puzzle.Puzzle;
+
+/**
+ * Solver of day 13 for the puzzle runner
+ *
+ * @author Joris
+ */
+public class Day13Puzzle implements Puzzle<List<String>, List<String>> {
+	@Override
+	public int getDay( ) { return 13; }
+
+	@Override
+	public List<String> read( final String file ) throws Exception {
+		return new FileReader( file ).readLines( );
+	}
+
+	@Override
+	public List<String> build( final List<String> input ) {
+		// the model is created while reading
+		return input;
+	}
+
+	@Override
+	public String part1( final List<String> model ) throws Exception {
+		return String.valueOf( Day13.part1( model ) );
+	}
+
+	@Override
+	public String part2( final List<String> model ) throws Exception {
+		return String.valueOf( Day13.part2( model ) );
+	}
+}
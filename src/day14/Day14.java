@@ -1,12 +1,12 @@
 package day14;
 
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.Future;
 
 import day14.mem.Memory;
 import day14.mem.MemoryV2;
-import util.io.FileReader;
+import util.io.ByteScanner;
+import util.io.ResourcePrefetcher;
 
 public class Day14 {
 	/**
@@ -16,17 +16,18 @@ public class Day14 {
 	 * @throws Exception
 	 */
 	public static void main( final String[] args ) throws Exception {
-		final List<String> ex_input = new FileReader( Day14.class.getResource( "day14_example.txt" ) ).readLines( );
-		final List<String> ex2_input = new FileReader( Day14.class.getResource( "day14_example2.txt" ) ).readLines( );
-		final List<String> input = new FileReader( Day14.class.getResource( "day14_input.txt" ) ).readLines( );
+		final ResourcePrefetcher res = new ResourcePrefetcher( Day14.class );
+		final Future<List<String>> ex_input = res.readLines( "day14_example.txt" );
+		final Future<List<String>> ex2_input = res.readLines( "day14_example2.txt" );
+		final Future<List<String>> input = res.readLines( "day14_input.txt" );
 		
 		System.out.println( "---[ Part 1 ]---" );
-		System.out.println( "Example: " + sumMemory( ex_input, false ) );
-		System.out.println( "Part 1 : " + sumMemory( input, false ) );
+		System.out.println( "Example: " + sumMemory( ex_input.get( ), false ) );
+		System.out.println( "Part 1 : " + sumMemory( input.get( ), false ) );
 		
 		System.out.println( "\n---[ Part 2 ]---" );
-		System.out.println( "Example: " + sumMemory( ex2_input, true ) );
-		System.out.println( "Part 1 : " + sumMemory( input, true ) );
+		System.out.println( "Example: " + sumMemory( ex2_input.get( ), true ) );
+		System.out.println( "Part 1 : " + sumMemory( input.get( ), true ) );
 	}
 	
 	/**
@@ -42,16 +43,18 @@ public class Day14 {
 		final Memory M = v2 ? new MemoryV2() : new Memory( );
 		
 		// now process memory operations
+		final ByteScanner s = new ByteScanner( );
 		for( String line : input ) {
 			// either the operation sets the bit mask or manipulates the value
-			final Matcher m = Pattern.compile( "(mask|mem\\[(\\d+)\\])\\s+=\\s+([0-9X]+)" ).matcher( line );		
-			if( !m.find( ) ) throw new RuntimeException( "Invalid operation in input: " + line );
-			
-			final String op = m.group( 1 ).toLowerCase( );
-			if( op.equals( "mask" )  ) {
-				M.setMask( m.group(3) );
-			} else if( op.startsWith( "mem" ) )
-				M.store( Long.valueOf( m.group( 2 ) ), Long.valueOf( m.group( 3 ) ) );
+			s.reset( line );
+			if( s.accept( "mask" ) ) {
+				s.skipWhitespace( ).expect( "=" ).skipWhitespace( );
+				M.setMask( s.getWord( s.readWordId( ) ) );
+			} else {
+				final long address = s.expect( "mem[" ).readLong( );
+				s.expect( "]" ).skipWhitespace( ).expect( "=" ).skipWhitespace( );
+				M.store( address, s.readLong( ) );
+			}
 		}
 		
 		return M.sum( );
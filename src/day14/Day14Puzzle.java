@@ -0,0 +1,37 @@
+package day14;
+
+import java.util.List;
+
+import util.io.FileReader;
+import util.puzzle.Puzzle;
+
+/**
+ * Solver of day 14 for the puzzle runner
+ *
+ * @author Joris
+ */
+public class Day14Puzzle implements Puzzle<List<String>, List<String>> {
+	@Override
+	public int getDay( ) { return 14; }
+
+	@Override
+	public List<String> read( final String file ) throws Exception {
+		return new FileReader( file ).readLines( );
+	}
+
+	@Override
+	public List<String> build( final List<String> input ) {
+		// the model is created while reading
+		return input;
+	}
+
+	@Override
+	public String part1( final List<String> model ) throws Exception {
+		return String.valueOf( Day14.sumMemory( model, false ) );
+	}
+
+	@Override
+	public String part2( final List<String> model ) throws Exception {
+		return String.valueOf( Day14.sumMemory( model, true ) );
+	}
+}
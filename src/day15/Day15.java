@@ -1,8 +1,9 @@
 package day15;
 
 import java.util.List;
+import java.util.concurrent.Future;
 
-import util.io.FileReader;
+import util.io.ResourcePrefetcher;
 
 public class Day15 {
 
@@ -13,16 +14,17 @@ public class Day15 {
 	 * @throws Exception
 	 */
 	public static void main( final String[] args ) throws Exception {
-		final List<String> ex_input = new FileReader( Day15.class.getResource( "day15_example.txt" ) ).readLines( );
-		final List<String> input = new FileReader( Day15.class.getResource( "day15_input.txt" ) ).readLines( );
+		final ResourcePrefetcher res = new ResourcePrefetcher( Day15.class );
+		final Future<List<String>> ex_input = res.readLines( "day15_example.txt" );
+		final Future<List<String>> input = res.readLines( "day15_input.txt" );
 		
 		System.out.println( "---[ Part 1 ]---" );
-		System.out.println( "Example: " + getCall( ex_input, 2020 ) ); 
-		System.out.println( "Part 1 : " + getCall( input, 2020 ) ); 
+		System.out.println( "Example: " + getCall( ex_input.get( ), 2020 ) ); 
+		System.out.println( "Part 1 : " + getCall( input.get( ), 2020 ) ); 
 
 		System.out.println( "\n---[ Part 2 ]---" );
-		System.out.println( "Example: " + getCall( ex_input, 30000000 ) ); 
-		System.out.println( "Part 2 : " + getCall( input, 30000000 ) ); 
+		System.out.println( "Example: " + getCall( ex_input.get( ), 30000000 ) ); 
+		System.out.println( "Part 2 : " + getCall( input.get( ), 30000000 ) ); 
 	}
 	
 	/**
@@ -35,10 +37,6 @@ public class Day15 {
 	protected static int getCall( final List<String> input, final int turn ) {
 		// create a new memory game from the input
 		final MemGame game = new MemGame( input.get( 0 ) );
-		while( game.getTurns( ) < turn ) {
-			game.turn();
-		}
-		
-		return game.getLast( );
+		return game.play( turn );
 	}
 }
@@ -0,0 +1,40 @@
+package day15;
+
+import java.util.List;
+
+import util.io.FileReader;
+import util.puzzle.Puzzle;
+
+/**
+ * Solver of day 15 for the puzzle runner
+ *
+ * @author Joris
+ */
+public class Day15Puzzle implements Puzzle<List<String>, List<String>> {
+	@Override
+	public int getDay( ) { return 15; }
+
+	@Override
+	public long getEstimatedTime( ) { return 7500; }
+
+	@Override
+	public List<String> read( final String file ) throws Exception {
+		return new FileReader( file ).readLines( );
+	}
+
+	@Override
+	public List<String> build( final List<String> input ) {
+		// the model is created while reading
+		return input;
+	}
+
+	@Override
+	public String part1( final List<String> model ) throws Exception {
+		return String.valueOf( Day15.getCall( model, 2020 ) );
+	}
+
+	@Override
+	public String part2( final List<String> model ) throws Exception {
+		return String.valueOf( Day15.getCall( model, 30000000 ) );
+	}
+}
@@ -1,14 +1,36 @@
 package day15;
 
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.Map;
 
+import util.Util;
+import util.exec.ExecutionControl;
+import util.exec.ExecutionStoppedException;
+import util.io.Snapshot;
+import util.metrics.SimMetrics;
+
 /**
  * A memory game played by the Elves
  * 
+ * The game can periodically write a snapshot of its state while playing, so
+ * that a long game can be resumed from the last snapshot if it is stopped.
+ * 
  * @author Joris
  */
 public class MemGame {
+	/** The metrics of all memory games */
+	protected static final MemMetrics METRICS = SimMetrics.register( new MemMetrics( ), "MemGame" );
+	
+	/** The number of turns after which they are reported to the metrics, a power of 2 */
+	protected static final int REPORT_INTERVAL = 4096;
+	
+	/** The type tag of memory game snapshots */
+	protected static final byte SNAPSHOT_TYPE = 15;
+	
 	/** The current turn */
 	protected int turn;
 	
@@ -18,6 +40,18 @@ public class MemGame {
 	/** The history of when a number was called last */
 	protected Map<Integer, Integer> hist;
 	
+	/** The turn that was last reported to the metrics */
+	protected int reported;
+	
+	/** The file to write snapshots to while playing, null for none */
+	protected File snapshot;
+	
+	/** The number of turns between snapshots */
+	protected int interval;
+	
+	/** The execution control, null if the game is not controlled */
+	protected ExecutionControl control;
+	
 	/**
 	 * Creates a new game
 	 * 
@@ -27,10 +61,87 @@ public class MemGame {
 		this.turn = -1;
 		this.last = -1;
 		this.hist = new HashMap<>( );
+		this.control = ExecutionControl.current( );
 		
 		init( startseq );
 	}
 	
+	/**
+	 * Creates a game in the given state
+	 * 
+	 * @param turn The current turn
+	 * @param last The last called number
+	 * @param hist The call history
+	 */
+	protected MemGame( final int turn, final int last, final Map<Integer, Integer> hist ) {
+		this.turn = turn;
+		this.last = last;
+		this.hist = hist;
+		this.reported = turn;
+		this.control = ExecutionControl.current( );
+	}
+	
+	/**
+	 * Resumes a game from a snapshot
+	 * 
+	 * @param file The snapshot file
+	 * @return The game in the state of the snapshot
+	 * @throws IOException if the snapshot could not be read
+	 */
+	public static MemGame resume( final File file ) throws IOException {
+		try( final DataInputStream in = Snapshot.read( file, SNAPSHOT_TYPE ) ) {
+			final int turn = in.readInt( );
+			final int last = in.readInt( );
+			final int size = in.readInt( );
+			
+			// size the map up front to avoid rehashing millions of entries
+			final Map<Integer, Integer> hist = new HashMap<>( (int)(size / 0.75f) + 1 );
+			for( int i = 0; i < size; i++ ) hist.put( in.readInt( ), in.readInt( ) );
+			return new MemGame( turn, last, hist );
+		}
+	}
+	
+	/**
+	 * Writes a snapshot of the current state of the game: the turn, the last
+	 * called number and the history of calls
+	 * 
+	 * @param file The snapshot file
+	 * @throws IOException if the snapshot could not be written
+	 */
+	public void save( final File file ) throws IOException {
+		Snapshot.write( file, SNAPSHOT_TYPE, out -> {
+			out.writeInt( turn );
+			out.writeInt( last );
+			out.writeInt( hist.size( ) );
+			for( Map.Entry<Integer, Integer> e : hist.entrySet( ) ) {
+				out.writeInt( e.getKey( ) );
+				out.writeInt( e.getValue( ) );
+			}
+		} );
+	}
+	
+	/**
+	 * Periodically writes snapshots while playing
+	 * 
+	 * @param file The snapshot file, null to stop writing snapshots
+	 * @param interval The number of turns between snapshots
+	 */
+	public void setSnapshot( final File file, final int interval ) {
+		if( file != null && interval < 1 ) throw new IllegalArgumentException( "Invalid snapshot interval " + interval );
+		this.snapshot = file;
+		this.interval = interval;
+	}
+	
+	/**
+	 * Sets the execution control, by default the control of the thread that
+	 * created the game is used
+	 * 
+	 * @param control The control, null to run uncontrolled
+	 */
+	public void setControl( final ExecutionControl control ) {
+		this.control = control;
+	}
+	
 	/**
 	 * Initialises the game through the starting sequence of numbers
 	 * 
@@ -39,14 +150,15 @@ public class MemGame {
 	protected void init( final String seq ) {
 		// start in turn 0 and process called numbers as is, simply initialising the history
 		turn = 0;
-		final String[] numbers = seq.split( "," );
-		for( String s : numbers ) {
+		final int[] numbers = Util.toIntArray( seq );
+		for( int n : numbers ) {
 			turn++;
-			hist.put( Integer.valueOf( s ), turn );
+			hist.put( n, turn );
 		}
 
 		// store last called number for use in next round
-		last = Integer.valueOf( numbers[ numbers.length - 1 ] ); 
+		last = numbers[ numbers.length - 1 ]; 
+		reported = turn;
 	}
 	
 	
@@ -67,12 +179,96 @@ public class MemGame {
 		// now update last called value and increase round number 
 		last = newcall;
 		turn++;
+		
+		// turns are only reported once in a while to keep the metrics cheap
+		if( (turn & (REPORT_INTERVAL - 1)) == 0 ) report( );
 		return newcall;
 	}
 	
+	/**
+	 * Plays turns until the given turn has been reached, writing snapshots on
+	 * the way if enabled
+	 * 
+	 * @param n The turn number to play until
+	 * @return The number that is called out in the last turn
+	 * @throws UncheckedIOException if a snapshot could not be written
+	 */
+	public int play( final int n ) {
+		if( snapshot == null ) {
+			while( turn < n ) turn( );
+		} else {
+			while( turn < n ) {
+				turn( );
+				if( turn % interval == 0 ) checkpoint( );
+			}
+		}
+		report( );
+		return last;
+	}
+	
+	/**
+	 * Writes the periodic snapshot
+	 * 
+	 * @throws UncheckedIOException if the snapshot could not be written
+	 */
+	protected void checkpoint( ) {
+		try {
+			save( snapshot );
+		} catch( IOException e ) {
+			throw new UncheckedIOException( "Failed to write snapshot " + snapshot, e );
+		}
+	}
+	
+	/**
+	 * Reports the turns played since the last report to the metrics and the
+	 * execution control
+	 * 
+	 * @throws ExecutionStoppedException if the control stops the game
+	 */
+	protected void report( ) {
+		final int n = turn - reported;
+		METRICS.turns( n, hist.size( ) );
+		reported = turn;
+		if( control != null ) control.step( n );
+	}
+	
 	/** @return The number of played turns */
 	public int getTurns( ) { return turn; }
 	
 	/** @return The last called value */
 	public int getLast( ) { return last; }
+	
+	/**
+	 * Plays a game as a restartable batch job. The game is resumed from the
+	 * snapshot file if it exists, otherwise a new game is started from the
+	 * starting sequence. While playing a snapshot is written every interval
+	 * turns. The number called in the last turn is printed at the end.
+	 * 
+	 * Usage: MemGame snapshot turns interval startseq
+	 * 
+	 * @param args The command line arguments
+	 * @throws IOException if a snapshot could not be read or written
+	 */
+	public static void main( final String[] args ) throws IOException {
+		if( args.length < 4 ) {
+			System.err.println( "Usage: MemGame snapshot turns interval startseq" );
+			System.exit( 2 );
+		}
+		final File file = new File( args[0] );
+		final int turns = Integer.parseInt( args[1] );
+		final int interval = Integer.parseInt( args[2] );
+		
+		final MemGame game;
+		if( file.exists( ) ) {
+			game = resume( file );
+			System.out.println( "Resumed at turn " + game.getTurns( ) );
+		} else {
+			game = new MemGame( args[3] );
+		}
+		
+		game.setSnapshot( file, interval );
+		final int call = game.play( turns );
+		game.save( file );
+		System.out.println( "Turn " + game.getTurns( ) + ": " + call );
+	}
 }
@@ -0,0 +1,39 @@
+package day15;
+
+import util.metrics.SimMetrics;
+
+/**
+ * Metrics of all memory games
+ *
+ * @author Joris
+ */
+public class MemMetrics extends SimMetrics implements MemMetricsMBean {
+	/** The history size at the latest sample */
+	protected volatile long history;
+
+	/**
+	 * Counts played turns
+	 *
+	 * @param turns The number of turns
+	 * @param history The current size of the call history
+	 */
+	public void turns( final long turns, final long history ) {
+		addSteps( turns );
+		this.history = history;
+	}
+
+	@Override
+	public long getTurns( ) { return getSteps( ); }
+
+	@Override
+	public double getTurnsPerSecond( ) { return getStepRate( ); }
+
+	@Override
+	public long getHistorySize( ) { return history; }
+
+	@Override
+	public synchronized void reset( ) {
+		super.reset( );
+		history = 0;
+	}
+}
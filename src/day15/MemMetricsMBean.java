@@ -0,0 +1,20 @@
+package day15;
+
+/**
+ * JMX view of the memory game metrics
+ *
+ * @author Joris
+ */
+public interface MemMetricsMBean {
+	/** @return The number of turns played */
+	long getTurns( );
+
+	/** @return The turns per second over the last sample interval */
+	double getTurnsPerSecond( );
+
+	/** @return The size of the call history at the latest sample */
+	long getHistorySize( );
+
+	/** Resets all counters */
+	void reset( );
+}
@@ -6,9 +6,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Future;
 
 import day16.ticketrules.TicketValidator;
-import util.io.FileReader;
+import util.Util;
+import util.io.ResourcePrefetcher;
 
 public class Day16 {
 	
@@ -19,17 +21,18 @@ public class Day16 {
 	 * @throws Exception
 	 */
 	public static void main( final String[] args ) throws Exception {
-		final List<String> input = new FileReader( Day16.class.getResource( "day16_input.txt" ) ).readLineGroups( "\n" );
-		final List<String> ex_input = new FileReader( Day16.class.getResource( "day16_example.txt" ) ).readLineGroups( "\n" );
-		final List<String> ex2_input = new FileReader( Day16.class.getResource( "day16_example2.txt" ) ).readLineGroups( "\n" );
+		final ResourcePrefetcher res = new ResourcePrefetcher( Day16.class );
+		final Future<List<String>> input = res.readLineGroups( "day16_input.txt", "\n" );
+		final Future<List<String>> ex_input = res.readLineGroups( "day16_example.txt", "\n" );
+		final Future<List<String>> ex2_input = res.readLineGroups( "day16_example2.txt", "\n" );
 		
 		System.out.println( "---[ Part 1 ]---" );
-		System.out.println( "Example: " + part1( ex_input ) );
-		System.out.println( "Part 1 : " + part1( input ) );
+		System.out.println( "Example: " + part1( ex_input.get( ) ) );
+		System.out.println( "Part 1 : " + part1( input.get( ) ) );
 
 		System.out.println( "\n---[ Part 2 ]---" );
-		System.out.println( "Example: " + part2( ex2_input ) );
-		System.out.println( "Part 2 : " + part2( input ) );
+		System.out.println( "Example: " + part2( ex2_input.get( ) ) );
+		System.out.println( "Part 2 : " + part2( input.get( ) ) );
 	}
 	
 	/**
@@ -47,8 +50,7 @@ public class Day16 {
 		final String[] nearby = input.get( 2 ).split( "\n" );
 		long invalid_sum = 0;
 		for( int i = 1; i < nearby.length; i++ ) {
-			for( String s : nearby[i].split( "," ) ) {
-				final int val = Integer.valueOf( s );
+			for( int val : Util.toIntArray( nearby[i] ) ) {
 				if( !tv.isValidValue( val ) ) invalid_sum += val;
 			}
 		}
@@ -77,8 +79,8 @@ public class Day16 {
 		for( int i = 1; i < nearby_in.length; i++ ) {
 			// discard invalid tickets
 			boolean valid = true;
-			for( String val : nearby_in[i].split( "," ) )
-				valid &= tv.isValidValue( Integer.valueOf( val ) );
+			for( int val : Util.toIntArray( nearby_in[i] ) )
+				valid &= tv.isValidValue( val );
 			if( !valid ) continue;
 			
 			nearby.add( nearby_in[i] );
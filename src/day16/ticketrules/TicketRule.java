@@ -1,7 +1,6 @@
 package day16.ticketrules;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import util.io.ByteScanner;
 
 /**
  * Single field validator
@@ -49,14 +48,29 @@ public class TicketRule {
 	 * @return The rule
 	 */
 	public static TicketRule fromString( final String str ) {
-		final Matcher m = Pattern.compile( "([\\w\\s]+): (\\d+)-(\\d+) or (\\d+)-(\\d+)" ).matcher( str );
-		if( !m.find( ) ) throw new IllegalArgumentException( "Incorrect rule format: " + str );
+		return fromScanner( new ByteScanner( ).reset( str ) );
+	}
+	
+	/**
+	 * Reads a rule from the scanner
+	 * 
+	 * @param s The scanner, positioned at the start of the rule
+	 * @return The rule
+	 * @throws IllegalArgumentException if the rule format is incorrect
+	 */
+	public static TicketRule fromScanner( final ByteScanner s ) {
+		final String field = s.getWord( s.readIdUntil( ": " ) );
+		s.expect( ": " );
 		
 		final TRRange[] ranges = new TRRange[2];
-		for( int i = 1; i <= ranges.length; i++ )
-			ranges[i-1] = new TRRange( Integer.valueOf( m.group( i * 2 ) ), Integer.valueOf( m.group( i * 2 + 1 ) ) );
+		for( int i = 0; i < ranges.length; i++ ) {
+			if( i > 0 ) s.expect( " or " );
+			final int min = s.readInt( );
+			s.expect( "-" );
+			ranges[i] = new TRRange( min, s.readInt( ) );
+		}
 		
-		return new TicketRule( m.group( 1 ), ranges );
+		return new TicketRule( field, ranges );
 	}
 	
 	@Override
@@ -5,6 +5,8 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
+import util.io.ByteScanner;
+
 public class TicketValidator {
 	/** The rule set as a <Field, Rule> map */
 	protected Map<String, TicketRule> rules;
@@ -33,8 +35,9 @@ public class TicketValidator {
 	public static TicketValidator fromInput( final String[] ruleset ) {
 		final TicketValidator TV = new TicketValidator( );
 		
+		final ByteScanner scanner = new ByteScanner( );
 		for( String s : ruleset )
-			TV.addRule( TicketRule.fromString( s ) );
+			TV.addRule( TicketRule.fromScanner( scanner.reset( s ) ) );
 		
 		return TV;
 	}
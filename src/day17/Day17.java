@@ -1,10 +1,11 @@
 package day17;
 
 import java.util.List;
+import java.util.concurrent.Future;
 
 import day17.sim.CubeSim;
 import day17.sim.CubeSim4D;
-import util.io.FileReader;
+import util.io.ResourcePrefetcher;
 
 public class Day17 {
 	/**
@@ -14,16 +15,17 @@ public class Day17 {
 	 * @throws Exception
 	 */
 	public static void main( final String[] args ) throws Exception {
-		final List<String> ex_input = new FileReader( Day17.class.getResource( "day17_example.txt" ) ).readLines( );
-		final List<String> input = new FileReader( Day17.class.getResource( "day17_input.txt" ) ).readLines( );
+		final ResourcePrefetcher res = new ResourcePrefetcher( Day17.class );
+		final Future<List<String>> ex_input = res.readLines( "day17_example.txt" );
+		final Future<List<String>> input = res.readLines( "day17_input.txt" );
 		
 		System.out.println( "---[ Part 1 ]---" );
-		System.out.println( "Example: " + part1( ex_input, 6 ) ); 
-		System.out.println( "Part 1 : " + part1( input, 6 ) ); 
+		System.out.println( "Example: " + part1( ex_input.get( ), 6 ) ); 
+		System.out.println( "Part 1 : " + part1( input.get( ), 6 ) ); 
 
 		System.out.println( "\n---[ Part 2 ]---" );
-		System.out.println( "Example: " + part2( ex_input, 6 ) ); 
-		System.out.println( "Example: " + part2( input, 6 ) ); 
+		System.out.println( "Example: " + part2( ex_input.get( ), 6 ) ); 
+		System.out.println( "Example: " + part2( input.get( ), 6 ) ); 
 	}
 	
 	/**
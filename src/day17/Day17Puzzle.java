@@ -0,0 +1,47 @@
+package day17;
+
+import java.util.List;
+
+import util.io.FileReader;
+import util.puzzle.Puzzle;
+
+/**
+ * Solver of day 17 for the puzzle runner
+ *
+ * @author Joris
+ */
+public class Day17Puzzle implements Puzzle<List<String>, List<String>> {
+	@Override
+	public int getDay( ) { return 17; }
+
+	@Override
+	public long getEstimatedTime( ) { return 250; }
+
+	@Override
+	public double getComplexity( final int phase ) {
+		// the size is the side of the initial slice, the number of cycles is
+		// fixed so only the area of the slice grows
+		return 2;
+	}
+
+	@Override
+	public List<String> read( final String file ) throws Exception {
+		return new FileReader( file ).readLines( );
+	}
+
+	@Override
+	public List<String> build( final List<String> input ) {
+		// the model is created while reading
+		return input;
+	}
+
+	@Override
+	public String part1( final List<String> model ) throws Exception {
+		return String.valueOf( Day17.part1( model, 6 ) );
+	}
+
+	@Override
+	public String part2( final List<String> model ) throws Exception {
+		return String.valueOf( Day17.part2( model, 6 ) );
+	}
+}
@@ -0,0 +1,47 @@
+package day17.sim;
+
+import util.metrics.SimMetrics;
+
+/**
+ * Metrics of all cube simulations of one dimensionality
+ *
+ * @author Joris
+ */
+public class CubeMetrics extends SimMetrics implements CubeMetricsMBean {
+	/** The number of active cubes after the latest round */
+	protected volatile long active;
+
+	/** The bounding volume after the latest round */
+	protected volatile long volume;
+
+	/**
+	 * Counts a simulated round
+	 *
+	 * @param active The number of active cubes after the round
+	 * @param volume The volume of the bounding box after the round
+	 */
+	public void round( final long active, final long volume ) {
+		addSteps( 1 );
+		this.active = active;
+		this.volume = volume;
+	}
+
+	@Override
+	public long getRounds( ) { return getSteps( ); }
+
+	@Override
+	public double getRoundsPerSecond( ) { return getStepRate( ); }
+
+	@Override
+	public long getActiveCells( ) { return active; }
+
+	@Override
+	public long getBoundingVolume( ) { return volume; }
+
+	@Override
+	public synchronized void reset( ) {
+		super.reset( );
+		active = 0;
+		volume = 0;
+	}
+}
@@ -0,0 +1,23 @@
+package day17.sim;
+
+/**
+ * JMX view of the cube simulation metrics
+ *
+ * @author Joris
+ */
+public interface CubeMetricsMBean {
+	/** @return The number of simulated rounds */
+	long getRounds( );
+
+	/** @return The rounds per second over the last sample interval */
+	double getRoundsPerSecond( );
+
+	/** @return The number of active cubes after the latest round */
+	long getActiveCells( );
+
+	/** @return The volume of the bounding box of the active cubes after the latest round */
+	long getBoundingVolume( );
+
+	/** Resets all counters */
+	void reset( );
+}
@@ -3,7 +3,9 @@ package day17.sim;
 import java.util.HashSet;
 import java.util.Set;
 
+import util.exec.ExecutionControl;
 import util.geometry.Coord3D;
+import util.metrics.SimMetrics;
 
 /**
  * Simulation of energy cubes in 3D space
@@ -11,6 +13,9 @@ import util.geometry.Coord3D;
  * @author Joris
  */
 public class CubeSim {
+	/** The metrics of all 3D cube simulations */
+	protected static final CubeMetrics METRICS = SimMetrics.register( new CubeMetrics( ), "CubeSim" );
+	
 	/** The active cubes */
 	protected final Set<Coord3D> active;
 
@@ -23,12 +28,26 @@ public class CubeSim {
 	/** Current maximal coordinate space size */
 	protected Coord3D max;
 	
+	/** The execution control, null if the simulation is not controlled */
+	protected ExecutionControl control;
+	
 	/**
 	 * Creates a new Cube simulation
 	 */
 	public CubeSim( ) {
 		active = new HashSet<>( );
 		round = 0;
+		control = ExecutionControl.current( );
+	}
+	
+	/**
+	 * Sets the execution control, by default the control of the thread that
+	 * created the simulation is used
+	 * 
+	 * @param control The control, null to run uncontrolled
+	 */
+	public void setControl( final ExecutionControl control ) {
+		this.control = control;
 	}
 	
 	/**
@@ -117,8 +136,11 @@ public class CubeSim {
 		active.clear( );
 		active.addAll( newactive );
 		updateBounds( );
+		METRICS.round( active.size( ), (long)(max.x - min.x + 1) * (max.y - min.y + 1) * (max.z - min.z + 1) );
 				
-		return ++round;
+		round++;
+		if( control != null ) control.step( 1 );
+		return round;
 	}
 	
 	/**
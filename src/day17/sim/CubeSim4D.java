@@ -3,7 +3,9 @@ package day17.sim;
 import java.util.HashSet;
 import java.util.Set;
 
+import util.exec.ExecutionControl;
 import util.geometry.Coord4D;
+import util.metrics.SimMetrics;
 
 /**
  * Simulation of energy cubes in 3D space
@@ -11,6 +13,9 @@ import util.geometry.Coord4D;
  * @author Joris
  */
 public class CubeSim4D {
+	/** The metrics of all 4D cube simulations */
+	protected static final CubeMetrics METRICS = SimMetrics.register( new CubeMetrics( ), "CubeSim4D" );
+	
 	/** The active cubes */
 	protected final Set<Coord4D> active;
 
@@ -23,12 +28,26 @@ public class CubeSim4D {
 	/** Current maximal coordinate space size */
 	protected Coord4D max;
 	
+	/** The execution control, null if the simulation is not controlled */
+	protected ExecutionControl control;
+	
 	/**
 	 * Creates a new Cube simulation
 	 */
 	public CubeSim4D( ) {
 		active = new HashSet<>( );
 		round = 0;
+		control = ExecutionControl.current( );
+	}
+	
+	/**
+	 * Sets the execution control, by default the control of the thread that
+	 * created the simulation is used
+	 * 
+	 * @param control The control, null to run uncontrolled
+	 */
+	public void setControl( final ExecutionControl control ) {
+		this.control = control;
 	}
 	
 	/**
@@ -119,8 +138,11 @@ public class CubeSim4D {
 		active.clear( );
 		active.addAll( newactive );
 		updateBounds( );
+		METRICS.round( active.size( ), (long)(max.x - min.x + 1) * (max.y - min.y + 1) * (max.z - min.z + 1) * (max.w - min.w + 1) );
 				
-		return ++round;
+		round++;
+		if( control != null ) control.step( 1 );
+		return round;
 	}
 	
 	/**
@@ -1,10 +1,11 @@
 package day18;
 
 import java.util.List;
+import java.util.concurrent.Future;
 
 import day18.calculator.Calculator;
 import day18.calculator.CalculatorV2;
-import util.io.FileReader;
+import util.io.ResourcePrefetcher;
 
 public class Day18 {
 	/**
@@ -14,18 +15,19 @@ public class Day18 {
 	 * @throws Exception
 	 */
 	public static void main( final String[] args ) throws Exception {
-		final List<String> ex_input = new FileReader( Day18.class.getResource( "day18_example.txt" ) ).readLines( );
-		final List<String> input = new FileReader( Day18.class.getResource( "day18_input.txt" ) ).readLines( );
+		final ResourcePrefetcher res = new ResourcePrefetcher( Day18.class );
+		final Future<List<String>> ex_input = res.readLines( "day18_example.txt" );
+		final Future<List<String>> input = res.readLines( "day18_input.txt" );
 		
 		System.out.println( "---[ Part 1 ]---" );
 		final Calculator c = new Calculator( );
-		System.out.println( "Example: " + sumProblems( ex_input, c ) );
-		System.out.println( "Part 1 : " + sumProblems( input, c ) );
+		System.out.println( "Example: " + sumProblems( ex_input.get( ), c ) );
+		System.out.println( "Part 1 : " + sumProblems( input.get( ), c ) );
 
 		System.out.println( "\n---[ Part 2 ]---" );
 		final Calculator c2 = new CalculatorV2( );
-		System.out.println( "Example: " + sumProblems( ex_input, c2 ) );
-		System.out.println( "Part 2 : " + sumProblems( input, c2 ) );
+		System.out.println( "Example: " + sumProblems( ex_input.get( ), c2 ) );
+		System.out.println( "Part 2 : " + sumProblems( input.get( ), c2 ) );
 	}
 	
 	/**
@@ -0,0 +1,39 @@
+package day18;
+
+import java.util.List;
+
+import day18.calculator.Calculator;
+import day18.calculator.CalculatorV2;
+import util.io.FileReader;
+import util.puzzle.Puzzle;
+
+/**
+ * Solver of day 18 for the puzzle runner
+ *
+ * @author Joris
+ */
+public class Day18Puzzle implements Puzzle<List<String>, List<String>> {
+	@Override
+	public int getDay( ) { return 18; }
+
+	@Override
+	public List<String> read( final String file ) throws Exception {
+		return new FileReader( file ).readLines( );
+	}
+
+	@Override
+	public List<String> build( final List<String> input ) {
+		// the model is created while reading
+		return input;
+	}
+
+	@Override
+	public String part1( final List<String> model ) throws Exception {
+		return String.valueOf( Day18.sumProblems( model, new Calculator( ) ) );
+	}
+
+	@Override
+	public String part2( final List<String> model ) throws Exception {
+		return String.valueOf( Day18.sumProblems( model, new CalculatorV2( ) ) );
+	}
+}
@@ -1,8 +1,9 @@
 package day19;
 
 import java.util.List;
+import java.util.concurrent.Future;
 
-import util.io.FileReader;
+import util.io.ResourcePrefetcher;
 
 public class Day19 {
 	/**
@@ -12,17 +13,18 @@ public class Day19 {
 	 * @throws Exception
 	 */
 	public static void main( final String[] args ) throws Exception {
-		final List<String> ex_input = new FileReader( Day19.class.getResource( "day19_example.txt" ) ).readLineGroups( "\n" );
-		final List<String> ex2_input = new FileReader( Day19.class.getResource( "day19_example2.txt" ) ).readLineGroups( "\n" );
-		final List<String> input = new FileReader( Day19.class.getResource( "day19_input.txt" ) ).readLineGroups( "\n" );
+		final ResourcePrefetcher res = new ResourcePrefetcher( Day19.class );
+		final Future<List<String>> ex_input = res.readLineGroups( "day19_example.txt", "\n" );
+		final Future<List<String>> ex2_input = res.readLineGroups( "day19_example2.txt", "\n" );
+		final Future<List<String>> input = res.readLineGroups( "day19_input.txt", "\n" );
 		
 		System.out.println( "---[ Part 1 ]---" );
-		System.out.println( "Example: " + part1( ex_input ) );
-		System.out.println( "Part 1 : " + part1( input ) );
+		System.out.println( "Example: " + part1( ex_input.get( ) ) );
+		System.out.println( "Part 1 : " + part1( input.get( ) ) );
 
 		System.out.println( "\n---[ Part 2 ]---" );
-		System.out.println( "Example: " + part2( ex2_input ) );
-		System.out.println( "Part 2 : " + part2( input ) );
+		System.out.println( "Example: " + part2( ex2_input.get( ) ) );
+		System.out.println( "Part 2 : " + part2( input.get( ) ) );
 	}
 	
 	protected static long part1( final List<String> input ) {
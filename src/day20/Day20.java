@@ -3,13 +3,13 @@ package day20;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Future;
 
 import day20.TiledImage.Tile;
 import day20.TiledImage.TiledImage;
-import day20.TiledImage.Tile.Flip;
 import util.geometry.Coord2D;
 import util.grid.CharGrid;
-import util.io.FileReader;
+import util.io.ResourcePrefetcher;
 
 public class Day20 {
 	/**
@@ -19,16 +19,17 @@ public class Day20 {
 	 * @throws Exception
 	 */
 	public static void main( final String[] args ) throws Exception {
-		final List<String> ex_input = new FileReader( Day20.class.getResource( "day20_example.txt" ) ).readLineGroups( "\n" );
-		final List<String> input = new FileReader( Day20.class.getResource( "day20_input.txt" ) ).readLineGroups( "\n" );
+		final ResourcePrefetcher res = new ResourcePrefetcher( Day20.class );
+		final Future<List<String>> ex_input = res.readLineGroups( "day20_example.txt", "\n" );
+		final Future<List<String>> input = res.readLineGroups( "day20_input.txt", "\n" );
 		
 		System.out.println( "---[ Part 1 ]---" );
-		System.out.println( "Example: " + part1( ex_input ) );
-		System.out.println( "Part 1 : " + part1( input ) );
+		System.out.println( "Example: " + part1( ex_input.get( ) ) );
+		System.out.println( "Part 1 : " + part1( input.get( ) ) );
 		
 		System.out.println( "\n---[ Part 2 ]---" );
-		System.out.println( "Example: " + part2( ex_input ) );		
-		System.out.println( "Part 2 : " + part2( input ) );
+		System.out.println( "Example: " + part2( ex_input.get( ) ) );		
+		System.out.println( "Part 2 : " + part2( input.get( ) ) );
 	}
 
 	/**
@@ -81,24 +82,19 @@ public class Day20 {
 		// reconstruction successful, find the sea monsters!
 		final CharGrid seamonster = CharGrid.fromFile( Day20.class.getResource( "day20_monster.txt" ).getFile( ) );
 		
-		// try to find matches in all configurations
-		for( Flip f : Flip.values( ) ) {
-			for( int rotation = 0; rotation <= 270; rotation += 90 ) {
-				CharGrid searchimg = result.copy( );
-				if( f != Flip.None ) searchimg = searchimg.flip( f == Flip.Horizontal );
-				searchimg = searchimg.rotate( rotation );
-				
-				final List<Coord2D> matches = searchimg.findMatches( seamonster, new char[] { '#' } );
-				if( matches.size( ) == 0 ) continue;
-				
-				// replace tiles used by sea monster
-				CharGrid monsters = searchimg;
-				for( Coord2D c : matches ) {
-					monsters = monsters.insertPattern( seamonster, c, '#', 'O' );
-				}
-				// count the tiles that are not part of any sea monster
-				return monsters.countTile( '#' );
+		// find the sea monster in all 8 orientations in a single pass over the image
+		final CharGrid[] orientations = seamonster.getOrientations( );
+		final List<List<Coord2D>> matches = result.findAllMatches( seamonster, new char[] { '#' } );
+		for( int o = 0; o < orientations.length; o++ ) {
+			if( matches.get( o ).size( ) == 0 ) continue;
+			
+			// replace tiles used by sea monster
+			CharGrid monsters = result;
+			for( Coord2D c : matches.get( o ) ) {
+				monsters = monsters.insertPattern( orientations[o], c, '#', 'O' );
 			}
+			// count the tiles that are not part of any sea monster
+			return monsters.countTile( '#' );
 		}
 		
 		// no sea monster here!
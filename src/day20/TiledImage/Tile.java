@@ -2,11 +2,10 @@ package day20.TiledImage;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import util.Util;
 import util.grid.CharGrid;
+import util.io.ByteScanner;
 
 /**
  * Holds a single tile of the image
@@ -147,25 +146,17 @@ public class Tile {
 	
 	/**
 	 * Returns the inner image data (without edges) in the correct orientation and 
-	 * flipping
+	 * flipping, as a view on the tile data
 	 * 
 	 * @return The image as a character grid
 	 */
 	public CharGrid getImageData( ) {
-		CharGrid grid = new CharGrid( data.getHeight( ) - 2, data.getWidth( ) - 2 );
+		// view the data without its edges
+		CharGrid grid = data.window( 1, 1, data.getWidth( ) - 2, data.getHeight( ) - 2 );
 		
-		// copy data first
-		for( int x = 1; x < data.getWidth( ) - 1; x++ ) {
-			for( int y = 1; y < data.getHeight( ) - 1; y++ ) {
-				grid.setTile( x-1, y-1, data.getTile( x, y )	);
-			}
-		}
-		
-		// then flip and rotate the grid
+		// then flip and rotate the view
 		if( flipped != Flip.None) grid = grid.flip( flipped == Flip.Horizontal );
-		if( rotation != 0 ) grid = grid.rotate( rotation );
-		
-		return grid;
+		return grid.rotate( rotation );
 	}
 	
 	/**
@@ -179,10 +170,9 @@ public class Tile {
 		for( String s : str.split( "\n" ) ) strdata.add( s );
 		
 		// get tile ID
-		final String sID = strdata.remove( 0 );
-		final Matcher m = Pattern.compile( "Tile (\\d+):" ).matcher( sID );
-		if( !m.find( ) ) throw new IllegalArgumentException( "Data should start with tile ID: " + sID );
-		final int ID = Integer.valueOf( m.group( 1 ) );
+		final ByteScanner s = new ByteScanner( ).reset( strdata.remove( 0 ) );
+		final int ID = s.expect( "Tile " ).readInt( );
+		s.expect( ":" );
 		
 		// parse tile data
 		final CharGrid grid = CharGrid.fromStringList( strdata );
@@ -194,11 +194,11 @@ public class TiledImage {
 		image = new CharGrid( height * T_SIZE, width * T_SIZE );
 		
 		// reconstruct all the pieces according to their placement
-		for( int x = 0; x < width; x++ ) {
-			for( int y = 0; y < height; y++ ) {
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
 				final CharGrid piece = reconstructed[x][y].getImageData( );
-				for( int xin = 0; xin < piece.getWidth( ); xin++ ) {
-					for( int yin = 0; yin < piece.getHeight( ); yin++ ) {
+				for( int yin = 0; yin < piece.getHeight( ); yin++ ) {
+					for( int xin = 0; xin < piece.getWidth( ); xin++ ) {
 						image.setTile( x * T_SIZE + xin, y * T_SIZE + yin, piece.getTile( xin, yin ) );
 					}
 				}
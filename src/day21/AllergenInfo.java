@@ -9,6 +9,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
 
+import util.io.ByteScanner;
+
 public class AllergenInfo {
 	/** The set of allergen information rules */
 	protected final List<AllergenRule> rules;
@@ -31,8 +33,9 @@ public class AllergenInfo {
 		ingredients = new HashSet<String>( );
 		allergens = new HashSet<String>( );
 		
+		final ByteScanner scanner = new ByteScanner( );
 		for( String s : strrules ) {
-			final AllergenRule r = AllergenRule.fromString( s ); 
+			final AllergenRule r = AllergenRule.fromScanner( scanner.reset( s ) ); 
 			rules.add( r );
 			ingredients.addAll( r.getIngredients( ) );
 			allergens.addAll( r.getAllergens( ) );
@@ -2,8 +2,8 @@ package day21;
 
 import java.util.HashSet;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+
+import util.io.ByteScanner;
 
 public class AllergenRule {
 	/** The list of ingredients */
@@ -36,18 +36,29 @@ public class AllergenRule {
 	 * @return The allergen rule
 	 */
 	public static AllergenRule fromString( final String string ) {
-		final Matcher m = Pattern.compile( "([\\w ]+)\\(contains ([\\w, ]+)\\)" ).matcher( string );
-		if( !m.find( ) ) throw new RuntimeException( "Invalid allergen rule: " + string );
-		
-		// first group contains ingredients list
+		return fromScanner( new ByteScanner( ).reset( string ) );
+	}
+	
+	/**
+	 * Reads the allergen rule from the scanner, ingredient and allergen names
+	 * are interned by the scanner
+	 * 
+	 * @param s The scanner, positioned at the start of the rule
+	 * @return The allergen rule
+	 * @throws IllegalArgumentException if the rule is invalid
+	 */
+	public static AllergenRule fromScanner( final ByteScanner s ) {
+		// ingredients list up to the allergens
 		final Set<String> ingredients = new HashSet<>( );
-		for( final String i : m.group( 1 ).trim( ).split( " " ) )
-			ingredients.add( i );
+		while( !s.skipWhitespace( ).accept( "(contains " ) )
+			ingredients.add( s.getWord( s.readWordId( ) ) );
 		
-		// second group contains allergens
+		// followed by the allergens
 		final Set<String> allergens = new HashSet<>( );
-		for( final String a : m.group( 2 ).trim( ).split( ", " ) )
-			allergens.add( a );
+		do {
+			allergens.add( s.getWord( s.readWordId( ) ) );
+		} while( s.accept( ", " ) );
+		s.expect( ")" );
 		
 		return new AllergenRule( ingredients, allergens );
 	}
@@ -3,12 +3,18 @@ package day22;
 import java.util.HashSet;
 import java.util.Set;
 
+import util.exec.ExecutionControl;
+import util.metrics.SimMetrics;
+
 /**
  * A game of combat where players draw cards
  * 
  * @author Joris
  */
 public class CombatGame {
+	/** The metrics of all combat games */
+	protected static final CombatMetrics METRICS = SimMetrics.register( new CombatMetrics( ), "CombatGame" );
+	
 	/** The player decks */
 	protected final Deck[] decks;
 	
@@ -18,14 +24,42 @@ public class CombatGame {
 	/** The current round number */
 	protected int round;
 	
+	/** The recursion level of the game, 0 for the main game */
+	protected final int depth;
+	
+	/** The execution control, null if the game is not controlled */
+	protected ExecutionControl control;
+	
 	/**
 	 * Creates a new game of combat
 	 * 
 	 * @param decks The deck to use in the game
 	 */
 	public CombatGame( final Deck... decks ) {
+		this( 0, decks );
+	}
+	
+	/**
+	 * Creates a new (sub) game of combat
+	 * 
+	 * @param depth The recursion level of the game
+	 * @param decks The deck to use in the game
+	 */
+	protected CombatGame( final int depth, final Deck... decks ) {
 		this.decks = decks;
 		this.round = 0;
+		this.depth = depth;
+		this.control = ExecutionControl.current( );
+	}
+	
+	/**
+	 * Sets the execution control, by default the control of the thread that
+	 * created the game is used
+	 * 
+	 * @param control The control, null to run uncontrolled
+	 */
+	public void setControl( final ExecutionControl control ) {
+		this.control = control;
 	}
 		
 	/** @return The current round number */
@@ -40,6 +74,7 @@ public class CombatGame {
 	public int play( final boolean rec ) {
 		// keep track of configurations already seen in play
 		seen = new HashSet<>( );
+		METRICS.game( depth );
 		
 		// play rounds until a winner is determined
 		int winner = -1;
@@ -76,7 +111,8 @@ public class CombatGame {
 		final int winner;
 		if( rec && c[0] <= decks[0].size( ) && c[1] <= decks[1].size( ) ) {
 			// yes!
-			final CombatGame g = new CombatGame( decks[0].copy( c[0] ), decks[1].copy( c[1] ) );
+			final CombatGame g = new CombatGame( depth + 1, decks[0].copy( c[0] ), decks[1].copy( c[1] ) );
+			g.setControl( control );
 			winner = g.play( rec );
 		} else {
 			// no, just compare cards and the highest card wins
@@ -89,6 +125,8 @@ public class CombatGame {
 
 		// increase round number, no winner yet
 		this.round++;
+		METRICS.addSteps( 1 );
+		if( control != null ) control.step( 1 );
 		return -1;
 	}
 }
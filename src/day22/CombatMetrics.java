@@ -0,0 +1,48 @@
+package day22;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import util.metrics.SimMetrics;
+
+/**
+ * Metrics of all combat games
+ *
+ * @author Joris
+ */
+public class CombatMetrics extends SimMetrics implements CombatMetricsMBean {
+	/** The number of games */
+	protected final LongAdder games = new LongAdder( );
+
+	/** The deepest recursion level */
+	protected final LongAccumulator depth = new LongAccumulator( Math::max, 0 );
+
+	/**
+	 * Counts a new game
+	 *
+	 * @param level The recursion level of the game, 0 for the main game
+	 */
+	public void game( final int level ) {
+		games.increment( );
+		depth.accumulate( level );
+	}
+
+	@Override
+	public long getRounds( ) { return getSteps( ); }
+
+	@Override
+	public double getRoundsPerSecond( ) { return getStepRate( ); }
+
+	@Override
+	public long getGames( ) { return games.sum( ); }
+
+	@Override
+	public long getMaxDepth( ) { return depth.get( ); }
+
+	@Override
+	public synchronized void reset( ) {
+		super.reset( );
+		games.reset( );
+		depth.reset( );
+	}
+}
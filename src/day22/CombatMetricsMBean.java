@@ -0,0 +1,23 @@
+package day22;
+
+/**
+ * JMX view of the combat game metrics
+ *
+ * @author Joris
+ */
+public interface CombatMetricsMBean {
+	/** @return The number of rounds played, including sub games */
+	long getRounds( );
+
+	/** @return The rounds per second over the last sample interval */
+	double getRoundsPerSecond( );
+
+	/** @return The number of games played, including sub games */
+	long getGames( );
+
+	/** @return The deepest recursion level of a sub game */
+	long getMaxDepth( );
+
+	/** Resets all counters */
+	void reset( );
+}
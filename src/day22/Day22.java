@@ -1,8 +1,9 @@
 package day22;
 
 import java.util.List;
+import java.util.concurrent.Future;
 
-import util.io.FileReader;
+import util.io.ResourcePrefetcher;
 
 public class Day22 {
 	/**
@@ -12,16 +13,17 @@ public class Day22 {
 	 * @throws Exception
 	 */
 	public static void main( final String[] agrs ) throws Exception {
-		final List<String> ex_input = new FileReader( Day22.class.getResource( "day22_example.txt" ) ).readLineGroups( "," );
-		final List<String> input = new FileReader( Day22.class.getResource( "day22_input.txt" ) ).readLineGroups( "," );
+		final ResourcePrefetcher res = new ResourcePrefetcher( Day22.class );
+		final Future<List<String>> ex_input = res.readLineGroups( "day22_example.txt", "," );
+		final Future<List<String>> input = res.readLineGroups( "day22_input.txt", "," );
 		
 		System.out.println( "---[ Part 1 ]---" );
-		System.out.println( "Example: " + play( ex_input, false ) );
-		System.out.println( "Part 1 : " + play( input, false ) );
+		System.out.println( "Example: " + play( ex_input.get( ), false ) );
+		System.out.println( "Part 1 : " + play( input.get( ), false ) );
 
 		System.out.println( "\n---[ Part 2 ]---" );
-		System.out.println( "Example: " + play( ex_input, true ) );
-		System.out.println( "Part 2 : " + play( input, true ) );
+		System.out.println( "Example: " + play( ex_input.get( ), true ) );
+		System.out.println( "Part 2 : " + play( input.get( ), true ) );
 	}
 
 	/**
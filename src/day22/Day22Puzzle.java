@@ -0,0 +1,46 @@
+package day22;
+
+import java.util.List;
+
+import util.io.FileReader;
+import util.puzzle.Puzzle;
+
+/**
+ * Solver of day 22 for the puzzle runner
+ *
+ * @author Joris
+ */
+public class Day22Puzzle implements Puzzle<List<String>, List<String>> {
+	@Override
+	public int getDay( ) { return 22; }
+
+	@Override
+	public long getEstimatedTime( ) { return 150; }
+
+	@Override
+	public double getComplexity( final int phase ) {
+		// the number of recursive games in part 2 is not polynomially bounded
+		return phase == 3 ? Double.POSITIVE_INFINITY : 1;
+	}
+
+	@Override
+	public List<String> read( final String file ) throws Exception {
+		return new FileReader( file ).readLineGroups( "," );
+	}
+
+	@Override
+	public List<String> build( final List<String> input ) {
+		// the model is created while reading
+		return input;
+	}
+
+	@Override
+	public String part1( final List<String> model ) throws Exception {
+		return String.valueOf( Day22.play( model, false ) );
+	}
+
+	@Override
+	public String part2( final List<String> model ) throws Exception {
+		return String.valueOf( Day22.play( model, true ) );
+	}
+}
@@ -1,17 +1,38 @@
 package day23;
 
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Stack;
 
 import day23.rotatinglist.IndexedRotatingList;
+import util.exec.ExecutionControl;
+import util.exec.ExecutionStoppedException;
+import util.io.Snapshot;
+import util.metrics.SimMetrics;
 
 /**
  * A game of cups!
  * 
+ * The game can periodically write a snapshot of its state while playing, so
+ * that a long game can be resumed from the last snapshot if it is stopped.
+ * 
  * @author Joris
  */
 public class CupGame {
+	/** The metrics of all cup games */
+	protected static final CupMetrics METRICS = SimMetrics.register( new CupMetrics( ), "CupGame" );
+	
+	/** The number of rounds after which they are reported to the metrics, a power of 2 */
+	protected static final int REPORT_INTERVAL = 4096;
+	
+	/** The type tag of cup game snapshots */
+	protected static final byte SNAPSHOT_TYPE = 23;
+	
 	/** Current ordering of cups */
 	protected final IndexedRotatingList<Integer> cups;
 	
@@ -27,6 +48,18 @@ public class CupGame {
 	/** The current round number */
 	protected int round;
 	
+	/** The round number that was last reported to the metrics */
+	protected int reported;
+	
+	/** The file to write snapshots to while playing, null for none */
+	protected File snapshot;
+	
+	/** The number of rounds between snapshots */
+	protected int interval;
+	
+	/** The execution control, null if the game is not controlled */
+	protected ExecutionControl control;
+	
 	/** 
 	 * Creates a new cups game
 	 * 
@@ -43,6 +76,70 @@ public class CupGame {
 		this.highest = max;
 		
 		this.round = 0;
+		this.reported = 0;
+		this.snapshot = null;
+		this.interval = 0;
+		this.control = ExecutionControl.current( );
+	}
+	
+	/**
+	 * Resumes a game from a snapshot
+	 * 
+	 * @param file The snapshot file
+	 * @return The game in the state of the snapshot
+	 * @throws IOException if the snapshot could not be read
+	 */
+	public static CupGame resume( final File file ) throws IOException {
+		try( final DataInputStream in = Snapshot.read( file, SNAPSHOT_TYPE ) ) {
+			final int round = in.readInt( );
+			final int size = in.readInt( );
+			
+			// the cups are stored in order, starting from the current cup
+			final List<Integer> cups = new ArrayList<>( size );
+			for( int i = 0; i < size; i++ ) cups.add( in.readInt( ) );
+			
+			final CupGame game = new CupGame( cups );
+			game.round = round;
+			game.reported = round;
+			return game;
+		}
+	}
+	
+	/**
+	 * Writes a snapshot of the current state of the game: the round number
+	 * and the cup order, starting from the current cup
+	 * 
+	 * @param file The snapshot file
+	 * @throws IOException if the snapshot could not be written
+	 */
+	public void save( final File file ) throws IOException {
+		Snapshot.write( file, SNAPSHOT_TYPE, out -> {
+			out.writeInt( round );
+			out.writeInt( cups.size( ) );
+			for( int c : cups ) out.writeInt( c );
+		} );
+	}
+	
+	/**
+	 * Periodically writes snapshots while playing
+	 * 
+	 * @param file The snapshot file, null to stop writing snapshots
+	 * @param interval The number of rounds between snapshots
+	 */
+	public void setSnapshot( final File file, final int interval ) {
+		if( file != null && interval < 1 ) throw new IllegalArgumentException( "Invalid snapshot interval " + interval );
+		this.snapshot = file;
+		this.interval = interval;
+	}
+	
+	/**
+	 * Sets the execution control, by default the control of the thread that
+	 * created the game is used
+	 * 
+	 * @param control The control, null to run uncontrolled
+	 */
+	public void setControl( final ExecutionControl control ) {
+		this.control = control;
 	}
 	
 	/** @return The current cup ordering */
@@ -53,12 +150,34 @@ public class CupGame {
 
 	
 	/**
-	 * Plays n rounds of the game
+	 * Plays rounds of the game until round n has been played, writing
+	 * snapshots on the way if enabled
 	 * 
 	 * @param n The number of roudns to play
+	 * @throws UncheckedIOException if a snapshot could not be written
 	 */
 	public void play( final int n ) {
-		while( round( ) < n ) { };
+		if( snapshot == null ) {
+			while( round < n ) round( );
+		} else {
+			while( round < n ) {
+				if( round( ) % interval == 0 ) checkpoint( );
+			}
+		}
+		report( );
+	}
+	
+	/**
+	 * Writes the periodic snapshot
+	 * 
+	 * @throws UncheckedIOException if the snapshot could not be written
+	 */
+	protected void checkpoint( ) {
+		try {
+			save( snapshot );
+		} catch( IOException e ) {
+			throw new UncheckedIOException( "Failed to write snapshot " + snapshot, e );
+		}
 	}
 	
 	/**
@@ -85,7 +204,24 @@ public class CupGame {
 		
 		// set next element as current
 		cups.next( );
-		return ++round;
+		
+		// rounds are only reported once in a while to keep the metrics cheap
+		round++;
+		if( (round & (REPORT_INTERVAL - 1)) == 0 ) report( );
+		return round;
+	}
+	
+	/**
+	 * Reports the rounds played since the last report to the metrics and the
+	 * execution control
+	 * 
+	 * @throws ExecutionStoppedException if the control stops the game
+	 */
+	protected void report( ) {
+		final int n = round - reported;
+		METRICS.addSteps( n );
+		reported = round;
+		if( control != null ) control.step( n );
 	}
 	
 	/**
@@ -105,4 +241,43 @@ public class CupGame {
 		return list;
 	}
 	
+	/**
+	 * Plays a game as a restartable batch job. The game is resumed from the
+	 * snapshot file if it exists, otherwise a new game is started from the
+	 * cup labels that are filled with consecutive labels up to the number of
+	 * cups. While playing a snapshot is written every interval rounds. The
+	 * two cups after cup 1 and their product are printed at the end.
+	 * 
+	 * Usage: CupGame snapshot rounds interval labels [cups]
+	 * 
+	 * @param args The command line arguments
+	 * @throws IOException if a snapshot could not be read or written
+	 */
+	public static void main( final String[] args ) throws IOException {
+		if( args.length < 4 ) {
+			System.err.println( "Usage: CupGame snapshot rounds interval labels [cups]" );
+			System.exit( 2 );
+		}
+		final File file = new File( args[0] );
+		final int rounds = Integer.parseInt( args[1] );
+		final int interval = Integer.parseInt( args[2] );
+		
+		final CupGame game;
+		if( file.exists( ) ) {
+			game = resume( file );
+			System.out.println( "Resumed at round " + game.getRound( ) );
+		} else {
+			final int size = args.length > 4 ? Integer.parseInt( args[4] ) : 0;
+			final List<Integer> cups = Day23.parseCups( args[3], Math.max( size, args[3].length( ) ) );
+			for( int c = cups.size( ) + 1; c <= size; c++ ) cups.add( c );
+			game = new CupGame( cups );
+		}
+		
+		game.setSnapshot( file, interval );
+		game.play( rounds );
+		game.save( file );
+		
+		final List<Integer> list = game.getCups( 1, 2 );
+		System.out.println( "Round " + game.getRound( ) + ": " + list + " = " + (long)list.get( 0 ) * (long)list.get( 1 ) );
+	}
 }
@@ -0,0 +1,16 @@
+package day23;
+
+import util.metrics.SimMetrics;
+
+/**
+ * Metrics of all cup games
+ *
+ * @author Joris
+ */
+public class CupMetrics extends SimMetrics implements CupMetricsMBean {
+	@Override
+	public long getRounds( ) { return getSteps( ); }
+
+	@Override
+	public double getRoundsPerSecond( ) { return getStepRate( ); }
+}
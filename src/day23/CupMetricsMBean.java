@@ -0,0 +1,17 @@
+package day23;
+
+/**
+ * JMX view of the cup game metrics
+ *
+ * @author Joris
+ */
+public interface CupMetricsMBean {
+	/** @return The number of rounds played */
+	long getRounds( );
+
+	/** @return The rounds per second over the last sample interval */
+	double getRoundsPerSecond( );
+
+	/** Resets all counters */
+	void reset( );
+}
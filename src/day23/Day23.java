@@ -2,11 +2,12 @@ package day23;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Future;
 
-import util.io.FileReader;
+import util.io.ResourcePrefetcher;
 
 public class Day23 {
-	private static final int MILLION = 1000000;
+	protected static final int MILLION = 1000000;
 	/**
 	 * Day 23 of the Advent of Code 2020
 	 * 
@@ -14,17 +15,18 @@ public class Day23 {
 	 * @throws Exception
 	 */
 	public static void main( final String[] args ) throws Exception {
-		final String ex_input = new FileReader( Day23.class.getResource( "day23_example.txt" ) ).readLines( ).get( 0 );
-		final String input = new FileReader( Day23.class.getResource( "day23_input.txt" ) ).readLines( ).get( 0 );
+		final ResourcePrefetcher res = new ResourcePrefetcher( Day23.class );
+		final Future<String> ex_input = res.load( "day23_example.txt", f -> f.readLines( ).get( 0 ) );
+		final Future<String> input = res.load( "day23_input.txt", f -> f.readLines( ).get( 0 ) );
 		
 		System.out.println( "---[ Part 1 ]---" );
-		System.out.println( "Example: " + part1( ex_input, 10 ) );
-		System.out.println( "Example: " + part1( ex_input, 100 ) );
-		System.out.println( "Part 1 : " + part1( input, 100 ) );
+		System.out.println( "Example: " + part1( ex_input.get( ), 10 ) );
+		System.out.println( "Example: " + part1( ex_input.get( ), 100 ) );
+		System.out.println( "Part 1 : " + part1( input.get( ), 100 ) );
 		
 		System.out.println( "\n---[ Part 2 ]---" );
-		System.out.println( "Example: " + part2( ex_input, MILLION * 10 ) );
-		System.out.println( "Part 2 : " + part2( input, MILLION * 10 ) );
+		System.out.println( "Example: " + part2( ex_input.get( ), MILLION * 10 ) );
+		System.out.println( "Part 2 : " + part2( input.get( ), MILLION * 10 ) );
 	}
 	
 	/**
@@ -37,18 +39,18 @@ public class Day23 {
 	 */
 	protected static String part1( final String input, final int n ) {
 		// convert input to int list
-		final List<Integer> cups = new ArrayList<Integer>( input.length( ) );
-		for( int i = 0; i < input.length( ); i++ ) cups.add( (int)input.charAt( i ) - 48 );
+		final List<Integer> cups = parseCups( input, input.length( ) );
 		
 		// play rounds
 		final CupGame game = new CupGame( cups );
 		game.play( n );
 
-		// get all cups after cup 1
-		String res = "";
-		for( int cup : game.getCups( 1, input.length( ) - 1 ) )
-			res += "" + cup;
-		return res;
+		// get all cups after cup 1, labels of more than one digit are separated by commas
+		final String sep = cups.size( ) > 9 ? "," : "";
+		final StringBuilder res = new StringBuilder( );
+		for( int cup : game.getCups( 1, cups.size( ) - 1 ) )
+			res.append( res.length( ) > 0 ? sep : "" ).append( cup );
+		return res.toString( );
 	}
 
 	/**
@@ -61,9 +63,8 @@ public class Day23 {
 	 */
 	protected static long part2( final String input, final int n ) {
 		// convert input to int list and fill with numbers 10 till 1000000
-		final List<Integer> cups = new ArrayList<Integer>( MILLION );
-		for( int i = 0; i < input.length( ); i++ ) cups.add( (int)input.charAt( i ) - 48 );
-		for( int c = 10; c <= MILLION; c++ ) cups.add( c );
+		final List<Integer> cups = parseCups( input, MILLION );
+		for( int c = cups.size( ) + 1; c <= MILLION; c++ ) cups.add( c );
 		
 		// play rounds
 		final CupGame game = new CupGame( cups );
@@ -73,4 +74,22 @@ public class Day23 {
 		final List<Integer> list = game.getCups( 1, 2 );		
 		return (long)list.get( 0 ) * (long)list.get( 1 );
 	}
+	
+	/**
+	 * Parses the cup labels from the input, that is either a string of single
+	 * digit labels or a comma separated list of labels
+	 * 
+	 * @param input The input string
+	 * @param capacity The initial capacity of the list
+	 * @return The list of cup labels
+	 */
+	protected static List<Integer> parseCups( final String input, final int capacity ) {
+		final List<Integer> cups = new ArrayList<Integer>( capacity );
+		if( input.indexOf( ',' ) >= 0 ) {
+			for( String c : input.split( "," ) ) cups.add( Integer.parseInt( c.trim( ) ) );
+		} else {
+			for( int i = 0; i < input.length( ); i++ ) cups.add( (int)input.charAt( i ) - 48 );
+		}
+		return cups;
+	}
 }
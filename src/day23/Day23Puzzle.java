@@ -0,0 +1,38 @@
+package day23;
+
+import util.io.FileReader;
+import util.puzzle.Puzzle;
+
+/**
+ * Solver of day 23 for the puzzle runner
+ *
+ * @author Joris
+ */
+public class Day23Puzzle implements Puzzle<String, String> {
+	@Override
+	public int getDay( ) { return 23; }
+
+	@Override
+	public long getEstimatedTime( ) { return 12000; }
+
+	@Override
+	public String read( final String file ) throws Exception {
+		return new FileReader( file ).readLines( ).get( 0 );
+	}
+
+	@Override
+	public String build( final String input ) {
+		// the model is created while reading
+		return input;
+	}
+
+	@Override
+	public String part1( final String model ) throws Exception {
+		return Day23.part1( model, 100 );
+	}
+
+	@Override
+	public String part2( final String model ) throws Exception {
+		return String.valueOf( Day23.part2( model, Day23.MILLION * 10 ) );
+	}
+}
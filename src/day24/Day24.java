@@ -1,8 +1,9 @@
 package day24;
 
 import java.util.List;
+import java.util.concurrent.Future;
 
-import util.io.FileReader;
+import util.io.ResourcePrefetcher;
 
 public class Day24 {
 	/**
@@ -12,16 +13,17 @@ public class Day24 {
 	 * @throws Exception
 	 */
 	public static void main( final String[] args ) throws Exception {
-		final List<String> ex_input = new FileReader( Day24.class.getResource( "day24_example.txt" ) ).readLines( );
-		final List<String> input = new FileReader( Day24.class.getResource( "day24_input.txt" ) ).readLines( );
+		final ResourcePrefetcher res = new ResourcePrefetcher( Day24.class );
+		final Future<List<String>> ex_input = res.readLines( "day24_example.txt" );
+		final Future<List<String>> input = res.readLines( "day24_input.txt" );
 		
 		System.out.println( "---[ Part 1 ]---" );
-		System.out.println( "Example: " + part1( ex_input ) );
-		System.out.println( "Part 1 : " + part1( input ) );
+		System.out.println( "Example: " + part1( ex_input.get( ) ) );
+		System.out.println( "Part 1 : " + part1( input.get( ) ) );
 		
 		System.out.println( "\n---[ Part 2 ]---" );
-		System.out.println( "Example: " + part2( ex_input, 100 ) );
-		System.out.println( "Part 2 : " + part2( input, 100 ) );
+		System.out.println( "Example: " + part2( ex_input.get( ), 100 ) );
+		System.out.println( "Part 2 : " + part2( input.get( ), 100 ) );
 	}
 	
 	/**
@@ -0,0 +1,40 @@
+package day24;
+
+import java.util.List;
+
+import util.io.FileReader;
+import util.puzzle.Puzzle;
+
+/**
+ * Solver of day 24 for the puzzle runner
+ *
+ * @author Joris
+ */
+public class Day24Puzzle implements Puzzle<List<String>, List<String>> {
+	@Override
+	public int getDay( ) { return 24; }
+
+	@Override
+	public long getEstimatedTime( ) { return 550; }
+
+	@Override
+	public List<String> read( final String file ) throws Exception {
+		return new FileReader( file ).readLines( );
+	}
+
+	@Override
+	public List<String> build( final List<String> input ) {
+		// the model is created while reading
+		return input;
+	}
+
+	@Override
+	public String part1( final List<String> model ) throws Exception {
+		return String.valueOf( Day24.part1( model ) );
+	}
+
+	@Override
+	public String part2( final List<String> model ) throws Exception {
+		return String.valueOf( Day24.part2( model, 100 ) );
+	}
+}
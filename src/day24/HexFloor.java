@@ -5,6 +5,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
+import util.exec.ExecutionControl;
 import util.geometry.Coord2D;
 
 /**
@@ -15,12 +16,26 @@ import util.geometry.Coord2D;
 public class HexFloor {
 	/** Map of the tiles */
 	protected Map<Coord2D, HexTile> floorplan;
+	
+	/** The execution control, null if the simulation is not controlled */
+	protected ExecutionControl control;
 
 	/**
 	 * Creates a new hexagonal floor plan
 	 */
 	public HexFloor( ) {
 		floorplan = new HashMap<>( );
+		control = ExecutionControl.current( );
+	}
+	
+	/**
+	 * Sets the execution control, by default the control of the thread that
+	 * created the simulation is used
+	 * 
+	 * @param control The control, null to run uncontrolled
+	 */
+	public void setControl( final ExecutionControl control ) {
+		this.control = control;
 	}
 	
 	/**
@@ -83,6 +98,7 @@ public class HexFloor {
 		}
 		
 		this.floorplan = newfloor;
+		if( control != null ) control.step( 1 );
 	}
 	
 	/**
@@ -1,8 +1,9 @@
 package day25;
 
 import java.util.List;
+import java.util.concurrent.Future;
 
-import util.io.FileReader;
+import util.io.ResourcePrefetcher;
 
 public class Day25 {
 	/**
@@ -12,12 +13,13 @@ public class Day25 {
 	 * @throws Exception
 	 */
 	public static void main( final String[] args ) throws Exception {
-		final List<String> ex_input = new FileReader( Day25.class.getResource( "day25_example.txt" ) ).readLines( );
-		final List<String> input = new FileReader( Day25.class.getResource( "day25_input.txt" ) ).readLines( );
+		final ResourcePrefetcher res = new ResourcePrefetcher( Day25.class );
+		final Future<List<String>> ex_input = res.readLines( "day25_example.txt" );
+		final Future<List<String>> input = res.readLines( "day25_input.txt" );
 		
 		System.out.println( "---[ Part 1 ]---" );
-		System.out.println( "Example: " + part1( ex_input) );
-		System.out.println( "Part 1 : " + part1( input) );
+		System.out.println( "Example: " + part1( ex_input.get( )) );
+		System.out.println( "Part 1 : " + part1( input.get( )) );
 
 		// no part 2 today
 	}
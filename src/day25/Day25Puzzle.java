@@ -0,0 +1,43 @@
+package day25;
+
+import java.util.List;
+
+import util.io.FileReader;
+import util.puzzle.Puzzle;
+
+/**
+ * Solver of day 25 for the puzzle runner
+ *
+ * @author Joris
+ */
+public class Day25Puzzle implements Puzzle<List<String>, List<String>> {
+	@Override
+	public int getDay( ) { return 25; }
+
+	@Override
+	public long getEstimatedTime( ) { return 150; }
+
+	@Override
+	public List<String> read( final String file ) throws Exception {
+		return new FileReader( file ).readLines( );
+	}
+
+	@Override
+	public List<String> build( final List<String> input ) {
+		// the model is created while reading
+		return input;
+	}
+
+	@Override
+	public String part1( final List<String> model ) throws Exception {
+		return String.valueOf( Day25.part1( model ) );
+	}
+
+	@Override
+	public String part2( final List<String> model ) {
+		throw new UnsupportedOperationException( "Day 25 has no second part" );
+	}
+
+	@Override
+	public boolean hasPart2( ) { return false; }
+}
@@ -1,6 +1,7 @@
 package util;
 
-import java.util.stream.Stream;
+import java.io.OutputStream;
+import java.io.PrintStream;
 
 /**
  * Common helper functions
@@ -9,13 +10,104 @@ import java.util.stream.Stream;
  */
 public class Util {
 	/**
-	 * Parses a comma separated string into an int array
+	 * Parses a comma separated string into an int array. Like String.split
+	 * trailing separators are ignored
 	 * 
 	 * @param str The string value
 	 * @return An array of ints
 	 */
 	public static int[] toIntArray( final String str ) {
-		return Stream.of( str.split( "," ) ).mapToInt( x -> Integer.valueOf( x ) ).toArray( );
+		// drop trailing separators, as split does
+		int length = str.length( );
+		while( length > 0 && str.charAt( length - 1 ) == ',' ) length--;
+		if( length == 0 && str.length( ) > 0 ) return new int[ 0 ];
+		
+		// count separators first to allocate the array at once
+		int count = 1;
+		for( int i = 0; i < length; i++ )
+			if( str.charAt( i ) == ',' ) count++;
+		
+		// then parse every value in place
+		final int[] res = new int[ count ];
+		int start = 0;
+		for( int i = 0; i < count; i++ ) {
+			int end = str.indexOf( ',', start );
+			if( end == -1 || end > length ) end = length;
+			res[i] = parseInt( str, start, end );
+			start = end + 1;
+		}
+		return res;
+	}
+	
+	/**
+	 * Parses an integer value from a character sequence without creating a
+	 * string first
+	 * 
+	 * @param seq The character sequence, optionally starting with a sign
+	 * @return The integer value
+	 * @throws NumberFormatException if the sequence is not a valid integer
+	 */
+	public static int parseInt( final CharSequence seq ) {
+		return parseInt( seq, 0, seq.length( ) );
+	}
+	
+	/**
+	 * Parses an integer value from a range of a character sequence
+	 * 
+	 * @param seq The character sequence
+	 * @param start The start index of the number (inclusive)
+	 * @param end The end index of the number (exclusive)
+	 * @return The integer value
+	 * @throws NumberFormatException if the range is not a valid integer
+	 */
+	public static int parseInt( final CharSequence seq, final int start, final int end ) {
+		final long value = parseLong( seq, start, end );
+		if( value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ) throw new NumberFormatException( "Value out of range: " + seq.subSequence( start, end ) );
+		return (int)value;
+	}
+	
+	/**
+	 * Parses a long value from a character sequence without creating a string
+	 * first
+	 * 
+	 * @param seq The character sequence, optionally starting with a sign
+	 * @return The long value
+	 * @throws NumberFormatException if the sequence is not a valid long
+	 */
+	public static long parseLong( final CharSequence seq ) {
+		return parseLong( seq, 0, seq.length( ) );
+	}
+	
+	/**
+	 * Parses a long value from a range of a character sequence
+	 * 
+	 * @param seq The character sequence
+	 * @param start The start index of the number (inclusive)
+	 * @param end The end index of the number (exclusive)
+	 * @return The long value
+	 * @throws NumberFormatException if the range is not a valid long
+	 */
+	public static long parseLong( final CharSequence seq, final int start, final int end ) {
+		if( start >= end ) throw new NumberFormatException( "Empty number string" );
+
+		// check for sign
+		int idx = start;
+		final boolean negative = seq.charAt( idx ) == '-';
+		if( negative || seq.charAt( idx ) == '+' ) idx++;
+		if( idx == end ) throw new NumberFormatException( "Invalid number: " + seq.subSequence( start, end ) );
+		
+		// accumulate negatively so that Long.MIN_VALUE can be parsed as well
+		long value = 0;
+		for( ; idx < end; idx++ ) {
+			final int d = seq.charAt( idx ) - '0';
+			if( d < 0 || d > 9 ) throw new NumberFormatException( "Invalid number: " + seq.subSequence( start, end ) );
+			if( value < (Long.MIN_VALUE + d) / 10 ) throw new NumberFormatException( "Value out of range: " + seq.subSequence( start, end ) );
+			value = value * 10 - d;
+		}
+		
+		if( negative ) return value;
+		if( value == Long.MIN_VALUE ) throw new NumberFormatException( "Value out of range: " + seq.subSequence( start, end ) );
+		return -value;
 	}
 	
 	/**
@@ -27,4 +119,20 @@ public class Util {
 	public static String reverseString( final String str ) {
 		 return new StringBuffer( str ).reverse( ).toString( );
 	}
+	
+	/**
+	 * Creates a print stream that discards everything written to it, used to
+	 * silence the output of solutions while they are timed
+	 * 
+	 * @return The print stream
+	 */
+	public static PrintStream nullStream( ) {
+		return new PrintStream( new OutputStream( ) {
+			@Override
+			public void write( final int b ) { }
+
+			@Override
+			public void write( final byte[] b, final int off, final int len ) { }
+		} );
+	}
 }
@@ -0,0 +1,174 @@
+package util.bench;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import util.Util;
+import util.metrics.SimMetrics;
+
+/**
+ * Measures the bytes allocated by every part of a day and checks them against
+ * allocation budgets. Every part is run on the real input after a number of
+ * warmup runs and the smallest allocation of the measured runs is reported,
+ * as the JIT compiler may remove allocations in later runs. The allocation is
+ * also related to the number of simulation steps reported by the simulation
+ * metrics, to get the allocation per round or turn.
+ *
+ * Budgets are read from a properties file with keys dayN.partP and the number
+ * of bytes per run as value. By default the budgets in allocation.properties
+ * next to this class are used.
+ *
+ * @author Joris
+ */
+public class AllocationHarness {
+	/** The thread bean that reports allocated bytes */
+	protected final com.sun.management.ThreadMXBean threads;
+
+	/** The allocation budgets */
+	protected final Properties budgets;
+
+	/** The number of warmup runs */
+	protected int warmups = 1;
+
+	/** The number of measured runs */
+	protected int runs = 2;
+
+	/**
+	 * Creates a new allocation harness
+	 *
+	 * @param budgets The allocation budgets
+	 * @throws UnsupportedOperationException if the JVM cannot measure thread
+	 *   allocations
+	 */
+	public AllocationHarness( final Properties budgets ) {
+		if( !(ManagementFactory.getThreadMXBean( ) instanceof com.sun.management.ThreadMXBean) ) throw new UnsupportedOperationException( "Thread allocation measurement is not supported by this JVM" );
+		threads = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean( );
+		if( !threads.isThreadAllocatedMemorySupported( ) ) throw new UnsupportedOperationException( "Thread allocation measurement is not supported by this JVM" );
+		threads.setThreadAllocatedMemoryEnabled( true );
+
+		this.budgets = budgets;
+	}
+
+	/**
+	 * Sets the number of runs
+	 *
+	 * @param warmups The number of warmup runs
+	 * @param runs The number of measured runs
+	 */
+	public void setRuns( final int warmups, final int runs ) {
+		if( warmups < 0 || runs < 1 ) throw new IllegalArgumentException( "Invalid number of runs" );
+		this.warmups = warmups;
+		this.runs = runs;
+	}
+
+	/**
+	 * Returns the allocation budget of a part
+	 *
+	 * @param day The day number
+	 * @param part The part number
+	 * @return The budget in bytes, -1 if there is none
+	 */
+	public long getBudget( final int day, final int part ) {
+		final String value = budgets.getProperty( "day" + day + ".part" + part );
+		return value != null ? Long.parseLong( value.trim( ) ) : -1;
+	}
+
+	/**
+	 * Measures the allocation of all parts of the day on the real input
+	 *
+	 * @param bench The benchmark of the day
+	 * @return The results per part
+	 * @throws Exception if the input could not be loaded or a part failed
+	 */
+	public List<AllocationResult> measure( final Benchmark<?, ?> bench ) throws Exception {
+		final List<AllocationResult> results = new ArrayList<>( 2 );
+
+		final PrintStream stdout = System.out, stderr = System.err;
+		final PrintStream silent = Util.nullStream( );
+		System.setOut( silent );
+		System.setErr( silent );
+		try {
+			bench.setup( bench.getInput( 0, 0 ) );
+			for( int part = 1; part <= (bench.hasPart2( ) ? 2 : 1); part++ ) {
+				for( int i = 0; i < warmups; i++ ) bench.run( part );
+
+				long bytes = Long.MAX_VALUE, steps = 0;
+				for( int i = 0; i < runs; i++ ) {
+					final long tid = Thread.currentThread( ).getId( );
+					final long steps0 = SimMetrics.getTotalSteps( );
+					final long alloc0 = threads.getThreadAllocatedBytes( tid );
+					bench.run( part );
+					bytes = Math.min( bytes, threads.getThreadAllocatedBytes( tid ) - alloc0 );
+					steps = SimMetrics.getTotalSteps( ) - steps0;
+				}
+				results.add( new AllocationResult( bench.getDay( ), part, bytes, steps, getBudget( bench.getDay( ), part ) ) );
+			}
+		} finally {
+			System.setOut( stdout );
+			System.setErr( stderr );
+		}
+		return results;
+	}
+
+	/**
+	 * Loads the allocation budgets
+	 *
+	 * @param file The budget file, null for the default budgets
+	 * @return The budgets
+	 * @throws IOException if the budgets could not be read
+	 */
+	public static Properties loadBudgets( final String file ) throws IOException {
+		final Properties budgets = new Properties( );
+		try( final InputStream in = file != null ? new FileInputStream( file ) : AllocationHarness.class.getResourceAsStream( "allocation.properties" ) ) {
+			if( in == null ) throw new IOException( "Default allocation budgets not found" );
+			budgets.load( in );
+		}
+		return budgets;
+	}
+
+	/**
+	 * Measures the allocation of the days from the command line
+	 *
+	 * Usage: AllocationHarness [-b budgetfile] [-w warmups] [-n runs] [days...]
+	 *
+	 * All days are measured if none are given. The exit code is 1 if any part
+	 * exceeds its budget.
+	 *
+	 * @param args The command line arguments
+	 * @throws Exception if a day failed
+	 */
+	public static void main( final String[] args ) throws Exception {
+		String file = null;
+		int warmups = 1, runs = 2;
+		final List<Integer> days = new ArrayList<>( );
+
+		for( int i = 0; i < args.length; i++ ) {
+			switch( args[i] ) {
+				case "-b": file = args[++i]; break;
+				case "-w": warmups = Integer.parseInt( args[++i] ); break;
+				case "-n": runs = Integer.parseInt( args[++i] ); break;
+				default: days.add( Integer.parseInt( args[i] ) );
+			}
+		}
+		if( days.isEmpty( ) ) for( int d = 1; d <= 25; d++ ) days.add( d );
+
+		final AllocationHarness harness = new AllocationHarness( loadBudgets( file ) );
+		harness.setRuns( warmups, runs );
+
+		boolean valid = true;
+		System.out.println( AllocationResult.header( ) );
+		for( int day : days ) {
+			for( AllocationResult r : harness.measure( Benchmark.forDay( day ) ) ) {
+				valid &= r.isWithinBudget( );
+				System.out.println( r );
+			}
+		}
+		if( !valid ) System.exit( 1 );
+	}
+}
@@ -0,0 +1,61 @@
+package util.bench;
+
+/**
+ * The allocation measurement of a single part of a day
+ *
+ * @author Joris
+ */
+public class AllocationResult {
+	/** The day number */
+	protected final int day;
+
+	/** The part number */
+	protected final int part;
+
+	/** The bytes allocated by a single run of the part */
+	protected final long bytes;
+
+	/** The number of simulation steps (rounds, turns) of a single run, 0 if none */
+	protected final long steps;
+
+	/** The allocation budget in bytes, -1 if there is no budget */
+	protected final long budget;
+
+	/**
+	 * Creates a new allocation result
+	 *
+	 * @param day The day number
+	 * @param part The part number
+	 * @param bytes The allocated bytes per run
+	 * @param steps The simulation steps per run
+	 * @param budget The budget, -1 if none
+	 */
+	public AllocationResult( final int day, final int part, final long bytes, final long steps, final long budget ) {
+		this.day = day;
+		this.part = part;
+		this.bytes = bytes;
+		this.steps = steps;
+		this.budget = budget;
+	}
+
+	/** @return The bytes allocated per run */
+	public long getBytes( ) { return bytes; }
+
+	/** @return The bytes allocated per simulation step, -1 if the part has no steps */
+	public double getBytesPerStep( ) { return steps == 0 ? -1 : (double)bytes / steps; }
+
+	/** @return True if the allocation is within the budget or there is no budget */
+	public boolean isWithinBudget( ) { return budget < 0 || bytes <= budget; }
+
+	/** @return The header line of the table of results */
+	public static String header( ) {
+		return String.format( "%-4s %-4s %14s %12s %12s %14s  %s", "Day", "Part", "bytes/op", "steps/op", "bytes/step", "budget", "status" );
+	}
+
+	@Override
+	public String toString( ) {
+		return String.format( "%-4d %-4d %14d %12s %12s %14s  %s", day, part, bytes, steps == 0 ? "-" : "" + steps,
+				steps == 0 ? "-" : String.format( "%.1f", getBytesPerStep( ) ), budget < 0 ? "-" : "" + budget,
+				budget < 0 ? "" : isWithinBudget( ) ? "ok" : "OVER BUDGET by " + (bytes - budget) + " bytes" );
+	}
+}
@@ -0,0 +1,111 @@
+package util.bench;
+
+import java.io.File;
+import java.io.IOException;
+
+import util.gen.Generators;
+import util.puzzle.Puzzle;
+import util.puzzle.Puzzles;
+
+/**
+ * Benchmark of the puzzle of a single day. The benchmark first reads and builds
+ * the puzzle model from an input in its setup, which is not measured, after
+ * which the parts can be invoked repeatedly on the model.
+ *
+ * There are no per-day benchmark classes, the benchmark of a day wraps the
+ * puzzle that {@link Puzzles} provides for it, see {@link #forDay(int)}.
+ *
+ * @author Joris
+ *
+ * @param <R> The type of the raw input of the puzzle
+ * @param <M> The type of the puzzle model
+ */
+public class Benchmark<R, M> {
+	/** The puzzle that is benchmarked */
+	protected final Puzzle<R, M> puzzle;
+
+	/** The puzzle model the parts are run on */
+	protected M model;
+
+	/**
+	 * Creates a new benchmark
+	 *
+	 * @param puzzle The puzzle to benchmark
+	 */
+	public Benchmark( final Puzzle<R, M> puzzle ) {
+		this.puzzle = puzzle;
+	}
+
+	/** @return The day number */
+	public int getDay( ) { return puzzle.getDay( ); }
+
+	/**
+	 * Loads the input that the parts are run on
+	 *
+	 * @param file The path of the input file
+	 * @throws Exception if the input could not be loaded
+	 */
+	public void setup( final String file ) throws Exception {
+		model = puzzle.build( puzzle.read( file ) );
+	}
+
+	/** @return True if the day has a second part */
+	public boolean hasPart2( ) { return puzzle.hasPart2( ); }
+
+	/**
+	 * Runs the specified part on the loaded input
+	 *
+	 * @param part The part number, 1 or 2
+	 * @return The answer
+	 * @throws Exception if the part failed
+	 */
+	public String run( final int part ) throws Exception {
+		return part == 1 ? puzzle.part1( model ) : puzzle.part2( model );
+	}
+
+	/**
+	 * Returns the input file of the given size. Size 0 is the real puzzle
+	 * input, any other size is generated once into a temporary file that is
+	 * removed when the JVM exits
+	 *
+	 * @param size The input size
+	 * @param seed The seed for generated inputs
+	 * @return The path of the input file
+	 * @throws IOException if the input could not be generated
+	 */
+	public String getInput( final int size, final long seed ) throws IOException {
+		if( size == 0 ) return Puzzles.getInput( puzzle );
+
+		final File file = new File( System.getProperty( "java.io.tmpdir" ), "day" + getDay( ) + "_" + size + "_" + seed + ".txt" );
+		if( !file.exists( ) ) {
+			// write to a temporary file first so that an interrupted run never
+			// leaves an incomplete input behind
+			final File part = new File( file.getPath( ) + ".part" );
+			Generators.forDay( getDay( ), seed ).generate( size, part );
+			if( !part.renameTo( file ) ) throw new IOException( "Failed to create input file " + file );
+			file.deleteOnExit( );
+		}
+		return file.getPath( );
+	}
+
+	/**
+	 * Creates the benchmark of a day from the puzzle of the day
+	 *
+	 * @param day The day number
+	 * @return The benchmark
+	 * @throws IllegalArgumentException if there is no puzzle for the day
+	 */
+	public static Benchmark<?, ?> forDay( final int day ) {
+		return create( Puzzles.forDay( day ) );
+	}
+
+	/**
+	 * Creates the benchmark of a puzzle
+	 *
+	 * @param puzzle The puzzle
+	 * @return The benchmark
+	 */
+	private static <R, M> Benchmark<R, M> create( final Puzzle<R, M> puzzle ) {
+		return new Benchmark<>( puzzle );
+	}
+}
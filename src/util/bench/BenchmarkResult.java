@@ -0,0 +1,86 @@
+package util.bench;
+
+/**
+ * The measurements of a single benchmark: one part of a day on an input of a
+ * given size
+ *
+ * @author Joris
+ */
+public class BenchmarkResult {
+	/** The day number */
+	protected final int day;
+
+	/** The part number */
+	protected final int part;
+
+	/** The input size, 0 for the real puzzle input */
+	protected final int size;
+
+	/** The number of operations that have been measured */
+	protected long ops;
+
+	/** The total time of the measured operations in nanoseconds */
+	protected long nanos;
+
+	/** The bytes allocated by the measured operations, -1 if not supported */
+	protected long allocated;
+
+	/** The number of garbage collections during the measurement */
+	protected long gcs;
+
+	/** The time spent in garbage collection during the measurement in ms */
+	protected long gctime;
+
+	/**
+	 * Creates a new, empty result
+	 *
+	 * @param day The day number
+	 * @param part The part number
+	 * @param size The input size
+	 */
+	public BenchmarkResult( final int day, final int part, final int size ) {
+		this.day = day;
+		this.part = part;
+		this.size = size;
+	}
+
+	/**
+	 * Adds the measurements of an iteration
+	 *
+	 * @param ops The number of operations
+	 * @param nanos The time in nanoseconds
+	 * @param allocated The allocated bytes, -1 if unknown
+	 * @param gcs The number of garbage collections
+	 * @param gctime The garbage collection time in ms
+	 */
+	public void add( final long ops, final long nanos, final long allocated, final long gcs, final long gctime ) {
+		this.ops += ops;
+		this.nanos += nanos;
+		this.allocated = allocated < 0 || this.allocated < 0 ? -1 : this.allocated + allocated;
+		this.gcs += gcs;
+		this.gctime += gctime;
+	}
+
+	/** @return The throughput in operations per second */
+	public double getThroughput( ) { return nanos == 0 ? 0 : ops * 1e9 / nanos; }
+
+	/** @return The average time per operation in milliseconds */
+	public double getAverageTime( ) { return ops == 0 ? 0 : nanos / 1e6 / ops; }
+
+	/** @return The bytes allocated per operation, -1 if not supported */
+	public double getAllocPerOp( ) { return allocated < 0 || ops == 0 ? -1 : (double)allocated / ops; }
+
+	/** @return The allocation rate in MB per second, -1 if not supported */
+	public double getAllocRate( ) { return allocated < 0 || nanos == 0 ? -1 : allocated * 1e9 / nanos / (1 << 20); }
+
+	/** @return The header line of the table of results */
+	public static String header( ) {
+		return String.format( "%-4s %-4s %10s %14s %14s %14s %12s %5s %8s", "Day", "Part", "Size", "ops/s", "ms/op", "B/op", "MB/s", "GCs", "GC ms" );
+	}
+
+	@Override
+	public String toString( ) {
+		return String.format( "%-4d %-4d %10s %14.3f %14.3f %14.0f %12.1f %5d %8d", day, part, size == 0 ? "input" : "" + size,
+				getThroughput( ), getAverageTime( ), getAllocPerOp( ), getAllocRate( ), gcs, gctime );
+	}
+}
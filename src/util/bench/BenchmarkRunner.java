@@ -0,0 +1,210 @@
+package util.bench;
+
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import util.Util;
+import util.gen.Generators;
+
+/**
+ * Runs day benchmarks. Every part is run in a number of warmup iterations
+ * followed by a number of measured iterations, where every iteration repeats
+ * the part until its time budget is spent. For every part the throughput, the
+ * average time per operation, the allocated bytes per operation, the
+ * allocation rate and the garbage collection activity are reported.
+ *
+ * Output of the solutions, including their logging to the error stream, is
+ * suppressed while benchmarking.
+ *
+ * @author Joris
+ */
+public class BenchmarkRunner {
+	/** The number of warmup iterations */
+	protected int warmups = 3;
+
+	/** The number of measured iterations */
+	protected int iterations = 5;
+
+	/** The time budget of a single iteration in ms */
+	protected long time = 1000;
+
+	/** The seed of generated inputs */
+	protected long seed = Generators.DEFAULT_SEED;
+
+	/** The thread bean that reports allocated bytes, null if not supported */
+	protected final com.sun.management.ThreadMXBean threads;
+
+	/** Sink for the answers so that the work cannot be optimised away */
+	protected volatile int sink;
+
+	/**
+	 * Creates a new benchmark runner
+	 */
+	public BenchmarkRunner( ) {
+		final ThreadMXBean tmx = ManagementFactory.getThreadMXBean( );
+		if( tmx instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean)tmx).isThreadAllocatedMemorySupported( ) ) {
+			threads = (com.sun.management.ThreadMXBean)tmx;
+			threads.setThreadAllocatedMemoryEnabled( true );
+		} else
+			threads = null;
+	}
+
+	/**
+	 * Sets the number of iterations
+	 *
+	 * @param warmups The number of warmup iterations
+	 * @param iterations The number of measured iterations
+	 * @param time The time budget per iteration in ms
+	 */
+	public void setIterations( final int warmups, final int iterations, final long time ) {
+		if( warmups < 0 || iterations < 1 || time < 1 ) throw new IllegalArgumentException( "Invalid iteration settings" );
+		this.warmups = warmups;
+		this.iterations = iterations;
+		this.time = time;
+	}
+
+	/**
+	 * Sets the seed of generated inputs
+	 *
+	 * @param seed The seed
+	 */
+	public void setSeed( final long seed ) {
+		this.seed = seed;
+	}
+
+	/**
+	 * Benchmarks all parts of the day on an input of the given size
+	 *
+	 * @param bench The day benchmark
+	 * @param size The input size, 0 for the real puzzle input
+	 * @return The results for every part
+	 * @throws Exception if the input could not be loaded or a part failed
+	 */
+	public List<BenchmarkResult> run( final Benchmark<?, ?> bench, final int size ) throws Exception {
+		final List<BenchmarkResult> results = new ArrayList<>( 2 );
+
+		final PrintStream stdout = System.out, stderr = System.err;
+		final PrintStream silent = Util.nullStream( );
+		System.setOut( silent );
+		System.setErr( silent );
+		try {
+			bench.setup( bench.getInput( size, seed ) );
+			for( int part = 1; part <= (bench.hasPart2( ) ? 2 : 1); part++ ) {
+				final BenchmarkResult result = new BenchmarkResult( bench.getDay( ), part, size );
+				for( int i = 0; i < warmups; i++ ) iterate( bench, part, null );
+				for( int i = 0; i < iterations; i++ ) iterate( bench, part, result );
+				results.add( result );
+			}
+		} finally {
+			System.setOut( stdout );
+			System.setErr( stderr );
+		}
+		return results;
+	}
+
+	/**
+	 * Runs a single iteration that repeats the part until the time budget is
+	 * spent, at least once
+	 *
+	 * @param bench The benchmark
+	 * @param part The part to run
+	 * @param result The result to add the measurements to, null for warmups
+	 * @throws Exception if the part failed
+	 */
+	protected void iterate( final Benchmark<?, ?> bench, final int part, final BenchmarkResult result ) throws Exception {
+		final long tid = Thread.currentThread( ).getId( );
+		final long gcs = getCollections( ), gctime = getCollectionTime( );
+		final long alloc = threads != null ? threads.getThreadAllocatedBytes( tid ) : -1;
+		final long start = System.nanoTime( );
+		final long deadline = start + time * 1000000L;
+
+		long ops = 0;
+		long now;
+		do {
+			final String answer = bench.run( part );
+			sink ^= answer != null ? answer.hashCode( ) : 0;
+			ops++;
+			now = System.nanoTime( );
+		} while( now < deadline );
+
+		if( result == null ) return;
+		final long allocated = threads != null ? threads.getThreadAllocatedBytes( tid ) - alloc : -1;
+		result.add( ops, now - start, allocated, getCollections( ) - gcs, getCollectionTime( ) - gctime );
+	}
+
+	/** @return The total number of garbage collections so far */
+	protected static long getCollections( ) {
+		long count = 0;
+		for( GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans( ) ) count += Math.max( 0, gc.getCollectionCount( ) );
+		return count;
+	}
+
+	/** @return The total time spent in garbage collection so far in ms */
+	protected static long getCollectionTime( ) {
+		long ms = 0;
+		for( GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans( ) ) ms += Math.max( 0, gc.getCollectionTime( ) );
+		return ms;
+	}
+
+	/**
+	 * Runs the benchmarks from the command line
+	 *
+	 * Usage: BenchmarkRunner [-w warmups] [-i iterations] [-t ms] [-s sizes]
+	 * [-seed seed] [days...]
+	 *
+	 * The sizes are a comma separated list where size 0 is the real puzzle
+	 * input, all days are benchmarked on the real input by default. A day or
+	 * size that fails is reported as failed and the other benchmarks are still
+	 * run, the exit code is 1 if any of them failed.
+	 *
+	 * @param args The command line arguments
+	 */
+	public static void main( final String[] args ) {
+		final BenchmarkRunner runner = new BenchmarkRunner( );
+		int warmups = runner.warmups, iterations = runner.iterations;
+		long time = runner.time;
+		String sizes = "0";
+		final List<Integer> days = new ArrayList<>( );
+
+		for( int i = 0; i < args.length; i++ ) {
+			switch( args[i] ) {
+				case "-w": warmups = Integer.parseInt( args[++i] ); break;
+				case "-i": iterations = Integer.parseInt( args[++i] ); break;
+				case "-t": time = Long.parseLong( args[++i] ); break;
+				case "-s": sizes = args[++i]; break;
+				case "-seed": runner.setSeed( Long.parseLong( args[++i] ) ); break;
+				default: days.add( Integer.parseInt( args[i] ) );
+			}
+		}
+		runner.setIterations( warmups, iterations, time );
+		if( days.isEmpty( ) ) for( int d = 1; d <= 25; d++ ) days.add( d );
+
+		boolean failed = false;
+		System.out.println( BenchmarkResult.header( ) );
+		for( int day : days ) {
+			final Benchmark<?, ?> bench;
+			try {
+				bench = Benchmark.forDay( day );
+			} catch( Exception e ) {
+				failed = true;
+				System.out.println( String.format( "%-4d %-4s %10s FAILED: %s", day, "-", "-", e ) );
+				continue;
+			}
+
+			for( String size : sizes.split( "," ) ) {
+				try {
+					for( BenchmarkResult r : runner.run( bench, Integer.parseInt( size.trim( ) ) ) )
+						System.out.println( r );
+				} catch( Exception e ) {
+					failed = true;
+					System.out.println( String.format( "%-4d %-4s %10s FAILED: %s", day, "-", size.trim( ), e ) );
+				}
+			}
+		}
+		if( failed ) System.exit( 1 );
+	}
+}
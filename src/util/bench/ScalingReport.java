@@ -0,0 +1,317 @@
+package util.bench;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import util.Util;
+import util.gen.Generators;
+import util.puzzle.Puzzle;
+import util.puzzle.Puzzles;
+
+/**
+ * Measures how the phases of every day scale with the size of the input. The
+ * phases are run on generated inputs of geometrically growing size, and the
+ * growth of their time and allocation is fitted as the slope of the log-log
+ * measurements. Phases whose fitted exponent exceeds their declared
+ * complexity (see {@link Puzzle#getComplexity(int)}) by more than the
+ * tolerance are flagged.
+ *
+ * Every size is run repeatedly until both the minimal number of runs and the
+ * minimal time have been reached, the first run is a warmup. The fastest run
+ * and the smallest allocation are used, as they are least disturbed by the
+ * JIT compiler and the garbage collector.
+ *
+ * The sizes are configured per day in a properties file, either as an
+ * explicit list with key dayN.sizes or as the first size with key dayN.base
+ * that is multiplied by the growth factor. By default the sizes in
+ * scaling.properties next to this class are used.
+ *
+ * @author Joris
+ */
+public class ScalingReport {
+	/** The size configuration */
+	protected final Properties config;
+
+	/** The thread bean that reports allocated bytes, null if not supported */
+	protected final com.sun.management.ThreadMXBean threads;
+
+	/** The number of sizes */
+	protected int steps = 5;
+
+	/** The growth factor between sizes */
+	protected double factor = 2;
+
+	/** The tolerance on the fitted exponents */
+	protected double tolerance = 0.3;
+
+	/** The minimal number of measured runs per size */
+	protected int runs = 3;
+
+	/** The minimal time to measure per size in ms */
+	protected long time = 200;
+
+	/** The seed of generated inputs */
+	protected long seed = Generators.DEFAULT_SEED;
+
+	/**
+	 * Creates a new scaling report
+	 *
+	 * @param config The size configuration
+	 */
+	public ScalingReport( final Properties config ) {
+		this.config = config;
+
+		final ThreadMXBean tmx = ManagementFactory.getThreadMXBean( );
+		if( tmx instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean)tmx).isThreadAllocatedMemorySupported( ) ) {
+			threads = (com.sun.management.ThreadMXBean)tmx;
+			threads.setThreadAllocatedMemoryEnabled( true );
+		} else
+			threads = null;
+	}
+
+	/**
+	 * Sets the sizes that are generated for days without explicit sizes
+	 *
+	 * @param steps The number of sizes
+	 * @param factor The growth factor between sizes
+	 */
+	public void setGrowth( final int steps, final double factor ) {
+		if( steps < 2 || factor <= 1 ) throw new IllegalArgumentException( "Invalid growth settings" );
+		this.steps = steps;
+		this.factor = factor;
+	}
+
+	/**
+	 * Sets the tolerance on the fitted exponents
+	 *
+	 * @param tolerance The tolerance
+	 */
+	public void setTolerance( final double tolerance ) {
+		if( tolerance < 0 ) throw new IllegalArgumentException( "Invalid tolerance " + tolerance );
+		this.tolerance = tolerance;
+	}
+
+	/**
+	 * Sets the number of runs per size
+	 *
+	 * @param runs The minimal number of measured runs
+	 * @param time The minimal time to measure in ms
+	 */
+	public void setRuns( final int runs, final long time ) {
+		if( runs < 1 || time < 0 ) throw new IllegalArgumentException( "Invalid run settings" );
+		this.runs = runs;
+		this.time = time;
+	}
+
+	/**
+	 * Sets the seed of generated inputs
+	 *
+	 * @param seed The seed
+	 */
+	public void setSeed( final long seed ) {
+		this.seed = seed;
+	}
+
+	/**
+	 * Returns the input sizes of a day
+	 *
+	 * @param day The day number
+	 * @return The sizes in increasing order
+	 */
+	public int[] getSizes( final int day ) {
+		final String list = config.getProperty( "day" + day + ".sizes" );
+		if( list != null ) return Arrays.stream( list.split( "," ) ).mapToInt( s -> Integer.parseInt( s.trim( ) ) ).toArray( );
+
+		final int base = Integer.parseInt( config.getProperty( "day" + day + ".base", "100" ).trim( ) );
+		final int[] sizes = new int[ steps ];
+		for( int i = 0; i < steps; i++ ) sizes[i] = (int)Math.round( base * Math.pow( factor, i ) );
+		return sizes;
+	}
+
+	/**
+	 * Measures the scaling of all phases of the day
+	 *
+	 * @param bench The benchmark of the day
+	 * @return The results per phase
+	 * @throws Exception if an input could not be generated or a phase failed
+	 */
+	public List<ScalingResult> measure( final Benchmark<?, ?> bench ) throws Exception {
+		final Puzzle<?, ?> puzzle = bench.puzzle;
+		final int phases = puzzle.hasPart2( ) ? 4 : 3;
+		final int[] sizes = getSizes( puzzle.getDay( ) );
+		final long[][] nanos = new long[ phases ][ sizes.length ];
+		final long[][] bytes = new long[ phases ][ sizes.length ];
+
+		final PrintStream stdout = System.out, stderr = System.err;
+		final PrintStream silent = Util.nullStream( );
+		System.setOut( silent );
+		System.setErr( silent );
+		try {
+			for( int s = 0; s < sizes.length; s++ ) {
+				final String file = bench.getInput( sizes[s], seed );
+				final long[] t = new long[ phases ], b = new long[ phases ];
+				Arrays.fill( t, Long.MAX_VALUE );
+				Arrays.fill( b, Long.MAX_VALUE );
+
+				// the first run is a warmup
+				run( puzzle, file, new long[ phases ], new long[ phases ] );
+				final long end = System.nanoTime( ) + time * 1000000L;
+				for( int r = 0; r < runs || System.nanoTime( ) < end; r++ ) {
+					run( puzzle, file, t, b );
+				}
+
+				for( int p = 0; p < phases; p++ ) {
+					nanos[p][s] = t[p];
+					bytes[p][s] = threads != null ? b[p] : -1;
+				}
+			}
+		} finally {
+			System.setOut( stdout );
+			System.setErr( stderr );
+		}
+
+		final List<ScalingResult> results = new ArrayList<>( phases );
+		for( int p = 0; p < phases; p++ )
+			results.add( new ScalingResult( puzzle.getDay( ), p, sizes, nanos[p], bytes[p], puzzle.getComplexity( p ), tolerance ) );
+		return results;
+	}
+
+	/**
+	 * Runs all phases once and keeps the minimal time and allocation per phase
+	 *
+	 * @param puzzle The puzzle
+	 * @param file The input file
+	 * @param nanos The minimal time per phase
+	 * @param bytes The minimal allocation per phase
+	 * @throws Exception if a phase failed
+	 */
+	protected <R, M> void run( final Puzzle<R, M> puzzle, final String file, final long[] nanos, final long[] bytes ) throws Exception {
+		final long tid = Thread.currentThread( ).getId( );
+
+		long alloc = allocated( tid );
+		long start = System.nanoTime( );
+		final R input = puzzle.read( file );
+		start = record( 0, start, alloc, tid, nanos, bytes );
+
+		alloc = allocated( tid );
+		final M model = puzzle.build( input );
+		start = record( 1, start, alloc, tid, nanos, bytes );
+
+		alloc = allocated( tid );
+		puzzle.part1( model );
+		start = record( 2, start, alloc, tid, nanos, bytes );
+
+		if( nanos.length > 3 ) {
+			alloc = allocated( tid );
+			puzzle.part2( model );
+			record( 3, start, alloc, tid, nanos, bytes );
+		}
+	}
+
+	/**
+	 * Records the time and allocation of a phase if it is the smallest so far
+	 *
+	 * @param phase The phase index
+	 * @param start The start time of the phase
+	 * @param alloc The allocated bytes at the start of the phase
+	 * @param tid The thread ID
+	 * @param nanos The minimal time per phase
+	 * @param bytes The minimal allocation per phase
+	 * @return The start time of the next phase
+	 */
+	protected long record( final int phase, final long start, final long alloc, final long tid, final long[] nanos, final long[] bytes ) {
+		final long now = System.nanoTime( );
+		nanos[phase] = Math.min( nanos[phase], now - start );
+		bytes[phase] = Math.min( bytes[phase], allocated( tid ) - alloc );
+		return System.nanoTime( );
+	}
+
+	/**
+	 * Returns the bytes allocated by the thread so far
+	 *
+	 * @param tid The thread ID
+	 * @return The allocated bytes, 0 if not supported
+	 */
+	protected long allocated( final long tid ) {
+		return threads != null ? threads.getThreadAllocatedBytes( tid ) : 0;
+	}
+
+	/**
+	 * Loads the size configuration
+	 *
+	 * @param file The configuration file, null for the default configuration
+	 * @return The configuration
+	 * @throws IOException if the configuration could not be read
+	 */
+	public static Properties loadConfig( final String file ) throws IOException {
+		final Properties config = new Properties( );
+		try( final InputStream in = file != null ? new FileInputStream( file ) : ScalingReport.class.getResourceAsStream( "scaling.properties" ) ) {
+			if( in == null ) throw new IOException( "Default scaling configuration not found" );
+			config.load( in );
+		}
+		return config;
+	}
+
+	/**
+	 * Runs the scaling report from the command line
+	 *
+	 * Usage: ScalingReport [-c configfile] [-k steps] [-f factor] [-tol tolerance]
+	 * [-n runs] [-t ms] [-seed seed] [days...]
+	 *
+	 * All days with an estimated time of at most a second are measured if no
+	 * days are given, the other days spend most of their time in a fixed
+	 * number of rounds that does not depend on the input size. The exit code
+	 * is 1 if any phase grows faster than declared.
+	 *
+	 * @param args The command line arguments
+	 * @throws Exception if a day failed
+	 */
+	public static void main( final String[] args ) throws Exception {
+		String file = null;
+		int steps = 5, runs = 3;
+		double factor = 2, tolerance = 0.3;
+		long time = 200;
+		Long seed = null;
+		final List<Integer> days = new ArrayList<>( );
+
+		for( int i = 0; i < args.length; i++ ) {
+			switch( args[i] ) {
+				case "-c": file = args[++i]; break;
+				case "-k": steps = Integer.parseInt( args[++i] ); break;
+				case "-f": factor = Double.parseDouble( args[++i] ); break;
+				case "-tol": tolerance = Double.parseDouble( args[++i] ); break;
+				case "-n": runs = Integer.parseInt( args[++i] ); break;
+				case "-t": time = Long.parseLong( args[++i] ); break;
+				case "-seed": seed = Long.parseLong( args[++i] ); break;
+				default: days.add( Integer.parseInt( args[i] ) );
+			}
+		}
+		if( days.isEmpty( ) ) {
+			for( Puzzle<?, ?> p : Puzzles.load( ) ) if( p.getEstimatedTime( ) <= 1000 ) days.add( p.getDay( ) );
+		}
+
+		final ScalingReport report = new ScalingReport( loadConfig( file ) );
+		report.setGrowth( steps, factor );
+		report.setTolerance( tolerance );
+		report.setRuns( runs, time );
+		if( seed != null ) report.setSeed( seed );
+
+		boolean valid = true;
+		System.out.println( ScalingResult.header( ) );
+		for( int day : days ) {
+			for( ScalingResult r : report.measure( Benchmark.forDay( day ) ) ) {
+				valid &= r.isWithinComplexity( );
+				System.out.println( r );
+			}
+		}
+		if( !valid ) System.exit( 1 );
+	}
+}
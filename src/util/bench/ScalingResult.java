@@ -0,0 +1,148 @@
+package util.bench;
+
+import util.puzzle.PuzzleResult;
+
+/**
+ * The scaling of a single phase of a day over inputs of growing size: the
+ * time and allocation per size and the exponents of their growth, fitted as
+ * the slope of a least squares line through the log-log measurements
+ *
+ * @author Joris
+ */
+public class ScalingResult {
+	/**
+	 * Times at the largest size below this number of ns are too small to fit,
+	 * as a single compilation or collection would dominate their growth
+	 */
+	protected static final long MIN_NANOS = 500000;
+
+	/** Allocations below this number of bytes are too small to fit */
+	protected static final long MIN_BYTES = 10000;
+
+	/** The day number */
+	protected final int day;
+
+	/** The phase index, see PuzzleResult.PHASES */
+	protected final int phase;
+
+	/** The input sizes */
+	protected final int[] sizes;
+
+	/** The time per size in ns */
+	protected final long[] nanos;
+
+	/** The allocated bytes per size, -1 if not supported */
+	protected final long[] bytes;
+
+	/** The declared complexity exponent */
+	protected final double declared;
+
+	/** The tolerance on the fitted exponent */
+	protected final double tolerance;
+
+	/**
+	 * Creates a new scaling result
+	 *
+	 * @param day The day number
+	 * @param phase The phase index
+	 * @param sizes The input sizes
+	 * @param nanos The time per size in ns
+	 * @param bytes The allocated bytes per size
+	 * @param declared The declared complexity exponent
+	 * @param tolerance The tolerance on the fitted exponents
+	 */
+	public ScalingResult( final int day, final int phase, final int[] sizes, final long[] nanos, final long[] bytes, final double declared, final double tolerance ) {
+		this.day = day;
+		this.phase = phase;
+		this.sizes = sizes;
+		this.nanos = nanos;
+		this.bytes = bytes;
+		this.declared = declared;
+		this.tolerance = tolerance;
+	}
+
+	/** @return The fitted exponent of the time growth, NaN if the times are too small to fit */
+	public double getTimeExponent( ) {
+		return nanos[ nanos.length - 1 ] < MIN_NANOS ? Double.NaN : fit( sizes, nanos );
+	}
+
+	/** @return The fitted exponent of the allocation growth, NaN if the allocation is too small to fit */
+	public double getMemoryExponent( ) {
+		return max( bytes ) < MIN_BYTES ? Double.NaN : fit( sizes, bytes );
+	}
+
+	/** @return True if neither time nor allocation grow faster than declared */
+	public boolean isWithinComplexity( ) {
+		return isWithin( getTimeExponent( ) ) && isWithin( getMemoryExponent( ) );
+	}
+
+	/**
+	 * Checks a fitted exponent against the declared complexity
+	 *
+	 * @param exponent The fitted exponent, NaN if it could not be fitted
+	 * @return True if the exponent could not be fitted or is within the
+	 *   declared complexity plus tolerance
+	 */
+	protected boolean isWithin( final double exponent ) {
+		return Double.isNaN( exponent ) || exponent <= declared + tolerance;
+	}
+
+	/**
+	 * Returns the largest of the values
+	 *
+	 * @param values The values
+	 * @return The maximum
+	 */
+	private static long max( final long[] values ) {
+		long max = 0;
+		for( long v : values ) max = Math.max( max, v );
+		return max;
+	}
+
+	/**
+	 * Fits the exponent of the growth of the values with the size as the slope
+	 * of the least squares line through the logarithms. Values that are not
+	 * positive are ignored.
+	 *
+	 * @param sizes The sizes
+	 * @param values The values
+	 * @return The exponent, NaN if there are less than two values
+	 */
+	protected static double fit( final int[] sizes, final long[] values ) {
+		double sx = 0, sy = 0, sxx = 0, sxy = 0;
+		int n = 0;
+		for( int i = 0; i < sizes.length; i++ ) {
+			if( values[i] <= 0 ) continue;
+			final double x = Math.log( sizes[i] ), y = Math.log( values[i] );
+			sx += x; sy += y; sxx += x * x; sxy += x * y;
+			n++;
+		}
+		if( n < 2 ) return Double.NaN;
+		return (n * sxy - sx * sy) / (n * sxx - sx * sx);
+	}
+
+	/** @return The header line of the table of results */
+	public static String header( ) {
+		return String.format( "%-4s %-7s %9s %9s %9s %9s  %-8s %s", "Day", "phase", "declared", "time", "memory", "max ms", "status", "ms per size" );
+	}
+
+	@Override
+	public String toString( ) {
+		final StringBuilder times = new StringBuilder( );
+		for( int i = 0; i < sizes.length; i++ ) times.append( String.format( " %d:%.3f", sizes[i], nanos[i] / 1e6 ) );
+
+		return String.format( "%-4d %-7s %9s %9s %9s %9.3f  %-8s%s", day, PuzzleResult.PHASES[phase], Double.isInfinite( declared ) ? "-" : String.format( "%.1f", declared ),
+				format( getTimeExponent( ) ), format( getMemoryExponent( ) ), nanos[ nanos.length - 1 ] / 1e6,
+				isWithinComplexity( ) ? "ok" : "EXCEEDS", times );
+	}
+
+	/**
+	 * Formats a fitted exponent
+	 *
+	 * @param exponent The exponent
+	 * @return The formatted exponent, - if it could not be fitted
+	 */
+	private static String format( final double exponent ) {
+		return Double.isNaN( exponent ) ? "-" : String.format( "%.2f", exponent );
+	}
+}
@@ -0,0 +1,147 @@
+package util.bench;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import util.launch.AppCdsLauncher;
+import util.puzzle.Puzzle;
+import util.puzzle.PuzzleResult;
+import util.puzzle.PuzzleRunner;
+import util.puzzle.Puzzles;
+
+/**
+ * Measures the cold start of a day in a new JVM, with and without the
+ * application class data archive of the {@link AppCdsLauncher}. For every
+ * trial a new JVM runs the puzzle once and the time from starting the process
+ * until the answers of the puzzle are printed is measured. Trials with and
+ * without the archive are alternated so that both see the same system load.
+ *
+ * @author Joris
+ */
+public class StartupBenchmark {
+	/** The launcher that creates the JVM commands */
+	protected final AppCdsLauncher launcher;
+
+	/** The number of trials per day and mode */
+	protected int trials = 5;
+
+	/**
+	 * Creates a new startup benchmark
+	 *
+	 * @param launcher The launcher with a valid archive
+	 * @throws IOException if the archive could not be checked
+	 * @throws IllegalStateException if the archive is not valid
+	 */
+	public StartupBenchmark( final AppCdsLauncher launcher ) throws IOException {
+		if( !launcher.isArchiveValid( ) ) throw new IllegalStateException( "No valid class data archive, run AppCdsLauncher train first" );
+		this.launcher = launcher;
+	}
+
+	/**
+	 * Sets the number of trials
+	 *
+	 * @param trials The number of trials per day and mode
+	 */
+	public void setTrials( final int trials ) {
+		if( trials < 1 ) throw new IllegalArgumentException( "Invalid number of trials" );
+		this.trials = trials;
+	}
+
+	/**
+	 * Measures the time to the first answer of the day
+	 *
+	 * @param day The day number
+	 * @return The median time in ns without and with the archive
+	 * @throws IOException if a JVM could not be started or failed
+	 * @throws InterruptedException if interrupted while waiting for a JVM
+	 */
+	public long[] measure( final int day ) throws IOException, InterruptedException {
+		final long[][] times = new long[ 2 ][ trials ];
+		for( int i = 0; i < trials; i++ ) {
+			for( int mode = 0; mode < 2; mode++ ) {
+				times[mode][i] = timeToAnswer( launcher.command( mode == 1, PuzzleRunner.class.getName( ), "-w", "0", "-n", "1", "" + day ) );
+			}
+		}
+
+		final long[] median = new long[ 2 ];
+		for( int mode = 0; mode < 2; mode++ ) {
+			Arrays.sort( times[mode] );
+			median[mode] = times[mode][trials / 2];
+		}
+		return median;
+	}
+
+	/**
+	 * Starts the JVM and waits for the first answer line of the runner
+	 *
+	 * @param cmd The command line
+	 * @return The time in ns from starting the process until the answer
+	 * @throws IOException if the JVM could not be started or printed no answer
+	 * @throws InterruptedException if interrupted while waiting for the JVM
+	 */
+	protected static long timeToAnswer( final List<String> cmd ) throws IOException, InterruptedException {
+		final ProcessBuilder pb = new ProcessBuilder( cmd );
+		pb.redirectError( ProcessBuilder.Redirect.INHERIT );
+
+		final long start = System.nanoTime( );
+		final Process proc = pb.start( );
+		long time = -1;
+		try( final BufferedReader in = new BufferedReader( new InputStreamReader( proc.getInputStream( ) ) ) ) {
+			final String header = PuzzleResult.header( );
+			String line;
+			while( (line = in.readLine( )) != null ) {
+				if( time < 0 && !line.equals( header ) ) time = System.nanoTime( ) - start;
+			}
+		}
+		proc.waitFor( );
+		if( time < 0 ) throw new IOException( "No answer from " + String.join( " ", cmd ) );
+		return time;
+	}
+
+	/**
+	 * Runs the startup benchmark from the command line
+	 *
+	 * Usage: StartupBenchmark [-d dir] [-n trials] [days...]
+	 *
+	 * The archive must have been created by the AppCdsLauncher in the given
+	 * directory. If no days are given, all days that are expected to solve in
+	 * at most 100 ms are measured, as startup is irrelevant to slower days.
+	 *
+	 * @param args The command line arguments
+	 * @throws Exception if the benchmark failed
+	 */
+	public static void main( final String[] args ) throws Exception {
+		File dir = AppCdsLauncher.getDefaultDir( );
+		int trials = 5;
+		final List<Integer> days = new ArrayList<>( );
+
+		for( int i = 0; i < args.length; i++ ) {
+			switch( args[i] ) {
+				case "-d": dir = new File( args[++i] ); break;
+				case "-n": trials = Integer.parseInt( args[++i] ); break;
+				default: days.add( Integer.parseInt( args[i] ) );
+			}
+		}
+		if( days.isEmpty( ) ) {
+			for( Puzzle<?, ?> p : Puzzles.load( ) ) if( p.getEstimatedTime( ) <= 100 ) days.add( p.getDay( ) );
+		}
+
+		final StartupBenchmark bench = new StartupBenchmark( new AppCdsLauncher( dir ) );
+		bench.setTrials( trials );
+
+		System.out.println( String.format( "%-4s %12s %12s %8s", "Day", "default ms", "AppCDS ms", "speedup" ) );
+		long total0 = 0, total1 = 0;
+		for( int day : days ) {
+			final long[] t = bench.measure( day );
+			total0 += t[0];
+			total1 += t[1];
+			System.out.println( String.format( "%-4d %12.1f %12.1f %7.2fx", day, t[0] / 1e6, t[1] / 1e6, (double)t[0] / t[1] ) );
+		}
+		System.out.println( String.format( "%-4s %12.1f %12.1f %7.2fx", "all", total0 / 1e6, total1 / 1e6, (double)total0 / total1 ) );
+	}
+}
@@ -0,0 +1,227 @@
+package util.exec;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cooperative control over the execution of a simulation. Simulations report
+ * the rounds they have played to the control, which every so many rounds
+ * checks whether the simulation should stop because it was cancelled or ran
+ * past its deadline, and reports the progress to a listener. A paused
+ * control blocks the simulation at its next check until it is resumed, so
+ * that a slow simulation can make room for others without losing its state.
+ *
+ * Stopping is done by throwing an {@link ExecutionStoppedException} from the
+ * simulation thread, which leaves the simulation in the state after its last
+ * complete round.
+ *
+ * A control can be installed for the current thread, simulations that are
+ * created on that thread pick it up automatically. This allows a scheduler
+ * to control the simulations of a solver without changing its code.
+ *
+ * @author Joris
+ */
+public class ExecutionControl {
+	/** The control of the current thread */
+	private static final ThreadLocal<ExecutionControl> CURRENT = new ThreadLocal<>( );
+
+	/**
+	 * Listener that is notified of the progress of a simulation
+	 */
+	public interface ProgressListener {
+		/**
+		 * Reports progress
+		 *
+		 * @param rounds The number of rounds played so far
+		 * @param elapsed The time since the start of the control in ns
+		 */
+		void progress( final long rounds, final long elapsed );
+	}
+
+	/** The start time in ns */
+	protected final long start;
+
+	/** The deadline in ns, relative to System.nanoTime( ), or Long.MAX_VALUE for none */
+	protected volatile long deadline;
+
+	/** The minimal number of rounds between checks */
+	protected long interval;
+
+	/** The progress listener, null for none */
+	protected ProgressListener listener;
+
+	/** True if the execution has been cancelled */
+	protected volatile boolean cancelled;
+
+	/** True if the execution has been paused */
+	protected volatile boolean paused;
+
+	/** The number of rounds played */
+	protected long rounds;
+
+	/** The number of rounds at the last check */
+	protected long checked;
+
+	/**
+	 * Creates a new control without deadline that checks every time it is
+	 * stepped
+	 */
+	public ExecutionControl( ) {
+		this.start = System.nanoTime( );
+		this.deadline = Long.MAX_VALUE;
+		this.interval = 1;
+		this.listener = null;
+		this.cancelled = false;
+		this.paused = false;
+		this.rounds = 0;
+		this.checked = 0;
+	}
+
+	/**
+	 * Sets a time budget, starting now
+	 *
+	 * @param budget The time budget
+	 * @param unit The unit of the budget
+	 */
+	public void setTimeBudget( final long budget, final TimeUnit unit ) {
+		setDeadline( System.nanoTime( ) + unit.toNanos( budget ) );
+	}
+
+	/**
+	 * Sets the deadline
+	 *
+	 * @param deadline The deadline in ns, relative to System.nanoTime( )
+	 */
+	public void setDeadline( final long deadline ) {
+		this.deadline = deadline;
+	}
+
+	/**
+	 * Sets the number of rounds between checks
+	 *
+	 * @param rounds The minimal number of rounds between checks
+	 */
+	public void setCheckInterval( final long rounds ) {
+		if( rounds < 1 ) throw new IllegalArgumentException( "Invalid check interval " + rounds );
+		this.interval = rounds;
+	}
+
+	/**
+	 * Sets the progress listener
+	 *
+	 * @param listener The listener, null for none
+	 */
+	public void setProgressListener( final ProgressListener listener ) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Cancels the execution, the simulation stops at its next check
+	 */
+	public synchronized void cancel( ) {
+		cancelled = true;
+		notifyAll( );
+	}
+
+	/**
+	 * Pauses the execution, the simulation blocks at its next check until it
+	 * is resumed or cancelled or its deadline passes
+	 */
+	public void pause( ) {
+		paused = true;
+	}
+
+	/**
+	 * Resumes a paused execution
+	 */
+	public synchronized void resume( ) {
+		paused = false;
+		notifyAll( );
+	}
+
+	/** @return True if the execution has been cancelled */
+	public boolean isCancelled( ) { return cancelled; }
+
+	/** @return The number of rounds played so far */
+	public long getRounds( ) { return rounds; }
+
+	/** @return The time since the creation of the control in ns */
+	public long getElapsed( ) { return System.nanoTime( ) - start; }
+
+	/**
+	 * Reports rounds played by the simulation and checks the execution if the
+	 * check interval has passed. Must only be called from the simulation
+	 * thread.
+	 *
+	 * @param n The number of rounds played since the previous call
+	 * @throws ExecutionStoppedException if the execution must stop
+	 */
+	public void step( final long n ) {
+		rounds += n;
+		if( rounds - checked >= interval ) check( );
+	}
+
+	/**
+	 * Checks whether the execution must stop or wait, and reports progress
+	 *
+	 * @throws ExecutionStoppedException if the execution must stop
+	 */
+	protected void check( ) {
+		checked = rounds;
+		if( paused ) await( );
+		if( cancelled ) throw new ExecutionStoppedException( ExecutionStoppedException.Reason.CANCELLED, rounds );
+		final long now = System.nanoTime( );
+		if( isPast( deadline, now ) ) throw new ExecutionStoppedException( ExecutionStoppedException.Reason.DEADLINE, rounds );
+		if( listener != null ) listener.progress( rounds, now - start );
+	}
+
+	/**
+	 * Waits while the execution is paused
+	 *
+	 * @throws ExecutionStoppedException if the thread is interrupted while
+	 *   waiting
+	 */
+	protected synchronized void await( ) {
+		while( paused && !cancelled ) {
+			// wait until resumed, or until the deadline if there is one
+			long wait = 0;
+			if( deadline != Long.MAX_VALUE ) {
+				final long remaining = deadline - System.nanoTime( );
+				if( remaining <= 0 ) return;
+				wait = TimeUnit.NANOSECONDS.toMillis( remaining ) + 1;
+			}
+
+			try {
+				wait( wait );
+			} catch( InterruptedException e ) {
+				Thread.currentThread( ).interrupt( );
+				throw new ExecutionStoppedException( ExecutionStoppedException.Reason.CANCELLED, rounds );
+			}
+		}
+	}
+
+	/**
+	 * Checks whether the deadline has passed
+	 *
+	 * @param deadline The deadline, Long.MAX_VALUE for none
+	 * @param now The current time in ns
+	 * @return True if there is a deadline and it has passed
+	 */
+	protected static boolean isPast( final long deadline, final long now ) {
+		return deadline != Long.MAX_VALUE && now - deadline >= 0;
+	}
+
+	/** @return The control of the current thread, null if none is installed */
+	public static ExecutionControl current( ) {
+		return CURRENT.get( );
+	}
+
+	/**
+	 * Installs the control for the current thread
+	 *
+	 * @param control The control, null to remove the current control
+	 */
+	public static void setCurrent( final ExecutionControl control ) {
+		if( control != null ) CURRENT.set( control );
+		else CURRENT.remove( );
+	}
+}
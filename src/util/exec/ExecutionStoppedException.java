@@ -0,0 +1,42 @@
+package util.exec;
+
+/**
+ * Thrown from a simulation when its execution control stops it
+ *
+ * @author Joris
+ */
+@SuppressWarnings( "serial" )
+public class ExecutionStoppedException extends RuntimeException {
+	/** The reason for stopping */
+	public enum Reason {
+		/** The execution was cancelled */
+		CANCELLED,
+
+		/** The deadline of the execution has passed */
+		DEADLINE
+	}
+
+	/** The reason the execution stopped */
+	protected final Reason reason;
+
+	/** The number of rounds played before stopping */
+	protected final long rounds;
+
+	/**
+	 * Creates a new exception
+	 *
+	 * @param reason The reason for stopping
+	 * @param rounds The number of rounds played
+	 */
+	public ExecutionStoppedException( final Reason reason, final long rounds ) {
+		super( (reason == Reason.CANCELLED ? "Cancelled" : "Deadline passed") + " after " + rounds + " round(s)" );
+		this.reason = reason;
+		this.rounds = rounds;
+	}
+
+	/** @return The reason the execution stopped */
+	public Reason getReason( ) { return reason; }
+
+	/** @return The number of rounds played before stopping */
+	public long getRounds( ) { return rounds; }
+}
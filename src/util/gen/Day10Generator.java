@@ -0,0 +1,39 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Generates a bag of joltage adapters in random order. Sorted, consecutive
+ * adapters differ by either 1 or 3 jolts, with runs of at most four
+ * differences of 1. The size is the number of adapters.
+ *
+ * @author Joris
+ */
+public class Day10Generator extends InputGenerator {
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day10Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		// the adapters have to be shuffled, hence they are kept in memory
+		final int[] adapters = new int[ size ];
+		int jolts = 0;
+		int run = 0;
+		for( int i = 0; i < size; i++ ) {
+			final boolean one = run < 4 && rnd.nextInt( 3 ) > 0;
+			jolts += one ? 1 : 3;
+			run = one ? run + 1 : 0;
+			adapters[i] = jolts;
+		}
+		shuffle( adapters );
+
+		for( int a : adapters ) line( out, "" + a );
+	}
+}
@@ -0,0 +1,59 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Generates a square seat layout of empty seats and floor. The size is the
+ * width and height of the layout.
+ *
+ * The seats are placed at tables of at most 2x2 seats that are separated by
+ * aisles of floor, so no seat has more than three adjacent seats. Occupied
+ * seats therefore never become empty under the rules of part 1 and the
+ * simulation always reaches an equilibrium. Random layouts with the seat
+ * density of the real inputs tend to end up in a cycle of seats that keep
+ * flipping once the layout becomes large.
+ *
+ * @author Joris
+ */
+public class Day11Generator extends InputGenerator {
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day11Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		// the columns of the tables are the same for every row
+		final boolean[] seatcol = tables( size );
+		final boolean[] seatrow = tables( size );
+
+		final char[] line = new char[ size ];
+		for( int y = 0; y < size; y++ ) {
+			for( int x = 0; x < size; x++ )
+				line[x] = seatrow[y] && seatcol[x] && rnd.nextInt( 10 ) > 0 ? 'L' : '.';
+			line( out, new String( line ) );
+		}
+	}
+
+	/**
+	 * Divides a row or column into tables of one or two seats wide, separated
+	 * by aisles of one or two squares
+	 *
+	 * @param size The length of the row or column
+	 * @return For every position whether it can hold a seat
+	 */
+	protected boolean[] tables( final int size ) {
+		final boolean[] seats = new boolean[ size ];
+		int i = 0;
+		while( i < size ) {
+			for( int w = range( 1, 2 ); w > 0 && i < size; w-- ) seats[i++] = true;
+			for( int a = rnd.nextInt( 4 ) == 0 ? 2 : 1; a > 0 && i < size; a-- ) seats[i++] = false;
+		}
+		return seats;
+	}
+}
@@ -0,0 +1,36 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Generates navigation instructions for the ferry. The size is the number of
+ * instructions.
+ *
+ * @author Joris
+ */
+public class Day12Generator extends InputGenerator {
+	/** The actions that move the ship or waypoint */
+	protected static final char[] MOVES = { 'N', 'S', 'E', 'W', 'F', 'F' };
+
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day12Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		for( int i = 0; i < size; i++ ) {
+			// turns are always multiples of 90 degrees
+			if( rnd.nextInt( 4 ) == 0 ) {
+				line( out, (rnd.nextBoolean( ) ? "L" : "R") + 90 * range( 1, 3 ) );
+			} else {
+				line( out, MOVES[ rnd.nextInt( MOVES.length ) ] + "" + range( 1, 100 ) );
+			}
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Generates the bus schedule notes: the earliest departure time and the list
+ * of bus IDs, with x for slots that are out of service. Bus IDs are distinct
+ * primes and their product is kept within {@link #MAX_PRODUCT}, so that the
+ * contest has a solution that is found without overflowing a long. The size is
+ * the number of slots in the list.
+ *
+ * Inputs of every size can be solved. Only the first slots hold buses though,
+ * a dozen or so until the product of their IDs reaches the limit, all later
+ * slots are x. Large sizes therefore mostly add parsing work.
+ *
+ * @author Joris
+ */
+public class Day13Generator extends InputGenerator {
+	/** The maximal product of all bus IDs, half the long range so that combining schedules cannot overflow */
+	protected static final long MAX_PRODUCT = Long.MAX_VALUE / 2;
+
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day13Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		line( out, "" + range( 100000, 1000000 ) );
+
+		// every slot has a bus with probability 1/4, the first slot always has
+		// one. Buses get increasing primes from a random start until the product
+		// of their IDs would exceed the maximum
+		final StringBuilder sb = new StringBuilder( );
+		int prime = range( 7, 50 );
+		long product = 1;
+		boolean full = false;
+		for( int i = 0; i < size; i++ ) {
+			if( i > 0 ) sb.append( ',' );
+			if( !full && (i == 0 || rnd.nextInt( 4 ) == 0) ) {
+				final int next = nextPrime( prime + 1 + rnd.nextInt( 20 ) );
+				full = product > MAX_PRODUCT / next;
+				if( !full ) {
+					prime = next;
+					product *= prime;
+					sb.append( prime );
+				} else {
+					sb.append( 'x' );
+				}
+			} else {
+				sb.append( 'x' );
+			}
+
+			// flush long lines in parts to bound the buffer size
+			if( sb.length( ) >= BUFFER ) { out.append( sb ); sb.setLength( 0 ); }
+		}
+		line( out, sb );
+	}
+
+	/**
+	 * Finds the smallest prime that is at least n
+	 *
+	 * @param n The lower bound
+	 * @return The prime
+	 */
+	private static int nextPrime( final int n ) {
+		for( int p = Math.max( 2, n ); ; p++ ) {
+			boolean prime = true;
+			for( int d = 2; (long)d * d <= p && prime; d++ ) prime = p % d != 0;
+			if( prime ) return p;
+		}
+	}
+}
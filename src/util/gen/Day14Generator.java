@@ -0,0 +1,44 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Generates a docking program of bit masks and memory writes. Masks contain
+ * at most nine floating bits, so that a write with the version 2 decoder
+ * touches at most 512 addresses. The size is the number of lines.
+ *
+ * @author Joris
+ */
+public class Day14Generator extends InputGenerator {
+	/** The number of bits in a mask */
+	protected static final int BITS = 36;
+
+	/** The maximal number of floating bits in a mask */
+	protected static final int MAX_FLOATING = 9;
+
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day14Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		final char[] mask = new char[ BITS ];
+		for( int i = 0; i < size; i++ ) {
+			// start with a mask, then one in five lines sets a new mask
+			if( i == 0 || rnd.nextInt( 5 ) == 0 ) {
+				for( int b = 0; b < BITS; b++ ) mask[b] = rnd.nextBoolean( ) ? '1' : '0';
+				final int floating = range( 1, MAX_FLOATING );
+				for( int f = 0; f < floating; f++ ) mask[ rnd.nextInt( BITS ) ] = 'X';
+				line( out, "mask = " + new String( mask ) );
+			} else {
+				line( out, "mem[" + range( 1, 65535 ) + "] = " + range( 1, 1 << 30 ) );
+			}
+		}
+	}
+}
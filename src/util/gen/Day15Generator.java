@@ -0,0 +1,38 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Generates the starting numbers of the memory game as a single comma
+ * separated line of distinct numbers. The size is the number of starting
+ * numbers.
+ *
+ * @author Joris
+ */
+public class Day15Generator extends InputGenerator {
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day15Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		// distinct numbers from a range that is twice the size
+		final int[] numbers = new int[ 2 * size ];
+		for( int i = 0; i < numbers.length; i++ ) numbers[i] = i;
+		shuffle( numbers );
+
+		final StringBuilder sb = new StringBuilder( );
+		for( int i = 0; i < size; i++ ) {
+			if( i > 0 ) sb.append( ',' );
+			sb.append( numbers[i] );
+			if( sb.length( ) >= BUFFER ) { out.append( sb ); sb.setLength( 0 ); }
+		}
+		line( out, sb );
+	}
+}
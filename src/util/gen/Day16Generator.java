@@ -0,0 +1,100 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Generates ticket rules, your ticket and nearby tickets. The field ranges are
+ * nested: in a hidden order, every field accepts the values of its column and
+ * of the columns of all fields before it, hence the field of every column can
+ * be determined by elimination. One in five nearby tickets contains a value
+ * that is invalid for all fields. The size is the number of nearby tickets.
+ *
+ * @author Joris
+ */
+public class Day16Generator extends InputGenerator {
+	/** The field names, the first six are departure fields */
+	protected static final String[] FIELDS = { "departure location", "departure station", "departure platform", "departure track", "departure date", "departure time", "arrival location", "arrival station", "arrival platform", "arrival track", "class", "duration", "price", "route", "row", "seat", "train", "type", "wagon", "zone" };
+
+	/** The lowest value of the first range */
+	protected static final int BASE = 100;
+
+	/** The width of the value range of every column */
+	protected static final int SEGMENT = 40;
+
+	/** The part of the segment that is used for values, the rest may be a gap */
+	protected static final int USED = 30;
+
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day16Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		final int n = FIELDS.length;
+
+		// the rank of every field in the hidden order and the rank per column
+		final int[] rank = new int[ n ];
+		for( int i = 0; i < n; i++ ) rank[i] = i;
+		shuffle( rank );
+		final int[] column = rank.clone( );
+		shuffle( column );
+
+		// the rules, a field of rank k accepts the segments 0 to k with a gap
+		// in the unused part of one of the segments before it
+		for( int f = 0; f < n; f++ ) {
+			final int k = rank[f];
+			if( k == 0 ) {
+				line( out, FIELDS[f] + ": " + BASE + "-" + (BASE + USED / 2) + " or " + (BASE + USED / 2 + 1) + "-" + (BASE + USED - 1) );
+			} else {
+				final int g = rnd.nextInt( k );
+				line( out, FIELDS[f] + ": " + BASE + "-" + (segment( g ) + USED - 1) + " or " + (segment( g ) + SEGMENT) + "-" + (segment( k ) + USED - 1) );
+			}
+		}
+
+		line( out, "" );
+		line( out, "your ticket:" );
+		line( out, ticket( column, false ) );
+
+		line( out, "" );
+		line( out, "nearby tickets:" );
+		for( int i = 0; i < size; i++ )
+			line( out, ticket( column, rnd.nextInt( 5 ) == 0 ) );
+	}
+
+	/**
+	 * Creates a ticket
+	 *
+	 * @param column The rank of the field of every column
+	 * @param invalid True to include one value that is invalid for all fields
+	 * @return The comma separated ticket values
+	 */
+	protected String ticket( final int[] column, final boolean invalid ) {
+		final int wrong = invalid ? rnd.nextInt( column.length ) : -1;
+		final StringBuilder sb = new StringBuilder( );
+		for( int c = 0; c < column.length; c++ ) {
+			if( c > 0 ) sb.append( ',' );
+			if( c == wrong ) {
+				sb.append( rnd.nextBoolean( ) ? range( 1, BASE - 1 ) : range( segment( column.length ), 999 ) );
+			} else {
+				sb.append( segment( column[c] ) + rnd.nextInt( USED ) );
+			}
+		}
+		return sb.toString( );
+	}
+
+	/**
+	 * Returns the first value of a segment
+	 *
+	 * @param k The segment index
+	 * @return The first value
+	 */
+	protected static int segment( final int k ) {
+		return BASE + k * SEGMENT;
+	}
+}
@@ -0,0 +1,27 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Generates the initial slice of active and inactive Conway cubes. The size
+ * is the width and height of the slice.
+ *
+ * @author Joris
+ */
+public class Day17Generator extends InputGenerator {
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day17Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		for( int i = 0; i < size; i++ )
+			line( out, gridLine( size, '#', '.', 0.5 ) );
+	}
+}
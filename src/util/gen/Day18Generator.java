@@ -0,0 +1,54 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Generates arithmetic homework: expressions of single digit numbers, addition,
+ * multiplication and parentheses. The size is the number of expressions.
+ *
+ * @author Joris
+ */
+public class Day18Generator extends InputGenerator {
+	/** The maximal nesting depth of parentheses */
+	protected static final int MAX_DEPTH = 3;
+
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day18Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		final StringBuilder sb = new StringBuilder( );
+		for( int i = 0; i < size; i++ ) {
+			sb.setLength( 0 );
+			expression( sb, 0 );
+			line( out, sb );
+		}
+	}
+
+	/**
+	 * Appends a random expression
+	 *
+	 * @param sb The string builder to append to
+	 * @param depth The current nesting depth
+	 */
+	protected void expression( final StringBuilder sb, final int depth ) {
+		final int terms = range( 2, depth == 0 ? 6 : 4 );
+		for( int t = 0; t < terms; t++ ) {
+			if( t > 0 ) sb.append( rnd.nextBoolean( ) ? " + " : " * " );
+			if( depth < MAX_DEPTH && rnd.nextInt( 4 ) == 0 ) {
+				sb.append( '(' );
+				expression( sb, depth + 1 );
+				sb.append( ')' );
+			} else {
+				sb.append( range( 1, 9 ) );
+			}
+		}
+	}
+}
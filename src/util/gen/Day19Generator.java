@@ -0,0 +1,98 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Generates message rules and messages. Rule 0 is 8 11, with 8: 42 and
+ * 11: 42 31 so that the rules can be made recursive. Rules 42 and 31 are the
+ * top of a binary grammar over a and b of fixed depth: at every level one
+ * rule matches the strings with an odd number of b's and the other those with
+ * an even number. Messages are sequences of words matching 42 followed by
+ * fewer words matching 31, or random strings. The size is the number of
+ * messages.
+ *
+ * @author Joris
+ */
+public class Day19Generator extends InputGenerator {
+	/** The depth of the grammar, words have length 2^DEPTH */
+	protected static final int DEPTH = 3;
+
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day19Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		// assign shuffled IDs to the rules of the grammar, skipping the fixed IDs
+		final List<Integer> ids = new ArrayList<>( );
+		for( int id = 1; ids.size( ) < 2 * DEPTH; id++ )
+			if( id != 8 && id != 11 && id != 31 && id != 42 ) ids.add( id );
+		final int[] pool = new int[ ids.size( ) ];
+		for( int i = 0; i < pool.length; i++ ) pool[i] = ids.get( i );
+		shuffle( pool );
+
+		// odd[l] and even[l] are the IDs of the rules at level l, the top level
+		// uses 42 (odd) and 31 (even)
+		final int[] odd = new int[ DEPTH + 1 ];
+		final int[] even = new int[ DEPTH + 1 ];
+		for( int l = 0; l < DEPTH; l++ ) { odd[l] = pool[2 * l]; even[l] = pool[2 * l + 1]; }
+		odd[DEPTH] = 42; even[DEPTH] = 31;
+
+		final List<String> rules = new ArrayList<>( );
+		rules.add( "0: 8 11" );
+		rules.add( "8: 42" );
+		rules.add( "11: 42 31" );
+		rules.add( odd[0] + ": \"b\"" );
+		rules.add( even[0] + ": \"a\"" );
+		for( int l = 1; l <= DEPTH; l++ ) {
+			rules.add( odd[l] + ": " + odd[l-1] + " " + even[l-1] + " | " + even[l-1] + " " + odd[l-1] );
+			rules.add( even[l] + ": " + odd[l-1] + " " + odd[l-1] + " | " + even[l-1] + " " + even[l-1] );
+		}
+		Collections.shuffle( rules, rnd );
+		for( String r : rules ) line( out, r );
+		line( out, "" );
+
+		// messages: valid for the recursive rules, the first part or random
+		final StringBuilder sb = new StringBuilder( );
+		for( int i = 0; i < size; i++ ) {
+			sb.setLength( 0 );
+			if( rnd.nextInt( 3 ) > 0 ) {
+				final int tail = range( 1, 3 );
+				final int head = tail + range( 1, 3 );
+				for( int w = 0; w < head; w++ ) word( sb, true );
+				for( int w = 0; w < tail; w++ ) word( sb, false );
+			} else {
+				final int len = range( 1, 8 ) << DEPTH;
+				for( int c = 0; c < len; c++ ) sb.append( rnd.nextBoolean( ) ? 'a' : 'b' );
+			}
+			line( out, sb );
+		}
+	}
+
+	/**
+	 * Appends a random word of the top level grammar
+	 *
+	 * @param sb The string builder to append to
+	 * @param odd True for a word with an odd number of b's (rule 42), false for
+	 *   an even number (rule 31)
+	 */
+	protected void word( final StringBuilder sb, final boolean odd ) {
+		final int len = 1 << DEPTH;
+		boolean parity = false;
+		for( int c = 0; c < len - 1; c++ ) {
+			final boolean b = rnd.nextBoolean( );
+			parity ^= b;
+			sb.append( b ? 'b' : 'a' );
+		}
+		sb.append( parity != odd ? 'b' : 'a' );
+	}
+}
@@ -0,0 +1,92 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates an expense report of numbers, one per line, that contains exactly
+ * one pair and one triple of numbers that sum up to 2020. The size is the
+ * number of entries.
+ *
+ * @author Joris
+ */
+public class Day1Generator extends InputGenerator {
+	/** The target sum */
+	protected static final int TARGET = 2020;
+
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day1Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		if( size < 5 ) throw new IllegalArgumentException( "The report needs at least 5 entries" );
+
+		// the small numbers of the pair and triple, retry until there are no
+		// other pairs or triples among the planted numbers
+		int[] small;
+		do {
+			final int a = range( 1, 600 ), b = range( 1, 600 );
+			small = new int[] { range( 1, TARGET / 2 - 1 ), a, b, TARGET - a - b };
+		} while( !isUnique( small ) );
+
+		// all other numbers are larger than half the target, so they never form
+		// a pair or triple among themselves. Exclude the planted numbers and
+		// values that complete a sum with the small numbers
+		final int[] planted = new int[] { small[0], TARGET - small[0], small[1], small[2], small[3] };
+		final Set<Integer> forbidden = new HashSet<>( );
+		for( int i = 0; i < planted.length; i++ ) {
+			forbidden.add( planted[i] );
+			forbidden.add( TARGET - planted[i] );
+			for( int j = i + 1; j < planted.length; j++ ) forbidden.add( TARGET - planted[i] - planted[j] );
+		}
+
+		// place the planted numbers at random positions
+		final Map<Integer, Integer> positions = new HashMap<>( );
+		for( int v : planted ) {
+			int pos;
+			do { pos = rnd.nextInt( size ); } while( positions.containsKey( pos ) );
+			positions.put( pos, v );
+		}
+
+		for( int i = 0; i < size; i++ ) {
+			Integer v = positions.get( i );
+			if( v == null ) {
+				do { v = range( TARGET / 2 + 1, TARGET - 1 ); } while( forbidden.contains( v ) );
+			}
+			line( out, v.toString( ) );
+		}
+	}
+
+	/**
+	 * Checks that the planted numbers contain exactly one pair and one triple
+	 *
+	 * @param small The pair number followed by the triple
+	 * @return True if no other combination sums to the target
+	 */
+	private static boolean isUnique( final int[] small ) {
+		final int[] all = new int[] { small[0], TARGET - small[0], small[1], small[2], small[3] };
+		for( int v : all ) if( v <= 0 ) return false;
+		for( int i = 0; i < all.length; i++ )
+			for( int j = i + 1; j < all.length; j++ )
+				if( all[i] == all[j] ) return false;
+
+		int pairs = 0, triples = 0;
+		for( int i = 0; i < all.length; i++ )
+			for( int j = i + 1; j < all.length; j++ ) {
+				if( all[i] + all[j] == TARGET ) pairs++;
+				for( int k = j + 1; k < all.length; k++ )
+					if( all[i] + all[j] + all[k] == TARGET ) triples++;
+			}
+		return pairs == 1 && triples == 1;
+	}
+}
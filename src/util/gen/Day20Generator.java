@@ -0,0 +1,197 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Generates the tiles of a square image jigsaw. The image is generated band
+ * by band, a band being one row of tiles, so only a single band is kept in
+ * memory. Every tile is 10 by 10 pixels and shares its borders with its
+ * neighbours, is randomly rotated and flipped and gets a unique ID. Sea
+ * monsters are hidden in the interior of the image. The size is the number
+ * of tiles, rounded down to a square.
+ *
+ * Borders are unique up to 225 tiles. For larger images there are not enough
+ * distinct borders of 10 pixels, which makes the jigsaw ambiguous.
+ *
+ * @author Joris
+ */
+public class Day20Generator extends InputGenerator {
+	/** The size of a tile */
+	protected static final int TILE = 10;
+
+	/** The sea monster pattern */
+	protected static final String[] MONSTER = {
+		"                  # ",
+		"#    ##    ##    ###",
+		" #  #  #  #  #  #   "
+	};
+
+	/** The number of attempts to find an unused border */
+	protected static final int ATTEMPTS = 100;
+
+	/** The canonical values of all borders used so far, null if not tracked */
+	protected Set<Integer> borders;
+
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day20Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		final int n = (int)Math.sqrt( size );
+		final int width = (TILE - 1) * n + 1;
+
+		// only track borders if they can be unique, there are 528 distinct
+		// borders when reversed borders are considered equal
+		borders = 2 * n * (n + 1) <= 480 ? new HashSet<>( ) : null;
+
+		// tile IDs in random order
+		final int[] ids = new int[ n * n ];
+		for( int i = 0; i < ids.length; i++ ) ids[i] = 1000 + i;
+		shuffle( ids );
+
+		// the first row of the band is the last row of the previous band
+		final char[][] band = new char[ TILE ][ width ];
+		randomRow( band[0] );
+		for( int c = 0; c <= n; c++ ) band[0][ c * (TILE - 1) ] = rnd.nextBoolean( ) ? '#' : '.';
+		for( int c = 0; c < n; c++ ) border( band[0], c * (TILE - 1) );
+
+		final int[] order = new int[ n ];
+		for( int b = 0; b < n; b++ ) {
+			// random interior, then the left and right borders of every tile
+			for( int r = 1; r < TILE; r++ ) randomRow( band[r] );
+			for( int c = 0; c <= n; c++ ) verticalBorder( band, c * (TILE - 1) );
+			for( int c = 0; c < n; c++ ) border( band[ TILE - 1 ], c * (TILE - 1) );
+			plantMonsters( band, n );
+
+			// write the tiles of the band in random order
+			for( int c = 0; c < n; c++ ) order[c] = c;
+			shuffle( order );
+			for( int c : order ) writeTile( out, ids[ b * n + c ], band, c * (TILE - 1) );
+
+			System.arraycopy( band[ TILE - 1 ], 0, band[0], 0, width );
+		}
+	}
+
+	/**
+	 * Fills a row with random pixels
+	 *
+	 * @param row The row to fill
+	 */
+	protected void randomRow( final char[] row ) {
+		for( int i = 0; i < row.length; i++ ) row[i] = rnd.nextInt( 20 ) < 9 ? '#' : '.';
+	}
+
+	/**
+	 * Draws the inner pixels of a horizontal border until it is unused
+	 *
+	 * @param row The row that holds the border
+	 * @param col The column of the first pixel of the border
+	 */
+	protected void border( final char[] row, final int col ) {
+		final char[] edge = new char[ TILE ];
+		for( int attempt = 0; ; attempt++ ) {
+			System.arraycopy( row, col, edge, 0, TILE );
+			if( claim( edge ) || attempt >= ATTEMPTS ) return;
+			for( int i = 1; i < TILE - 1; i++ ) row[ col + i ] = rnd.nextBoolean( ) ? '#' : '.';
+		}
+	}
+
+	/**
+	 * Draws the vertical border of the band at the given column until it is
+	 * unused, the top pixel is fixed by the previous band
+	 *
+	 * @param band The band
+	 * @param col The column of the border
+	 */
+	protected void verticalBorder( final char[][] band, final int col ) {
+		final char[] edge = new char[ TILE ];
+		for( int attempt = 0; ; attempt++ ) {
+			for( int r = 0; r < TILE; r++ ) edge[r] = band[r][col];
+			if( claim( edge ) || attempt >= ATTEMPTS ) return;
+			for( int r = 1; r < TILE; r++ ) band[r][col] = rnd.nextBoolean( ) ? '#' : '.';
+		}
+	}
+
+	/**
+	 * Claims a border if it has not been used yet
+	 *
+	 * @param edge The border pixels
+	 * @return True if the border (or its reverse) was not used yet
+	 */
+	protected boolean claim( final char[] edge ) {
+		if( borders == null ) return true;
+
+		int v = 0, rev = 0;
+		for( int i = 0; i < TILE; i++ ) {
+			v = (v << 1) | (edge[i] == '#' ? 1 : 0);
+			rev = (rev << 1) | (edge[ TILE - 1 - i ] == '#' ? 1 : 0);
+		}
+		return borders.add( Math.min( v, rev ) );
+	}
+
+	/**
+	 * Hides sea monsters in the interior pixels of the band. Every band holds
+	 * a few monsters, each within the interior rows of the band
+	 *
+	 * @param band The band
+	 * @param n The number of tiles per row
+	 */
+	protected void plantMonsters( final char[][] band, final int n ) {
+		final int imagewidth = (TILE - 2) * n;
+		if( imagewidth < MONSTER[0].length( ) ) return;
+
+		final int count = rnd.nextInt( n / 3 + 2 );
+		for( int m = 0; m < count; m++ ) {
+			final int r0 = rnd.nextInt( TILE - 2 - MONSTER.length + 1 );
+			final int x0 = rnd.nextInt( imagewidth - MONSTER[0].length( ) + 1 );
+			for( int dy = 0; dy < MONSTER.length; dy++ )
+				for( int dx = 0; dx < MONSTER[dy].length( ); dx++ ) {
+					if( MONSTER[dy].charAt( dx ) != '#' ) continue;
+
+					// map image coordinates to the band, skipping the borders
+					final int x = x0 + dx;
+					band[ 1 + r0 + dy ][ (x / (TILE - 2)) * (TILE - 1) + 1 + x % (TILE - 2) ] = '#';
+				}
+		}
+	}
+
+	/**
+	 * Writes a single tile in random orientation
+	 *
+	 * @param out The output
+	 * @param id The tile ID
+	 * @param band The band that holds the tile
+	 * @param col The first column of the tile in the band
+	 * @throws IOException if writing failed
+	 */
+	protected void writeTile( final Writer out, final int id, final char[][] band, final int col ) throws IOException {
+		final int rotation = rnd.nextInt( 4 );
+		final boolean flip = rnd.nextBoolean( );
+
+		line( out, "Tile " + id + ":" );
+		final char[] row = new char[ TILE ];
+		for( int y = 0; y < TILE; y++ ) {
+			for( int x = 0; x < TILE; x++ ) {
+				// apply the flip first, then rotate clockwise
+				int sx = flip ? TILE - 1 - x : x, sy = y;
+				for( int r = 0; r < rotation; r++ ) {
+					final int t = sx;
+					sx = sy;
+					sy = TILE - 1 - t;
+				}
+				row[x] = band[sy][ col + sx ];
+			}
+			line( out, new String( row ) );
+		}
+		line( out, "" );
+	}
+}
@@ -0,0 +1,73 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Generates a list of foods with their ingredients and (some of the) allergens
+ * they contain. Every allergen is found in exactly one ingredient, which is
+ * present in every food that lists the allergen. The size is the number of
+ * foods, at least a few dozen foods are needed for the allergen mapping to be
+ * fully determined.
+ *
+ * @author Joris
+ */
+public class Day21Generator extends InputGenerator {
+	/** The allergens */
+	protected static final String[] ALLERGENS = { "dairy", "eggs", "fish", "nuts", "peanuts", "sesame", "shellfish", "soy", "wheat" };
+
+	/** The number of ingredients without allergens */
+	protected static final int SAFE = 200;
+
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day21Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		// create unique ingredient names, the first ones contain the allergens
+		final List<String> ingredients = new ArrayList<>( );
+		while( ingredients.size( ) < ALLERGENS.length + SAFE ) {
+			final String w = word( 4, 8 );
+			if( !ingredients.contains( w ) ) ingredients.add( w );
+		}
+
+		final List<String> food = new ArrayList<>( );
+		final List<String> listed = new ArrayList<>( );
+		for( int i = 0; i < size; i++ ) {
+			food.clear( );
+			listed.clear( );
+
+			// the allergens in the food, of which only some are listed
+			for( int a = 0; a < ALLERGENS.length; a++ ) {
+				if( rnd.nextInt( 3 ) > 0 ) continue;
+				food.add( ingredients.get( a ) );
+				if( rnd.nextInt( 4 ) > 0 ) listed.add( ALLERGENS[a] );
+			}
+			if( listed.isEmpty( ) ) {
+				final int a = rnd.nextInt( ALLERGENS.length );
+				if( !food.contains( ingredients.get( a ) ) ) food.add( ingredients.get( a ) );
+				listed.add( ALLERGENS[a] );
+			}
+
+			// safe ingredients
+			final int safe = range( 5, 40 );
+			for( int s = 0; s < safe; s++ ) {
+				final String ing = ingredients.get( ALLERGENS.length + rnd.nextInt( SAFE ) );
+				if( !food.contains( ing ) ) food.add( ing );
+			}
+
+			Collections.shuffle( food, rnd );
+			Collections.sort( listed );
+			line( out, String.join( " ", food ) + " (contains " + String.join( ", ", listed ) + ")" );
+		}
+	}
+}
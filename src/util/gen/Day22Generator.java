@@ -0,0 +1,38 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Generates the starting decks of both players of Combat. The cards 1 to
+ * twice the size are shuffled and dealt. The size is the number of cards per
+ * player.
+ *
+ * Note that the length of a game of recursive Combat grows quickly with the
+ * number of cards.
+ *
+ * @author Joris
+ */
+public class Day22Generator extends InputGenerator {
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day22Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		final int[] cards = new int[ 2 * size ];
+		for( int i = 0; i < cards.length; i++ ) cards[i] = i + 1;
+		shuffle( cards );
+
+		for( int p = 0; p < 2; p++ ) {
+			if( p > 0 ) line( out, "" );
+			line( out, "Player " + (p + 1) + ":" );
+			for( int i = 0; i < size; i++ ) line( out, "" + cards[ p * size + i ] );
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Generates a ring of cups labelled 1 to the size, in random order. Rings of
+ * at most 9 cups are written as a string of digits, like the puzzle input,
+ * larger rings as a comma separated list of labels. The size is the number of
+ * cups.
+ *
+ * @author Joris
+ */
+public class Day23Generator extends InputGenerator {
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day23Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		final int[] cups = new int[ size ];
+		for( int i = 0; i < size; i++ ) cups[i] = i + 1;
+		shuffle( cups );
+
+		final StringBuilder sb = new StringBuilder( );
+		for( int i = 0; i < size; i++ ) {
+			if( i > 0 && size > 9 ) sb.append( ',' );
+			sb.append( cups[i] );
+			if( sb.length( ) >= BUFFER ) { out.append( sb ); sb.setLength( 0 ); }
+		}
+		line( out, sb );
+	}
+}
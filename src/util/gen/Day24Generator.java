@@ -0,0 +1,35 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Generates the list of hexagonal tiles to flip, each line a sequence of
+ * directions without delimiters. The size is the number of tiles.
+ *
+ * @author Joris
+ */
+public class Day24Generator extends InputGenerator {
+	/** The hexagonal directions */
+	protected static final String[] DIRECTIONS = { "e", "se", "sw", "w", "nw", "ne" };
+
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day24Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		final StringBuilder sb = new StringBuilder( );
+		for( int i = 0; i < size; i++ ) {
+			sb.setLength( 0 );
+			final int steps = range( 10, 25 );
+			for( int s = 0; s < steps; s++ ) sb.append( DIRECTIONS[ rnd.nextInt( DIRECTIONS.length ) ] );
+			line( out, sb );
+		}
+	}
+}
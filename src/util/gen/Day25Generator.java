@@ -0,0 +1,46 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Generates the public keys of the card and the door. Both keys are derived
+ * from subject number 7 with a random loop size. The size is the maximal
+ * loop size.
+ *
+ * @author Joris
+ */
+public class Day25Generator extends InputGenerator {
+	/** The subject number of the public keys */
+	protected static final long SUBJECT = 7;
+
+	/** The modulus of the transformation */
+	protected static final long MODULUS = 20201227;
+
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day25Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		line( out, "" + transform( range( 1, size ) ) );
+		line( out, "" + transform( range( 1, size ) ) );
+	}
+
+	/**
+	 * Transforms the subject number with the loop size
+	 *
+	 * @param loopsize The loop size
+	 * @return The public key
+	 */
+	protected static long transform( final int loopsize ) {
+		long value = 1;
+		for( int i = 0; i < loopsize; i++ ) value = value * SUBJECT % MODULUS;
+		return value;
+	}
+}
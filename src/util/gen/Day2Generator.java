@@ -0,0 +1,38 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Generates a password database, one policy and password per line. The size
+ * is the number of passwords.
+ *
+ * @author Joris
+ */
+public class Day2Generator extends InputGenerator {
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day2Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		for( int i = 0; i < size; i++ ) {
+			final char c = (char)('a' + rnd.nextInt( 26 ));
+			final int min = range( 1, 10 );
+			final int max = range( min + 1, min + 10 );
+
+			// the password contains the policy character often enough to make
+			// roughly half of the passwords valid
+			final char[] pw = new char[ range( max / 2 + 1, max + 5 ) ];
+			for( int j = 0; j < pw.length; j++ )
+				pw[j] = rnd.nextInt( 3 ) == 0 ? (char)('a' + rnd.nextInt( 26 )) : c;
+
+			line( out, min + "-" + max + " " + c + ": " + new String( pw ) );
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Generates a map of open squares and trees that repeats to the right. The
+ * size is the height of the map, the width is fixed at 31 squares.
+ *
+ * @author Joris
+ */
+public class Day3Generator extends InputGenerator {
+	/** The width of the map */
+	protected static final int WIDTH = 31;
+
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day3Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		// the start position is always open
+		line( out, "." + gridLine( WIDTH - 1, '#', '.', 0.25 ) );
+		for( int i = 1; i < size; i++ )
+			line( out, gridLine( WIDTH, '#', '.', 0.25 ) );
+	}
+}
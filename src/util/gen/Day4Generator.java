@@ -0,0 +1,59 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Generates a batch of passports, separated by blank lines. Passports may
+ * miss fields or contain invalid values. The size is the number of passports.
+ *
+ * @author Joris
+ */
+public class Day4Generator extends InputGenerator {
+	/** The valid eye colours */
+	protected static final String[] EYES = { "amb", "blu", "brn", "gry", "grn", "hzl", "oth" };
+
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day4Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		final List<String> fields = new ArrayList<>( 8 );
+		for( int i = 0; i < size; i++ ) {
+			if( i > 0 ) line( out, "" );
+
+			// one in five passports has an invalid value
+			final boolean valid = rnd.nextInt( 5 ) > 0;
+			fields.clear( );
+			fields.add( "byr:" + (valid ? range( 1920, 2002 ) : range( 1900, 2020 )) );
+			fields.add( "iyr:" + (valid ? range( 2010, 2020 ) : range( 2000, 2030 )) );
+			fields.add( "eyr:" + (valid ? range( 2020, 2030 ) : range( 2010, 2040 )) );
+			fields.add( "hgt:" + (rnd.nextBoolean( ) ? (valid ? range( 150, 193 ) : range( 100, 250 )) + "cm" : (valid ? range( 59, 76 ) : range( 40, 100 )) + (valid || rnd.nextBoolean( ) ? "in" : "")) );
+			fields.add( "hcl:" + (valid || rnd.nextBoolean( ) ? "#" : "") + String.format( "%06x", rnd.nextInt( 1 << 24 ) ) );
+			fields.add( "ecl:" + (valid || rnd.nextBoolean( ) ? EYES[ rnd.nextInt( EYES.length ) ] : word( 3, 3 )) );
+			fields.add( "pid:" + String.format( valid || rnd.nextBoolean( ) ? "%09d" : "%d", rnd.nextInt( 1000000000 ) ) );
+			if( rnd.nextBoolean( ) ) fields.add( "cid:" + range( 100, 350 ) );
+
+			// one in six passports misses a field
+			if( rnd.nextInt( 6 ) == 0 ) fields.remove( rnd.nextInt( fields.size( ) ) );
+
+			// spread the fields over one to four lines
+			Collections.shuffle( fields, rnd );
+			final StringBuilder sb = new StringBuilder( );
+			for( String f : fields ) {
+				if( sb.length( ) > 0 ) sb.append( rnd.nextInt( 3 ) == 0 ? '\n' : ' ' );
+				sb.append( f );
+			}
+			line( out, sb );
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Generates a list of boarding passes for a consecutive range of seats, with
+ * exactly one missing seat within that range. The size is the number of
+ * boarding passes, at most 1022 as the plane has 1024 seats.
+ *
+ * @author Joris
+ */
+public class Day5Generator extends InputGenerator {
+	/** The number of seats in the plane */
+	protected static final int SEATS = 128 * 8;
+
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day5Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		if( size < 2 || size > SEATS - 2 ) throw new IllegalArgumentException( "The number of boarding passes must be within [2, " + (SEATS - 2) + "]" );
+
+		// occupy size + 1 consecutive seats of which one in the middle is missing
+		final int first = range( 0, SEATS - size - 1 );
+		final int missing = first + range( 1, size - 1 );
+		final int[] seats = new int[ size ];
+		for( int i = 0, s = first; i < size; s++ )
+			if( s != missing ) seats[i++] = s;
+		shuffle( seats );
+
+		for( int s : seats ) line( out, toCode( s ) );
+	}
+
+	/**
+	 * Converts a seat ID into its binary space partitioning code
+	 *
+	 * @param seat The seat ID
+	 * @return The code, 7 row characters followed by 3 column characters
+	 */
+	protected static String toCode( final int seat ) {
+		final char[] code = new char[ 10 ];
+		for( int i = 0; i < 10; i++ ) {
+			final boolean upper = (seat & (1 << (9 - i))) != 0;
+			code[i] = i < 7 ? (upper ? 'B' : 'F') : (upper ? 'R' : 'L');
+		}
+		return new String( code );
+	}
+}
@@ -0,0 +1,44 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Generates the customs declaration answers of groups, separated by blank
+ * lines. Each line holds the questions answered yes by one person. The size
+ * is the number of groups.
+ *
+ * @author Joris
+ */
+public class Day6Generator extends InputGenerator {
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day6Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		final StringBuilder sb = new StringBuilder( 26 );
+		for( int i = 0; i < size; i++ ) {
+			if( i > 0 ) line( out, "" );
+
+			// persons in a group share a set of common answers
+			final int common = rnd.nextInt( 1 << 26 ) & rnd.nextInt( 1 << 26 );
+			final int persons = range( 1, 5 );
+			for( int p = 0; p < persons; p++ ) {
+				final int answers = common | (rnd.nextInt( 1 << 26 ) & rnd.nextInt( 1 << 26 ) & rnd.nextInt( 1 << 26 ));
+				sb.setLength( 0 );
+				for( int q = 0; q < 26; q++ )
+					if( (answers & (1 << q)) != 0 ) sb.append( (char)('a' + q) );
+
+				// every person answers at least one question
+				if( sb.length( ) == 0 ) sb.append( (char)('a' + rnd.nextInt( 26 )) );
+				line( out, sb );
+			}
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Generates bag rules that form a directed acyclic graph. Bags only contain
+ * bags that come later in the (hidden) topological order, the shiny gold bag
+ * is placed close to the end so that the number of bags it contains stays
+ * small. The size is the number of bag colours.
+ *
+ * @author Joris
+ */
+public class Day7Generator extends InputGenerator {
+	/** The bag we are interested in */
+	protected static final String MY_BAG = "shiny gold";
+
+	/** The adjectives used in bag colours */
+	protected static final String[] ADJECTIVES = { "bright", "clear", "dark", "dim", "dotted", "drab", "dull", "faded", "light", "mirrored", "muted", "pale", "plaid", "posh", "striped", "vibrant", "wavy" };
+
+	/** The colours */
+	protected static final String[] COLOURS = { "aqua", "beige", "black", "blue", "bronze", "brown", "coral", "crimson", "cyan", "gold", "gray", "green", "indigo", "lime", "magenta", "olive", "orange", "plum", "purple", "red", "salmon", "silver", "tan", "teal", "tomato", "violet", "white", "yellow" };
+
+	/** The maximal distance in the order between a bag and the bags it contains */
+	protected static final int STEP = 8;
+
+	/** Multiplier and offset of the permutation that maps positions to names */
+	protected long mult, offset;
+
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day7Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		if( size < 2 ) throw new IllegalArgumentException( "At least two bag colours are required" );
+		final int mine = Math.max( 0, size - 10 );
+
+		// names are assigned through a random permutation of the positions, so
+		// that they do not follow the order
+		mult = 2 * range( 1, 1 << 20 ) + 1;
+		while( gcd( mult, size ) != 1 ) mult += 2;
+		offset = rnd.nextInt( size );
+
+		// every bag contains up to four bags that come shortly after it
+		final StringBuilder sb = new StringBuilder( );
+		for( int i = 0; i < size; i++ ) {
+			sb.setLength( 0 );
+			sb.append( name( i, mine, size ) ).append( " bags contain " );
+
+			final int contained = i == size - 1 ? 0 : rnd.nextInt( 5 );
+			int prev = i;
+			for( int c = 0; c < contained && prev < size - 1; c++ ) {
+				// pick increasing bags to avoid duplicates
+				prev = range( prev + 1, Math.min( size - 1, prev + STEP ) );
+				final int n = range( 1, 5 );
+				if( c > 0 ) sb.append( ", " );
+				sb.append( n ).append( ' ' ).append( name( prev, mine, size ) ).append( n == 1 ? " bag" : " bags" );
+			}
+			if( prev == i ) sb.append( "no other bags" );
+			line( out, sb.append( '.' ) );
+		}
+	}
+
+	/**
+	 * Determines the colour name of a bag by its position in the order. Names
+	 * combine an adjective and a colour, adjectives are generated once the
+	 * fixed combinations run out
+	 *
+	 * @param index The position of the bag in the order
+	 * @param mine The position of the shiny gold bag
+	 * @param size The number of bags
+	 * @return The colour name
+	 */
+	protected String name( final int index, final int mine, final int size ) {
+		if( index == mine ) return MY_BAG;
+
+		final int k = (int)((index * mult + offset) % size);
+		final int adj = k / COLOURS.length;
+		return (adj < ADJECTIVES.length ? ADJECTIVES[adj] : "adj" + adj) + " " + COLOURS[ k % COLOURS.length ];
+	}
+
+	/**
+	 * Computes the greatest common divisor
+	 *
+	 * @param a The first number
+	 * @param b The second number
+	 * @return The greatest common divisor of a and b
+	 */
+	private static long gcd( final long a, final long b ) {
+		return b == 0 ? a : gcd( b, a % b );
+	}
+}
@@ -0,0 +1,98 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Generates a boot code program that ends in an infinite loop, which can be
+ * repaired by changing exactly one jump into a no-operation. The size is the
+ * number of instructions.
+ *
+ * The executed path consists of accumulations, no-operations that point back
+ * to already executed instructions and forward jumps that skip over dead code
+ * of accumulations only. The path ends in a loop of accumulations that is
+ * closed by a backward jump, after which the path continues to the end of the
+ * program. Changing any instruction on the executed path other than the
+ * closing jump still ends up in the loop.
+ *
+ * @author Joris
+ */
+public class Day8Generator extends InputGenerator {
+	/** The maximal length of the loop */
+	protected static final int MAX_LOOP = 30;
+
+	/** The maximal length of a forward jump */
+	protected static final int MAX_JUMP = 20;
+
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day8Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		if( size < 3 ) throw new IllegalArgumentException( "The program needs at least 3 instructions" );
+
+		// determine position of the jump that closes the loop and the loop start
+		final int bad = range( Math.max( 1, size / 3 ), Math.max( 1, 2 * size / 3 ) );
+		final int loop = bad - range( 1, Math.min( bad, MAX_LOOP ) );
+
+		// the path up to the loop, then the loop itself and the path to the end
+		int ip = path( out, 0, loop, true );
+		while( ip < bad ) { line( out, acc( ) ); ip++; }
+		line( out, "jmp -" + (bad - loop) );
+		path( out, bad + 1, size, false );
+	}
+
+	/**
+	 * Writes an executed path of instructions
+	 *
+	 * @param out The output
+	 * @param from The first instruction index
+	 * @param to The index to end the path at, all jumps land at or before it
+	 * @param beforeloop True if the path is executed before the loop, in which
+	 *   case no-operations may only point backwards
+	 * @return The index of the next instruction
+	 * @throws IOException if writing failed
+	 */
+	protected int path( final Writer out, final int from, final int to, final boolean beforeloop ) throws IOException {
+		int ip = from;
+		while( ip < to ) {
+			final int r = rnd.nextInt( 10 );
+			if( r < 5 || to - ip < 2 ) {
+				line( out, acc( ) );
+				ip++;
+			} else if( r < 7 ) {
+				// no-operation, pointing backwards it turns into a loop when changed
+				line( out, "nop " + signed( beforeloop ? -rnd.nextInt( ip + 1 ) : range( -ip, to - ip ) ) );
+				ip++;
+			} else {
+				// forward jump over accumulations only
+				final int k = range( 2, Math.min( MAX_JUMP, to - ip ) );
+				line( out, "jmp +" + k );
+				for( int i = 1; i < k; i++ ) line( out, acc( ) );
+				ip += k;
+			}
+		}
+		return ip;
+	}
+
+	/** @return A random accumulate instruction */
+	protected String acc( ) {
+		return "acc " + signed( range( -50, 50 ) );
+	}
+
+	/**
+	 * Formats the argument with an explicit sign
+	 *
+	 * @param value The value
+	 * @return The signed value
+	 */
+	protected static String signed( final int value ) {
+		return value < 0 ? "" + value : "+" + value;
+	}
+}
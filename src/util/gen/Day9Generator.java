@@ -0,0 +1,103 @@
+package util.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Generates an XMAS encrypted number stream with a preamble of 25 numbers.
+ * Every number is the sum of two of the 25 numbers before it, except for a
+ * single invalid number that equals the sum of a contiguous range of earlier
+ * numbers. The size is the number of numbers in the stream.
+ *
+ * To keep the values bounded on arbitrarily long streams, the window always
+ * holds exactly two zeros: a number that would exceed the bound is instead
+ * the sum of an earlier number and zero, and a zero that leaves the window is
+ * replaced by a new zero.
+ *
+ * @author Joris
+ */
+public class Day9Generator extends InputGenerator {
+	/** The length of the preamble */
+	protected static final int PREAMBLE = 25;
+
+	/** The maximal value of a valid number */
+	protected static final long MAX = 1000000000000L;
+
+	/**
+	 * Creates a new generator
+	 *
+	 * @param seed The random seed
+	 */
+	public Day9Generator( final long seed ) {
+		super( seed );
+	}
+
+	@Override
+	protected void write( final int size, final Writer out ) throws IOException {
+		if( size <= PREAMBLE + 1 ) throw new IllegalArgumentException( "The stream needs more than " + (PREAMBLE + 1) + " numbers" );
+
+		// preamble of small numbers and two zeros, the window is a ring buffer
+		final long[] window = new long[ PREAMBLE ];
+		for( int i = 0; i < PREAMBLE; i++ ) window[i] = range( 1, 100 );
+		final int z1 = rnd.nextInt( PREAMBLE );
+		int z2; do { z2 = rnd.nextInt( PREAMBLE ); } while( z2 == z1 );
+		window[z1] = 0; window[z2] = 0;
+		for( long v : window ) line( out, "" + v );
+
+		final int invalid = range( (size + PREAMBLE) / 2, size - 1 );
+		for( int i = PREAMBLE; i < size; i++ ) {
+			final int oldest = i % PREAMBLE;
+
+			// the invalid number is written but does not enter the window
+			if( i == invalid ) {
+				line( out, "" + invalidSum( window, oldest ) );
+				continue;
+			}
+
+			final long value;
+			if( window[oldest] == 0 ) {
+				value = 0;
+			} else {
+				// pick two numbers that are not both zero, so exactly two zeros remain
+				int a, b;
+				do {
+					a = rnd.nextInt( PREAMBLE );
+					b = rnd.nextInt( PREAMBLE );
+				} while( a == b || window[a] + window[b] == 0 );
+				value = window[a] + window[b] <= MAX ? window[a] + window[b] : Math.max( window[a], window[b] );
+			}
+			window[oldest] = value;
+			line( out, "" + value );
+		}
+	}
+
+	/**
+	 * Determines the invalid number, the sum of the most recent numbers that is
+	 * not a sum of two numbers in the window
+	 *
+	 * @param window The window of the previous numbers
+	 * @param oldest The index of the oldest number in the window
+	 * @return The invalid number
+	 */
+	protected long invalidSum( final long[] window, final int oldest ) {
+		for( int k = range( 2, 10 ); ; k = k % (PREAMBLE - 1) + 2 ) {
+			long sum = 0;
+			for( int j = 1; j <= k; j++ ) sum += window[ (oldest - j + PREAMBLE) % PREAMBLE ];
+			if( !isPairSum( window, sum ) ) return sum;
+		}
+	}
+
+	/**
+	 * Checks if the value is the sum of two numbers in the window
+	 *
+	 * @param window The window
+	 * @param value The value to check
+	 * @return True iff two distinct entries sum up to the value
+	 */
+	private static boolean isPairSum( final long[] window, final long value ) {
+		for( int i = 0; i < window.length; i++ )
+			for( int j = i + 1; j < window.length; j++ )
+				if( window[i] + window[j] == value ) return true;
+		return false;
+	}
+}
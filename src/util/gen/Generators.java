@@ -0,0 +1,80 @@
+package util.gen;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Provides the input generator of every day and a command line tool to write
+ * generated inputs to file.
+ *
+ * Usage: Generators &lt;day&gt; &lt;size&gt; &lt;output file&gt; [seed]
+ *
+ * Output files with extension .gz are written gzip compressed.
+ *
+ * @author Joris
+ */
+public class Generators {
+	/** The seed that is used if none is specified */
+	public static final long DEFAULT_SEED = 2020;
+
+	/**
+	 * Creates the input generator for a day
+	 *
+	 * @param day The day number (1-25)
+	 * @param seed The random seed
+	 * @return The input generator
+	 * @throws IllegalArgumentException if the day is invalid
+	 */
+	public static InputGenerator forDay( final int day, final long seed ) {
+		switch( day ) {
+			case 1: return new Day1Generator( seed );
+			case 2: return new Day2Generator( seed );
+			case 3: return new Day3Generator( seed );
+			case 4: return new Day4Generator( seed );
+			case 5: return new Day5Generator( seed );
+			case 6: return new Day6Generator( seed );
+			case 7: return new Day7Generator( seed );
+			case 8: return new Day8Generator( seed );
+			case 9: return new Day9Generator( seed );
+			case 10: return new Day10Generator( seed );
+			case 11: return new Day11Generator( seed );
+			case 12: return new Day12Generator( seed );
+			case 13: return new Day13Generator( seed );
+			case 14: return new Day14Generator( seed );
+			case 15: return new Day15Generator( seed );
+			case 16: return new Day16Generator( seed );
+			case 17: return new Day17Generator( seed );
+			case 18: return new Day18Generator( seed );
+			case 19: return new Day19Generator( seed );
+			case 20: return new Day20Generator( seed );
+			case 21: return new Day21Generator( seed );
+			case 22: return new Day22Generator( seed );
+			case 23: return new Day23Generator( seed );
+			case 24: return new Day24Generator( seed );
+			case 25: return new Day25Generator( seed );
+			default: throw new IllegalArgumentException( "Invalid day " + day );
+		}
+	}
+
+	/**
+	 * Writes a generated input to file
+	 *
+	 * @param args The day, size, output file and optional seed
+	 * @throws IOException if writing failed
+	 */
+	public static void main( final String[] args ) throws IOException {
+		if( args.length < 3 || args.length > 4 ) {
+			System.err.println( "Usage: Generators <day> <size> <output file> [seed]" );
+			System.exit( 1 );
+		}
+
+		final int day = Integer.parseInt( args[0] );
+		final int size = Integer.parseInt( args[1] );
+		final File file = new File( args[2] );
+		final long seed = args.length > 3 ? Long.parseLong( args[3] ) : DEFAULT_SEED;
+
+		final long start = System.nanoTime( );
+		forDay( day, seed ).generate( size, file );
+		System.out.println( "Generated day " + day + " input of size " + size + " in " + (System.nanoTime( ) - start) / 1000000 + " ms: " + file + " (" + file.length( ) + " bytes)" );
+	}
+}
@@ -0,0 +1,144 @@
+package util.gen;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Base class for generators of synthetic puzzle inputs. Every generator is
+ * deterministic: the same seed and size always produce the same input. The
+ * input is written line by line to the output, so generators only hold the
+ * state they need to keep the input consistent and never the input itself.
+ *
+ * @author Joris
+ */
+public abstract class InputGenerator {
+	/** The size of the output buffer */
+	protected static final int BUFFER = 1 << 16;
+
+	/** The seed of the random generator */
+	protected final long seed;
+
+	/** The random generator, reseeded for every generated input */
+	protected Random rnd;
+
+	/**
+	 * Creates a new input generator
+	 *
+	 * @param seed The random seed
+	 */
+	public InputGenerator( final long seed ) {
+		this.seed = seed;
+	}
+
+	/**
+	 * Generates an input and writes it to the output
+	 *
+	 * @param size The size of the input, its meaning depends on the day
+	 * @param out The output to write to
+	 * @throws IOException if writing failed
+	 * @throws IllegalArgumentException if the size is not supported
+	 */
+	public final void generate( final int size, final Writer out ) throws IOException {
+		if( size < 1 ) throw new IllegalArgumentException( "Invalid input size " + size );
+
+		rnd = new Random( seed );
+		write( size, out );
+		out.flush( );
+	}
+
+	/**
+	 * Generates an input and writes it to the file. Files with extension .gz
+	 * are gzip compressed while writing.
+	 *
+	 * @param size The size of the input
+	 * @param file The output file
+	 * @throws IOException if writing failed
+	 */
+	public void generate( final int size, final File file ) throws IOException {
+		OutputStream os = new FileOutputStream( file );
+		if( file.getName( ).endsWith( ".gz" ) ) os = new GZIPOutputStream( os, BUFFER );
+
+		try( final Writer out = new BufferedWriter( new OutputStreamWriter( os, StandardCharsets.US_ASCII ), BUFFER ) ) {
+			generate( size, out );
+		}
+	}
+
+	/**
+	 * Writes the input
+	 *
+	 * @param size The size of the input
+	 * @param out The output to write to
+	 * @throws IOException if writing failed
+	 */
+	protected abstract void write( final int size, final Writer out ) throws IOException;
+
+	/**
+	 * Writes a single line
+	 *
+	 * @param out The output
+	 * @param line The line contents
+	 * @throws IOException if writing failed
+	 */
+	protected static void line( final Writer out, final CharSequence line ) throws IOException {
+		out.append( line ).append( '\n' );
+	}
+
+	/**
+	 * Returns a random integer in the range
+	 *
+	 * @param min The minimal value (inclusive)
+	 * @param max The maximal value (inclusive)
+	 * @return The random integer
+	 */
+	protected int range( final int min, final int max ) {
+		return min + rnd.nextInt( max - min + 1 );
+	}
+
+	/**
+	 * Creates a random word of lower case letters
+	 *
+	 * @param min The minimal length
+	 * @param max The maximal length
+	 * @return The word
+	 */
+	protected String word( final int min, final int max ) {
+		final char[] w = new char[ range( min, max ) ];
+		for( int i = 0; i < w.length; i++ ) w[i] = (char)('a' + rnd.nextInt( 26 ));
+		return new String( w );
+	}
+
+	/**
+	 * Shuffles the array in place
+	 *
+	 * @param values The array to shuffle
+	 */
+	protected void shuffle( final int[] values ) {
+		for( int i = values.length - 1; i > 0; i-- ) {
+			final int j = rnd.nextInt( i + 1 );
+			final int t = values[i]; values[i] = values[j]; values[j] = t;
+		}
+	}
+
+	/**
+	 * Creates a grid line of random characters
+	 *
+	 * @param width The line width
+	 * @param on The character to use with the given probability
+	 * @param off The other character
+	 * @param p The probability of the on character
+	 * @return The line
+	 */
+	protected String gridLine( final int width, final char on, final char off, final double p ) {
+		final char[] line = new char[ width ];
+		for( int i = 0; i < width; i++ ) line[i] = rnd.nextDouble( ) < p ? on : off;
+		return new String( line );
+	}
+}
@@ -0,0 +1,257 @@
+package util.grid;
+
+import java.util.Arrays;
+
+/**
+ * Grid of binary cells that stores one bit per cell. Every row is stored as
+ * a number of 64-bit words, bit i of word w holds the cell at x = 64w + i.
+ * The bits beyond the width in the last word of a row are always 0.
+ *
+ * Cellular automata on the Moore neighbourhood are run with
+ * {@link #step(WordRule)}, which counts the live neighbours of 64 cells at
+ * a time. The counts are bit-sliced: the neighbour words are summed with
+ * word-wide full adders into four words that hold the bits of the counts of
+ * all 64 cells. As with {@link CharGrid#step(CharGrid.CellRule)} the next
+ * generation is computed into a back buffer that is swapped afterwards.
+ *
+ * @author Joris
+ */
+public class BitGrid {
+	/** The grid width */
+	protected final int width;
+
+	/** The grid height */
+	protected final int height;
+
+	/** The number of words per row */
+	protected final int stride;
+
+	/** The mask of the valid bits in the last word of a row */
+	protected final long last;
+
+	/** The cells, row by row with a stride of the number of words per row */
+	protected long[] bits;
+
+	/** The back buffer of the next generation, null until the first step */
+	protected long[] back;
+
+	/**
+	 * Rule of a cellular automaton that computes the next state of 64 cells
+	 * at once from the number of live cells in their Moore neighbourhood
+	 */
+	@FunctionalInterface
+	public interface WordRule {
+		/**
+		 * Computes the next state of the cells of a word. Bit i of the count
+		 * words holds the corresponding bit of the neighbour count of the cell
+		 * at bit i, i.e. the count of that cell is c0 + 2 c1 + 4 c2 + 8 c3.
+		 *
+		 * @param y The row of the word
+		 * @param word The index of the word within the row
+		 * @param cells The current cells
+		 * @param c0 The bits of weight 1 of the neighbour counts
+		 * @param c1 The bits of weight 2 of the neighbour counts
+		 * @param c2 The bits of weight 4 of the neighbour counts
+		 * @param c3 The bits of weight 8 of the neighbour counts
+		 * @return The cells in the next generation
+		 */
+		long next( final int y, final int word, final long cells, final long c0, final long c1, final long c2, final long c3 );
+	}
+
+	/**
+	 * Creates a new grid with all cells cleared
+	 *
+	 * @param height The grid height
+	 * @param width The grid width
+	 */
+	public BitGrid( final int height, final int width ) {
+		this.width = width;
+		this.height = height;
+		this.stride = (width + 63) >>> 6;
+		this.last = (width & 63) == 0 ? -1L : (1L << (width & 63)) - 1;
+
+		bits = new long[ height * stride ];
+	}
+
+	/**
+	 * Creates a new bit grid by copying an existing one
+	 *
+	 * @param grid The existing grid to copy
+	 */
+	private BitGrid( final BitGrid grid ) {
+		this.width = grid.width;
+		this.height = grid.height;
+		this.stride = grid.stride;
+		this.last = grid.last;
+
+		bits = Arrays.copyOf( grid.bits, grid.bits.length );
+	}
+
+	/**
+	 * Creates a bit grid from the tiles of a char grid
+	 *
+	 * @param grid The char grid
+	 * @param tiles The tiles that are set in the bit grid
+	 * @return The bit grid
+	 */
+	public static BitGrid fromCharGrid( final CharGrid grid, final char... tiles ) {
+		final BitGrid bg = new BitGrid( grid.height, grid.width );
+		for( int y = 0; y < grid.height; y++ ) {
+			for( int x = 0; x < grid.width; x++ ) {
+				final char c = grid.getTile( x, y );
+				for( char t : tiles )
+					if( c == t ) bg.bits[y * bg.stride + (x >>> 6)] |= 1L << x;
+			}
+		}
+		return bg;
+	}
+
+	/** @return The width of the grid */
+	public int getWidth( ) { return this.width; }
+
+	/** @return The height of the grid */
+	public int getHeight( ) { return this.height; }
+
+	/**
+	 * Returns the cell at the specified position
+	 *
+	 * @param x The horizontal position
+	 * @param y The vertical position
+	 * @return True if the cell is set
+	 * @throws IndexOutOfBoundsException if the position is outside the grid
+	 */
+	public boolean get( final int x, final int y ) {
+		if( !validPosition( x, y ) ) throw new IndexOutOfBoundsException( "Invalid position " + x + "," + y );
+		return (bits[y * stride + (x >>> 6)] & (1L << x)) != 0;
+	}
+
+	/**
+	 * Sets or clears the cell at the specified position
+	 *
+	 * @param x The horizontal position
+	 * @param y The vertical position
+	 * @param value True to set the cell, false to clear it
+	 * @return The previous value of the cell
+	 * @throws IndexOutOfBoundsException if the position is outside the grid
+	 */
+	public boolean set( final int x, final int y, final boolean value ) {
+		if( !validPosition( x, y ) ) throw new IndexOutOfBoundsException( "Invalid position " + x + "," + y );
+		final int idx = y * stride + (x >>> 6);
+		final long mask = 1L << x;
+		final boolean old = (bits[idx] & mask) != 0;
+		if( value ) bits[idx] |= mask;
+		else bits[idx] &= ~mask;
+		return old;
+	}
+
+	/**
+	 * Returns a word of 64 cells
+	 *
+	 * @param y The row
+	 * @param word The index of the word within the row
+	 * @return The cells of the word
+	 */
+	public long getWord( final int y, final int word ) {
+		return bits[y * stride + word];
+	}
+
+	/**
+	 * Checks if the position is within the grid bounds
+	 *
+	 * @param x The horizontal position
+	 * @param y The vertical position
+	 * @return True iff 0 <= x < width and 0 <= y < height
+	 */
+	public boolean validPosition( final int x, final int y ) {
+		return x >= 0 && x < width && y >= 0 && y < height;
+	}
+
+	/**
+	 * Clears all cells
+	 */
+	public void clear( ) {
+		Arrays.fill( bits, 0 );
+	}
+
+	/** @return The number of cells that are set */
+	public int count( ) {
+		int count = 0;
+		for( long w : bits ) count += Long.bitCount( w );
+		return count;
+	}
+
+	/**
+	 * Advances the grid by one generation of the cellular automaton
+	 *
+	 * @param rule The rule that computes the next state of a word of cells
+	 * @return The number of cells that changed
+	 */
+	public int step( final WordRule rule ) {
+		if( back == null ) back = new long[ bits.length ];
+
+		int changed = 0;
+		for( int y = 0; y < height; y++ ) {
+			final int row = y * stride;
+			final int up = y > 0 ? row - stride : -1;
+			final int down = y < height - 1 ? row + stride : -1;
+
+			for( int w = 0; w < stride; w++ ) {
+				final int i = row + w;
+				final boolean first = w == 0, end = w == stride - 1;
+
+				// the rows above, at and below the word, shifted so that the
+				// west and east neighbours of a cell line up with its bit
+				final long n = up < 0 ? 0 : bits[up + w];
+				final long nw = up < 0 ? 0 : (n << 1) | (first ? 0 : bits[up + w - 1] >>> 63);
+				final long ne = up < 0 ? 0 : (n >>> 1) | (end ? 0 : bits[up + w + 1] << 63);
+				final long c = bits[i];
+				final long cw = (c << 1) | (first ? 0 : bits[i - 1] >>> 63);
+				final long ce = (c >>> 1) | (end ? 0 : bits[i + 1] << 63);
+				final long s = down < 0 ? 0 : bits[down + w];
+				final long sw = down < 0 ? 0 : (s << 1) | (first ? 0 : bits[down + w - 1] >>> 63);
+				final long se = down < 0 ? 0 : (s >>> 1) | (end ? 0 : bits[down + w + 1] << 63);
+
+				// sum the eight neighbours with a tree of full adders
+				final long a = nw ^ n, s1a = a ^ ne, k1a = (nw & n) | (ne & a);
+				final long b = cw ^ ce, s1b = b ^ sw, k1b = (cw & ce) | (sw & b);
+				final long s1c = s ^ se, k1c = s & se;
+				final long d = s1a ^ s1b, c0 = d ^ s1c, k2 = (s1a & s1b) | (s1c & d);
+				final long e = k1a ^ k1b, t = e ^ k1c, k3 = (k1a & k1b) | (k1c & e);
+				final long c1 = t ^ k2, k4 = t & k2;
+				final long c2 = k3 ^ k4, c3 = k3 & k4;
+
+				final long next = rule.next( y, w, c, c0, c1, c2, c3 ) & (end ? last : -1L);
+				back[i] = next;
+				changed += Long.bitCount( next ^ c );
+			}
+		}
+
+		// swap the buffers
+		final long[] tmp = bits;
+		bits = back;
+		back = tmp;
+		return changed;
+	}
+
+	/**
+	 * Copies the grid into a new grid object
+	 *
+	 * @return The copy
+	 */
+	public BitGrid copy( ) {
+		return new BitGrid( this );
+	}
+
+	/**
+	 * @return String representation of the grid, # for set cells
+	 */
+	@Override
+	public String toString( ) {
+		final StringBuilder res = new StringBuilder( height * (width + 1) );
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) res.append( get( x, y ) ? '#' : '.' );
+			if( y < height - 1 ) res.append( '\n' );
+		}
+		return res.toString( );
+	}
+}
@@ -1,16 +1,34 @@
 package util.grid;
 
+import java.io.DataOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
 
 import util.geometry.Coord2D;
 import util.io.FileReader;
+import util.io.InputCache;
+import util.io.LineCursor;
 
 /**
- * Container for boardlike grid, uses a character type a tile representation
+ * Container for boardlike grid, uses a character type a tile representation.
+ * The tiles are stored row by row in a single array, so that copies are bulk
+ * array copies and scans over the grid run in memory order.
+ * 
+ * The flips, rotations and windows of a grid are views that remap their
+ * positions onto the tiles of the grid instead of copying them, so that all
+ * eight orientations of a grid can be inspected without copying. Changes to
+ * a view are visible in the grid it views and the other way around, a copy
+ * is only made by {@link #copy()}.
+ * 
+ * Cellular automata can be run on the grid with {@link #step(CellRule)},
+ * which computes every next generation into a back buffer that is swapped
+ * with the tiles afterwards, so stepping allocates nothing after the first
+ * generation. Views on the grid do not follow it to the next generation and
+ * have to be created again after stepping.
  * 
  * @author Joris
  */
@@ -21,9 +39,64 @@ public class CharGrid {
 	/** The grid height */
 	protected final int height;
 	
-	/** The grid tile set */
-	protected final char[][] tiles;
+	/** The grid tiles, shared with the views on the grid */
+	protected char[] tiles;
+	
+	/** The index in the tiles of position 0,0 */
+	protected final int origin;
+	
+	/** The difference in index between a position and its right neighbour */
+	protected final int xstep;
+	
+	/** The difference in index between a position and the one below it */
+	protected final int ystep;
+	
+	/** True if the grid is a view on the tiles of another grid */
+	protected final boolean view;
+	
+	/** The back buffer of the next generation, null until the first step */
+	protected char[] back;
+	
+	/**
+	 * Rule of a cellular automaton that computes the next state of a cell
+	 */
+	@FunctionalInterface
+	public interface CellRule {
+		/**
+		 * Computes the next state of a cell. The grid holds the current
+		 * generation for the whole step, the rule must not modify it.
+		 * 
+		 * @param grid The grid in its current generation
+		 * @param x The horizontal position of the cell
+		 * @param y The vertical position of the cell
+		 * @param tile The current tile of the cell
+		 * @return The tile of the cell in the next generation
+		 */
+		char next( final CharGrid grid, final int x, final int y, final char tile );
+	}
 
+	/** Codec to store the grid in the input cache */
+	public static final InputCache.Codec<CharGrid> CODEC = new InputCache.Codec<CharGrid>( ) {
+		@Override public byte getType( ) { return 3; }
+		
+		@Override public void write( final CharGrid grid, final DataOutputStream out ) throws IOException {
+			out.writeInt( grid.height );
+			out.writeInt( grid.width );
+			for( int y = 0; y < grid.height; y++ )
+				for( int x = 0; x < grid.width; x++ )
+					out.writeByte( grid.getTile( x, y ) );
+		}
+		
+		@Override public CharGrid read( final ByteBuffer in ) {
+			final int height = in.getInt( );
+			final int width = in.getInt( );
+			if( height < 0 || width < 0 || (long)height * width > in.remaining( ) ) throw new IllegalStateException( "Invalid grid size " + height + "x" + width + " in sidecar" );
+			final CharGrid grid = new CharGrid( height, width );
+			for( int i = 0; i < grid.tiles.length; i++ ) grid.tiles[i] = (char)(in.get( ) & 0xFF);
+			return grid;
+		}
+	};
+	
 	/**
 	 * Creates a new grid of width w and height h, using the specified tile set
 	 * 
@@ -33,24 +106,53 @@ public class CharGrid {
 	public CharGrid( final int height, final int width ) {
 		this.width = width;
 		this.height = height;
+		this.origin = 0;
+		this.xstep = 1;
+		this.ystep = width;
+		this.view = false;
 				
-		tiles = new char[height][width];
+		tiles = new char[height * width];
+	}
+	
+	/**
+	 * Creates a view on the tiles of another grid
+	 * 
+	 * @param tiles The tiles of the other grid
+	 * @param origin The index of position 0,0
+	 * @param xstep The difference in index between horizontal neighbours
+	 * @param ystep The difference in index between vertical neighbours
+	 * @param height The view height
+	 * @param width The view width
+	 */
+	private CharGrid( final char[] tiles, final int origin, final int xstep, final int ystep, final int height, final int width ) {
+		this.width = width;
+		this.height = height;
+		this.origin = origin;
+		this.xstep = xstep;
+		this.ystep = ystep;
+		this.view = true;
+		this.tiles = tiles;
 	}
 	
 	/**
 	 * Creates a new char grid by copying an existing one
 	 * 
-	 * @param grid The existing grid to copy
+	 * @param grid The existing grid or view to copy
 	 */
 	private CharGrid( final CharGrid grid ) {
-		this.width = grid.width;
-		this.height = grid.height;
+		this( grid.height, grid.width );
 		
-		// copy the tile set and grid
-		this.tiles = new char[height][width];
-		for( int y = 0; y < height; y++ )
-			for( int x = 0; x < width; x++ )
-				this.setTile( x, y, grid.getTile( x, y ) ); 
+		// copy the tiles in bulk where the rows are contiguous
+		if( grid.isContiguous( ) ) {
+			System.arraycopy( grid.tiles, 0, this.tiles, 0, tiles.length );
+		} else if( grid.xstep == 1 ) {
+			for( int y = 0; y < height; y++ )
+				System.arraycopy( grid.tiles, grid.index( 0, y ), this.tiles, y * width, width );
+		} else {
+			for( int y = 0; y < height; y++ )
+				for( int x = 0, idx = grid.index( 0, y ); x < width; x++, idx += grid.xstep )
+					this.tiles[y * width + x] = grid.tiles[idx];
+		}
 	}
 	
 	/**
@@ -59,9 +161,30 @@ public class CharGrid {
 	 * @param tile The tile to fill the map with
 	 */
 	public void clear( final char tile ) {		
-		for( int y = 0; y < this.height; y++ )
-			for( int x = 0; x < this.width; x++ )
-				this.tiles[y][x] = tile;
+		if( isContiguous( ) ) {
+			Arrays.fill( tiles, tile );
+			return;
+		}
+		
+		for( int y = 0; y < height; y++ )
+			for( int x = 0; x < width; x++ )
+				tiles[index( x, y )] = tile;
+	}
+	
+	/**
+	 * Computes the index of a position in the tiles
+	 * 
+	 * @param x The horizontal position
+	 * @param y The vertical position
+	 * @return The index
+	 */
+	protected int index( final int x, final int y ) {
+		return origin + x * xstep + y * ystep;
+	}
+	
+	/** @return True if the grid stores all tiles of its array row by row */
+	protected boolean isContiguous( ) {
+		return origin == 0 && xstep == 1 && ystep == width && tiles.length == width * height;
 	}
 	
 	/**
@@ -70,9 +193,11 @@ public class CharGrid {
 	 * @param x The horizontal position
 	 * @param y The vertical position
 	 * @return The tile at that position
+	 * @throws IndexOutOfBoundsException if the position is outside the grid
 	 */
 	public char getTile( final int x, final int y ) {
-		return tiles[y][x];
+		if( !validPosition( x, y ) ) throw new IndexOutOfBoundsException( "Invalid position " + x + "," + y );
+		return tiles[index( x, y )];
 	}
 	
 	/**
@@ -82,13 +207,50 @@ public class CharGrid {
 	 * @param y The vertical position
 	 * @param tile The tile to set
 	 * @return The previous value at the tile position
+	 * @throws IndexOutOfBoundsException if the position is outside the grid
 	 */
 	public char setTile( final int x, final int y, final char tile ) {
-		final char old = tiles[y][x];
-		tiles[y][x] = tile;
+		if( !validPosition( x, y ) ) throw new IndexOutOfBoundsException( "Invalid position " + x + "," + y );
+		final int idx = index( x, y );
+		final char old = tiles[idx];
+		tiles[idx] = tile;
 		return old;
 	}
 	
+	/**
+	 * Advances the grid by one generation of the cellular automaton. The next
+	 * tile of every cell is written to the back buffer, which then becomes
+	 * the current generation. Views share the tile array of the grid and not
+	 * the grid itself, so a view created before a step still shows the
+	 * previous generation and is overwritten by the step after that. Views
+	 * are therefore invalidated by stepping, create them again afterwards.
+	 * 
+	 * @param rule The rule that computes the next tile of a cell
+	 * @return The number of cells that changed
+	 * @throws IllegalStateException if the grid is a view on another grid
+	 */
+	public int step( final CellRule rule ) {
+		if( view ) throw new IllegalStateException( "Cannot step a view, step a copy instead" );
+		if( back == null ) back = new char[ tiles.length ];
+		
+		int changed = 0;
+		for( int y = 0; y < height; y++ ) {
+			final int row = y * width;
+			for( int x = 0; x < width; x++ ) {
+				final char tile = tiles[row + x];
+				final char next = rule.next( this, x, y, tile );
+				back[row + x] = next;
+				if( next != tile ) changed++;
+			}
+		}
+		
+		// swap the buffers
+		final char[] t = tiles;
+		tiles = back;
+		back = t;
+		return changed;
+	}
+	
 	/** @return The width of the grid */
 	public int getWidth( ) { return this.width; }
 	
@@ -103,9 +265,15 @@ public class CharGrid {
 	 */
 	public int countTile( final char tile ) {
 		int count = 0;
-		for( int x = 0; x < width; x++ )
-			for( int y = 0; y < height; y++ )
-				if( getTile( x, y ) == tile ) count++;
+		if( isContiguous( ) ) {
+			for( char c : tiles )
+				if( c == tile ) count++;
+			return count;
+		}
+		
+		for( int y = 0; y < height; y++ )
+			for( int x = 0, idx = index( 0, y ); x < width; x++, idx += xstep )
+				if( tiles[idx] == tile ) count++;
 		return count;
 	}
 
@@ -116,11 +284,13 @@ public class CharGrid {
 	 * @return The row data as string
 	 */
 	public String getRow( final int row ) {
-		assert row > 0 && row < height : "Invalid row number";
+		assert row >= 0 && row < height : "Invalid row number";
+		
+		if( xstep == 1 ) return new String( tiles, index( 0, row ), width );
 		
-		String rowdata = "";
-		for( int x = 0; x < width; x++ ) rowdata += getTile( x, row );
-		return rowdata;
+		final char[] rowdata = new char[ width ];
+		for( int x = 0; x < width; x++ ) rowdata[x] = tiles[index( x, row )];
+		return new String( rowdata );
 	}
 	
 	/**
@@ -130,11 +300,11 @@ public class CharGrid {
 	 * @return The column data as string
 	 */
 	public String getColumn( final int column ) {
-		assert column > 0 && column < width : "Invalid column number";
+		assert column >= 0 && column < width : "Invalid column number";
 		
-		String coldata = "";
-		for( int y = 0; y < height; y++ ) coldata += getTile( column, y );
-		return coldata;
+		final char[] coldata = new char[ height ];
+		for( int y = 0; y < height; y++ ) coldata[y] = tiles[index( column, y )];
+		return new String( coldata );
 	}
 	
 	/**
@@ -159,66 +329,99 @@ public class CharGrid {
 	 */
 	public int countNeighbours( final int x, final int y, final char tile, final boolean diagonal ) {
 		int count = 0;
-		count += (x > 0 && getTile( x - 1, y ) == tile ) ? 1 : 0;
-		count += (x < width - 1 && getTile( x + 1, y ) == tile ) ? 1 : 0;
-		count += (y > 0 && getTile( x, y - 1 ) == tile ) ? 1 : 0;
-		count += (y < height - 1 && getTile( x, y + 1 ) == tile ) ? 1 : 0;
+		count += (x > 0 && tiles[index( x - 1, y )] == tile ) ? 1 : 0;
+		count += (x < width - 1 && tiles[index( x + 1, y )] == tile ) ? 1 : 0;
+		count += (y > 0 && tiles[index( x, y - 1 )] == tile ) ? 1 : 0;
+		count += (y < height - 1 && tiles[index( x, y + 1 )] == tile ) ? 1 : 0;
 		
 		if( !diagonal ) return count;
 		
-		count += (x > 0 && y > 0 && getTile( x - 1, y - 1 ) == tile ) ? 1 : 0;
-		count += (x > 0 && y < height - 1 && getTile( x - 1, y + 1 ) == tile ) ? 1 : 0;
-		count += (x < width - 1 && y > 0 && getTile( x + 1, y - 1 ) == tile ) ? 1 : 0;
-		count += (x < width - 1 && y < height - 1 && getTile( x + 1, y + 1 ) == tile ) ? 1 : 0;
+		count += (x > 0 && y > 0 && tiles[index( x - 1, y - 1 )] == tile ) ? 1 : 0;
+		count += (x > 0 && y < height - 1 && tiles[index( x - 1, y + 1 )] == tile ) ? 1 : 0;
+		count += (x < width - 1 && y > 0 && tiles[index( x + 1, y - 1 )] == tile ) ? 1 : 0;
+		count += (x < width - 1 && y < height - 1 && tiles[index( x + 1, y + 1 )] == tile ) ? 1 : 0;
 		return count;
 	}
 	
 	/**
-	 * Creates a copy of the grid that is flipped along the specified orientation
+	 * Returns a view of the grid that is flipped along the specified orientation
 	 * 
 	 * @param horizontal True for horizontal flip, false for vertical
-	 * @return The copied grid
+	 * @return The flipped view
 	 */
 	public CharGrid flip( final boolean horizontal ) {
-		final CharGrid grid = copy( );
-		for( int x = 0; x < width; x++ )
-			for( int y = 0; y < height; y++ )
-				grid.setTile( (horizontal ? x : width - x - 1), (horizontal ? height - y - 1 : y), getTile( x, y ) );
-		return grid;
+		if( horizontal ) {
+			// reverse the order of the rows
+			return view( height, width, 0, height - 1, 1, 0, 0, -1 );
+		} else {
+			// reverse every row
+			return view( height, width, width - 1, 0, -1, 0, 0, 1 );
+		}
 	}
 	
 	/**
-	 * Creates a copy of the grid that is rotated
+	 * Returns a view of the grid that is rotated. Together with the flips the
+	 * rotations cover all eight orientations of the grid.
 	 * 
 	 * @param rotation The rotation in degrees (multiples of 90)
-	 * @return The rotated grid
+	 * @return The rotated view, the grid itself for no rotation
 	 */
 	public CharGrid rotate( final int rotation ) {
-		final CharGrid grid = copy( );
-		
-		// no rotation required?
-		if( rotation == 0 ) return grid;
-		
-		for( int x = 0; x < width; x++ )
-			for( int y = 0; y < height; y++ ) {
-				final int newx;
-				final int newy;
-				if( rotation == 90 ) {
-					newx = width - y - 1;
-					newy = x;
-				} else if( rotation == 180 ) {
-					newx = width - x - 1;
-					newy = height - y - 1;
-				} else if( rotation == 270 ) {
-					newx = y;
-					newy = height - x - 1;
-				} else throw new RuntimeException( "Invalid rotation " + rotation );
-				
-				grid.setTile( newx, newy, getTile( x, y ) );
-			}
-		
-		// return the grid
-		return grid;
+		switch( rotation ) {
+			case 0: return this;
+			case 90: return view( width, height, 0, height - 1, 0, -1, 1, 0 );
+			case 180: return view( height, width, width - 1, height - 1, -1, 0, 0, -1 );
+			case 270: return view( width, height, width - 1, 0, 0, 1, -1, 0 );
+			default: throw new RuntimeException( "Invalid rotation " + rotation );
+		}
+	}
+	
+	/**
+	 * Returns views of the grid in all eight orientations, the four rotations
+	 * followed by the four rotations of the horizontally flipped grid
+	 * 
+	 * @return The views, the first one is the grid itself
+	 */
+	public CharGrid[] getOrientations( ) {
+		final CharGrid[] res = new CharGrid[ 8 ];
+		for( int r = 0; r < 4; r++ ) {
+			res[r] = rotate( r * 90 );
+			res[r + 4] = flip( true ).rotate( r * 90 );
+		}
+		return res;
+	}
+	
+	/**
+	 * Returns a view of a rectangular part of the grid
+	 * 
+	 * @param x The horizontal position of the top left corner
+	 * @param y The vertical position of the top left corner
+	 * @param w The width of the window
+	 * @param h The height of the window
+	 * @return The view
+	 */
+	public CharGrid window( final int x, final int y, final int w, final int h ) {
+		if( x < 0 || y < 0 || w < 0 || h < 0 || x + w > width || y + h > height ) throw new IllegalArgumentException( "Invalid window " + w + "x" + h + " at " + x + "," + y );
+		return view( h, w, x, y, 1, 0, 0, 1 );
+	}
+	
+	/**
+	 * Creates a view on the tiles of this grid. The view maps its position
+	 * 0,0 to position x0,y0 of this grid, a step to the right in the view is a
+	 * step of xx,xy in this grid and a step down is a step of yx,yy. 
+	 * 
+	 * @param h The view height
+	 * @param w The view width
+	 * @param x0 The horizontal position of the view origin
+	 * @param y0 The vertical position of the view origin
+	 * @param xx The horizontal step of a step to the right
+	 * @param xy The vertical step of a step to the right
+	 * @param yx The horizontal step of a step down
+	 * @param yy The vertical step of a step down
+	 * @return The view
+	 */
+	protected CharGrid view( final int h, final int w, final int x0, final int y0, final int xx, final int xy, final int yx, final int yy ) {
+		return new CharGrid( tiles, index( x0, y0 ), xx * xstep + xy * ystep, yx * xstep + yy * ystep, h, w );
 	}
 	
 	
@@ -231,10 +434,41 @@ public class CharGrid {
 	 * @throws IOException if file reading failed
 	 */
 	public static CharGrid fromFile( final String infile ) throws IOException {
-		final FileReader f = new FileReader( infile ); 
-		final List<String> input = f.readLines( );
-
-		return CharGrid.fromStringList( input );
+		return InputCache.load( new File( infile ), CODEC, ( ) -> {
+			final FileReader f = new FileReader( infile ); 
+			try( final LineCursor lines = f.cursor( ) ) {
+				return CharGrid.fromCursor( lines );
+			}
+		} );
+	}
+	
+	/**
+	 * Creates a char grid directly from the lines of a line cursor. The cursor
+	 * is read twice: once to determine the dimensions and once to fill the grid 
+	 * 
+	 * @param lines The line cursor over the grid data
+	 * @return The grid
+	 * @throws IOException if reading failed
+	 * @throws IllegalArgumentException if the rows differ in width
+	 */
+	public static CharGrid fromCursor( final LineCursor lines ) throws IOException {
+		// get dimensions first
+		final int height = lines.countLines( );
+		final int width = lines.next( ) ? lines.line( ).length( ) : 0;
+		
+		// create the map and fill it line by line
+		final CharGrid grid = new CharGrid( height, width );
+		if( height == 0 ) return grid;
+		int y = 0;
+		do {
+			final CharSequence s = lines.line( );
+			if( s.length( ) != width ) throw new IllegalArgumentException( "Row " + y + " has width " + s.length( ) + ", expected " + width );
+			for( int x = 0; x < width; x++ )
+				grid.tiles[y * width + x] = s.charAt( x );
+			y++;
+		} while( lines.next( ) );
+		
+		return grid;
 	}
 	
 	/**
@@ -243,6 +477,7 @@ public class CharGrid {
 	 * @param input The string list that contains the grid data
 	 * @param tileset The set of tiles accepted in creating the grid
 	 * @return The grid
+	 * @throws IllegalArgumentException if the rows differ in width
 	 */
 	public static CharGrid fromStringList( final List<String> input ) {	
 		// get dimensions first
@@ -255,11 +490,8 @@ public class CharGrid {
 		// then read the strings and set the tiles at the positions
 		for( int y = 0; y < input.size( ); y++ ) {
 			final String s = input.get( y );
-			for( int x = 0; x < s.length( ); x++ ) {
-				final char tile = s.charAt( x );
-				
-				grid.setTile( x, y, tile );
-			}
+			if( s.length( ) != width ) throw new IllegalArgumentException( "Row " + y + " has width " + s.length( ) + ", expected " + width );
+			s.getChars( 0, s.length( ), grid.tiles, y * width );
 		}
 		
 		return grid;
@@ -270,37 +502,23 @@ public class CharGrid {
 	 * 
 	 * @param grid The char grid to match
 	 * @param chars The characters that must match, others are considered wildcards
-	 * @return List of coordinates at which the grid is found 
+	 * @return List of coordinates at which the grid is found, ordered by row and column
 	 */
 	public List<Coord2D> findMatches( final CharGrid grid, final char[] chars ) {
-		final List<Coord2D> matches = new ArrayList<>( );
-		
-		// build set of match characters, easier to check
-		final Set<Character> mchars = new HashSet<>( );
-		for( char c : chars ) mchars.add( c );
-		
-		// go over all positions to check for possible match
-		for( int x = 0; x < width - grid.getWidth( ); x++ ) {
-			for( int y = 0; y < height - grid.getHeight( ); y++ ) {
-				// do inner comparison
-				boolean match = true;
-				for( int xin = 0; xin < grid.getWidth( ) && match; xin++ ) {
-					for( int yin = 0; yin < grid.getHeight( ) && match; yin++ ) {
-						final char c1 = getTile( x + xin, y + yin );
-						final char c2 = grid.getTile( xin, yin );
-						// match char?
-						if( !mchars.contains( c2 ) ) continue;
-						
-						// yes, check if matches
-						if( c1 != c2 ) match = false;
-					}
-				}
-				// all required characters matched, add to list
-				if( match ) matches.add( new Coord2D( x, y ) );
-			}
-		}
-		
-		return matches;
+		return new PatternMatcher( chars, grid ).find( this ).get( 0 );
+	}
+	
+	/**
+	 * Finds any matches of the specified chargrid's characters in all of its
+	 * orientations, see {@link #getOrientations()}, in a single pass over the
+	 * current grid
+	 * 
+	 * @param grid The char grid to match
+	 * @param chars The characters that must match, others are considered wildcards
+	 * @return Per orientation the list of coordinates at which it is found
+	 */
+	public List<List<Coord2D>> findAllMatches( final CharGrid grid, final char[] chars ) {
+		return new PatternMatcher( chars, grid.getOrientations( ) ).find( this );
 	}
 	
 	/**
@@ -317,8 +535,8 @@ public class CharGrid {
 		final CharGrid g = copy( ); 
 		
 		// apply pattern
-		for( int x = 0; x < grid.getWidth( ); x++ ) {
-			for( int y = 0; y < grid.getHeight( ); y++ ) {
+		for( int y = 0; y < grid.getHeight( ); y++ ) {
+			for( int x = 0; x < grid.getWidth( ); x++ ) {
 				final char c = grid.getTile( x, y );
 				if( c == pchar ) g.setTile( pos.x + x, pos.y + y, rchar );
 			}
@@ -328,7 +546,8 @@ public class CharGrid {
 	}
 	
 	/**
-	 * Copies the grid into a new grid object
+	 * Copies the grid into a new grid object, which for a view holds only the
+	 * tiles in view in their viewed orientation
 	 * 
 	 * @return The copy
 	 */
@@ -340,13 +559,12 @@ public class CharGrid {
 	 * @return String representation of the grid
 	 */
 	public String toString( ) {
-		String res = "";
+		final StringBuilder res = new StringBuilder( height * (width + 1) );
 		for( int y = 0; y < this.height; y++ ) {
-			for( int x = 0; x < this.width; x++ ) {
-				res += getTile( x, y );
-			}
-			if( y < this.height - 1 ) res += "\n";
+			if( xstep == 1 ) res.append( tiles, index( 0, y ), width );
+			else for( int x = 0; x < width; x++ ) res.append( tiles[index( x, y )] );
+			if( y < this.height - 1 ) res.append( '\n' );
 		}
-		return res;
+		return res.toString( );
 	}
 }
@@ -0,0 +1,209 @@
+package util.grid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import util.geometry.Coord2D;
+
+/**
+ * Finds all occurrences of a set of patterns in a char grid in a single pass
+ * over its rows, e.g. all eight orientations of a pattern. Only the pattern
+ * tiles that are one of the match characters have to match, the other tiles
+ * of a pattern are wildcards.
+ *
+ * Matching is done with shift-and over bit-packed rows. Every image row is
+ * packed into one bit plane per match character, bit x of a plane is set if
+ * the image has that character at x. A pattern row matches at all offsets x
+ * for which every plane of a required character, shifted right by the
+ * column of the requirement, has bit x set, so 64 offsets are tested with a
+ * single AND per requirement. The candidate offsets of a pattern at image
+ * row y are the AND over the pattern rows matched against image rows y to y
+ * + h - 1, which are accumulated in a ring buffer while the rows pass by.
+ * The shifted planes of a row are computed once and shared by all patterns.
+ *
+ * @author Joris
+ */
+public class PatternMatcher {
+	/** The characters that must match */
+	protected final char[] chars;
+
+	/** The patterns */
+	protected final CharGrid[] patterns;
+
+	/** Per pattern and row the index of the character of every requirement */
+	protected final int[][][] reqChar;
+
+	/** Per pattern and row the column of every requirement */
+	protected final int[][][] reqCol;
+
+	/** Per character the columns at which it is required by any pattern */
+	protected final boolean[][] used;
+
+	/** The largest pattern width */
+	protected final int maxWidth;
+
+	/**
+	 * Creates a new pattern matcher
+	 *
+	 * @param chars The characters that must match, others are considered
+	 *   wildcards
+	 * @param patterns The patterns to find
+	 */
+	public PatternMatcher( final char[] chars, final CharGrid... patterns ) {
+		this.chars = chars.clone( );
+		this.patterns = patterns.clone( );
+
+		int maxw = 0;
+		for( CharGrid p : patterns ) maxw = Math.max( maxw, p.getWidth( ) );
+		maxWidth = maxw;
+
+		// collect the required characters per pattern row
+		reqChar = new int[ patterns.length ][][];
+		reqCol = new int[ patterns.length ][][];
+		used = new boolean[ chars.length ][ maxWidth ];
+		for( int i = 0; i < patterns.length; i++ ) {
+			final CharGrid p = patterns[i];
+			reqChar[i] = new int[ p.getHeight( ) ][];
+			reqCol[i] = new int[ p.getHeight( ) ][];
+			for( int y = 0; y < p.getHeight( ); y++ ) {
+				final List<int[]> req = new ArrayList<>( );
+				for( int x = 0; x < p.getWidth( ); x++ ) {
+					final int c = indexOf( p.getTile( x, y ) );
+					if( c < 0 ) continue;
+					req.add( new int[] { c, x } );
+					used[c][x] = true;
+				}
+				reqChar[i][y] = req.stream( ).mapToInt( r -> r[0] ).toArray( );
+				reqCol[i][y] = req.stream( ).mapToInt( r -> r[1] ).toArray( );
+			}
+		}
+	}
+
+	/**
+	 * Finds all occurrences of the patterns in the image
+	 *
+	 * @param image The image to search
+	 * @return Per pattern the positions of the top left corner of every
+	 *   occurrence, ordered by row and column
+	 */
+	public List<List<Coord2D>> find( final CharGrid image ) {
+		final int W = image.getWidth( ), H = image.getHeight( );
+		final int words = (W + 63) >>> 6;
+
+		final List<List<Coord2D>> matches = new ArrayList<>( patterns.length );
+		for( int i = 0; i < patterns.length; i++ ) matches.add( new ArrayList<>( ) );
+
+		// the candidate offsets per pattern, for the image rows at which the
+		// pattern may still start, and the offsets at which it fits the image
+		final long[][][] cand = new long[ patterns.length ][][];
+		final long[][] fits = new long[ patterns.length ][];
+		for( int i = 0; i < patterns.length; i++ ) {
+			final int w = patterns[i].getWidth( ), h = patterns[i].getHeight( );
+			if( w == 0 || h == 0 || w > W || h > H ) continue;
+			cand[i] = new long[ h ][ words ];
+			fits[i] = new long[ words ];
+			for( int x = 0; x <= W - w; x++ ) fits[i][x >>> 6] |= 1L << x;
+		}
+
+		// the bit planes of the current row, unshifted and per shift
+		final long[][] planes = new long[ chars.length ][ words ];
+		final long[][][] shifted = new long[ chars.length ][ maxWidth ][];
+		for( int c = 0; c < chars.length; c++ )
+			for( int j = 0; j < maxWidth; j++ )
+				if( used[c][j] ) shifted[c][j] = new long[ words ];
+
+		for( int row = 0; row < H; row++ ) {
+			pack( image, row, planes );
+			for( int c = 0; c < chars.length; c++ )
+				for( int j = 0; j < maxWidth; j++ )
+					if( used[c][j] ) shift( planes[c], j, shifted[c][j] );
+
+			for( int i = 0; i < patterns.length; i++ ) {
+				if( cand[i] == null ) continue;
+				final int h = patterns[i].getHeight( );
+
+				// a pattern can start at this row, all fitting offsets are candidates
+				if( row <= H - h ) System.arraycopy( fits[i], 0, cand[i][row % h], 0, words );
+
+				// match every pattern row against this image row, for the
+				// pattern starting r rows above
+				for( int r = 0; r < h; r++ ) {
+					final int y = row - r;
+					if( y < 0 ) break;
+					if( y > H - h ) continue;
+
+					final long[] acc = cand[i][y % h];
+					final int[] rc = reqChar[i][r], rx = reqCol[i][r];
+					for( int k = 0; k < rc.length; k++ ) {
+						final long[] s = shifted[rc[k]][rx[k]];
+						for( int wd = 0; wd < words; wd++ ) acc[wd] &= s[wd];
+					}
+
+					// the last pattern row is matched, the remaining candidates are occurrences
+					if( r == h - 1 ) collect( acc, y, matches.get( i ) );
+				}
+			}
+		}
+
+		return matches;
+	}
+
+	/**
+	 * Packs a row of the image into the bit planes of the match characters
+	 *
+	 * @param image The image
+	 * @param row The row
+	 * @param planes The bit planes per match character
+	 */
+	protected void pack( final CharGrid image, final int row, final long[][] planes ) {
+		for( long[] p : planes ) Arrays.fill( p, 0 );
+		for( int x = 0, idx = image.index( 0, row ); x < image.width; x++, idx += image.xstep ) {
+			final int c = indexOf( image.tiles[idx] );
+			if( c >= 0 ) planes[c][x >>> 6] |= 1L << x;
+		}
+	}
+
+	/**
+	 * Shifts a bit plane to the right, so that bit x holds bit x + j
+	 *
+	 * @param plane The plane
+	 * @param j The number of bits to shift
+	 * @param out The shifted plane
+	 */
+	protected static void shift( final long[] plane, final int j, final long[] out ) {
+		final int ws = j >>> 6, bs = j & 63;
+		for( int k = 0; k < out.length; k++ ) {
+			final int src = k + ws;
+			final long lo = src < plane.length ? plane[src] : 0;
+			final long hi = src + 1 < plane.length ? plane[src + 1] : 0;
+			out[k] = bs == 0 ? lo : (lo >>> bs) | (hi << (64 - bs));
+		}
+	}
+
+	/**
+	 * Adds the positions of the bits that are set to the list of matches
+	 *
+	 * @param bits The candidate offsets that matched
+	 * @param y The image row of the matches
+	 * @param matches The list of matches
+	 */
+	protected static void collect( final long[] bits, final int y, final List<Coord2D> matches ) {
+		for( int k = 0; k < bits.length; k++ ) {
+			for( long b = bits[k]; b != 0; b &= b - 1 )
+				matches.add( new Coord2D( (k << 6) + Long.numberOfTrailingZeros( b ), y ) );
+		}
+	}
+
+	/**
+	 * Finds the index of a match character
+	 *
+	 * @param c The character
+	 * @return Its index, -1 if it is not a match character
+	 */
+	protected int indexOf( final char c ) {
+		for( int i = 0; i < chars.length; i++ )
+			if( chars[i] == c ) return i;
+		return -1;
+	}
+}
@@ -0,0 +1,250 @@
+package util.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Scanner that reads tokens from a range of bytes without creating any
+ * objects. Numbers are accumulated straight from the bytes and words are
+ * resolved to integer IDs through a word index, so a scanner that is reset
+ * for every line of the input can parse the whole input without garbage.
+ *
+ * Malformed input is reported as an IllegalArgumentException that shows the
+ * position of the error.
+ *
+ * @author Joris
+ */
+public class ByteScanner {
+	/** The buffer that holds the input */
+	protected ByteBuffer buffer;
+
+	/** The current read position in the buffer */
+	protected int pos;
+
+	/** The start of the input in the buffer */
+	protected int start;
+
+	/** The end of the input in the buffer (exclusive) */
+	protected int end;
+
+	/** The buffer that character sequences are copied into, grown on demand */
+	protected ByteBuffer copy;
+
+	/** The index of the words read by this scanner */
+	protected final WordIndex words;
+
+	/**
+	 * Creates a new scanner with its own word index
+	 */
+	public ByteScanner( ) {
+		this( new WordIndex( ) );
+	}
+
+	/**
+	 * Creates a new scanner that interns words into the given index
+	 *
+	 * @param words The word index
+	 */
+	public ByteScanner( final WordIndex words ) {
+		this.words = words;
+		this.copy = ByteBuffer.allocate( 256 );
+		reset( copy, 0, 0 );
+	}
+
+	/**
+	 * Points the scanner to a range of bytes
+	 *
+	 * @param buffer The buffer
+	 * @param offset The offset of the input
+	 * @param length The length of the input
+	 * @return This scanner
+	 */
+	public ByteScanner reset( final ByteBuffer buffer, final int offset, final int length ) {
+		this.buffer = buffer;
+		this.start = offset;
+		this.pos = offset;
+		this.end = offset + length;
+		return this;
+	}
+
+	/**
+	 * Points the scanner to a byte sequence, the bytes are not copied
+	 *
+	 * @param seq The byte sequence
+	 * @return This scanner
+	 */
+	public ByteScanner reset( final ByteSequence seq ) {
+		return reset( seq.buffer, seq.offset, seq.length );
+	}
+
+	/**
+	 * Points the scanner to a character sequence. The characters are copied
+	 * into a buffer that is reused by the next reset
+	 *
+	 * @param seq The character sequence
+	 * @return This scanner
+	 */
+	public ByteScanner reset( final CharSequence seq ) {
+		final int len = seq.length( );
+		if( copy.capacity( ) < len ) copy = ByteBuffer.allocate( Math.max( len, copy.capacity( ) * 2 ) );
+		for( int i = 0; i < len; i++ ) copy.put( i, (byte)seq.charAt( i ) );
+		return reset( copy, 0, len );
+	}
+
+	/** @return The word index of this scanner */
+	public WordIndex getWords( ) { return words; }
+
+	/**
+	 * Returns the word with the given ID
+	 *
+	 * @param id The word ID
+	 * @return The word
+	 */
+	public String getWord( final int id ) { return words.get( id ); }
+
+	/** @return True if there is unread input left */
+	public boolean hasNext( ) { return pos < end; }
+
+	/** @return The next character, without reading it, or -1 at the end of the input */
+	public int peek( ) { return pos < end ? buffer.get( pos ) & 0xFF : -1; }
+
+	/**
+	 * Skips all white space at the current position
+	 *
+	 * @return This scanner
+	 */
+	public ByteScanner skipWhitespace( ) {
+		while( pos < end && buffer.get( pos ) <= ' ' ) pos++;
+		return this;
+	}
+
+	/**
+	 * Reads the literal if it is at the current position
+	 *
+	 * @param literal The literal to read
+	 * @return True if the literal was read, false if the input does not match
+	 *   in which case the position is not changed
+	 */
+	public boolean accept( final String literal ) {
+		if( !lookingAt( literal ) ) return false;
+		pos += literal.length( );
+		return true;
+	}
+
+	/**
+	 * Reads the literal, which must be at the current position
+	 *
+	 * @param literal The expected literal
+	 * @return This scanner
+	 * @throws IllegalArgumentException if the input does not match
+	 */
+	public ByteScanner expect( final String literal ) {
+		if( !accept( literal ) ) throw error( "Expected '" + literal + "'" );
+		return this;
+	}
+
+	/**
+	 * Reads an integer, with an optional sign
+	 *
+	 * @return The integer
+	 * @throws IllegalArgumentException if there is no valid integer at the
+	 *   current position
+	 */
+	public int readInt( ) {
+		final long value = readLong( );
+		if( value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ) throw error( "Integer out of range" );
+		return (int)value;
+	}
+
+	/**
+	 * Reads a long, with an optional sign. The value is accumulated negatively
+	 * so that the full range of longs can be read
+	 *
+	 * @return The long
+	 * @throws IllegalArgumentException if there is no valid long at the current
+	 *   position
+	 */
+	public long readLong( ) {
+		final int from = pos;
+		final boolean negative = accept( "-" );
+		if( !negative ) accept( "+" );
+
+		long value = 0;
+		int digits = 0;
+		while( pos < end ) {
+			final int d = buffer.get( pos ) - '0';
+			if( d < 0 || d > 9 ) break;
+			if( value < (Long.MIN_VALUE + d) / 10 ) { pos = from; throw error( "Number out of range" ); }
+			value = value * 10 - d;
+			digits++;
+			pos++;
+		}
+
+		if( digits == 0 ) { pos = from; throw error( "Expected a number" ); }
+		if( negative ) return value;
+		if( value == Long.MIN_VALUE ) { pos = from; throw error( "Number out of range" ); }
+		return -value;
+	}
+
+	/**
+	 * Reads a word that consists of letters, digits and underscores and returns
+	 * its interned ID
+	 *
+	 * @return The word ID
+	 * @throws IllegalArgumentException if there is no word at the current
+	 *   position
+	 */
+	public int readWordId( ) {
+		final int from = pos;
+		while( pos < end && isWordChar( buffer.get( pos ) ) ) pos++;
+		if( pos == from ) throw error( "Expected a word" );
+		return words.intern( buffer, from, pos - from );
+	}
+
+	/**
+	 * Reads all input up to the literal, or the end of the input if it does
+	 * not occur, and returns its interned ID. The literal itself is not read.
+	 *
+	 * @param literal The literal that ends the word
+	 * @return The ID of the text before the literal
+	 */
+	public int readIdUntil( final String literal ) {
+		final int from = pos;
+		while( pos < end && !lookingAt( literal ) ) pos++;
+		return words.intern( buffer, from, pos - from );
+	}
+
+	/**
+	 * Checks if the literal occurs at the current position
+	 *
+	 * @param literal The literal
+	 * @return True iff the input at the current position matches
+	 */
+	protected boolean lookingAt( final String literal ) {
+		final int len = literal.length( );
+		if( end - pos < len ) return false;
+		for( int i = 0; i < len; i++ )
+			if( buffer.get( pos + i ) != literal.charAt( i ) ) return false;
+		return true;
+	}
+
+	/**
+	 * Checks if the byte is part of a word
+	 *
+	 * @param b The byte
+	 * @return True for letters, digits and underscores
+	 */
+	private static boolean isWordChar( final byte b ) {
+		return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '_';
+	}
+
+	/**
+	 * Creates the exception for malformed input, only now the input is
+	 * converted into a string to show the error position
+	 *
+	 * @param message The error message
+	 * @return The exception
+	 */
+	protected IllegalArgumentException error( final String message ) {
+		return new IllegalArgumentException( message + " at position " + (pos - start) + " of: " + new ByteSequence( buffer, start, end - start ) );
+	}
+}
@@ -0,0 +1,129 @@
+package util.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Character sequence view over a range of bytes in a (mapped) byte buffer.
+ * Every byte is interpreted as a single character, which is fine for the
+ * plain ASCII puzzle inputs. No characters are copied unless the sequence is
+ * explicitly converted into a String.
+ *
+ * @author Joris
+ */
+public class ByteSequence implements CharSequence {
+	/** The buffer that holds the bytes */
+	protected ByteBuffer buffer;
+
+	/** The offset of the first character in the buffer */
+	protected int offset;
+
+	/** The number of characters in the view */
+	protected int length;
+
+	/**
+	 * Creates a new view on the byte buffer
+	 *
+	 * @param buffer The byte buffer
+	 * @param offset The offset of the first character
+	 * @param length The length of the sequence
+	 */
+	public ByteSequence( final ByteBuffer buffer, final int offset, final int length ) {
+		set( buffer, offset, length );
+	}
+
+	/**
+	 * Creates a new, empty view that can be pointed to a buffer later on
+	 */
+	protected ByteSequence( ) {
+		this( null, 0, 0 );
+	}
+
+	/**
+	 * Points the view to a (new) range of bytes
+	 *
+	 * @param buffer The byte buffer
+	 * @param offset The offset of the first character
+	 * @param length The length of the sequence
+	 */
+	protected void set( final ByteBuffer buffer, final int offset, final int length ) {
+		this.buffer = buffer;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	/** @return The length of the sequence */
+	@Override
+	public int length( ) { return length; }
+
+	/**
+	 * Returns the character at the specified index
+	 *
+	 * @param index The index
+	 * @return The character at that index
+	 */
+	@Override
+	public char charAt( final int index ) {
+		if( index < 0 || index >= length ) throw new IndexOutOfBoundsException( "Invalid index " + index );
+		return (char)(buffer.get( offset + index ) & 0xFF);
+	}
+
+	/**
+	 * Creates a new view on a part of this sequence, sharing the same buffer
+	 *
+	 * @param start The start index (inclusive)
+	 * @param end The end index (exclusive)
+	 * @return The sub sequence
+	 */
+	@Override
+	public ByteSequence subSequence( final int start, final int end ) {
+		if( start < 0 || end > length || start > end ) throw new IndexOutOfBoundsException( "Invalid range [" + start + ", " + end + ")" );
+		return new ByteSequence( buffer, offset + start, end - start );
+	}
+
+	/**
+	 * Finds the first occurrence of the character in the sequence
+	 *
+	 * @param c The character to find
+	 * @param from The index to start searching from
+	 * @return The index of the character or -1 if not found
+	 */
+	public int indexOf( final char c, final int from ) {
+		for( int i = from; i < length; i++ )
+			if( (buffer.get( offset + i ) & 0xFF) == c ) return i;
+		return -1;
+	}
+
+	/**
+	 * Removes leading and trailing white space
+	 *
+	 * @return This sequence if it contains no leading or trailing white space,
+	 *   otherwise a new view on the trimmed part of this sequence
+	 */
+	public ByteSequence trim( ) {
+		int start = 0;
+		int end = length;
+		while( start < end && charAt( start ) <= ' ' ) start++;
+		while( end > start && charAt( end - 1 ) <= ' ' ) end--;
+		return start == 0 && end == length ? this : subSequence( start, end );
+	}
+
+	/**
+	 * @return True iff the sequence contains no characters
+	 */
+	public boolean isEmpty( ) {
+		return length == 0;
+	}
+
+	/**
+	 * Copies the viewed bytes into a new String
+	 *
+	 * @return The string
+	 */
+	@Override
+	public String toString( ) {
+		final byte[] bytes = new byte[ length ];
+		for( int i = 0; i < length; i++ ) bytes[i] = buffer.get( offset + i );
+		return new String( bytes, StandardCharsets.ISO_8859_1 );
+	}
+}
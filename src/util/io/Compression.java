@@ -0,0 +1,139 @@
+package util.io;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The compression formats of input files that can be decoded on the fly. The
+ * format is detected from the first bytes of the file, so compressed inputs
+ * need no special file name. A zlib header is only two bytes that plain text
+ * can start with too, e.g. "x^", hence the start of a file with a zlib header
+ * is test inflated and the file is read as plain text if that fails.
+ *
+ * @author Joris
+ */
+public enum Compression {
+	/** Plain, uncompressed file */
+	None,
+	/** GZip compressed file */
+	GZip,
+	/** Deflate compressed file with zlib header */
+	Deflate;
+
+	/** The size of the buffers used while decoding */
+	protected static final int BUFFER = 1 << 16;
+
+	/** The number of bytes that are test inflated to confirm a zlib header */
+	protected static final int PROBE = 1 << 12;
+
+	/**
+	 * Detects the compression format of the file from its header bytes
+	 *
+	 * @param file The file
+	 * @return The compression format, None if the file is not compressed
+	 * @throws IOException if the file could not be read
+	 */
+	public static Compression detect( final File file ) throws IOException {
+		try( final InputStream in = new FileInputStream( file ) ) {
+			final byte[] head = new byte[ PROBE ];
+			int n = 0, read;
+			while( n < head.length && (read = in.read( head, n, head.length - n )) > 0 ) n += read;
+
+			final Compression c = detect( n > 0 ? head[0] & 0xFF : -1, n > 1 ? head[1] & 0xFF : -1 );
+			return c == Deflate && !inflates( head, n ) ? None : c;
+		}
+	}
+
+	/**
+	 * Checks whether the start of a file with a zlib header can be inflated
+	 *
+	 * @param head The first bytes of the file
+	 * @param length The number of bytes
+	 * @return False if the bytes are not valid deflate data
+	 */
+	protected static boolean inflates( final byte[] head, final int length ) {
+		final Inflater inflater = new Inflater( );
+		try {
+			inflater.setInput( head, 0, length );
+			final byte[] out = new byte[ PROBE ];
+			while( !inflater.finished( ) && !inflater.needsInput( ) && !inflater.needsDictionary( ) )
+				inflater.inflate( out );
+			return true;
+		} catch( DataFormatException e ) {
+			return false;
+		} finally {
+			inflater.end( );
+		}
+	}
+
+	/**
+	 * Detects the compression format from the first two bytes
+	 *
+	 * @param b0 The first byte, -1 if not available
+	 * @param b1 The second byte, -1 if not available
+	 * @return The compression format
+	 */
+	protected static Compression detect( final int b0, final int b1 ) {
+		if( b0 < 0 || b1 < 0 ) return None;
+
+		// gzip magic number
+		if( b0 == 0x1f && b1 == 0x8b ) return GZip;
+
+		// zlib header with a 32K window (as written by all common tools), no
+		// preset dictionary and a header checksum that is a multiple of 31
+		if( b0 == 0x78 && (b1 & 0x20) == 0 && ((b0 << 8) | b1) % 31 == 0 ) return Deflate;
+
+		return None;
+	}
+
+	/**
+	 * Opens the file as a stream of decoded bytes
+	 *
+	 * @param file The file to open
+	 * @return The input stream that decodes the file contents
+	 * @throws IOException if the file could not be opened
+	 */
+	public InputStream open( final File file ) throws IOException {
+		final InputStream in = new FileInputStream( file );
+		try {
+			switch( this ) {
+				case GZip: return new GZIPInputStream( in, BUFFER );
+
+				case Deflate:
+					// use our own inflater for the larger buffer, hence we need to
+					// release it ourselves
+					final Inflater inflater = new Inflater( );
+					return new InflaterInputStream( in, inflater, BUFFER ) {
+						@Override public void close( ) throws IOException {
+							try { super.close( ); } finally { inflater.end( ); }
+						}
+					};
+
+				default: return new BufferedInputStream( in, BUFFER );
+			}
+		} catch( IOException e ) {
+			in.close( );
+			throw e;
+		}
+	}
+
+	/**
+	 * Opens the file as a channel of decoded bytes
+	 *
+	 * @param file The file to open
+	 * @return The channel that decodes the file contents
+	 * @throws IOException if the file could not be opened
+	 */
+	public ReadableByteChannel channel( final File file ) throws IOException {
+		return Channels.newChannel( open( file ) );
+	}
+}
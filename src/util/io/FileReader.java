@@ -1,12 +1,24 @@
 package util.io;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Reads puzzle input files. Files that are compressed with gzip or deflate
+ * are detected automatically and decoded as a stream while reading.
+ * 
+ * @author Joris
+ */
 public class FileReader {
 	/** The actual file open for reading */
 	private File file;
@@ -36,14 +48,21 @@ public class FileReader {
 	 * @throws IOException 
 	 */
 	public int[] readIntArray() throws IOException {
-		final List<String> lines = this.readLines( );
-		final int[] res = new int[ lines.size( ) ];
-		
-		for( int i = 0; i < lines.size( ); i++ ) {
-			res[ i ] = Integer.parseInt( lines.get( i ) );
+		return InputCache.load( this.file, InputCache.INT_ARRAY, ( ) -> readIntArray( '\n' ) );
+	}
+	
+	/**
+	 * Reads the entire file and parses it into an Int array, digits are parsed
+	 * straight from the file bytes
+	 * 
+	 * @param delim The delimiter between numbers (white space is always a delimiter)
+	 * @return Array of integers in order of appearance
+	 * @throws IOException
+	 */
+	public int[] readIntArray( final char delim ) throws IOException {
+		try( final ReadableByteChannel in = channel( ) ) {
+			return NumberParser.readInts( in, delim );
 		}
-		
-		return res;
 	}
 	
 	/**
@@ -53,14 +72,21 @@ public class FileReader {
 	 * @throws IOException 
 	 */
 	public long[] readLongArray() throws IOException {
-		final List<String> lines = this.readLines( );
-		final long[] res = new long[ lines.size( ) ];
-		
-		for( int i = 0; i < lines.size( ); i++ ) {
-			res[ i ] = Long.parseLong( lines.get( i ) );
+		return InputCache.load( this.file, InputCache.LONG_ARRAY, ( ) -> readLongArray( '\n' ) );
+	}
+	
+	/**
+	 * Reads the entire file and parses it into a long array, digits are parsed
+	 * straight from the file bytes
+	 * 
+	 * @param delim The delimiter between numbers (white space is always a delimiter)
+	 * @return Array of longs in order of appearance
+	 * @throws IOException
+	 */
+	public long[] readLongArray( final char delim ) throws IOException {
+		try( final ReadableByteChannel in = channel( ) ) {
+			return NumberParser.readLongs( in, delim );
 		}
-		
-		return res;
 	}
 	
 	
@@ -71,9 +97,41 @@ public class FileReader {
 	 * @throws IOException
 	 */
 	public List<String> readLines( ) throws IOException {
-		return Files.readAllLines( this.file.toPath( ) );
+		final Compression c = Compression.detect( this.file );
+		if( c == Compression.None ) return Files.readAllLines( this.file.toPath( ) );
+		
+		final List<String> lines = new ArrayList<String>( );
+		try( final BufferedReader in = new BufferedReader( new InputStreamReader( c.open( this.file ), StandardCharsets.UTF_8 ) ) ) {
+			String line;
+			while( (line = in.readLine( )) != null )
+				lines.add( line );
+		}
+		return lines;
 	}
 	
+	/**
+	 * Opens a cursor that iterates the lines of the memory-mapped file without
+	 * materialising them into strings. Compressed files are decoded as a stream
+	 * instead. The cursor should be closed after use.
+	 * 
+	 * @return The line cursor, positioned before the first line
+	 * @throws IOException
+	 */
+	public LineCursor cursor( ) throws IOException {
+		final Compression c = Compression.detect( this.file );
+		return c == Compression.None ? new LineCursor( this.file ) : new StreamLineCursor( this.file, c );
+	}
+	
+	/**
+	 * Opens a cursor that iterates the groups of lines in the file, each group
+	 * separated by a blank line. The cursor should be closed after use.
+	 * 
+	 * @return The group cursor, positioned before the first group
+	 * @throws IOException
+	 */
+	public GroupCursor groups( ) throws IOException {
+		return new GroupCursor( cursor( ) );
+	}
 	
 	/**
 	 * Reads line groups, each separated by a blank line
@@ -83,23 +141,25 @@ public class FileReader {
 	 * @throws IOException
 	 */
 	public List<String> readLineGroups( final String sep ) throws IOException {
-		final List<String> input = this.readLines( );
 		final List<String> output = new ArrayList<String>( );
 		
 		// read groups in file, each group ending with a new line
-		// add an extra blank line at the end to make sure last group is added
-		input.add( "" );
-		String curr = "";
-		for( String s : input ) {
-			if( s.equals( "" ) ) {
-				// do not add empty groups
-				if( !curr.isEmpty( ) ) output.add( curr );
-				curr = "";
-				continue;
-			}
-			curr += s.trim() + sep;
+		try( final GroupCursor groups = this.groups( ) ) {
+			while( groups.next( ) )
+				output.add( groups.join( sep ) );
 		}
 				
 		return output;
 	}
+	
+	/**
+	 * Opens a channel on the file contents, decoding compressed files on the fly
+	 * 
+	 * @return The channel of (decoded) file bytes
+	 * @throws IOException
+	 */
+	protected ReadableByteChannel channel( ) throws IOException {
+		final Compression c = Compression.detect( this.file );
+		return c == Compression.None ? FileChannel.open( this.file.toPath( ), StandardOpenOption.READ ) : c.channel( this.file );
+	}
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+package util.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cursor that walks over groups of lines, each group separated by one or more
+ * blank lines. The lines of the current group are exposed as a reusable list
+ * of views on the underlying line cursor, so memory use only depends on the
+ * size of the largest group and not on the size of the file. Lines of cursors
+ * that reuse their buffer are copied into a group buffer.
+ *
+ * @author Joris
+ */
+public class GroupCursor implements Closeable {
+	/** The cursor over the lines of the file */
+	protected final LineCursor lines;
+
+	/** The pool of line views, reused for every group */
+	protected final List<ByteSequence> views;
+
+	/** The list view on the lines of the current group */
+	protected final List<ByteSequence> group;
+
+	/** The number of lines in the current group */
+	protected int size;
+
+	/** The buffer that holds the copied lines of the group, null if not needed */
+	protected ByteBuffer store;
+
+	/**
+	 * Creates a new group cursor on top of a line cursor
+	 *
+	 * @param lines The line cursor
+	 */
+	public GroupCursor( final LineCursor lines ) {
+		this.lines = lines;
+		this.views = new ArrayList<>( );
+		this.size = 0;
+		this.store = lines.isStable( ) ? null : ByteBuffer.allocate( 1 << 12 );
+
+		// read-only list that only shows the lines of the current group
+		this.group = new AbstractList<ByteSequence>( ) {
+			@Override public ByteSequence get( final int index ) {
+				if( index >= size ) throw new IndexOutOfBoundsException( "Invalid index " + index );
+				return views.get( index );
+			}
+			@Override public int size( ) { return size; }
+		};
+	}
+
+	/**
+	 * Moves the cursor to the next group, skipping any blank lines in between
+	 *
+	 * @return True if a group was read, false if the end of the file was reached
+	 * @throws IOException if reading failed
+	 */
+	public boolean next( ) throws IOException {
+		size = 0;
+		if( store != null ) store.clear( );
+		while( lines.next( ) ) {
+			final ByteSequence line = lines.line( );
+
+			// blank line ends the group, but do not return empty groups
+			if( line.isEmpty( ) ) {
+				if( size > 0 ) return true;
+				continue;
+			}
+
+			// copy the line view into the pool
+			if( size == views.size( ) ) views.add( new ByteSequence( ) );
+			if( store == null ) {
+				views.get( size++ ).set( line.buffer, line.offset, line.length );
+			} else {
+				views.get( size++ ).set( copy( line ), store.position( ) - line.length, line.length );
+			}
+		}
+
+		return size > 0;
+	}
+
+	/**
+	 * Copies the line into the group buffer. If the buffer is full, a new and
+	 * larger buffer is allocated, views on earlier lines keep the old buffer
+	 *
+	 * @param line The line to copy
+	 * @return The buffer that holds the copy
+	 */
+	protected ByteBuffer copy( final ByteSequence line ) {
+		if( store.remaining( ) < line.length ) store = ByteBuffer.allocate( Math.max( store.capacity( ) * 2, line.length ) );
+		for( int i = 0; i < line.length; i++ ) store.put( line.buffer.get( line.offset + i ) );
+		return store;
+	}
+
+	/** @return The lines of the current group, only valid until the next call to next() */
+	public List<ByteSequence> group( ) { return group; }
+
+	/**
+	 * Joins the trimmed lines of the current group into a single string
+	 *
+	 * @param sep The separator to append after every line
+	 * @return The joined group
+	 */
+	public String join( final String sep ) {
+		final StringBuilder sb = new StringBuilder( );
+		for( int i = 0; i < size; i++ ) sb.append( views.get( i ).trim( ) ).append( sep );
+		return sb.toString( );
+	}
+
+	/**
+	 * Closes the underlying line cursor
+	 */
+	@Override
+	public void close( ) throws IOException {
+		lines.close( );
+	}
+}
@@ -0,0 +1,258 @@
+package util.io;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Opt-in cache that stores parsed puzzle inputs in a compact binary sidecar
+ * file next to the input file. The sidecar is keyed by the size, modification
+ * time and content hash of the input and is memory-mapped on load, so warm
+ * runs skip the text parsing altogether. A stale or corrupt sidecar is simply
+ * rebuilt from the text input.
+ *
+ * The input is only hashed when its size and modification time cannot decide
+ * whether the sidecar is valid: when the input was touched without changing
+ * its size, or when it was modified so close to the writing of the sidecar
+ * that a later change may have kept the same modification time.
+ *
+ * The cache is enabled through the system property util.io.cache=true or by
+ * calling setEnabled( true ).
+ *
+ * @author Joris
+ */
+public class InputCache {
+	/** The extension of the sidecar files */
+	public static final String EXTENSION = ".cache";
+
+	/** Magic number that identifies a sidecar file */
+	protected static final int MAGIC = 0xA0C02020;
+
+	/** The version of the sidecar format */
+	protected static final int VERSION = 1;
+
+	/**
+	 * The time in ms within which an input modified around the time its sidecar
+	 * was written may share its modification time with an earlier version, the
+	 * coarsest file time granularity in common use
+	 */
+	protected static final long RACY_WINDOW = 2000;
+
+	/** True if the cache is enabled */
+	private static volatile boolean enabled = Boolean.getBoolean( "util.io.cache" );
+
+	/**
+	 * Codec that writes and reads a parsed structure in binary format
+	 *
+	 * @param <T> The type of structure
+	 */
+	public interface Codec<T> {
+		/** @return The unique type tag of the structure */
+		byte getType( );
+
+		/**
+		 * Writes the structure
+		 *
+		 * @param value The structure to write
+		 * @param out The output stream
+		 * @throws IOException if writing failed
+		 */
+		void write( final T value, final DataOutputStream out ) throws IOException;
+
+		/**
+		 * Reads the structure
+		 *
+		 * @param in The buffer, positioned at the start of the payload
+		 * @return The structure
+		 * @throws RuntimeException if the payload is corrupt, the sidecar is
+		 *   then treated as a miss
+		 */
+		T read( final ByteBuffer in );
+	}
+
+	/**
+	 * Parser that constructs the structure from the text input
+	 *
+	 * @param <T> The type of structure
+	 * @param <E> The exception thrown by the parser
+	 */
+	public interface Parser<T, E extends Exception> {
+		/**
+		 * Parses the text input
+		 *
+		 * @return The structure
+		 * @throws E if parsing failed
+		 */
+		T parse( ) throws IOException, E;
+	}
+
+	/** Codec for int arrays */
+	public static final Codec<int[]> INT_ARRAY = new Codec<int[]>( ) {
+		@Override public byte getType( ) { return 1; }
+
+		@Override public void write( final int[] value, final DataOutputStream out ) throws IOException {
+			out.writeInt( value.length );
+			for( int v : value ) out.writeInt( v );
+		}
+
+		@Override public int[] read( final ByteBuffer in ) {
+			final int[] res = new int[ readLength( in, Integer.BYTES ) ];
+			in.asIntBuffer( ).get( res );
+			return res;
+		}
+	};
+
+	/** Codec for long arrays */
+	public static final Codec<long[]> LONG_ARRAY = new Codec<long[]>( ) {
+		@Override public byte getType( ) { return 2; }
+
+		@Override public void write( final long[] value, final DataOutputStream out ) throws IOException {
+			out.writeInt( value.length );
+			for( long v : value ) out.writeLong( v );
+		}
+
+		@Override public long[] read( final ByteBuffer in ) {
+			final long[] res = new long[ readLength( in, Long.BYTES ) ];
+			in.asLongBuffer( ).get( res );
+			return res;
+		}
+	};
+
+	/**
+	 * Reads the number of elements of an array from the payload and checks
+	 * that the elements fit in the rest of the payload, so that a corrupt or
+	 * truncated sidecar cannot make a codec allocate a huge array
+	 *
+	 * @param in The buffer, positioned at the number of elements
+	 * @param bytes The number of bytes per element
+	 * @return The number of elements
+	 * @throws IllegalStateException if the number of elements is invalid
+	 */
+	public static int readLength( final ByteBuffer in, final int bytes ) {
+		final int length = in.getInt( );
+		if( length < 0 || (long)length * bytes > in.remaining( ) ) throw new IllegalStateException( "Invalid array length " + length + " in sidecar" );
+		return length;
+	}
+
+	/** @return True if the cache is enabled */
+	public static boolean isEnabled( ) { return enabled; }
+
+	/**
+	 * Enables or disables the cache
+	 *
+	 * @param enable True to enable the cache
+	 */
+	public static void setEnabled( final boolean enable ) { enabled = enable; }
+
+	/**
+	 * Loads the parsed structure of the input file. If the cache is enabled and
+	 * a valid sidecar exists, the structure is read from the sidecar. Otherwise
+	 * the input is parsed and, if enabled, the sidecar is (re)written.
+	 *
+	 * @param source The text input file
+	 * @param codec The codec for the structure
+	 * @param parser The parser of the text input
+	 * @return The structure
+	 * @throws IOException if reading the input failed
+	 * @throws E if parsing failed
+	 */
+	public static <T, E extends Exception> T load( final File source, final Codec<T> codec, final Parser<T, E> parser ) throws IOException, E {
+		if( !enabled ) return parser.parse( );
+
+		final File sidecar = new File( source.getPath( ) + EXTENSION );
+		final long size = source.length( );
+		final long mtime = source.lastModified( );
+
+		// try the sidecar first
+		if( sidecar.exists( ) ) {
+			T cached = null;
+			long smtime = 0, shash = 0;
+			boolean racy = false;
+			try( final FileChannel channel = FileChannel.open( sidecar.toPath( ), StandardOpenOption.READ ) ) {
+				final MappedByteBuffer buf = channel.map( MapMode.READ_ONLY, 0, channel.size( ) );
+				if( buf.getInt( ) == MAGIC && buf.getInt( ) == VERSION && buf.get( ) == codec.getType( ) && buf.getLong( ) == size ) {
+					smtime = buf.getLong( );
+					shash = buf.getLong( );
+
+					// a matching modification time identifies the input unless it is
+					// racy, otherwise only the content hash can tell
+					racy = sidecar.lastModified( ) - mtime < RACY_WINDOW;
+					if( (smtime == mtime && !racy) || shash == hash( source ) ) cached = codec.read( buf );
+				}
+			} catch( IOException | RuntimeException e ) {
+				// corrupt sidecar, rebuild it below
+			}
+
+			if( cached != null ) {
+				// the input was touched, record its new modification time, and
+				// rewrite a racy sidecar once it can no longer be racy
+				if( smtime != mtime || (racy && System.currentTimeMillis( ) - mtime >= RACY_WINDOW) )
+					store( sidecar, codec, cached, size, mtime, shash );
+				return cached;
+			}
+		}
+
+		// parse the text input and store it
+		final T value = parser.parse( );
+		store( sidecar, codec, value, size, mtime, hash( source ) );
+		return value;
+	}
+
+	/**
+	 * Writes the sidecar file, the file is replaced atomically so that
+	 * concurrent readers never see a partial file. Failure to write the cache
+	 * is not an error, the next run will simply parse the input again.
+	 *
+	 * @param sidecar The sidecar file
+	 * @param codec The codec for the structure
+	 * @param value The structure to store
+	 * @param size The size of the input
+	 * @param mtime The modification time of the input
+	 * @param hash The content hash of the input
+	 */
+	protected static <T> void store( final File sidecar, final Codec<T> codec, final T value, final long size, final long mtime, final long hash ) {
+		File tmp = null;
+		try {
+			tmp = File.createTempFile( sidecar.getName( ), ".tmp", sidecar.getAbsoluteFile( ).getParentFile( ) );
+			try( final DataOutputStream out = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( tmp ), 1 << 16 ) ) ) {
+				out.writeInt( MAGIC );
+				out.writeInt( VERSION );
+				out.writeByte( codec.getType( ) );
+				out.writeLong( size );
+				out.writeLong( mtime );
+				out.writeLong( hash );
+				codec.write( value, out );
+			}
+			Files.move( tmp.toPath( ), sidecar.toPath( ), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+		} catch( IOException e ) {
+			if( tmp != null ) tmp.delete( );
+		}
+	}
+
+	/**
+	 * Computes the CRC32 hash over the contents of the file
+	 *
+	 * @param file The file
+	 * @return The hash value
+	 * @throws IOException if reading failed
+	 */
+	protected static long hash( final File file ) throws IOException {
+		final CRC32 crc = new CRC32( );
+		try( final FileChannel channel = FileChannel.open( file.toPath( ), StandardOpenOption.READ ) ) {
+			final long size = channel.size( );
+			for( long pos = 0; pos < size; pos += LineCursor.WINDOW )
+				crc.update( channel.map( MapMode.READ_ONLY, pos, Math.min( LineCursor.WINDOW, size - pos ) ) );
+		}
+		return crc.getValue( );
+	}
+}
@@ -0,0 +1,175 @@
+package util.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Cursor that walks over the lines of a memory-mapped file. The current line
+ * is exposed as a character sequence view on the mapped bytes, so no strings
+ * are created while reading. The view is reused, hence its contents are only
+ * valid until the cursor is moved to the next line.
+ *
+ * Files larger than the maximal mapping size are mapped window by window.
+ *
+ * @author Joris
+ */
+public class LineCursor implements Closeable {
+	/** The maximal size of a single mapped window */
+	protected static final long WINDOW = 1L << 30;
+
+	/** The channel of the file that is read */
+	protected final FileChannel channel;
+
+	/** The total file size */
+	protected final long size;
+
+	/** The currently mapped window of the file */
+	protected MappedByteBuffer buffer;
+
+	/** The file offset of the first byte in the mapped window */
+	protected long bufferstart;
+
+	/** The file offset of the start of the next line */
+	protected long pos;
+
+	/** The view on the current line */
+	protected final ByteSequence line;
+
+	/** The current line number */
+	protected int lineno;
+
+	/**
+	 * Opens a new line cursor on the file
+	 *
+	 * @param file The file to read
+	 * @throws IOException if the file could not be opened or mapped
+	 */
+	public LineCursor( final File file ) throws IOException {
+		this.channel = FileChannel.open( file.toPath( ), StandardOpenOption.READ );
+		this.size = channel.size( );
+		this.line = new ByteSequence( );
+
+		reset( );
+	}
+
+	/**
+	 * Creates a cursor that is not backed by a mapped file, for subclasses that
+	 * provide the line data in another way
+	 */
+	protected LineCursor( ) {
+		this.channel = null;
+		this.size = 0;
+		this.line = new ByteSequence( );
+	}
+
+	/**
+	 * Moves the cursor back to the start of the file
+	 *
+	 * @throws IOException if the file could not be mapped
+	 */
+	public void reset( ) throws IOException {
+		pos = 0;
+		lineno = 0;
+		line.set( null, 0, 0 );
+		map( 0 );
+	}
+
+	/**
+	 * Maps the window of the file that starts at the specified offset
+	 *
+	 * @param offset The file offset
+	 * @throws IOException if the mapping failed
+	 */
+	protected void map( final long offset ) throws IOException {
+		// no need to remap if we already have it
+		if( buffer != null && bufferstart == offset ) return;
+
+		bufferstart = offset;
+		buffer = channel.map( MapMode.READ_ONLY, offset, Math.min( WINDOW, size - offset ) );
+	}
+
+	/**
+	 * Moves the cursor to the next line
+	 *
+	 * @return True if a line was read, false if the end of the file was reached
+	 * @throws IOException if the line could not be read
+	 */
+	public boolean next( ) throws IOException {
+		if( pos >= size ) return false;
+
+		// find the end of the line, if it is beyond the current window we map a
+		// new window that starts at the beginning of the line
+		int start = (int)(pos - bufferstart);
+		int end = findLineEnd( start );
+		if( end == -1 ) {
+			map( pos );
+			start = 0;
+			end = findLineEnd( start );
+			if( end == -1 ) throw new IOException( "Line " + (lineno + 1) + " exceeds the maximal line length" );
+		}
+
+		// skip the new line character and strip carriage return if present
+		pos = bufferstart + end + 1;
+		int len = end - start;
+		if( len > 0 && buffer.get( end - 1 ) == '\r' ) len--;
+
+		line.set( buffer, start, len );
+		lineno++;
+		return true;
+	}
+
+	/**
+	 * Finds the end of the line that starts at the specified buffer index
+	 *
+	 * @param start The start index in the buffer
+	 * @return The index of the new line character or the buffer limit at the end
+	 *   of the file, -1 if the line continues beyond the mapped window
+	 */
+	protected int findLineEnd( final int start ) {
+		final int limit = buffer.limit( );
+		for( int i = start; i < limit; i++ )
+			if( buffer.get( i ) == '\n' ) return i;
+
+		return bufferstart + limit >= size ? limit : -1;
+	}
+
+	/** @return The view on the current line, only valid until the next call to next() */
+	public ByteSequence line( ) { return line; }
+
+	/**
+	 * @return True if line views remain valid after the cursor is moved, which
+	 *   is the case for mapped files as every window stays mapped while a view
+	 *   refers to it
+	 */
+	public boolean isStable( ) { return true; }
+
+	/** @return The number of the current line, starting at 1 */
+	public int getLineNumber( ) { return lineno; }
+
+	/**
+	 * Counts the lines in the file, resets the cursor to the start of the file
+	 *
+	 * @return The number of lines
+	 * @throws IOException if reading failed
+	 */
+	public int countLines( ) throws IOException {
+		reset( );
+		int count = 0;
+		while( next( ) ) count++;
+		reset( );
+		return count;
+	}
+
+	/**
+	 * Closes the underlying file channel
+	 */
+	@Override
+	public void close( ) throws IOException {
+		channel.close( );
+	}
+}
@@ -0,0 +1,160 @@
+package util.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Byte-level parser for delimited lists of numbers. Reads the input in fixed
+ * size chunks and accumulates digits straight from the bytes into growable
+ * primitive arrays, hence no intermediate strings or boxed values are created.
+ *
+ * @author Joris
+ */
+public class NumberParser {
+	/** The size of the chunks that are read from the input */
+	protected static final int CHUNK = 1 << 16;
+
+	/**
+	 * Parses all integers in the input
+	 *
+	 * @param in The input channel
+	 * @param delim The delimiter between numbers, white space is always accepted as delimiter
+	 * @return The array of integers in order of appearance
+	 * @throws IOException if reading failed
+	 * @throws NumberFormatException if the input contains an invalid number
+	 */
+	public static int[] readInts( final ReadableByteChannel in, final char delim ) throws IOException {
+		final IntArrayBuilder res = new IntArrayBuilder( );
+		parse( in, delim, res );
+		return res.toArray( );
+	}
+
+	/**
+	 * Parses all longs in the input
+	 *
+	 * @param in The input channel
+	 * @param delim The delimiter between numbers, white space is always accepted as delimiter
+	 * @return The array of longs in order of appearance
+	 * @throws IOException if reading failed
+	 * @throws NumberFormatException if the input contains an invalid number
+	 */
+	public static long[] readLongs( final ReadableByteChannel in, final char delim ) throws IOException {
+		final LongArrayBuilder res = new LongArrayBuilder( );
+		parse( in, delim, res );
+		return res.toArray( );
+	}
+
+	/**
+	 * Parses the input and passes every number to the consumer. Empty tokens
+	 * (i.e. consecutive delimiters) are skipped.
+	 *
+	 * @param in The input channel
+	 * @param delim The delimiter between numbers
+	 * @param out The consumer of the parsed numbers
+	 * @throws IOException if reading failed
+	 * @throws NumberFormatException if the input contains an invalid number
+	 */
+	public static void parse( final ReadableByteChannel in, final char delim, final LongConsumer out ) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocateDirect( CHUNK );
+
+		// parsing state, kept over chunk boundaries. The value is accumulated
+		// negatively so that the full range of longs can be parsed
+		long value = 0;
+		boolean negative = false;
+		boolean intoken = false;
+		boolean digits = false;
+		long index = 0;
+
+		while( in.read( buffer ) != -1 ) {
+			buffer.flip( );
+			while( buffer.hasRemaining( ) ) {
+				final byte b = buffer.get( );
+				index++;
+
+				if( b >= '0' && b <= '9' ) {
+					final int d = b - '0';
+					if( value < (Long.MIN_VALUE + d) / 10 ) throw new NumberFormatException( "Value out of range at byte " + index );
+					value = value * 10 - d;
+					intoken = true;
+					digits = true;
+				} else if( b == delim || b == '\n' || b == '\r' || b == ' ' || b == '\t' ) {
+					if( intoken ) out.accept( finish( value, negative, digits, index ) );
+					value = 0; negative = false; intoken = false; digits = false;
+				} else if( (b == '-' || b == '+') && !intoken ) {
+					negative = b == '-';
+					intoken = true;
+				} else {
+					throw new NumberFormatException( "Unexpected character '" + (char)b + "' at byte " + index );
+				}
+			}
+			buffer.clear( );
+		}
+
+		// complete the last number if the input does not end with a delimiter
+		if( intoken ) out.accept( finish( value, negative, digits, index ) );
+	}
+
+	/**
+	 * Completes the parsing of a single number
+	 *
+	 * @param value The negatively accumulated value
+	 * @param negative True if the number had a minus sign
+	 * @param digits True if at least one digit was read
+	 * @param index The current byte index, for error reporting
+	 * @return The number
+	 */
+	private static long finish( final long value, final boolean negative, final boolean digits, final long index ) {
+		if( !digits ) throw new NumberFormatException( "Sign without digits at byte " + index );
+		if( negative ) return value;
+		if( value == Long.MIN_VALUE ) throw new NumberFormatException( "Value out of range at byte " + index );
+		return -value;
+	}
+
+	/**
+	 * Growable int array that is filled with parsed numbers
+	 */
+	protected static class IntArrayBuilder implements LongConsumer {
+		/** The backing array */
+		protected int[] values = new int[ 1024 ];
+
+		/** The number of values stored */
+		protected int size = 0;
+
+		@Override
+		public void accept( final long value ) {
+			if( value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ) throw new NumberFormatException( "Value out of integer range: " + value );
+			if( size == values.length ) values = Arrays.copyOf( values, size * 2 );
+			values[ size++ ] = (int)value;
+		}
+
+		/** @return The array of values, trimmed to size */
+		public int[] toArray( ) {
+			return values.length == size ? values : Arrays.copyOf( values, size );
+		}
+	}
+
+	/**
+	 * Growable long array that is filled with parsed numbers
+	 */
+	protected static class LongArrayBuilder implements LongConsumer {
+		/** The backing array */
+		protected long[] values = new long[ 1024 ];
+
+		/** The number of values stored */
+		protected int size = 0;
+
+		@Override
+		public void accept( final long value ) {
+			if( size == values.length ) values = Arrays.copyOf( values, size * 2 );
+			values[ size++ ] = value;
+		}
+
+		/** @return The array of values, trimmed to size */
+		public long[] toArray( ) {
+			return values.length == size ? values : Arrays.copyOf( values, size );
+		}
+	}
+}
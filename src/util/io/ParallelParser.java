@@ -0,0 +1,428 @@
+package util.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Parses the records of a file in parallel. The file is split into chunks at
+ * record boundaries, every chunk is memory-mapped and decoded by a task in a
+ * ForkJoinPool and the decoded records are merged in the order of the file.
+ * Compressed files cannot be split and are decoded sequentially as a stream.
+ *
+ * @author Joris
+ */
+public class ParallelParser<T> {
+	/** The record types that can be parsed */
+	public enum RecordType {
+		/** Every line is a record */
+		Line,
+		/** Every group of lines, separated by one or more blank lines, is a record */
+		Group;
+	}
+
+	/**
+	 * Decoder that turns a single record into an object
+	 *
+	 * @param <T> The type of decoded records
+	 */
+	public interface Decoder<T> {
+		/**
+		 * Decodes the record
+		 *
+		 * @param record The view on the record bytes, only valid during the call.
+		 *   The lines of a group record are separated by a single new line,
+		 *   whatever the line endings of the file
+		 * @return The decoded object
+		 * @throws Exception if the record is invalid
+		 */
+		T decode( final ByteSequence record ) throws Exception;
+	}
+
+	/**
+	 * Thrown when a record could not be decoded, the cause holds the exception
+	 * thrown by the decoder
+	 */
+	@SuppressWarnings( "serial" )
+	public static class DecodeException extends RuntimeException {
+		/** The number of the record, starting at 1 */
+		protected int record;
+
+		/**
+		 * Creates a new decode exception
+		 *
+		 * @param record The record number
+		 * @param cause The exception thrown by the decoder
+		 */
+		protected DecodeException( final int record, final Throwable cause ) {
+			super( "Failed to decode record " + record + ": " + cause.getMessage( ), cause );
+			this.record = record;
+		}
+
+		/** @return The number of the record that failed, starting at 1 */
+		public int getRecordNumber( ) { return record; }
+	}
+
+	/** The minimal size of a chunk that is parsed as one task */
+	protected static final long MIN_CHUNK = 1L << 20;
+
+	/** The maximal size of a chunk, limited by the maximal mapping size */
+	protected static final long MAX_CHUNK = 1L << 30;
+
+	/** The type of records to parse */
+	protected final RecordType type;
+
+	/** The record decoder */
+	protected final Decoder<T> decoder;
+
+	/** The pool to run the chunk tasks in */
+	protected final ForkJoinPool pool;
+
+	/**
+	 * Creates a new parallel parser that runs in the common pool
+	 *
+	 * @param type The type of records
+	 * @param decoder The decoder for a single record
+	 */
+	public ParallelParser( final RecordType type, final Decoder<T> decoder ) {
+		this( type, decoder, ForkJoinPool.commonPool( ) );
+	}
+
+	/**
+	 * Creates a new parallel parser
+	 *
+	 * @param type The type of records
+	 * @param decoder The decoder for a single record
+	 * @param pool The pool to run the chunk tasks in
+	 */
+	public ParallelParser( final RecordType type, final Decoder<T> decoder, final ForkJoinPool pool ) {
+		this.type = type;
+		this.decoder = decoder;
+		this.pool = pool;
+	}
+
+	/**
+	 * Parses all records in the file
+	 *
+	 * @param file The file to parse
+	 * @return The list of decoded records, in order of the file
+	 * @throws IOException if reading failed
+	 * @throws DecodeException if a record could not be decoded
+	 */
+	public List<T> parse( final File file ) throws IOException {
+		final Compression compression = Compression.detect( file );
+		if( compression != Compression.None ) return parseStream( file, compression );
+
+		try( final FileChannel channel = FileChannel.open( file.toPath( ), StandardOpenOption.READ ) ) {
+			final List<Chunk> chunks = split( channel );
+
+			// small files are parsed in the current thread
+			if( chunks.size( ) == 1 ) {
+				final Chunk c = chunks.get( 0 );
+				c.call( );
+				if( c.error != null ) throw new DecodeException( c.errorindex + 1, c.error );
+				return c.records;
+			}
+
+			// parse all chunks in parallel and wait for them to complete
+			final List<Future<List<T>>> futures = pool.invokeAll( chunks );
+			final List<T> result = new ArrayList<>( );
+			for( int i = 0; i < chunks.size( ); i++ ) {
+				try {
+					futures.get( i ).get( );
+				} catch( ExecutionException e ) {
+					if( e.getCause( ) instanceof IOException ) throw (IOException)e.getCause( );
+					throw new RuntimeException( e.getCause( ) );
+				} catch( InterruptedException e ) {
+					Thread.currentThread( ).interrupt( );
+					throw new IOException( "Interrupted while parsing " + file, e );
+				}
+
+				// report the first failing record by its number in the file
+				final Chunk c = chunks.get( i );
+				if( c.error != null ) throw new DecodeException( result.size( ) + c.errorindex + 1, c.error );
+				result.addAll( c.records );
+			}
+
+			return result;
+		}
+	}
+
+	/**
+	 * Decodes all records of a compressed file in the current thread
+	 *
+	 * @param file The file to parse
+	 * @param compression The compression format of the file
+	 * @return The list of decoded records, in order of the file
+	 * @throws IOException if reading failed
+	 * @throws DecodeException if a record could not be decoded
+	 */
+	protected List<T> parseStream( final File file, final Compression compression ) throws IOException {
+		final List<T> result = new ArrayList<>( );
+		try( final LineCursor lines = new StreamLineCursor( file, compression ) ) {
+			// lines are decoded directly from the cursor
+			if( type == RecordType.Line ) {
+				while( lines.next( ) ) decode( lines.line( ), result );
+				return result;
+			}
+
+			// lines of a group are collected into one buffer, separated by new lines
+			ByteBuffer group = ByteBuffer.allocate( 1 << 12 );
+			final ByteSequence record = new ByteSequence( );
+			while( lines.next( ) ) {
+				final ByteSequence line = lines.line( );
+				if( line.isEmpty( ) ) {
+					if( group.position( ) > 0 ) decode( record, group, result );
+					continue;
+				}
+
+				// make sure the line and its separator fit
+				if( group.remaining( ) <= line.length( ) ) {
+					final ByteBuffer grown = ByteBuffer.allocate( Math.max( group.capacity( ) * 2, group.position( ) + line.length( ) + 1 ) );
+					group.flip( );
+					group = grown.put( group );
+				}
+				if( group.position( ) > 0 ) group.put( (byte)'\n' );
+				for( int i = 0; i < line.length( ); i++ ) group.put( (byte)line.charAt( i ) );
+			}
+			if( group.position( ) > 0 ) decode( record, group, result );
+		}
+		return result;
+	}
+
+	/**
+	 * Decodes the group collected in the buffer and clears the buffer
+	 *
+	 * @param record The reusable record view
+	 * @param group The buffer that holds the group
+	 * @param result The list to add the decoded record to
+	 * @throws DecodeException if the record could not be decoded
+	 */
+	private void decode( final ByteSequence record, final ByteBuffer group, final List<T> result ) {
+		record.set( group, 0, group.position( ) );
+		decode( record, result );
+		group.clear( );
+	}
+
+	/**
+	 * Decodes a single record and adds it to the list
+	 *
+	 * @param record The record
+	 * @param result The list to add the decoded record to
+	 * @throws DecodeException if the record could not be decoded
+	 */
+	private void decode( final ByteSequence record, final List<T> result ) {
+		try {
+			result.add( decoder.decode( record ) );
+		} catch( Exception e ) {
+			throw new DecodeException( result.size( ) + 1, e );
+		}
+	}
+
+	/**
+	 * Splits the file into chunks that end at record boundaries
+	 *
+	 * @param channel The file channel
+	 * @return The list of chunks
+	 * @throws IOException if reading failed
+	 */
+	protected List<Chunk> split( final FileChannel channel ) throws IOException {
+		final long size = channel.size( );
+
+		// determine the number of chunks, at least MIN_CHUNK bytes per chunk
+		// unless the file is too large to keep the chunks below MAX_CHUNK
+		final long target = Math.max( pool.getParallelism( ) * 4L, (size + MAX_CHUNK - 1) / MAX_CHUNK );
+		final long chunksize = Math.min( MAX_CHUNK / 2, Math.max( MIN_CHUNK, (size + target - 1) / target ) );
+
+		final List<Chunk> chunks = new ArrayList<>( );
+		long start = 0;
+		while( start < size ) {
+			final long end = start + chunksize >= size ? size : findBoundary( channel, start + chunksize );
+			chunks.add( new Chunk( channel, start, end ) );
+			start = end;
+		}
+
+		// always return at least one chunk, even for empty files
+		if( chunks.size( ) == 0 ) chunks.add( new Chunk( channel, 0, 0 ) );
+		return chunks;
+	}
+
+	/**
+	 * Finds the first record boundary at or after the offset
+	 *
+	 * @param channel The file channel
+	 * @param offset The offset to start searching from
+	 * @return The file offset directly after the record separator or the file
+	 *   size if there is no boundary after the offset
+	 * @throws IOException if reading failed
+	 */
+	protected long findBoundary( final FileChannel channel, final long offset ) throws IOException {
+		final ByteBuffer buf = ByteBuffer.allocate( 4096 );
+		long pos = offset;
+		boolean newline = false;
+		int read;
+		while( (read = channel.read( buf, pos )) > 0 ) {
+			buf.flip( );
+			for( int i = 0; i < read; i++ ) {
+				final byte b = buf.get( i );
+				if( b == '\n' ) {
+					// lines end at every new line, groups at a blank line
+					if( type == RecordType.Line || newline ) return pos + i + 1;
+					newline = true;
+				} else if( b != '\r' ) {
+					newline = false;
+				}
+			}
+			pos += read;
+			buf.clear( );
+		}
+		return channel.size( );
+	}
+
+	/**
+	 * Task that parses all records within a chunk of the file
+	 */
+	protected class Chunk implements Callable<List<T>> {
+		/** The file channel */
+		protected final FileChannel channel;
+
+		/** The file offset of the chunk start */
+		protected final long start;
+
+		/** The file offset of the chunk end (exclusive) */
+		protected final long end;
+
+		/** The records decoded from this chunk */
+		protected final List<T> records;
+
+		/** The first decoding error, if any */
+		protected Throwable error;
+
+		/** The index of the record within this chunk that caused the error */
+		protected int errorindex;
+
+		/** Buffer for groups that have their line endings normalised, allocated on first use */
+		protected ByteBuffer scratch;
+
+		/**
+		 * Creates a new chunk task
+		 *
+		 * @param channel The file channel
+		 * @param start The chunk start offset
+		 * @param end The chunk end offset
+		 */
+		protected Chunk( final FileChannel channel, final long start, final long end ) {
+			this.channel = channel;
+			this.start = start;
+			this.end = end;
+			this.records = new ArrayList<>( );
+		}
+
+		/**
+		 * Maps the chunk and decodes all its records, stops at the first error
+		 *
+		 * @return The decoded records
+		 */
+		@Override
+		public List<T> call( ) throws IOException {
+			final MappedByteBuffer buffer = channel.map( MapMode.READ_ONLY, start, end - start );
+			final int limit = buffer.limit( );
+			final ByteSequence record = new ByteSequence( );
+
+			int recstart = 0;
+			int pos = 0;
+			while( pos < limit ) {
+				// find the end of the current line and strip carriage return
+				int eol = pos;
+				while( eol < limit && buffer.get( eol ) != '\n' ) eol++;
+				int lineend = eol;
+				if( lineend > pos && buffer.get( lineend - 1 ) == '\r' ) lineend--;
+				final boolean blank = lineend == pos;
+
+				if( type == RecordType.Line ) {
+					if( !decode( record, buffer, pos, lineend ) ) return records;
+					recstart = eol + 1;
+				} else if( blank ) {
+					// blank line terminates the group, skip empty groups
+					if( pos > recstart && !decodeGroup( record, buffer, recstart, trimEnd( buffer, recstart, pos ) ) ) return records;
+					recstart = eol + 1;
+				}
+				pos = eol + 1;
+			}
+
+			// complete the last group
+			if( type == RecordType.Group && recstart < limit ) decodeGroup( record, buffer, recstart, trimEnd( buffer, recstart, limit ) );
+			return records;
+		}
+
+		/**
+		 * Strips trailing new line characters of a group
+		 *
+		 * @param buffer The buffer
+		 * @param from The start of the group
+		 * @param to The end of the group, exclusive
+		 * @return The end of the group without trailing new lines
+		 */
+		private int trimEnd( final ByteBuffer buffer, final int from, final int to ) {
+			int e = to;
+			while( e > from && (buffer.get( e - 1 ) == '\n' || buffer.get( e - 1 ) == '\r') ) e--;
+			return e;
+		}
+
+		/**
+		 * Decodes a group record, copying it with carriage returns stripped from
+		 * its line endings if it has any so that groups read the same as those
+		 * of a compressed file
+		 *
+		 * @param record The reusable record view
+		 * @param buffer The buffer that holds the chunk
+		 * @param from The start of the group
+		 * @param to The end of the group, exclusive
+		 * @return True if decoded successfully, false if an error occurred
+		 */
+		private boolean decodeGroup( final ByteSequence record, final ByteBuffer buffer, final int from, final int to ) {
+			int cr = from;
+			while( cr < to - 1 && !(buffer.get( cr ) == '\r' && buffer.get( cr + 1 ) == '\n') ) cr++;
+			if( cr >= to - 1 ) return decode( record, buffer, from, to );
+
+			if( scratch == null || scratch.capacity( ) < to - from ) scratch = ByteBuffer.allocate( Math.max( 1 << 12, to - from ) );
+			scratch.clear( );
+			for( int i = from; i < to; i++ ) {
+				final byte b = buffer.get( i );
+				if( b != '\r' || i + 1 >= to || buffer.get( i + 1 ) != '\n' ) scratch.put( b );
+			}
+			return decode( record, scratch, 0, scratch.position( ) );
+		}
+
+		/**
+		 * Decodes a single record and adds it to the list
+		 *
+		 * @param record The reusable record view
+		 * @param buffer The buffer that holds the record
+		 * @param from The start of the record
+		 * @param to The end of the record, exclusive
+		 * @return True if decoded successfully, false if an error occurred
+		 */
+		private boolean decode( final ByteSequence record, final ByteBuffer buffer, final int from, final int to ) {
+			record.set( buffer, from, to - from );
+			try {
+				records.add( decoder.decode( record ) );
+				return true;
+			} catch( Exception e ) {
+				error = e;
+				errorindex = records.size( );
+				return false;
+			}
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package util.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads the input resources of a day concurrently. Every read is issued on
+ * its own I/O thread as soon as it is requested and is returned as a future,
+ * so a solver can start on the first input while the others are still being
+ * read.
+ *
+ * @author Joris
+ */
+public class ResourcePrefetcher {
+	/** The shared pool of I/O threads, daemon threads so they never block exit */
+	protected static final ExecutorService IO_POOL = Executors.newCachedThreadPool( r -> {
+		final Thread t = new Thread( r, "resource-prefetch" );
+		t.setDaemon( true );
+		return t;
+	} );
+
+	/**
+	 * Reads the resource into a value
+	 *
+	 * @param <T> The type of value
+	 */
+	public interface Loader<T> {
+		/**
+		 * Reads the value from the file
+		 *
+		 * @param reader The file reader for the resource
+		 * @return The value
+		 * @throws IOException if reading failed
+		 */
+		T load( final FileReader reader ) throws IOException;
+	}
+
+	/**
+	 * Reads the resource into a value from the path of its file, for readers
+	 * that open the file themselves
+	 *
+	 * @param <T> The type of value
+	 */
+	public interface FileLoader<T> {
+		/**
+		 * Reads the value from the file
+		 *
+		 * @param file The path of the resource file
+		 * @return The value
+		 * @throws Exception if reading or parsing failed
+		 */
+		T load( final String file ) throws Exception;
+	}
+
+	/** The class relative to which resources are resolved */
+	protected final Class<?> owner;
+
+	/**
+	 * Creates a new prefetcher for the resources of a class
+	 *
+	 * @param owner The class relative to which resources are resolved
+	 */
+	public ResourcePrefetcher( final Class<?> owner ) {
+		this.owner = owner;
+	}
+
+	/**
+	 * Starts loading the resource in the background
+	 *
+	 * @param resource The resource name, relative to the owner class
+	 * @param loader The loader that reads the value from the resource
+	 * @return The future that completes with the value
+	 */
+	public <T> CompletableFuture<T> load( final String resource, final Loader<T> loader ) {
+		final URL url = owner.getResource( resource );
+		if( url == null ) throw new IllegalArgumentException( "Resource not found: " + resource );
+
+		return CompletableFuture.supplyAsync( ( ) -> {
+			try {
+				return loader.load( new FileReader( url ) );
+			} catch( IOException e ) {
+				throw new UncheckedIOException( "Failed to read " + resource, e );
+			}
+		}, IO_POOL );
+	}
+
+	/**
+	 * Starts loading the resource in the background from the path of its file
+	 *
+	 * @param resource The resource name, relative to the owner class
+	 * @param loader The loader that reads the value from the file
+	 * @return The future that completes with the value
+	 */
+	public <T> CompletableFuture<T> loadFile( final String resource, final FileLoader<T> loader ) {
+		final URL url = owner.getResource( resource );
+		if( url == null ) throw new IllegalArgumentException( "Resource not found: " + resource );
+
+		return CompletableFuture.supplyAsync( ( ) -> {
+			try {
+				return loader.load( url.getFile( ) );
+			} catch( IOException e ) {
+				throw new UncheckedIOException( "Failed to read " + resource, e );
+			} catch( Exception e ) {
+				throw new CompletionException( e );
+			}
+		}, IO_POOL );
+	}
+
+	/**
+	 * Starts reading all lines of the resource
+	 *
+	 * @param resource The resource name
+	 * @return The future list of lines
+	 */
+	public CompletableFuture<List<String>> readLines( final String resource ) {
+		return load( resource, FileReader::readLines );
+	}
+
+	/**
+	 * Starts reading the line groups of the resource
+	 *
+	 * @param resource The resource name
+	 * @param sep The separator to use within a group
+	 * @return The future list of line groups
+	 */
+	public CompletableFuture<List<String>> readLineGroups( final String resource, final String sep ) {
+		return load( resource, f -> f.readLineGroups( sep ) );
+	}
+}
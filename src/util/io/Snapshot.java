@@ -0,0 +1,92 @@
+package util.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Binary snapshots of the state of a long running simulation, so that it can
+ * be resumed after the process was stopped. Every snapshot starts with a
+ * header that identifies the file and the type of simulation, the state
+ * itself is written and read by the simulation.
+ *
+ * Snapshots are replaced atomically, a process that is killed while writing
+ * a snapshot leaves the previous snapshot intact.
+ *
+ * @author Joris
+ */
+public class Snapshot {
+	/** Magic number that identifies a snapshot file */
+	protected static final int MAGIC = 0xA0C05A45;
+
+	/** The version of the snapshot format */
+	protected static final int VERSION = 1;
+
+	/**
+	 * Writes the state of a simulation
+	 */
+	public interface Writer {
+		/**
+		 * Writes the state
+		 *
+		 * @param out The output stream
+		 * @throws IOException if writing failed
+		 */
+		void write( final DataOutputStream out ) throws IOException;
+	}
+
+	/**
+	 * Writes a snapshot
+	 *
+	 * @param file The snapshot file
+	 * @param type The type tag of the simulation
+	 * @param writer The writer of the state
+	 * @throws IOException if the snapshot could not be written
+	 */
+	public static void write( final File file, final byte type, final Writer writer ) throws IOException {
+		// write next to the snapshot so that the move stays on the same file system
+		final File tmp = new File( file.getAbsoluteFile( ).getParentFile( ), file.getName( ) + ".tmp" );
+		try {
+			try( final DataOutputStream out = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( tmp ), 1 << 16 ) ) ) {
+				out.writeInt( MAGIC );
+				out.writeInt( VERSION );
+				out.writeByte( type );
+				writer.write( out );
+			}
+			Files.move( tmp.toPath( ), file.toPath( ), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+		} finally {
+			tmp.delete( );
+		}
+	}
+
+	/**
+	 * Opens a snapshot for reading and checks its header
+	 *
+	 * @param file The snapshot file
+	 * @param type The expected type tag of the simulation
+	 * @return The input stream, positioned at the start of the state
+	 * @throws IOException if the file could not be read or is not a snapshot
+	 *   of the expected type
+	 */
+	public static DataInputStream read( final File file, final byte type ) throws IOException {
+		final DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( file ), 1 << 16 ) );
+		try {
+			if( in.readInt( ) != MAGIC ) throw new IOException( file + " is not a snapshot" );
+			final int version = in.readInt( );
+			if( version != VERSION ) throw new IOException( "Unsupported snapshot version " + version + " in " + file );
+			final byte t = in.readByte( );
+			if( t != type ) throw new IOException( "Snapshot " + file + " has type " + t + ", expected " + type );
+			return in;
+		} catch( IOException e ) {
+			in.close( );
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package util.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Line cursor over a (compressed) file that is decoded as a stream. The
+ * decoded bytes are read into a bounded buffer that only has to hold the
+ * current line, so the memory use does not depend on the size of the file.
+ * Resetting the cursor restarts decoding from the start of the file.
+ *
+ * @author Joris
+ */
+public class StreamLineCursor extends LineCursor {
+	/** The initial size of the line buffer */
+	protected static final int CHUNK = 1 << 16;
+
+	/** The file that is read */
+	protected final File file;
+
+	/** The compression format of the file */
+	protected final Compression compression;
+
+	/** The channel of decoded bytes, null if closed */
+	protected ReadableByteChannel in;
+
+	/** The buffer that holds the decoded data */
+	protected ByteBuffer data;
+
+	/** The index in the buffer of the start of the next line */
+	protected int start;
+
+	/** The number of valid bytes in the buffer */
+	protected int fill;
+
+	/** True if all input has been decoded */
+	protected boolean eof;
+
+	/**
+	 * Opens a new streaming line cursor on the file
+	 *
+	 * @param file The file to read
+	 * @param compression The compression format of the file
+	 * @throws IOException if the file could not be opened
+	 */
+	public StreamLineCursor( final File file, final Compression compression ) throws IOException {
+		super( );
+		this.file = file;
+		this.compression = compression;
+		this.data = ByteBuffer.allocate( CHUNK );
+
+		reset( );
+	}
+
+	/**
+	 * Moves the cursor back to the start of the file by reopening the stream
+	 *
+	 * @throws IOException if the file could not be opened
+	 */
+	@Override
+	public void reset( ) throws IOException {
+		close( );
+		in = compression.channel( file );
+		start = 0;
+		fill = 0;
+		eof = false;
+		lineno = 0;
+		line.set( null, 0, 0 );
+	}
+
+	/**
+	 * Moves the cursor to the next line
+	 *
+	 * @return True if a line was read, false if the end of the file was reached
+	 * @throws IOException if the line could not be read
+	 */
+	@Override
+	public boolean next( ) throws IOException {
+		// find the end of the line, decode more data whenever we run out
+		int end = start;
+		while( true ) {
+			while( end < fill && data.get( end ) != '\n' ) end++;
+			if( end < fill || eof ) break;
+			end -= fill( );
+		}
+		if( end == start && eof && end == fill ) return false;
+
+		// strip carriage return if present
+		int len = end - start;
+		if( len > 0 && data.get( end - 1 ) == '\r' ) len--;
+
+		line.set( data, start, len );
+		start = Math.min( end + 1, fill );
+		lineno++;
+		return true;
+	}
+
+	/**
+	 * @return False, the buffer is reused for the next lines
+	 */
+	@Override
+	public boolean isStable( ) { return false; }
+
+	/**
+	 * Decodes more data into the buffer. The unread part of the buffer is moved
+	 * to the front first and the buffer is only enlarged if the current line
+	 * does not fit
+	 *
+	 * @return The number of bytes the unread data has been shifted
+	 * @throws IOException if reading failed or the line is too long
+	 */
+	protected int fill( ) throws IOException {
+		final int shift = start;
+		if( shift > 0 ) {
+			System.arraycopy( data.array( ), start, data.array( ), 0, fill - start );
+			fill -= start;
+			start = 0;
+		} else if( fill == data.capacity( ) ) {
+			if( data.capacity( ) >= WINDOW ) throw new IOException( "Line " + (lineno + 1) + " exceeds the maximal line length" );
+			final ByteBuffer grown = ByteBuffer.allocate( data.capacity( ) * 2 );
+			System.arraycopy( data.array( ), 0, grown.array( ), 0, fill );
+			data = grown;
+		}
+
+		data.limit( data.capacity( ) ).position( fill );
+		final int read = in.read( data );
+		if( read == -1 ) eof = true;
+		else fill += read;
+		return shift;
+	}
+
+	/**
+	 * Closes the decoding stream
+	 */
+	@Override
+	public void close( ) throws IOException {
+		if( in == null ) return;
+		in.close( );
+		in = null;
+	}
+}
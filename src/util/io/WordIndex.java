@@ -0,0 +1,142 @@
+package util.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Interns words read from byte buffers into consecutive integer IDs. Lookups
+ * hash and compare the bytes in place, so a word that is already known is
+ * resolved without creating any objects. Only the first occurrence of a word
+ * copies its bytes and creates its String.
+ *
+ * @author Joris
+ */
+public class WordIndex {
+	/** The bytes of every word, indexed by ID */
+	protected byte[][] bytes;
+
+	/** The String of every word, indexed by ID */
+	protected String[] words;
+
+	/** The open-addressing hash table that holds ID + 1 per slot, 0 if empty */
+	protected int[] table;
+
+	/** The number of words in the index */
+	protected int size;
+
+	/**
+	 * Creates a new, empty word index
+	 */
+	public WordIndex( ) {
+		this.bytes = new byte[ 64 ][];
+		this.words = new String[ 64 ];
+		this.table = new int[ 128 ];
+		this.size = 0;
+	}
+
+	/**
+	 * Returns the ID of the word in the buffer, adds it to the index if it is
+	 * not known yet
+	 *
+	 * @param buffer The buffer that holds the word
+	 * @param offset The offset of the word in the buffer
+	 * @param length The length of the word
+	 * @return The ID of the word
+	 */
+	public int intern( final ByteBuffer buffer, final int offset, final int length ) {
+		final int hash = hash( buffer, offset, length );
+		final int mask = table.length - 1;
+		int slot = hash & mask;
+		while( table[slot] != 0 ) {
+			final int id = table[slot] - 1;
+			if( matches( bytes[id], buffer, offset, length ) ) return id;
+			slot = (slot + 1) & mask;
+		}
+
+		// new word, copy its bytes
+		final byte[] b = new byte[ length ];
+		for( int i = 0; i < length; i++ ) b[i] = buffer.get( offset + i );
+		if( size == bytes.length ) {
+			bytes = Arrays.copyOf( bytes, size * 2 );
+			words = Arrays.copyOf( words, size * 2 );
+		}
+		bytes[size] = b;
+		words[size] = new String( b, StandardCharsets.ISO_8859_1 );
+		table[slot] = ++size;
+
+		// keep the load factor below 1/2
+		if( size * 2 > table.length ) rehash( );
+		return size - 1;
+	}
+
+	/**
+	 * Returns the ID of the word
+	 *
+	 * @param word The word
+	 * @return The ID of the word
+	 */
+	public int intern( final String word ) {
+		return intern( ByteBuffer.wrap( word.getBytes( StandardCharsets.ISO_8859_1 ) ), 0, word.length( ) );
+	}
+
+	/**
+	 * Returns the word with the given ID
+	 *
+	 * @param id The word ID
+	 * @return The word
+	 */
+	public String get( final int id ) {
+		if( id < 0 || id >= size ) throw new IndexOutOfBoundsException( "Invalid word ID " + id );
+		return words[id];
+	}
+
+	/** @return The number of words in the index */
+	public int size( ) { return size; }
+
+	/**
+	 * Doubles the hash table and reinserts all words
+	 */
+	protected void rehash( ) {
+		table = new int[ table.length * 2 ];
+		final int mask = table.length - 1;
+		for( int id = 0; id < size; id++ ) {
+			final byte[] b = bytes[id];
+			int slot = hash( ByteBuffer.wrap( b ), 0, b.length ) & mask;
+			while( table[slot] != 0 ) slot = (slot + 1) & mask;
+			table[slot] = id + 1;
+		}
+	}
+
+	/**
+	 * Computes the hash of a word
+	 *
+	 * @param buffer The buffer that holds the word
+	 * @param offset The offset of the word
+	 * @param length The length of the word
+	 * @return The hash value
+	 */
+	private static int hash( final ByteBuffer buffer, final int offset, final int length ) {
+		int h = 1;
+		for( int i = 0; i < length; i++ ) h = 31 * h + buffer.get( offset + i );
+
+		// spread the bits as the table size is a power of two
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Checks if the bytes in the buffer are equal to a known word
+	 *
+	 * @param word The known word
+	 * @param buffer The buffer
+	 * @param offset The offset in the buffer
+	 * @param length The length in the buffer
+	 * @return True iff the bytes match exactly
+	 */
+	private static boolean matches( final byte[] word, final ByteBuffer buffer, final int offset, final int length ) {
+		if( word.length != length ) return false;
+		for( int i = 0; i < length; i++ )
+			if( word[i] != buffer.get( offset + i ) ) return false;
+		return true;
+	}
+}
@@ -0,0 +1,315 @@
+package util.launch;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import util.puzzle.PuzzleRunner;
+
+/**
+ * Launches the solvers in a new JVM that starts from an application class
+ * data sharing (AppCDS) archive. The archive is created once by a training
+ * run of all solvers that records the classes they load, after which the
+ * classes are dumped in a pre-parsed form that later JVMs map into memory
+ * instead of loading and verifying every class from scratch.
+ *
+ * AppCDS only archives classes from jar files, so the classes of the class
+ * path directories are first packaged into a jar. The directories are kept
+ * on the class path after the jar so that the puzzle inputs are still found
+ * as plain files. An archive that is older than any of the classes is not
+ * used, as the jar would no longer match the compiled classes.
+ *
+ * Requires Java 10 or later to run, the launcher itself runs on Java 8.
+ *
+ * @author Joris
+ */
+public class AppCdsLauncher {
+	/** The name of the jar with the application classes */
+	public static final String JAR = "aoc2020.jar";
+
+	/** The name of the class list of the training run */
+	public static final String CLASS_LIST = "classes.lst";
+
+	/** The name of the class data archive */
+	public static final String ARCHIVE = "aoc2020.jsa";
+
+	/** The default arguments of the training run: every puzzle once, bounded in time */
+	protected static final String[] TRAINING = { "-w", "0", "-n", "1", "-t", "1000" };
+
+	/** The directory that holds the jar, class list and archive */
+	protected final File dir;
+
+	/** The class path of the launching JVM */
+	protected final List<String> classpath;
+
+	/** The java executable */
+	protected final String java;
+
+	/**
+	 * Creates a new launcher
+	 *
+	 * @param dir The directory to store the archive in, created if it does
+	 *   not exist
+	 * @throws IOException if the directory could not be created
+	 */
+	public AppCdsLauncher( final File dir ) throws IOException {
+		if( !dir.isDirectory( ) && !dir.mkdirs( ) ) throw new IOException( "Failed to create archive directory " + dir );
+		this.dir = dir;
+		this.classpath = Arrays.asList( System.getProperty( "java.class.path" ).split( File.pathSeparator ) );
+		this.java = System.getProperty( "java.home" ) + File.separator + "bin" + File.separator + "java";
+	}
+
+	/**
+	 * Creates the archive: packages the classes, records the classes that are
+	 * loaded by a training run and dumps the archive from that list
+	 *
+	 * @param args The arguments of the puzzle runner in the training run, an
+	 *   empty array for the default training run
+	 * @throws IOException if the archive could not be created
+	 * @throws InterruptedException if interrupted while waiting for the JVM
+	 */
+	public void train( final String... args ) throws IOException, InterruptedException {
+		checkJavaVersion( );
+		packageClasses( );
+
+		// record the loaded classes, a wrong or stopped answer does not
+		// invalidate the class list
+		final List<String> cmd = new ArrayList<>( );
+		cmd.add( java );
+		cmd.add( "-XX:DumpLoadedClassList=" + getFile( CLASS_LIST ) );
+		cmd.add( "-cp" );
+		cmd.add( getClassPath( true ) );
+		cmd.add( PuzzleRunner.class.getName( ) );
+		cmd.addAll( Arrays.asList( args.length > 0 ? args : TRAINING ) );
+		exec( cmd, true );
+
+		// dump the archive, only jars may be on the class path
+		cmd.clear( );
+		cmd.add( java );
+		cmd.addAll( getVersionOptions( ) );
+		cmd.add( "-Xshare:dump" );
+		cmd.add( "-XX:SharedClassListFile=" + getFile( CLASS_LIST ) );
+		cmd.add( "-XX:SharedArchiveFile=" + getFile( ARCHIVE ) );
+		cmd.add( "-cp" );
+		cmd.add( getClassPath( false ) );
+		final int exit = exec( cmd, true );
+		if( exit != 0 ) throw new IOException( "Failed to dump the class data archive, exit code " + exit );
+	}
+
+	/**
+	 * Returns the command that runs the main class in a new JVM. The JVM
+	 * starts from the archive if it is valid, otherwise it runs with the
+	 * class path of this JVM.
+	 *
+	 * @param main The main class
+	 * @param args The arguments to the main class
+	 * @return The command line
+	 * @throws IOException if the classes could not be checked
+	 */
+	public List<String> command( final String main, final String... args ) throws IOException {
+		return command( isArchiveValid( ), main, args );
+	}
+
+	/**
+	 * Returns the command that runs the main class in a new JVM, with or
+	 * without the archive
+	 *
+	 * @param archive True to start from the archive, which must be valid
+	 * @param main The main class
+	 * @param args The arguments to the main class
+	 * @return The command line
+	 */
+	public List<String> command( final boolean archive, final String main, final String... args ) {
+		final List<String> cmd = new ArrayList<>( );
+		cmd.add( java );
+		if( archive ) {
+			cmd.addAll( getVersionOptions( ) );
+			cmd.add( "-XX:SharedArchiveFile=" + getFile( ARCHIVE ) );
+			cmd.add( "-Xshare:auto" );
+			cmd.add( "-cp" );
+			cmd.add( getClassPath( true ) );
+		} else {
+			cmd.add( "-cp" );
+			cmd.add( String.join( File.pathSeparator, classpath ) );
+		}
+		cmd.add( main );
+		cmd.addAll( Arrays.asList( args ) );
+		return cmd;
+	}
+
+	/**
+	 * Checks that the archive exists and is newer than all classes
+	 *
+	 * @return True if the archive can be used
+	 * @throws IOException if the classes could not be checked
+	 */
+	public boolean isArchiveValid( ) throws IOException {
+		final File archive = getFile( ARCHIVE );
+		if( !archive.isFile( ) ) return false;
+
+		final long created = archive.lastModified( );
+		for( Path p : getClassDirs( ) ) {
+			try( final Stream<Path> files = Files.walk( p ) ) {
+				if( files.anyMatch( f -> f.toString( ).endsWith( ".class" ) && f.toFile( ).lastModified( ) > created ) ) return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Packages the classes of all class path directories into the jar
+	 *
+	 * @throws IOException if the jar could not be written
+	 */
+	protected void packageClasses( ) throws IOException {
+		try( final JarOutputStream jar = new JarOutputStream( Files.newOutputStream( getFile( JAR ).toPath( ) ) ) ) {
+			for( Path root : getClassDirs( ) ) {
+				final List<Path> classes;
+				try( final Stream<Path> files = Files.walk( root ) ) {
+					classes = files.filter( f -> f.toString( ).endsWith( ".class" ) ).collect( Collectors.toList( ) );
+				}
+				for( Path c : classes ) {
+					jar.putNextEntry( new JarEntry( root.relativize( c ).toString( ).replace( File.separatorChar, '/' ) ) );
+					Files.copy( c, (OutputStream)jar );
+					jar.closeEntry( );
+				}
+			}
+		}
+	}
+
+	/** @return The directories on the class path */
+	protected List<Path> getClassDirs( ) {
+		final List<Path> dirs = new ArrayList<>( );
+		for( String cp : classpath ) {
+			if( new File( cp ).isDirectory( ) ) dirs.add( Paths.get( cp ) );
+		}
+		return dirs;
+	}
+
+	/**
+	 * Returns the class path of the archived JVM: the jar and the jars of the
+	 * class path of this JVM first, as the archive only covers jars, followed
+	 * by the class path directories for the resources. The class path of the
+	 * dump must be a prefix of the class path at run time.
+	 *
+	 * @param dirs True to include the directories
+	 * @return The class path
+	 */
+	protected String getClassPath( final boolean dirs ) {
+		final List<String> cp = new ArrayList<>( );
+		cp.add( getFile( JAR ).getPath( ) );
+		for( String c : classpath ) if( !new File( c ).isDirectory( ) ) cp.add( c );
+		if( dirs ) for( String c : classpath ) if( new File( c ).isDirectory( ) ) cp.add( c );
+		return String.join( File.pathSeparator, cp );
+	}
+
+	/**
+	 * Returns a file in the archive directory
+	 *
+	 * @param name The file name
+	 * @return The file
+	 */
+	protected File getFile( final String name ) {
+		return new File( dir, name );
+	}
+
+	/**
+	 * Runs a command
+	 *
+	 * @param cmd The command line
+	 * @param quiet True to discard the output of the command
+	 * @return The exit code
+	 * @throws IOException if the command could not be started
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	protected static int exec( final List<String> cmd, final boolean quiet ) throws IOException, InterruptedException {
+		final ProcessBuilder pb = new ProcessBuilder( cmd );
+		if( quiet ) {
+			pb.redirectErrorStream( true );
+			pb.redirectOutput( ProcessBuilder.Redirect.appendTo( new File( System.getProperty( "os.name" ).startsWith( "Windows" ) ? "NUL" : "/dev/null" ) ) );
+		} else
+			pb.inheritIO( );
+		return pb.start( ).waitFor( );
+	}
+
+	/** @return The major version of the running JVM */
+	protected static int getJavaVersion( ) {
+		final String v = System.getProperty( "java.specification.version" );
+		return Integer.parseInt( v.startsWith( "1." ) ? v.substring( 2 ) : v );
+	}
+
+	/**
+	 * Checks that the JVM supports application class data sharing
+	 *
+	 * @throws UnsupportedOperationException if the JVM is too old
+	 */
+	protected static void checkJavaVersion( ) {
+		if( getJavaVersion( ) < 10 ) throw new UnsupportedOperationException( "Application class data sharing requires Java 10 or later" );
+	}
+
+	/** @return The options that enable AppCDS on the running Java version */
+	protected static List<String> getVersionOptions( ) {
+		final List<String> opts = new ArrayList<>( );
+		if( getJavaVersion( ) == 10 ) opts.add( "-XX:+UseAppCDS" );
+		return opts;
+	}
+
+	/**
+	 * Creates the archive or runs the puzzle runner from the archive
+	 *
+	 * Usage: AppCdsLauncher [-d dir] train [runner args...]
+	 *        AppCdsLauncher [-d dir] run [runner args...]
+	 *
+	 * The archive is stored in the directory given by -d, or aoc2020-cds in
+	 * the temporary directory. The exit code of run is that of the runner.
+	 *
+	 * @param args The command line arguments
+	 * @throws Exception if the archive could not be created or the runner not
+	 *   be started
+	 */
+	public static void main( final String[] args ) throws Exception {
+		File dir = getDefaultDir( );
+		int i = 0;
+		if( args.length > 1 && args[0].equals( "-d" ) ) {
+			dir = new File( args[1] );
+			i = 2;
+		}
+		if( i >= args.length ) {
+			System.err.println( "Usage: AppCdsLauncher [-d dir] train|run [runner args...]" );
+			System.exit( 2 );
+		}
+
+		final AppCdsLauncher launcher = new AppCdsLauncher( dir );
+		final String[] rest = Arrays.copyOfRange( args, i + 1, args.length );
+		switch( args[i] ) {
+			case "train":
+				final long start = System.nanoTime( );
+				launcher.train( rest );
+				System.out.println( String.format( "Created %s in %.1f s", launcher.getFile( ARCHIVE ), (System.nanoTime( ) - start) / 1e9 ) );
+				break;
+
+			case "run":
+				if( !launcher.isArchiveValid( ) ) System.err.println( "No valid class data archive in " + dir + ", run train first" );
+				System.exit( exec( launcher.command( PuzzleRunner.class.getName( ), rest ), false ) );
+				break;
+
+			default:
+				throw new IllegalArgumentException( "Unknown mode " + args[i] );
+		}
+	}
+
+	/** @return The default archive directory */
+	public static File getDefaultDir( ) {
+		return new File( System.getProperty( "java.io.tmpdir" ), "aoc2020-cds" );
+	}
+}
@@ -0,0 +1,151 @@
+package util.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Base class for the JMX metrics of a simulation. The steps of all instances
+ * of the simulation are counted in striped counters, so that updating the
+ * metrics from the hot loop costs little more than an uncontended add even
+ * when simulations run concurrently. The step rates of all registered metrics
+ * are sampled by a background timer once per sample interval, reading the
+ * metrics does not change them so every client sees the same rates.
+ *
+ * @author Joris
+ */
+public abstract class SimMetrics {
+	/** The JMX domain of the simulation metrics */
+	public static final String DOMAIN = "aoc2020";
+
+	/** The interval at which the step rates are sampled in ms */
+	public static final long SAMPLE_INTERVAL = 1000;
+
+	/** All metrics that have been registered */
+	protected static final List<SimMetrics> REGISTERED = new CopyOnWriteArrayList<>( );
+
+	/** The timer that samples the registered metrics, started by the first registration */
+	private static ScheduledExecutorService sampler = null;
+
+	/** The number of simulation steps */
+	protected final LongAdder steps;
+
+	/** The time of the previous rate sample in ns */
+	protected long sampletime;
+
+	/** The step count at the previous rate sample */
+	protected long samplesteps;
+
+	/** The step rate over the last sample interval */
+	protected volatile double steprate;
+
+	/**
+	 * Creates new, empty metrics
+	 */
+	public SimMetrics( ) {
+		this.steps = new LongAdder( );
+		this.sampletime = System.nanoTime( );
+		this.samplesteps = 0;
+		this.steprate = 0;
+	}
+
+	/**
+	 * Counts simulation steps
+	 *
+	 * @param n The number of steps
+	 */
+	public void addSteps( final long n ) {
+		steps.add( n );
+	}
+
+	/** @return The total number of steps */
+	protected long getSteps( ) {
+		return steps.sum( );
+	}
+
+	/** @return The number of steps per second over the last sample interval */
+	protected double getStepRate( ) {
+		return steprate;
+	}
+
+	/**
+	 * Samples the step rate since the previous sample, or since the creation
+	 * of the metrics for the first sample
+	 */
+	protected synchronized void sample( ) {
+		final long now = System.nanoTime( );
+		final long count = steps.sum( );
+		steprate = now == sampletime ? 0 : (count - samplesteps) * 1e9 / (now - sampletime);
+		sampletime = now;
+		samplesteps = count;
+	}
+
+	/**
+	 * Sums the steps of all registered simulations, used to relate other
+	 * measurements to the number of simulated steps
+	 *
+	 * @return The total number of steps
+	 */
+	public static long getTotalSteps( ) {
+		long total = 0;
+		for( SimMetrics m : REGISTERED ) total += m.getSteps( );
+		return total;
+	}
+
+	/**
+	 * Resets all counters
+	 */
+	public synchronized void reset( ) {
+		steps.reset( );
+		sampletime = System.nanoTime( );
+		samplesteps = 0;
+		steprate = 0;
+	}
+
+	/**
+	 * Registers the metrics as MBean with the platform MBean server. Failure
+	 * to register, for instance because a simulation with the same name is
+	 * already registered, does not stop the simulation from being counted.
+	 *
+	 * @param metrics The metrics
+	 * @param name The name of the simulation
+	 * @return The metrics
+	 */
+	public static <T extends SimMetrics> T register( final T metrics, final String name ) {
+		REGISTERED.add( metrics );
+		startSampler( );
+		try {
+			final MBeanServer server = ManagementFactory.getPlatformMBeanServer( );
+			final ObjectName oname = new ObjectName( DOMAIN + ":type=Simulation,name=" + name );
+			if( !server.isRegistered( oname ) ) server.registerMBean( metrics, oname );
+		} catch( JMException | SecurityException e ) {
+			// metrics are still collected, just not exposed
+		}
+		return metrics;
+	}
+
+	/**
+	 * Starts the timer that samples the step rates of all registered metrics,
+	 * if it is not running yet. The timer runs on a daemon thread so that it
+	 * never blocks exit.
+	 */
+	private static synchronized void startSampler( ) {
+		if( sampler != null ) return;
+		sampler = Executors.newSingleThreadScheduledExecutor( r -> {
+			final Thread t = new Thread( r, "sim-metrics-sampler" );
+			t.setDaemon( true );
+			return t;
+		} );
+		sampler.scheduleAtFixedRate( ( ) -> {
+			for( SimMetrics m : REGISTERED ) m.sample( );
+		}, SAMPLE_INTERVAL, SAMPLE_INTERVAL, TimeUnit.MILLISECONDS );
+	}
+}
@@ -1,5 +1,6 @@
 package util.program;
 
+import util.Util;
 import util.program.exceptions.InvalidSyntaxException;
 
 /**
@@ -34,9 +35,9 @@ public class Argument {
 	 * @return The argument
 	 * @throws InvalidSyntaxException if the argument syntax is invalid
 	 */
-	public static Argument fromString( final String arg ) throws InvalidSyntaxException {
+	public static Argument fromString( final CharSequence arg ) throws InvalidSyntaxException {
 		try {
-			return new Argument( Integer.parseInt( arg ) );
+			return new Argument( Util.parseInt( arg ) );
 		} catch( Exception e ) {
 			throw new InvalidSyntaxException( "Invalid argument string '" + arg + "'" );
 		}
@@ -10,6 +10,9 @@ public class Instruction {
 		ACC
 	}
 	
+	/** Cached list of operations to match against */
+	private static final Op[] OPS = Op.values( );
+	
 	/** The operation to perform */
 	protected final Op op;
 	
@@ -40,14 +43,29 @@ public class Instruction {
 	 * @param value The integer argument value
 	 * @throws InvalidSyntaxException if the syntax is invalid
 	 */
-	public static Instruction fromString( final String operation, final String value ) throws InvalidSyntaxException {
-		try {
-			final Op op = Op.valueOf( operation.toUpperCase( ) );
-			return new Instruction( op, Argument.fromString( value ) );
-		} catch( IllegalArgumentException  e ) { 
-			/** Thrown when the enum value cannot be matched */
-			throw new InvalidSyntaxException( "Unknown operation '" + operation + "'" );
+	public static Instruction fromString( final CharSequence operation, final CharSequence value ) throws InvalidSyntaxException {
+		return new Instruction( parseOp( operation ), Argument.fromString( value ) );
+	}
+	
+	/**
+	 * Matches the operation name (case insensitive) to the operation
+	 * 
+	 * @param operation The operation as string
+	 * @return The operation
+	 * @throws InvalidSyntaxException if there is no such operation
+	 */
+	protected static Op parseOp( final CharSequence operation ) throws InvalidSyntaxException {
+		for( Op op : OPS ) {
+			final String name = op.name( );
+			if( name.length( ) != operation.length( ) ) continue;
+			
+			boolean match = true;
+			for( int i = 0; i < name.length( ) && match; i++ )
+				match = Character.toUpperCase( operation.charAt( i ) ) == name.charAt( i );
+			if( match ) return op;
 		}
+		
+		throw new InvalidSyntaxException( "Unknown operation '" + operation + "'" );
 	}
 	
 	/**
@@ -1,12 +1,19 @@
 package util.program;
 
+import java.io.DataOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-import util.io.FileReader;
+import util.io.ByteSequence;
+import util.io.InputCache;
+import util.io.ParallelParser;
+import util.io.ParallelParser.DecodeException;
+import util.io.ParallelParser.RecordType;
 import util.program.Instruction.Op;
 import util.program.ProgramLogger.LogType;
 import util.program.exceptions.InfiniteLoopException;
@@ -28,6 +35,28 @@ public class Program {
 	/** Logger */
 	protected final ProgramLogger logger;
 	
+	/** Codec to store the program in the input cache as operation codes and arguments */
+	public static final InputCache.Codec<Program> CODEC = new InputCache.Codec<Program>( ) {
+		@Override public byte getType( ) { return 4; }
+		
+		@Override public void write( final Program program, final DataOutputStream out ) throws IOException {
+			out.writeInt( program.program.size( ) );
+			for( Instruction i : program.program ) {
+				out.writeByte( i.getOperation( ).ordinal( ) );
+				out.writeInt( i.getArgument( ).getValue( ) );
+			}
+		}
+		
+		@Override public Program read( final ByteBuffer in ) {
+			final Op[] ops = Op.values( );
+			final Program program = new Program( );
+			final int size = in.getInt( );
+			for( int i = 0; i < size; i++ )
+				program.addInstruction( new Instruction( ops[ in.get( ) ], new Argument( in.getInt( ) ) ) );
+			return program;
+		}
+	};
+	
 	/**
 	 * Creates a new blank program
 	 */
@@ -188,28 +217,35 @@ public class Program {
 	 * @throws InvalidProgramException if the program definition is invalid
 	 */
 	public static Program fromFile( final String infile ) throws IOException, InvalidProgramException {
-		final FileReader f = new FileReader( infile ); 
-		final List<String> input = f.readLines( );
-
-		// construct a new program by parsing instructions per line
-		final Program program = new Program( );
-		int lineno = 0;
-		for( String line : input ) {
-			// keep track of line number for logging and error messasges
-			lineno++;
-			
-			final String[] s = line.split( " " );
+		return InputCache.load( new File( infile ), CODEC, ( ) -> {
+			// construct a new program by parsing instructions per line, in parallel
+			final Program program = new Program( );
+			final ParallelParser<Instruction> parser = new ParallelParser<>( RecordType.Line, Program::parseInstruction );
 			try {
-				// check if the line format matches the instruction format
-				if( s.length != 2 ) throw new InvalidSyntaxException( "Expected an instruction followed by argument, received '" + line + "'" );
-				
-				program.addInstruction( Instruction.fromString( s[0], s[1] ) );
-			} catch( InvalidSyntaxException e ) {
-				throw new InvalidProgramException( program, "Invalid syntax in program definition\n\n" + e.toString( ), lineno );
+				for( Instruction i : parser.parse( new File( infile ) ) )
+					program.addInstruction( i );
+			} catch( DecodeException e ) {
+				// use line number for logging and error messasges
+				throw new InvalidProgramException( program, "Invalid syntax in program definition\n\n" + e.getCause( ).toString( ), e.getRecordNumber( ) );
 			}
-		}
+			
+			return program;
+		} );
+	}
+	
+	/**
+	 * Parses a single instruction from a line of the program listing
+	 * 
+	 * @param line The line, containing an instruction followed by an argument
+	 * @return The instruction
+	 * @throws InvalidSyntaxException if the line is not a valid instruction
+	 */
+	protected static Instruction parseInstruction( final ByteSequence line ) throws InvalidSyntaxException {
+		// check if the line format matches the instruction format
+		final int sep = line.indexOf( ' ', 0 );
+		if( sep <= 0 || line.indexOf( ' ', sep + 1 ) != -1 ) throw new InvalidSyntaxException( "Expected an instruction followed by argument, received '" + line + "'" );
 		
-		return program;
+		return Instruction.fromString( line.subSequence( 0, sep ), line.subSequence( sep + 1, line.length( ) ) );
 	}
 	
 	/**
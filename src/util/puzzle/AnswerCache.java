@@ -0,0 +1,320 @@
+package util.puzzle;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * On-disk cache of puzzle answers. Every answer is stored in its own file
+ * that is named after the day, the part, the version of the solver and the
+ * SHA-256 hash of the input contents, so an answer is found again for any
+ * copy of the same input and is never used after the solver version changed.
+ * The version of the solver is derived from the class files in the package
+ * of its puzzle, so that any change to the solution of a day invalidates its
+ * answers without having to declare a new version.
+ *
+ * The cache holds a limited number of answers. A hit marks the answer as
+ * recently used by touching its file, when the cache grows beyond its
+ * capacity the least recently used answers are removed. The order of use is
+ * kept in an in-memory index that is read from the directory once, so that
+ * storing an answer never has to list the directory.
+ *
+ * @author Joris
+ */
+public class AnswerCache {
+	/** The extension of the answer files */
+	public static final String EXTENSION = ".answer";
+
+	/** The default number of answers in the cache */
+	public static final int DEFAULT_CAPACITY = 1000;
+
+	/** The directory that holds the answers */
+	protected final File dir;
+
+	/** The maximal number of answers */
+	protected final int capacity;
+
+	/** The number of cache hits */
+	protected final LongAdder hits;
+
+	/** The number of cache misses */
+	protected final LongAdder misses;
+
+	/** The names of the answer files from least to most recently used */
+	protected final LinkedHashMap<String, Boolean> index;
+
+	/** The code hashes of the puzzle classes that have been used */
+	protected static final Map<Class<?>, String> CODE_HASHES = new ConcurrentHashMap<>( );
+
+	/**
+	 * Creates a new answer cache
+	 *
+	 * @param dir The directory to store the answers in, created if it does not
+	 *   exist
+	 * @param capacity The maximal number of answers
+	 * @throws IOException if the directory could not be created
+	 */
+	public AnswerCache( final File dir, final int capacity ) throws IOException {
+		if( capacity < 1 ) throw new IllegalArgumentException( "Invalid cache capacity " + capacity );
+		if( !dir.isDirectory( ) && !dir.mkdirs( ) ) throw new IOException( "Failed to create cache directory " + dir );
+
+		this.dir = dir;
+		this.capacity = capacity;
+		this.hits = new LongAdder( );
+		this.misses = new LongAdder( );
+
+		// index the answers that are already stored, in order of their use
+		this.index = new LinkedHashMap<>( 16, 0.75f, true );
+		final File[] files = dir.listFiles( ( d, name ) -> name.endsWith( EXTENSION ) );
+		if( files != null ) {
+			Arrays.sort( files, Comparator.comparingLong( File::lastModified ) );
+			for( File f : files ) index.put( f.getName( ), Boolean.TRUE );
+		}
+		evict( );
+	}
+
+	/**
+	 * Creates the answer cache in the directory given by the system property
+	 * util.puzzle.cachedir, or aoc2020-answers in the temporary directory
+	 *
+	 * @return The answer cache
+	 * @throws IOException if the directory could not be created
+	 */
+	public static AnswerCache getDefault( ) throws IOException {
+		final String path = System.getProperty( "util.puzzle.cachedir" );
+		final File dir = path != null ? new File( path ) : new File( System.getProperty( "java.io.tmpdir" ), "aoc2020-answers" );
+		return new AnswerCache( dir, DEFAULT_CAPACITY );
+	}
+
+	/**
+	 * Computes the content hash of the input file
+	 *
+	 * @param file The input file
+	 * @return The SHA-256 hash as hexadecimal string
+	 * @throws IOException if the file could not be read
+	 */
+	public static String hash( final String file ) throws IOException {
+		final MessageDigest md = digest( );
+		try( final InputStream in = new FileInputStream( file ) ) {
+			update( md, in );
+		}
+		return toHex( md.digest( ) );
+	}
+
+	/**
+	 * Computes the hash of the code of a puzzle: the class files in the package
+	 * of the puzzle class, in order of their names. The hash is computed once
+	 * per class. If the class files cannot be listed only the puzzle class
+	 * itself is hashed.
+	 *
+	 * @param puzzle The puzzle
+	 * @return The SHA-256 hash as hexadecimal string
+	 * @throws IOException if the class files could not be read
+	 */
+	public static String codeHash( final Puzzle<?, ?> puzzle ) throws IOException {
+		final Class<?> cls = puzzle.getClass( );
+		final String cached = CODE_HASHES.get( cls );
+		if( cached != null ) return cached;
+
+		final MessageDigest md = digest( );
+		final String pkg = cls.getPackage( ).getName( ).replace( '.', '/' ) + "/";
+		final CodeSource source = cls.getProtectionDomain( ).getCodeSource( );
+		final File location;
+		try {
+			location = source != null && source.getLocation( ) != null ? new File( source.getLocation( ).toURI( ) ) : null;
+		} catch( URISyntaxException | IllegalArgumentException e ) {
+			throw new IOException( "Invalid code location of " + cls.getName( ), e );
+		}
+
+		if( location != null && location.isDirectory( ) ) {
+			final File[] files = new File( location, pkg ).listFiles( ( d, name ) -> name.endsWith( ".class" ) );
+			if( files != null ) {
+				Arrays.sort( files, Comparator.comparing( File::getName ) );
+				for( File f : files ) {
+					md.update( f.getName( ).getBytes( StandardCharsets.UTF_8 ) );
+					try( final InputStream in = new FileInputStream( f ) ) {
+						update( md, in );
+					}
+				}
+			}
+		} else if( location != null && location.isFile( ) ) {
+			try( final JarFile jar = new JarFile( location ) ) {
+				final List<JarEntry> entries = new ArrayList<>( );
+				for( final Enumeration<JarEntry> e = jar.entries( ); e.hasMoreElements( ); ) {
+					final JarEntry entry = e.nextElement( );
+					final String name = entry.getName( );
+					if( name.startsWith( pkg ) && name.endsWith( ".class" ) && name.indexOf( '/', pkg.length( ) ) < 0 ) entries.add( entry );
+				}
+				Collections.sort( entries, Comparator.comparing( JarEntry::getName ) );
+				for( JarEntry entry : entries ) {
+					md.update( entry.getName( ).substring( pkg.length( ) ).getBytes( StandardCharsets.UTF_8 ) );
+					try( final InputStream in = jar.getInputStream( entry ) ) {
+						update( md, in );
+					}
+				}
+			}
+		} else {
+			final URL url = cls.getResource( cls.getSimpleName( ) + ".class" );
+			if( url == null ) throw new IOException( "Cannot find the class file of " + cls.getName( ) );
+			try( final InputStream in = url.openStream( ) ) {
+				update( md, in );
+			}
+		}
+
+		final String hash = toHex( md.digest( ) );
+		CODE_HASHES.put( cls, hash );
+		return hash;
+	}
+
+	/**
+	 * @return A new SHA-256 message digest
+	 * @throws IOException if SHA-256 is not available
+	 */
+	private static MessageDigest digest( ) throws IOException {
+		try {
+			return MessageDigest.getInstance( "SHA-256" );
+		} catch( NoSuchAlgorithmException e ) {
+			throw new IOException( "SHA-256 is not available", e );
+		}
+	}
+
+	/**
+	 * Adds the contents of a stream to the digest
+	 *
+	 * @param md The message digest
+	 * @param in The input stream
+	 * @throws IOException if reading failed
+	 */
+	private static void update( final MessageDigest md, final InputStream in ) throws IOException {
+		final byte[] buf = new byte[ 1 << 16 ];
+		int n;
+		while( (n = in.read( buf )) > 0 ) md.update( buf, 0, n );
+	}
+
+	/**
+	 * @param digest The digest bytes
+	 * @return The digest as hexadecimal string
+	 */
+	private static String toHex( final byte[] digest ) {
+		final StringBuilder sb = new StringBuilder( digest.length * 2 );
+		for( byte b : digest ) sb.append( String.format( "%02x", b ) );
+		return sb.toString( );
+	}
+
+	/**
+	 * Looks up an answer
+	 *
+	 * @param puzzle The puzzle
+	 * @param part The part number
+	 * @param hash The content hash of the input
+	 * @return The answer, null if it is not in the cache
+	 */
+	public String get( final Puzzle<?, ?> puzzle, final int part, final String hash ) {
+		try {
+			final File f = getFile( puzzle, part, hash );
+			final String answer = new String( Files.readAllBytes( f.toPath( ) ), StandardCharsets.UTF_8 );
+			f.setLastModified( System.currentTimeMillis( ) );
+			use( f.getName( ) );
+			hits.increment( );
+			return answer;
+		} catch( IOException e ) {
+			misses.increment( );
+			return null;
+		}
+	}
+
+	/**
+	 * Stores an answer, the file is replaced atomically so that concurrent
+	 * readers never see a partial answer. Failure to store the answer is not
+	 * an error, the puzzle will simply be solved again next time.
+	 *
+	 * @param puzzle The puzzle
+	 * @param part The part number
+	 * @param hash The content hash of the input
+	 * @param answer The answer
+	 */
+	public void put( final Puzzle<?, ?> puzzle, final int part, final String hash, final String answer ) {
+		final File f;
+		File tmp = null;
+		try {
+			f = getFile( puzzle, part, hash );
+			tmp = File.createTempFile( f.getName( ), ".tmp", dir );
+			Files.write( tmp.toPath( ), answer.getBytes( StandardCharsets.UTF_8 ) );
+			Files.move( tmp.toPath( ), f.toPath( ), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+		} catch( IOException e ) {
+			if( tmp != null ) tmp.delete( );
+			return;
+		}
+		use( f.getName( ) );
+		evict( );
+	}
+
+	/**
+	 * Marks the answer as most recently used in the index, answers stored by
+	 * other caches on the same directory are added on their first use
+	 *
+	 * @param name The name of the answer file
+	 */
+	protected synchronized void use( final String name ) {
+		index.put( name, Boolean.TRUE );
+	}
+
+	/**
+	 * Removes the least recently used answers until the cache is within its
+	 * capacity
+	 */
+	protected synchronized void evict( ) {
+		for( final Iterator<String> it = index.keySet( ).iterator( ); index.size( ) > capacity; ) {
+			new File( dir, it.next( ) ).delete( );
+			it.remove( );
+		}
+	}
+
+	/**
+	 * Returns the file of an answer
+	 *
+	 * @param puzzle The puzzle
+	 * @param part The part number
+	 * @param hash The content hash of the input
+	 * @return The answer file
+	 * @throws IOException if the code of the puzzle could not be hashed
+	 */
+	protected File getFile( final Puzzle<?, ?> puzzle, final int part, final String hash ) throws IOException {
+		final String version = puzzle.getVersion( ) + "-" + codeHash( puzzle ).substring( 0, 16 );
+		return new File( dir, "day" + puzzle.getDay( ) + "-part" + part + "-v" + version + "-" + hash + EXTENSION );
+	}
+
+	/** @return The number of cache hits */
+	public long getHits( ) { return hits.sum( ); }
+
+	/** @return The number of cache misses */
+	public long getMisses( ) { return misses.sum( ); }
+
+	/** @return The number of answers in the cache */
+	public int size( ) {
+		final File[] files = dir.listFiles( ( d, name ) -> name.endsWith( EXTENSION ) );
+		return files != null ? files.length : 0;
+	}
+}
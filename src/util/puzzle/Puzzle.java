@@ -0,0 +1,93 @@
+package util.puzzle;
+
+/**
+ * The solver of a single day. Solving is split into three phases: the input
+ * file is read into its raw form, the puzzle model is built from that and
+ * finally the parts are solved on the model. Days that build their model
+ * directly from the file simply return the input in the build phase.
+ *
+ * Implementations are discovered through the ServiceLoader and therefore must
+ * have a public constructor without arguments.
+ *
+ * @author Joris
+ *
+ * @param <R> The type of the raw input
+ * @param <M> The type of the puzzle model
+ */
+public interface Puzzle<R, M> {
+	/** @return The day number of the puzzle */
+	int getDay( );
+
+	/**
+	 * Reads the input file
+	 *
+	 * @param file The path of the input file
+	 * @return The raw input
+	 * @throws Exception if the input could not be read
+	 */
+	R read( final String file ) throws Exception;
+
+	/**
+	 * Builds the puzzle model from the raw input
+	 *
+	 * @param input The raw input
+	 * @return The puzzle model
+	 * @throws Exception if the model could not be built
+	 */
+	M build( final R input ) throws Exception;
+
+	/**
+	 * Solves part 1, the model must be left in a state that allows the parts
+	 * to be solved again
+	 *
+	 * @param model The puzzle model
+	 * @return The answer
+	 * @throws Exception if the part could not be solved
+	 */
+	String part1( final M model ) throws Exception;
+
+	/**
+	 * Solves part 2, the model must be left in a state that allows the parts
+	 * to be solved again
+	 *
+	 * @param model The puzzle model
+	 * @return The answer
+	 * @throws Exception if the part could not be solved
+	 */
+	String part2( final M model ) throws Exception;
+
+	/** @return True if the puzzle has a second part */
+	default boolean hasPart2( ) { return true; }
+
+	/**
+	 * Returns a rough estimate of the time it takes to solve the puzzle on its
+	 * input, used to start the slowest puzzles first when they are run
+	 * concurrently
+	 *
+	 * @return The estimated time in ms
+	 */
+	default long getEstimatedTime( ) { return 10; }
+
+	/**
+	 * Returns the version of the solver. Cached answers are already discarded
+	 * when a class in the package of the puzzle changes, see
+	 * {@link AnswerCache#codeHash(Puzzle)}. The version only has to be
+	 * increased when a change outside that package, e.g. in the shared
+	 * utilities, may change the answers.
+	 *
+	 * @return The solver version
+	 */
+	default int getVersion( ) { return 1; }
+
+	/**
+	 * Returns the declared time complexity of a phase as the exponent of the
+	 * growth with the size of generated inputs, e.g. 1 for linear and 2 for
+	 * quadratic growth. The size is as defined by the input generator of the
+	 * day. Used to detect phases that scale worse than intended.
+	 *
+	 * @param phase The phase index, see {@link PuzzleResult#PHASES}
+	 * @return The exponent of the declared complexity, infinite if the phase
+	 *   has no polynomial bound
+	 */
+	default double getComplexity( final int phase ) { return 1; }
+}
@@ -0,0 +1,104 @@
+package util.puzzle;
+
+/**
+ * The timings and answers of the measured runs of a puzzle
+ *
+ * @author Joris
+ */
+public class PuzzleResult {
+	/** The names of the phases */
+	public static final String[] PHASES = { "read", "build", "part 1", "part 2" };
+
+	/** The day number */
+	protected final int day;
+
+	/** The total time spent in every phase in nanoseconds */
+	protected final long[] nanos;
+
+	/** The number of measured runs */
+	protected int runs;
+
+	/** The answers of the last run */
+	protected final String[] answers;
+
+	/** The expected answers, null if not known */
+	protected final String[] expected;
+
+	/**
+	 * Creates a new result
+	 *
+	 * @param day The day number
+	 * @param expected The expected answers, null if they are not known
+	 */
+	public PuzzleResult( final int day, final String[] expected ) {
+		this.day = day;
+		this.nanos = new long[ PHASES.length ];
+		this.runs = 0;
+		this.answers = new String[ 2 ];
+		this.expected = expected;
+	}
+
+	/**
+	 * Adds the timings of a single run
+	 *
+	 * @param times The time of every phase in nanoseconds
+	 * @param answer1 The answer to part 1
+	 * @param answer2 The answer to part 2, null if there is no part 2
+	 */
+	public void add( final long[] times, final String answer1, final String answer2 ) {
+		for( int i = 0; i < nanos.length; i++ ) nanos[i] += times[i];
+		answers[0] = answer1;
+		answers[1] = answer2;
+		runs++;
+	}
+
+	/**
+	 * Returns the average time of a phase
+	 *
+	 * @param phase The phase index
+	 * @return The average time in ms
+	 */
+	public double getTime( final int phase ) {
+		return runs == 0 ? 0 : nanos[phase] / 1e6 / runs;
+	}
+
+	/**
+	 * Checks the answer of a part against the expected answer
+	 *
+	 * @param part The part number
+	 * @return True if the answer is correct, false if it is wrong, null if
+	 *   the expected answer is not known
+	 */
+	public Boolean isCorrect( final int part ) {
+		if( expected == null || expected[part - 1] == null ) return null;
+		return expected[part - 1].equals( answers[part - 1] );
+	}
+
+	/** @return True if none of the answers is known to be wrong */
+	public boolean isValid( ) {
+		return !Boolean.FALSE.equals( isCorrect( 1 ) ) && !Boolean.FALSE.equals( isCorrect( 2 ) );
+	}
+
+	/** @return The header line of the table of results */
+	public static String header( ) {
+		return String.format( "%-4s %10s %10s %10s %10s  %s", "Day", "read ms", "build ms", "part 1 ms", "part 2 ms", "answers" );
+	}
+
+	/** @return The answers of the last run, annotated with their correctness */
+	public String getAnswers( ) {
+		final StringBuilder sb = new StringBuilder( );
+		for( int part = 1; part <= 2; part++ ) {
+			if( answers[part - 1] == null ) continue;
+			final Boolean ok = isCorrect( part );
+			if( sb.length( ) > 0 ) sb.append( ' ' );
+			sb.append( answers[part - 1] );
+			sb.append( ok == null ? " (?)" : ok ? " (ok)" : " (WRONG, expected " + expected[part - 1] + ")" );
+		}
+		return sb.toString( );
+	}
+
+	@Override
+	public String toString( ) {
+		return String.format( "%-4d %10.3f %10.3f %10.3f %10.3f  %s", day, getTime( 0 ), getTime( 1 ), getTime( 2 ), getTime( 3 ), getAnswers( ) );
+	}
+}
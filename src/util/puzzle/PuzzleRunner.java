@@ -0,0 +1,329 @@
+package util.puzzle;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import util.Util;
+import util.exec.ExecutionControl;
+import util.exec.ExecutionStoppedException;
+
+/**
+ * Runs puzzles through all their phases. Every puzzle is first run a number
+ * of times to warm up the JIT compiler, after which the read, build and solve
+ * phases are timed separately over a number of measured runs. The answers of
+ * the measured runs are checked against the expected answers of the puzzle.
+ *
+ * Output of the solutions is suppressed while running.
+ *
+ * When an answer cache is set, every run first looks up the answers by the
+ * content hash of the input. If all answers are found the puzzle is neither
+ * read nor solved and the lookup time is reported as read time, otherwise
+ * the puzzle is solved and its answers are stored in the cache.
+ *
+ * The simulations of a puzzle run under an execution control, so that a
+ * puzzle can be given a time budget for all its runs. Puzzles that do not
+ * simulate are not affected by the time budget.
+ *
+ * @author Joris
+ */
+public class PuzzleRunner {
+	/** The number of warmup runs */
+	protected int warmups = 5;
+
+	/** The number of measured runs */
+	protected int runs = 10;
+
+	/** The answer cache, null to always solve */
+	protected AnswerCache cache = null;
+
+	/** The time budget per puzzle in ms, 0 for none */
+	protected long budget = 0;
+
+	/**
+	 * Sets the number of runs
+	 *
+	 * @param warmups The number of warmup runs
+	 * @param runs The number of measured runs
+	 */
+	public void setRuns( final int warmups, final int runs ) {
+		if( warmups < 0 || runs < 1 ) throw new IllegalArgumentException( "Invalid number of runs" );
+		this.warmups = warmups;
+		this.runs = runs;
+	}
+
+	/**
+	 * Sets the answer cache
+	 *
+	 * @param cache The answer cache, null to disable caching
+	 */
+	public void setCache( final AnswerCache cache ) {
+		this.cache = cache;
+	}
+
+	/** @return The answer cache, null if there is none */
+	public AnswerCache getCache( ) {
+		return cache;
+	}
+
+	/**
+	 * Sets the time budget of every puzzle, covering all its runs
+	 *
+	 * @param ms The time budget in ms, 0 for none
+	 */
+	public void setTimeBudget( final long ms ) {
+		if( ms < 0 ) throw new IllegalArgumentException( "Invalid time budget " + ms );
+		this.budget = ms;
+	}
+
+	/** @return The time budget of every puzzle in ms, 0 for none */
+	public long getTimeBudget( ) {
+		return budget;
+	}
+
+	/**
+	 * Runs the puzzle on its input
+	 *
+	 * @param puzzle The puzzle to run
+	 * @return The timings and answers
+	 * @throws ExecutionStoppedException if the time budget was exceeded
+	 * @throws Exception if the puzzle failed
+	 */
+	public PuzzleResult run( final Puzzle<?, ?> puzzle ) throws Exception {
+		final ExecutionControl control = new ExecutionControl( );
+		if( budget > 0 ) control.setTimeBudget( budget, TimeUnit.MILLISECONDS );
+		return run( puzzle, control );
+	}
+
+	/**
+	 * Runs the puzzle on its input under the given execution control
+	 *
+	 * @param puzzle The puzzle to run
+	 * @param control The execution control of its simulations
+	 * @return The timings and answers
+	 * @throws ExecutionStoppedException if the control stopped the puzzle
+	 * @throws Exception if the puzzle failed
+	 */
+	public PuzzleResult run( final Puzzle<?, ?> puzzle, final ExecutionControl control ) throws Exception {
+		final PrintStream stdout = System.out, stderr = System.err;
+		final PrintStream silent = Util.nullStream( );
+		System.setOut( silent );
+		System.setErr( silent );
+		ExecutionControl.setCurrent( control );
+		try {
+			return solve( puzzle );
+		} finally {
+			ExecutionControl.setCurrent( null );
+			System.setOut( stdout );
+			System.setErr( stderr );
+		}
+	}
+
+	/**
+	 * Runs all puzzles concurrently on a fork/join pool, one task per puzzle.
+	 * The puzzles with the highest estimated time are started first so that
+	 * the total time is bounded by the slowest puzzle, rather than by a slow
+	 * puzzle that is started last.
+	 *
+	 * @param puzzles The puzzles to run
+	 * @param threads The number of threads in the pool
+	 * @return The completed tasks, in the order they were started
+	 */
+	public List<PuzzleTask> runConcurrent( final List<Puzzle<?, ?>> puzzles, final int threads ) {
+		final List<Puzzle<?, ?>> sorted = new ArrayList<>( puzzles );
+		sorted.sort( Comparator.comparingLong( ( Puzzle<?, ?> p ) -> p.getEstimatedTime( ) ).reversed( ) );
+
+		final PrintStream stdout = System.out, stderr = System.err;
+		final PrintStream silent = Util.nullStream( );
+		System.setOut( silent );
+		System.setErr( silent );
+		final ForkJoinPool pool = new ForkJoinPool( threads );
+		try {
+			final List<PuzzleTask> tasks = new ArrayList<>( sorted.size( ) );
+			for( Puzzle<?, ?> p : sorted ) {
+				final PuzzleTask task = new PuzzleTask( this, p );
+				pool.execute( task );
+				tasks.add( task );
+			}
+			for( PuzzleTask t : tasks ) t.join( );
+			return tasks;
+		} finally {
+			pool.shutdown( );
+			System.setOut( stdout );
+			System.setErr( stderr );
+		}
+	}
+
+	/**
+	 * Performs the warmup and measured runs of the puzzle on its input without
+	 * suppressing its output
+	 *
+	 * @param puzzle The puzzle to run
+	 * @return The timings and answers
+	 * @throws Exception if the puzzle failed
+	 */
+	protected PuzzleResult solve( final Puzzle<?, ?> puzzle ) throws Exception {
+		final PuzzleResult result = new PuzzleResult( puzzle.getDay( ), Puzzles.getAnswers( puzzle ) );
+		final String file = Puzzles.getInput( puzzle );
+
+		for( int i = 0; i < warmups; i++ ) run( puzzle, file, null );
+		for( int i = 0; i < runs; i++ ) run( puzzle, file, result );
+		return result;
+	}
+
+	/**
+	 * Performs a single run of all phases
+	 *
+	 * @param puzzle The puzzle
+	 * @param file The input file
+	 * @param result The result to add the timings to, null for warmup runs
+	 * @throws Exception if the puzzle failed
+	 */
+	protected <R, M> void run( final Puzzle<R, M> puzzle, final String file, final PuzzleResult result ) throws Exception {
+		final long[] times = new long[ PuzzleResult.PHASES.length ];
+
+		long start = System.nanoTime( );
+		String hash = null;
+		if( cache != null ) {
+			hash = AnswerCache.hash( file );
+			final String cached1 = cache.get( puzzle, 1, hash );
+			final String cached2 = cached1 != null && puzzle.hasPart2( ) ? cache.get( puzzle, 2, hash ) : null;
+			if( cached1 != null && (cached2 != null || !puzzle.hasPart2( )) ) {
+				times[0] = System.nanoTime( ) - start;
+				if( result != null ) result.add( times, cached1, cached2 );
+				return;
+			}
+		}
+
+		final R input = puzzle.read( file );
+		times[0] = System.nanoTime( ) - start;
+
+		start = System.nanoTime( );
+		final M model = puzzle.build( input );
+		times[1] = System.nanoTime( ) - start;
+
+		start = System.nanoTime( );
+		final String answer1 = puzzle.part1( model );
+		times[2] = System.nanoTime( ) - start;
+
+		String answer2 = null;
+		if( puzzle.hasPart2( ) ) {
+			start = System.nanoTime( );
+			answer2 = puzzle.part2( model );
+			times[3] = System.nanoTime( ) - start;
+		}
+
+		if( hash != null ) {
+			cache.put( puzzle, 1, hash, answer1 );
+			if( answer2 != null ) cache.put( puzzle, 2, hash, answer2 );
+		}
+
+		if( result != null ) result.add( times, answer1, answer2 );
+	}
+
+	/**
+	 * Runs the puzzles from the command line and reports their timings
+	 *
+	 * Usage: PuzzleRunner [-w warmups] [-n runs] [-p threads] [-t ms] [-c] [days...]
+	 *
+	 * All puzzles are run if no days are given. With -c answers are looked up
+	 * in and stored to the default answer cache, see
+	 * {@link AnswerCache#getDefault()}, and the cache hits and misses are
+	 * reported afterwards. With -p the puzzles are run concurrently on the
+	 * given number of threads, 0 to use all processors, after which the wall
+	 * clock time and worker thread CPU time of every puzzle and the critical
+	 * path are reported. With -t the simulations of every puzzle are stopped
+	 * when they exceed the time budget. The exit code is 1 if any of the
+	 * answers is wrong or a puzzle was stopped.
+	 *
+	 * @param args The command line arguments
+	 * @throws Exception if a puzzle failed
+	 */
+	public static void main( final String[] args ) throws Exception {
+		final PuzzleRunner runner = new PuzzleRunner( );
+		int warmups = runner.warmups, runs = runner.runs;
+		int threads = -1;
+		final List<Integer> days = new ArrayList<>( );
+
+		for( int i = 0; i < args.length; i++ ) {
+			switch( args[i] ) {
+				case "-w": warmups = Integer.parseInt( args[++i] ); break;
+				case "-n": runs = Integer.parseInt( args[++i] ); break;
+				case "-p": threads = Integer.parseInt( args[++i] ); break;
+				case "-t": runner.setTimeBudget( Long.parseLong( args[++i] ) ); break;
+				case "-c": runner.setCache( AnswerCache.getDefault( ) ); break;
+				default: days.add( Integer.parseInt( args[i] ) );
+			}
+		}
+		runner.setRuns( warmups, runs );
+
+		final List<Puzzle<?, ?>> puzzles = new ArrayList<>( );
+		if( days.isEmpty( ) ) puzzles.addAll( Puzzles.load( ) );
+		else for( int d : days ) puzzles.add( Puzzles.forDay( d ) );
+
+		final boolean valid;
+		if( threads >= 0 ) {
+			valid = reportConcurrent( runner, puzzles, threads > 0 ? threads : Runtime.getRuntime( ).availableProcessors( ) );
+		} else {
+			boolean ok = true;
+			System.out.println( PuzzleResult.header( ) );
+			for( Puzzle<?, ?> p : puzzles ) {
+				try {
+					final PuzzleResult r = runner.run( p );
+					ok &= r.isValid( );
+					System.out.println( r );
+				} catch( ExecutionStoppedException e ) {
+					ok = false;
+					System.out.println( String.format( "%-4d STOPPED: %s", p.getDay( ), e.getMessage( ) ) );
+				}
+			}
+			valid = ok;
+		}
+
+		final AnswerCache cache = runner.getCache( );
+		if( cache != null ) {
+			System.out.println( );
+			System.out.println( String.format( "Answer cache  : %d hit(s), %d miss(es), %d answer(s) stored", cache.getHits( ), cache.getMisses( ), cache.size( ) ) );
+		}
+		if( !valid ) System.exit( 1 );
+	}
+
+	/**
+	 * Runs the puzzles concurrently and reports the time per task and the
+	 * critical path, i.e. the slowest task that bounds the total time
+	 *
+	 * @param runner The puzzle runner
+	 * @param puzzles The puzzles to run
+	 * @param threads The number of threads
+	 * @return True if all puzzles completed with valid answers
+	 */
+	protected static boolean reportConcurrent( final PuzzleRunner runner, final List<Puzzle<?, ?>> puzzles, final int threads ) {
+		final long start = System.nanoTime( );
+		final List<PuzzleTask> tasks = runner.runConcurrent( puzzles, threads );
+		final long elapsed = System.nanoTime( ) - start;
+
+		boolean valid = true;
+		long wall = 0, cpu = 0;
+		PuzzleTask critical = null;
+		System.out.println( PuzzleTask.header( ) );
+		for( PuzzleTask t : tasks ) {
+			System.out.println( t );
+			valid &= t.getError( ) == null && t.getResult( ).isValid( );
+			wall += t.getWallTime( );
+			cpu += t.getCpuTime( ) < 0 ? 0 : t.getCpuTime( );
+			if( critical == null || t.getWallTime( ) > critical.getWallTime( ) ) critical = t;
+		}
+
+		if( critical == null ) return valid;
+
+		System.out.println( );
+		System.out.println( String.format( "Elapsed time  : %10.1f ms on %d thread(s)", elapsed / 1e6, threads ) );
+		System.out.println( String.format( "Critical path : %10.1f ms (day %d)", critical.getWallTime( ) / 1e6, critical.getPuzzle( ).getDay( ) ) );
+		System.out.println( String.format( "Total wall    : %10.1f ms (concurrency %.2fx)", wall / 1e6, (double)wall / elapsed ) );
+		System.out.println( String.format( "Worker CPU    : %10.1f ms (excludes parallel parsing)", cpu / 1e6 ) );
+		return valid;
+	}
+}
@@ -0,0 +1,107 @@
+package util.puzzle;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+import util.exec.ExecutionControl;
+
+/**
+ * Task that runs a single puzzle in a fork/join pool and records the wall
+ * clock and CPU time of the worker thread that ran it. Work that the puzzle
+ * hands off to other threads, such as the chunks of a {@link util.io.ParallelParser}
+ * in the common pool, is not included in the CPU time. The simulations of the
+ * puzzle run under the execution control of the task, through which the task
+ * can be cancelled or paused while it runs.
+ *
+ * @author Joris
+ */
+@SuppressWarnings( "serial" )
+public class PuzzleTask extends RecursiveAction {
+	/** The runner that performs the puzzle runs */
+	protected final PuzzleRunner runner;
+
+	/** The puzzle to run */
+	protected final Puzzle<?, ?> puzzle;
+
+	/** The execution control of the puzzle simulations */
+	protected final ExecutionControl control;
+
+	/** The result of the puzzle, null if it has not completed successfully */
+	protected PuzzleResult result;
+
+	/** The exception that made the puzzle fail, null if it did not fail */
+	protected Exception error;
+
+	/** The wall clock time of the task in nanoseconds */
+	protected long wall;
+
+	/** The CPU time of the worker thread in nanoseconds, -1 if not supported */
+	protected long cpu;
+
+	/** The name of the thread that ran the task */
+	protected String thread;
+
+	/**
+	 * Creates a new puzzle task
+	 *
+	 * @param runner The runner to perform the runs
+	 * @param puzzle The puzzle to run
+	 */
+	public PuzzleTask( final PuzzleRunner runner, final Puzzle<?, ?> puzzle ) {
+		this.runner = runner;
+		this.puzzle = puzzle;
+		this.control = new ExecutionControl( );
+	}
+
+	@Override
+	protected void compute( ) {
+		final ThreadMXBean tmx = ManagementFactory.getThreadMXBean( );
+		final boolean cputime = tmx.isCurrentThreadCpuTimeSupported( ) && tmx.isThreadCpuTimeEnabled( );
+		thread = Thread.currentThread( ).getName( );
+
+		final long cpu0 = cputime ? tmx.getCurrentThreadCpuTime( ) : -1;
+		final long start = System.nanoTime( );
+		if( runner.getTimeBudget( ) > 0 ) control.setTimeBudget( runner.getTimeBudget( ), TimeUnit.MILLISECONDS );
+		ExecutionControl.setCurrent( control );
+		try {
+			result = runner.solve( puzzle );
+		} catch( Exception e ) {
+			error = e;
+		} finally {
+			ExecutionControl.setCurrent( null );
+		}
+		wall = System.nanoTime( ) - start;
+		cpu = cputime ? tmx.getCurrentThreadCpuTime( ) - cpu0 : -1;
+	}
+
+	/** @return The puzzle of this task */
+	public Puzzle<?, ?> getPuzzle( ) { return puzzle; }
+
+	/** @return The execution control of the puzzle simulations */
+	public ExecutionControl getControl( ) { return control; }
+
+	/** @return The exception that made the puzzle fail, null if it did not fail */
+	public Exception getError( ) { return error; }
+
+	/** @return The result of the puzzle, null if it failed */
+	public PuzzleResult getResult( ) { return result; }
+
+	/** @return The wall clock time of the task in nanoseconds */
+	public long getWallTime( ) { return wall; }
+
+	/** @return The CPU time of the worker thread in nanoseconds, -1 if not supported */
+	public long getCpuTime( ) { return cpu; }
+
+	/** @return The header line of the table of tasks */
+	public static String header( ) {
+		return String.format( "%-4s %10s %13s  %-28s %s", "Day", "wall ms", "worker CPU ms", "thread", "answers" );
+	}
+
+	@Override
+	public String toString( ) {
+		final String answers = error != null ? "FAILED: " + error : result.getAnswers( );
+		return String.format( "%-4d %10.1f %13.1f  %-28s %s", puzzle.getDay( ), wall / 1e6, cpu < 0 ? -1 : cpu / 1e6, thread, answers );
+	}
+}
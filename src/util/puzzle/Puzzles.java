@@ -0,0 +1,78 @@
+package util.puzzle;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Discovers the available puzzles and their resources
+ *
+ * @author Joris
+ */
+public class Puzzles {
+	/**
+	 * Loads all puzzles that are registered as service
+	 *
+	 * @return The puzzles, ordered by day
+	 */
+	public static List<Puzzle<?, ?>> load( ) {
+		final List<Puzzle<?, ?>> puzzles = new ArrayList<>( 25 );
+		for( Puzzle<?, ?> p : ServiceLoader.load( Puzzle.class ) ) puzzles.add( p );
+		puzzles.sort( Comparator.comparingInt( Puzzle::getDay ) );
+		return puzzles;
+	}
+
+	/**
+	 * Finds the puzzle of a day
+	 *
+	 * @param day The day number
+	 * @return The puzzle
+	 * @throws IllegalArgumentException if there is no puzzle for the day
+	 */
+	public static Puzzle<?, ?> forDay( final int day ) {
+		for( Puzzle<?, ?> p : ServiceLoader.load( Puzzle.class ) )
+			if( p.getDay( ) == day ) return p;
+		throw new IllegalArgumentException( "No puzzle for day " + day );
+	}
+
+	/**
+	 * Returns the path of the puzzle input
+	 *
+	 * @param puzzle The puzzle
+	 * @return The path of the input file
+	 * @throws IOException if the puzzle has no input
+	 */
+	public static String getInput( final Puzzle<?, ?> puzzle ) throws IOException {
+		final URL url = puzzle.getClass( ).getResource( "day" + puzzle.getDay( ) + "_input.txt" );
+		if( url == null ) throw new IOException( "No puzzle input found for day " + puzzle.getDay( ) );
+		return url.getFile( );
+	}
+
+	/**
+	 * Reads the expected answers of the puzzle, one per line
+	 *
+	 * @param puzzle The puzzle
+	 * @return The expected answers of both parts, null if they are not known
+	 * @throws IOException if the answers could not be read
+	 */
+	public static String[] getAnswers( final Puzzle<?, ?> puzzle ) throws IOException {
+		final InputStream in = puzzle.getClass( ).getResourceAsStream( "day" + puzzle.getDay( ) + "_answers.txt" );
+		if( in == null ) return null;
+
+		final String[] answers = new String[ 2 ];
+		try( final BufferedReader r = new BufferedReader( new InputStreamReader( in, StandardCharsets.UTF_8 ) ) ) {
+			for( int i = 0; i < answers.length; i++ ) {
+				final String line = r.readLine( );
+				answers[i] = line != null && !line.trim( ).isEmpty( ) ? line.trim( ) : null;
+			}
+		}
+		return answers;
+	}
+}
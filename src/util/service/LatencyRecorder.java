@@ -0,0 +1,121 @@
+package util.service;
+
+import java.util.Arrays;
+
+/**
+ * Records the latencies of the requests to a single endpoint of the
+ * {@link SolveService}. The most recent latencies are kept in a ring buffer
+ * of fixed size, from which percentiles are computed on demand. Recording is
+ * therefore cheap and the percentiles follow the current load rather than
+ * the whole lifetime of the service. The request counts cover the lifetime.
+ *
+ * @author Joris
+ */
+public class LatencyRecorder {
+	/** The default number of latencies that are kept */
+	public static final int DEFAULT_WINDOW = 4096;
+
+	/** The ring buffer of the most recent latencies in ns */
+	protected final long[] window;
+
+	/** The index in the ring buffer of the next latency */
+	protected int next;
+
+	/** The number of requests that were served */
+	protected long count;
+
+	/** The number of requests that were rejected */
+	protected long rejected;
+
+	/** The largest latency so far in ns */
+	protected long max;
+
+	/**
+	 * Creates a new recorder that keeps the default number of latencies
+	 */
+	public LatencyRecorder( ) {
+		this( DEFAULT_WINDOW );
+	}
+
+	/**
+	 * Creates a new recorder
+	 *
+	 * @param size The number of most recent latencies to keep
+	 */
+	public LatencyRecorder( final int size ) {
+		if( size < 1 ) throw new IllegalArgumentException( "Invalid window size " + size );
+		this.window = new long[ size ];
+		this.next = 0;
+		this.count = 0;
+		this.rejected = 0;
+		this.max = 0;
+	}
+
+	/**
+	 * Records the latency of a served request
+	 *
+	 * @param nanos The latency in ns
+	 */
+	public synchronized void record( final long nanos ) {
+		window[next] = nanos;
+		next = (next + 1) % window.length;
+		count++;
+		max = Math.max( max, nanos );
+	}
+
+	/**
+	 * Records a request that was rejected without being served
+	 */
+	public synchronized void reject( ) {
+		rejected++;
+	}
+
+	/** @return The number of requests that were served */
+	public synchronized long getCount( ) { return count; }
+
+	/** @return The number of requests that were rejected */
+	public synchronized long getRejected( ) { return rejected; }
+
+	/** @return The largest latency so far in ns */
+	public synchronized long getMax( ) { return max; }
+
+	/**
+	 * Computes percentiles of the most recent latencies using the nearest
+	 * rank
+	 *
+	 * @param percentiles The percentiles to compute, between 0 and 100
+	 * @return The latency in ns per percentile, all 0 if nothing was recorded
+	 */
+	public long[] getPercentiles( final double... percentiles ) {
+		final long[] recent;
+		synchronized( this ) {
+			recent = Arrays.copyOf( window, (int)Math.min( count, window.length ) );
+		}
+		Arrays.sort( recent );
+
+		final long[] result = new long[ percentiles.length ];
+		if( recent.length == 0 ) return result;
+		for( int i = 0; i < percentiles.length; i++ ) {
+			final int rank = (int)Math.ceil( percentiles[i] / 100 * recent.length );
+			result[i] = recent[ Math.max( 0, Math.min( recent.length - 1, rank - 1 ) ) ];
+		}
+		return result;
+	}
+
+	/** @return The header line of the table of endpoints */
+	public static String header( ) {
+		return String.format( "%-16s %8s %8s %9s %9s %9s %9s", "Endpoint", "served", "rejected", "p50 ms", "p90 ms", "p99 ms", "max ms" );
+	}
+
+	/**
+	 * Describes the latencies of the endpoint as a line of the table of
+	 * endpoints
+	 *
+	 * @param endpoint The endpoint
+	 * @return The description
+	 */
+	public String toString( final String endpoint ) {
+		final long[] p = getPercentiles( 50, 90, 99 );
+		return String.format( "%-16s %8d %8d %9.3f %9.3f %9.3f %9.3f", endpoint, getCount( ), getRejected( ), p[0] / 1e6, p[1] / 1e6, p[2] / 1e6, getMax( ) / 1e6 );
+	}
+}
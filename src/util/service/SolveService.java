@@ -0,0 +1,430 @@
+package util.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import util.Util;
+import util.exec.ExecutionControl;
+import util.exec.ExecutionStoppedException;
+import util.puzzle.AnswerCache;
+import util.puzzle.Puzzle;
+import util.puzzle.PuzzleRunner;
+import util.puzzle.Puzzles;
+
+/**
+ * Local HTTP service that solves puzzles in one long-lived JVM, so that
+ * other tools do not pay a JVM start and a cold JIT compiler per call.
+ *
+ * POST /day/{n}/part/{p} solves the part of the day on the puzzle input in
+ * the request body and responds with the answer. GET /stats reports the
+ * number of served and rejected requests and the latency percentiles per
+ * endpoint, measured from the arrival of the request until its response.
+ *
+ * Request bodies are read on a small pool of I/O threads, after which the
+ * solve is handed to a fixed pool of solver threads with a bounded admission
+ * queue. A request that finds the queue full is rejected immediately with
+ * 503, so that an overloaded service answers quickly instead of building up
+ * an ever growing backlog. The solver threads respond themselves, no thread
+ * is blocked waiting for another.
+ *
+ * The solvers are warmed up on their own inputs before the service starts
+ * listening. The simulations of every request run under an execution
+ * control with the optional time budget of the service. The standard output
+ * and error streams of the JVM are replaced by null streams while the
+ * service runs, to suppress the output of the solvers, and restored when it
+ * is stopped.
+ *
+ * @author Joris
+ */
+public class SolveService {
+	/** The default port */
+	public static final int DEFAULT_PORT = 2020;
+
+	/** The maximal size of a puzzle input in bytes */
+	public static final long MAX_INPUT = 64 << 20;
+
+	/** The path of a solve request */
+	protected static final Pattern SOLVE = Pattern.compile( "/day/(\\d{1,9})/part/(\\d{1,9})" );
+
+	/** The puzzles by day */
+	protected final Map<Integer, Puzzle<?, ?>> puzzles;
+
+	/** The solver threads with the admission queue */
+	protected final ThreadPoolExecutor solvers;
+
+	/** The threads that read the requests */
+	protected final ExecutorService io;
+
+	/** The latencies per endpoint, ordered by endpoint */
+	protected final Map<String, LatencyRecorder> latencies;
+
+	/** The answer cache, null to always solve */
+	protected AnswerCache cache = null;
+
+	/** The time budget per request in ms, 0 for none */
+	protected long budget = 0;
+
+	/** The HTTP server, null if the service is not running */
+	protected HttpServer server = null;
+
+	/** The stream to log to, the standard output from before the service started */
+	protected PrintStream log = System.out;
+
+	/** The standard error from before the service started, null if it is not running */
+	protected PrintStream err = null;
+
+	/**
+	 * Creates a new solve service
+	 *
+	 * @param threads The number of solver threads
+	 * @param queue The capacity of the admission queue
+	 */
+	public SolveService( final int threads, final int queue ) {
+		if( threads < 1 || queue < 1 ) throw new IllegalArgumentException( "Invalid service settings" );
+
+		puzzles = new HashMap<>( );
+		for( Puzzle<?, ?> p : Puzzles.load( ) ) puzzles.put( p.getDay( ), p );
+
+		solvers = new ThreadPoolExecutor( threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>( queue ), threads( "solver" ) );
+		io = Executors.newFixedThreadPool( Math.max( 2, threads / 2 ), threads( "io" ) );
+		latencies = new ConcurrentSkipListMap<>( );
+	}
+
+	/**
+	 * Sets the answer cache
+	 *
+	 * @param cache The answer cache, null to disable caching
+	 */
+	public void setCache( final AnswerCache cache ) {
+		this.cache = cache;
+	}
+
+	/**
+	 * Sets the time budget of every request, starting when its solve starts
+	 *
+	 * @param ms The time budget in ms, 0 for none
+	 */
+	public void setTimeBudget( final long ms ) {
+		if( ms < 0 ) throw new IllegalArgumentException( "Invalid time budget " + ms );
+		this.budget = ms;
+	}
+
+	/**
+	 * Warms up the solvers by running them on their own inputs. Days that
+	 * are expected to take more than a second are skipped, as they spend
+	 * their time in a loop that is compiled during the first request.
+	 *
+	 * @param runs The number of runs per puzzle
+	 */
+	public void warmup( final int runs ) {
+		if( runs < 1 ) return;
+		final PuzzleRunner runner = new PuzzleRunner( );
+		runner.setRuns( 0, runs );
+		runner.setTimeBudget( budget );
+		for( Puzzle<?, ?> p : puzzles.values( ) ) {
+			if( p.getEstimatedTime( ) > 1000 ) continue;
+			try {
+				runner.run( p );
+			} catch( Exception e ) {
+				log.println( "Warmup of day " + p.getDay( ) + " failed: " + e );
+			}
+		}
+	}
+
+	/**
+	 * Starts listening on the loopback address
+	 *
+	 * @param port The port, 0 for any free port
+	 * @throws IOException if the server could not be started
+	 */
+	public synchronized void start( final int port ) throws IOException {
+		if( server != null ) throw new IllegalStateException( "Service is already running" );
+
+		server = HttpServer.create( new InetSocketAddress( InetAddress.getLoopbackAddress( ), port ), 0 );
+		server.createContext( "/day/", this::handleSolve );
+		server.createContext( "/stats", this::handleStats );
+		server.setExecutor( io );
+
+		// silence the solvers, the original streams are restored on stop
+		log = System.out;
+		err = System.err;
+		System.setOut( Util.nullStream( ) );
+		System.setErr( Util.nullStream( ) );
+		server.start( );
+	}
+
+	/**
+	 * Stops the service, requests that are being solved are completed first
+	 *
+	 * @param delay The maximal time to wait for running requests in seconds
+	 */
+	public synchronized void stop( final int delay ) {
+		if( server == null ) return;
+		server.stop( delay );
+		solvers.shutdown( );
+		io.shutdown( );
+		server = null;
+		System.setOut( log );
+		System.setErr( err );
+		err = null;
+	}
+
+	/** @return The port the service listens on */
+	public synchronized int getPort( ) {
+		if( server == null ) throw new IllegalStateException( "Service is not running" );
+		return server.getAddress( ).getPort( );
+	}
+
+	/**
+	 * Handles a solve request: reads the input and hands the solve to the
+	 * solver threads, or rejects it if the admission queue is full
+	 *
+	 * @param exchange The request
+	 * @throws IOException if the request could not be read or answered
+	 */
+	protected void handleSolve( final HttpExchange exchange ) throws IOException {
+		final long start = System.nanoTime( );
+		final Matcher m = SOLVE.matcher( exchange.getRequestURI( ).getPath( ) );
+		if( !m.matches( ) ) {
+			respond( exchange, 404, "Unknown endpoint, use /day/{n}/part/{p}" );
+			return;
+		}
+		if( !exchange.getRequestMethod( ).equals( "POST" ) ) {
+			exchange.getResponseHeaders( ).set( "Allow", "POST" );
+			respond( exchange, 405, "Use POST with the puzzle input as body" );
+			return;
+		}
+
+		final Puzzle<?, ?> puzzle = puzzles.get( Integer.parseInt( m.group( 1 ) ) );
+		final int part = Integer.parseInt( m.group( 2 ) );
+		if( puzzle == null || part < 1 || part > (puzzle.hasPart2( ) ? 2 : 1) ) {
+			respond( exchange, 404, "No solver for day " + m.group( 1 ) + " part " + m.group( 2 ) );
+			return;
+		}
+
+		final Path file = readInput( exchange );
+		if( file == null ) {
+			respond( exchange, 413, "Input exceeds " + MAX_INPUT + " bytes" );
+			return;
+		}
+
+		final String endpoint = "/day/" + puzzle.getDay( ) + "/part/" + part;
+		final LatencyRecorder recorder = latencies.computeIfAbsent( endpoint, e -> new LatencyRecorder( ) );
+		try {
+			solvers.execute( ( ) -> complete( exchange, puzzle, part, file, recorder, start ) );
+		} catch( RejectedExecutionException e ) {
+			Files.deleteIfExists( file );
+			recorder.reject( );
+			exchange.getResponseHeaders( ).set( "Retry-After", "1" );
+			respond( exchange, 503, "Too many requests queued" );
+		}
+	}
+
+	/**
+	 * Solves a request on a solver thread and responds with the answer
+	 *
+	 * @param exchange The request
+	 * @param puzzle The puzzle
+	 * @param part The part to solve
+	 * @param file The input file, deleted afterwards
+	 * @param recorder The latencies of the endpoint
+	 * @param start The arrival time of the request
+	 */
+	protected void complete( final HttpExchange exchange, final Puzzle<?, ?> puzzle, final int part, final Path file, final LatencyRecorder recorder, final long start ) {
+		final ExecutionControl control = new ExecutionControl( );
+		if( budget > 0 ) control.setTimeBudget( budget, TimeUnit.MILLISECONDS );
+		ExecutionControl.setCurrent( control );
+		try {
+			int code = 200;
+			String body;
+			try {
+				body = solve( puzzle, part, file.toString( ) );
+			} catch( ExecutionStoppedException e ) {
+				code = 503;
+				body = "Stopped: " + e.getMessage( );
+			} catch( Exception e ) {
+				code = 500;
+				body = "Failed: " + e;
+			}
+			respond( exchange, code, body );
+			recorder.record( System.nanoTime( ) - start );
+		} catch( IOException e ) {
+			// the client has gone, nothing left to respond to
+		} finally {
+			ExecutionControl.setCurrent( null );
+			try {
+				Files.deleteIfExists( file );
+			} catch( IOException e ) {
+				// left for the temporary directory cleanup
+			}
+		}
+	}
+
+	/**
+	 * Solves a part of the puzzle, using the answer cache if there is one
+	 *
+	 * @param puzzle The puzzle
+	 * @param part The part to solve
+	 * @param file The input file
+	 * @return The answer
+	 * @throws Exception if the puzzle failed
+	 */
+	protected <R, M> String solve( final Puzzle<R, M> puzzle, final int part, final String file ) throws Exception {
+		final String hash = cache != null ? AnswerCache.hash( file ) : null;
+		if( hash != null ) {
+			final String cached = cache.get( puzzle, part, hash );
+			if( cached != null ) return cached;
+		}
+
+		final M model = puzzle.build( puzzle.read( file ) );
+		final String answer = part == 1 ? puzzle.part1( model ) : puzzle.part2( model );
+		if( hash != null ) cache.put( puzzle, part, hash, answer );
+		return answer;
+	}
+
+	/**
+	 * Handles a statistics request
+	 *
+	 * @param exchange The request
+	 * @throws IOException if the request could not be answered
+	 */
+	protected void handleStats( final HttpExchange exchange ) throws IOException {
+		final StringBuilder sb = new StringBuilder( );
+		sb.append( LatencyRecorder.header( ) ).append( '\n' );
+		for( Map.Entry<String, LatencyRecorder> e : latencies.entrySet( ) ) sb.append( e.getValue( ).toString( e.getKey( ) ) ).append( '\n' );
+		sb.append( '\n' );
+		sb.append( String.format( "Solvers       : %d of %d busy%n", solvers.getActiveCount( ), solvers.getMaximumPoolSize( ) ) );
+		sb.append( String.format( "Queue         : %d of %d queued", solvers.getQueue( ).size( ), solvers.getQueue( ).size( ) + solvers.getQueue( ).remainingCapacity( ) ) );
+		if( cache != null ) sb.append( String.format( "%nAnswer cache  : %d hit(s), %d miss(es)", cache.getHits( ), cache.getMisses( ) ) );
+		respond( exchange, 200, sb.toString( ) );
+	}
+
+	/**
+	 * Reads the request body into a temporary file, as the solvers read their
+	 * input from a file
+	 *
+	 * @param exchange The request
+	 * @return The file, null if the input is too large
+	 * @throws IOException if the input could not be read or stored
+	 */
+	protected static Path readInput( final HttpExchange exchange ) throws IOException {
+		final Path file = Files.createTempFile( "aoc2020-", ".txt" );
+		final byte[] buffer = new byte[ 65536 ];
+		long size = 0;
+		try( final InputStream in = exchange.getRequestBody( ); final OutputStream out = Files.newOutputStream( file ) ) {
+			int n;
+			while( (n = in.read( buffer )) > 0 ) {
+				size += n;
+				if( size > MAX_INPUT ) break;
+				out.write( buffer, 0, n );
+			}
+		} catch( IOException e ) {
+			Files.deleteIfExists( file );
+			throw e;
+		}
+		if( size <= MAX_INPUT ) return file;
+
+		Files.deleteIfExists( file );
+		return null;
+	}
+
+	/**
+	 * Sends a plain text response and closes the exchange
+	 *
+	 * @param exchange The request
+	 * @param code The status code
+	 * @param body The response body, a newline is appended
+	 * @throws IOException if the response could not be sent
+	 */
+	protected static void respond( final HttpExchange exchange, final int code, final String body ) throws IOException {
+		final byte[] bytes = (body + "\n").getBytes( StandardCharsets.UTF_8 );
+		exchange.getResponseHeaders( ).set( "Content-Type", "text/plain; charset=utf-8" );
+		try( final OutputStream out = exchange.getResponseBody( ) ) {
+			exchange.sendResponseHeaders( code, bytes.length );
+			out.write( bytes );
+		} finally {
+			exchange.close( );
+		}
+	}
+
+	/**
+	 * Creates a factory of named threads
+	 *
+	 * @param name The prefix of the thread names
+	 * @return The thread factory
+	 */
+	protected static ThreadFactory threads( final String name ) {
+		final AtomicInteger count = new AtomicInteger( );
+		return r -> {
+			final Thread t = new Thread( r, name + "-" + count.incrementAndGet( ) );
+			t.setDaemon( true );
+			return t;
+		};
+	}
+
+	/**
+	 * Runs the solve service from the command line until it is terminated
+	 *
+	 * Usage: SolveService [-port port] [-p threads] [-q queue] [-w warmups] [-t ms] [-c]
+	 *
+	 * The service listens on the loopback address only, by default on port
+	 * 2020 with one solver thread per processor and an admission queue of 64
+	 * requests. With -t the simulations of every request are stopped when
+	 * they exceed the time budget, with -c answers are looked up in and
+	 * stored to the default answer cache.
+	 *
+	 * @param args The command line arguments
+	 * @throws Exception if the service could not be started
+	 */
+	public static void main( final String[] args ) throws Exception {
+		int port = DEFAULT_PORT, threads = Runtime.getRuntime( ).availableProcessors( ), queue = 64, warmups = 3;
+		long budget = 0;
+		boolean cached = false;
+
+		for( int i = 0; i < args.length; i++ ) {
+			switch( args[i] ) {
+				case "-port": port = Integer.parseInt( args[++i] ); break;
+				case "-p": threads = Integer.parseInt( args[++i] ); break;
+				case "-q": queue = Integer.parseInt( args[++i] ); break;
+				case "-w": warmups = Integer.parseInt( args[++i] ); break;
+				case "-t": budget = Long.parseLong( args[++i] ); break;
+				case "-c": cached = true; break;
+				default: throw new IllegalArgumentException( "Unknown option " + args[i] );
+			}
+		}
+
+		final SolveService service = new SolveService( threads, queue );
+		service.setTimeBudget( budget );
+		if( cached ) service.setCache( AnswerCache.getDefault( ) );
+
+		final long start = System.nanoTime( );
+		service.warmup( warmups );
+		service.start( port );
+		Runtime.getRuntime( ).addShutdownHook( new Thread( ( ) -> service.stop( 1 ) ) );
+		service.log.println( String.format( "Warmed up in %.1f s, listening on http://%s:%d/ with %d solver(s)", (System.nanoTime( ) - start) / 1e9,
+				InetAddress.getLoopbackAddress( ).getHostAddress( ), service.getPort( ), threads ) );
+	}
+}